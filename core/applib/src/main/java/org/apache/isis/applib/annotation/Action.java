@@ -186,4 +186,19 @@
     RestrictTo restrictTo() default RestrictTo.NO_RESTRICTIONS;
 
 
+    // //////////////////////////////////////
+
+
+    /**
+     * The names of JDO fetch groups to add to the fetch plan while the action is invoked.
+     *
+     * <p>
+     *     The fetch groups (declared using <code>@javax.jdo.annotations.FetchGroup</code> on the returned type) would
+     *     typically include the references displayed as columns when the results are rendered in a table, so that
+     *     these are loaded along with the results rather than by a separate query for each result.
+     * </p>
+     */
+    String[] fetchGroups() default {};
+
+
 }
\ No newline at end of file
@@ -112,4 +112,18 @@
      */
     Class<?> typeOf() default Object.class;
 
+
+    // //////////////////////////////////////
+
+    /**
+     * The names of JDO fetch groups to add to the fetch plan while the collection is read.
+     *
+     * <p>
+     *     The fetch groups (declared using <code>@javax.jdo.annotations.FetchGroup</code> on the element type) would
+     *     typically include the references displayed as columns when the collection is rendered in a table, so that
+     *     these are loaded along with the elements rather than by a separate query for each element.
+     * </p>
+     */
+    String[] fetchGroups() default {};
+
 }
\ No newline at end of file
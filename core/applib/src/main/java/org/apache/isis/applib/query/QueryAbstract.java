@@ -29,6 +29,7 @@
 
     protected long start;
     protected long count;
+    protected String ordering;
     private static final long serialVersionUID = 1L;
 
     private final String resultTypeName;
@@ -95,4 +96,15 @@ public long getStart() {
     public long getCount() {
         return count;
     }
+
+    /**
+     * The ordering to apply to the results, expressed in the syntax of the underlying object store
+     * (for the JDO/DataNucleus objectstore, a JDOQL ordering clause such as <tt>"lastName ascending, firstName ascending"</tt>).
+     *
+     * <p>
+     * If <tt>null</tt>, then any ordering defined by the query itself (eg the <tt>ORDER BY</tt> of a named query) is used.
+     */
+    public String getOrdering() {
+        return ordering;
+    }
 }
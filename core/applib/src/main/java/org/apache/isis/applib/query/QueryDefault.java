@@ -112,6 +112,16 @@ public QueryDefault<T> withCount(final long count) {
         this.count = count;
         return this;
     }
+
+    /**
+     * Overrides the ordering of the named query.
+     *
+     * @see #getOrdering()
+     */
+    public QueryDefault<T> withOrdering(final String ordering) {
+        this.ordering = ordering;
+        return this;
+    }
     
     @Override
     public String getDescription() {
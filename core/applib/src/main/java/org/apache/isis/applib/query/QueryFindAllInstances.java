@@ -42,6 +42,14 @@ public QueryFindAllInstances(final String typeName, final long ... range) {
         super(typeName, range);
     }
 
+    /**
+     * @see #getOrdering()
+     */
+    public QueryFindAllInstances<T> withOrdering(final String ordering) {
+        this.ordering = ordering;
+        return this;
+    }
+
     @Override
     public String getDescription() {
         return getResultTypeName() + " (all instances)";
@@ -0,0 +1,55 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.applib.query;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.services.repository.RepositoryService;
+
+/**
+ * The results of {@link RepositoryService#allMatches(Query) submitting} a {@link Query}, remembering the query
+ * that was used to obtain them.
+ *
+ * <p>
+ * Behaves in every respect as a regular {@link ArrayList}.  However, if such a list is returned from an action then
+ * viewers may choose to re-submit the {@link #getQuery() query} (with a different range and/or ordering) in order to
+ * page and sort the results within the object store, rather than holding onto and sorting the entire list in memory.
+ */
+public class QueryResultsList<T> extends ArrayList<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Query<T> query;
+
+    public QueryResultsList(final Query<T> query, final Collection<? extends T> results) {
+        super(results);
+        this.query = query;
+    }
+
+    /**
+     * The query that was submitted to obtain these results.
+     */
+    @Programmatic
+    public Query<T> getQuery() {
+        return query;
+    }
+}
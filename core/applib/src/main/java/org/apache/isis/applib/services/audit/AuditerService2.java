@@ -0,0 +1,129 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.applib.services.audit;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.services.HasUsername;
+import org.apache.isis.applib.services.bookmark.Bookmark;
+
+/**
+ * Extends {@link AuditerService} so that audit entries can be received in batches.
+ *
+ * <p>
+ * If audit entries are delivered asynchronously (see <tt>isis.services.delivery.asynchronous</tt>) and an
+ * implementation of {@link AuditerService} also implements this interface, then {@link #audit(List)} will be called
+ * instead of {@link AuditerService#audit(UUID, int, String, Bookmark, String, String, String, String, String, Timestamp)}
+ * for each entry.  Otherwise (ie audit entries are delivered synchronously), this interface has no effect.
+ */
+public interface AuditerService2 extends AuditerService {
+
+    /**
+     * The audit entries of one or more (committed) transactions, in the order that they were audited.
+     */
+    @Programmatic
+    void audit(final List<Entry> entries);
+
+    /**
+     * The same information as provided to
+     * {@link AuditerService#audit(UUID, int, String, Bookmark, String, String, String, String, String, Timestamp)}.
+     */
+    class Entry implements HasUsername {
+
+        private final UUID transactionId;
+        private final int sequence;
+        private final String targetClassName;
+        private final Bookmark target;
+        private final String memberIdentifier;
+        private final String propertyName;
+        private final String preValue;
+        private final String postValue;
+        private final String username;
+        private final Timestamp timestamp;
+
+        public Entry(
+                final UUID transactionId, final int sequence,
+                final String targetClassName, final Bookmark target,
+                final String memberIdentifier, final String propertyName,
+                final String preValue, final String postValue,
+                final String username, final Timestamp timestamp) {
+            this.transactionId = transactionId;
+            this.sequence = sequence;
+            this.targetClassName = targetClassName;
+            this.target = target;
+            this.memberIdentifier = memberIdentifier;
+            this.propertyName = propertyName;
+            this.preValue = preValue;
+            this.postValue = postValue;
+            this.username = username;
+            this.timestamp = timestamp;
+        }
+
+        public UUID getTransactionId() {
+            return transactionId;
+        }
+
+        public int getSequence() {
+            return sequence;
+        }
+
+        public String getTargetClassName() {
+            return targetClassName;
+        }
+
+        public Bookmark getTarget() {
+            return target;
+        }
+
+        public String getMemberIdentifier() {
+            return memberIdentifier;
+        }
+
+        public String getPropertyName() {
+            return propertyName;
+        }
+
+        public String getPreValue() {
+            return preValue;
+        }
+
+        public String getPostValue() {
+            return postValue;
+        }
+
+        @Override
+        public String getUsername() {
+            return username;
+        }
+
+        public Timestamp getTimestamp() {
+            return timestamp;
+        }
+
+        @Override
+        public String toString() {
+            return transactionId + "," + sequence + ": " +
+                    target + " by " + username + ", " + propertyName + ": " + preValue + " -> " + postValue;
+        }
+    }
+
+}
@@ -0,0 +1,51 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.applib.services.bookmark;
+
+import java.util.List;
+
+import org.apache.isis.applib.annotation.Programmatic;
+
+/**
+ * Extends {@link BookmarkService2} so that many bookmarks can be looked up at once.
+ *
+ * <p>
+ * Looking up bookmarks one-by-one requires (in general) one query per bookmark; the implementation of this
+ * interface instead loads those objects not already loaded together, with one query per class.
+ * </p>
+ */
+public interface BookmarkService3 extends BookmarkService2 {
+
+    /**
+     * As {@link #lookup(Bookmark, FieldResetPolicy)} for each of the bookmarks.
+     *
+     * @return the objects, in the same order as the bookmarks; <tt>null</tt> for any (or for any <tt>null</tt>
+     * bookmark) that could not be found.
+     */
+    @Programmatic
+    List<Object> lookup(List<Bookmark> bookmarks, FieldResetPolicy fieldResetPolicy);
+
+    /**
+     * As {@link #lookup(List, FieldResetPolicy)}, with a {@link FieldResetPolicy#RESET} policy (as per
+     * {@link #lookup(Bookmark)}).
+     */
+    @Programmatic
+    List<Object> lookup(List<Bookmark> bookmarks);
+
+}
@@ -0,0 +1,58 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.applib.services.delivery;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.services.audit.AuditerService;
+import org.apache.isis.applib.services.audit.AuditerService2;
+import org.apache.isis.applib.services.publish.PublishedObjects;
+import org.apache.isis.applib.services.publish.PublisherService;
+
+/**
+ * Receives the audit entries and changed objects of a transaction that could not be delivered, even after retrying,
+ * to one or more {@link AuditerService}s or {@link PublisherService}s.
+ *
+ * <p>
+ * Only used if audit entries and changed objects are delivered asynchronously (see
+ * <tt>isis.services.delivery.asynchronous</tt>).  Each call is made in its own session and transaction, so an
+ * implementation can persist the dead letter (for example, to be replayed later).  If no implementation is
+ * registered, or if it fails, then the dead letter is logged instead.
+ */
+public interface DeadLetterService {
+
+    /**
+     * @param transactionId - the transaction whose audit entries and changed objects could not be delivered.
+     * @param auditEntries - the audit entries of that transaction.
+     * @param publishedObjectsList - the changed objects of that transaction.
+     * @param undeliveredTo - the {@link AuditerService}s and {@link PublisherService}s that did not receive them;
+     *                      any others did.
+     * @param cause - why the last attempt to deliver them failed.
+     */
+    @Programmatic
+    void deadLetter(
+            final UUID transactionId,
+            final List<AuditerService2.Entry> auditEntries,
+            final List<PublishedObjects> publishedObjectsList,
+            final List<Object> undeliveredTo,
+            final Exception cause);
+
+}
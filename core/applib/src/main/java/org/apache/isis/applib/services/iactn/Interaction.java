@@ -29,6 +29,7 @@
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.primitives.Ints;
 
 import org.apache.isis.applib.annotation.Programmatic;
 import org.apache.isis.applib.annotation.Value;
@@ -40,17 +41,20 @@
 import org.apache.isis.applib.services.eventbus.EventBusService;
 import org.apache.isis.applib.services.eventbus.PropertyDomainEvent;
 import org.apache.isis.applib.services.metrics.MetricsService;
+import org.apache.isis.applib.services.metrics.MetricsService2;
 import org.apache.isis.applib.services.wrapper.WrapperFactory;
 import org.apache.isis.applib.services.xactn.Transaction;
 import org.apache.isis.schema.common.v1.DifferenceDto;
 import org.apache.isis.schema.common.v1.InteractionType;
 import org.apache.isis.schema.common.v1.PeriodDto;
 import org.apache.isis.schema.ixn.v1.ActionInvocationDto;
+import org.apache.isis.schema.ixn.v1.CountersDto;
 import org.apache.isis.schema.ixn.v1.MemberExecutionDto;
 import org.apache.isis.schema.ixn.v1.MetricsDto;
 import org.apache.isis.schema.ixn.v1.ObjectCountsDto;
 import org.apache.isis.schema.ixn.v1.PropertyEditDto;
 import org.apache.isis.schema.utils.MemberExecutionDtoUtils;
+import org.apache.isis.schema.utils.MemberExecutionDtoUtils.Counter;
 import org.apache.isis.schema.utils.jaxbadapters.JavaSqlTimestampXmlGregorianCalendarAdapter;
 
 /**
@@ -595,6 +599,11 @@ void syncMetrics(
                     numberObjectsDirtiedFor(objectCountsDto).setBefore(numberObjectsDirtied);
                 }
 
+                @Override
+                void syncCounter(final DifferenceDto differenceDto, final int value) {
+                    differenceDto.setBefore(value);
+                }
+
             },
             AFTER {
                 @Override void syncMetrics(
@@ -615,6 +624,11 @@ void syncMetrics(
                     numberObjectsDirtiedFor(objectCountsDto).setAfter(numberObjectsDirtied);
                 }
 
+                @Override
+                void syncCounter(final DifferenceDto differenceDto, final int value) {
+                    differenceDto.setAfter(value);
+                }
+
             };
 
             //region > helpers
@@ -645,6 +659,27 @@ abstract void syncMetrics(
                     final Timestamp timestamp,
                     final int numberObjectsLoaded,
                     final int numberObjectsDirtied);
+
+            abstract void syncCounter(final DifferenceDto differenceDto, final int value);
+
+            void syncCounters(final Execution<?, ?> execution, final MetricsService2 metricsService) {
+                final CountersDto countersDto = MemberExecutionDtoUtils.countersFor(metricsFor(execution));
+
+                syncCounter(MemberExecutionDtoUtils.counterFor(countersDto, Counter.QUERIES_EXECUTED),
+                        metricsService.numberQueriesExecuted());
+                syncCounter(MemberExecutionDtoUtils.counterFor(countersDto, Counter.QUERY_EXECUTION_MILLIS),
+                        Ints.saturatedCast(metricsService.queryExecutionMillis()));
+                syncCounter(MemberExecutionDtoUtils.counterFor(countersDto, Counter.FLUSHES),
+                        metricsService.numberFlushes());
+                syncCounter(MemberExecutionDtoUtils.counterFor(countersDto, Counter.FLUSH_MILLIS),
+                        Ints.saturatedCast(metricsService.flushMillis()));
+                syncCounter(MemberExecutionDtoUtils.counterFor(countersDto, Counter.ADAPTERS_CREATED),
+                        metricsService.numberAdaptersCreated());
+                syncCounter(MemberExecutionDtoUtils.counterFor(countersDto, Counter.DOMAIN_EVENTS_POSTED),
+                        metricsService.numberDomainEventsPosted());
+                syncCounter(MemberExecutionDtoUtils.counterFor(countersDto, Counter.FACET_CHECK_MILLIS),
+                        Ints.saturatedCast(metricsService.facetCheckMillis()));
+            }
         }
         private void syncMetrics(final When when, final Timestamp timestamp) {
             final MetricsService metricsService = interaction.metricsService;
@@ -653,6 +688,10 @@ private void syncMetrics(final When when, final Timestamp timestamp) {
             final int numberObjectsDirtied = metricsService.numberObjectsDirtied();
 
             when.syncMetrics(this, timestamp, numberObjectsLoaded, numberObjectsDirtied);
+
+            if(metricsService instanceof MetricsService2) {
+                when.syncCounters(this, (MetricsService2) metricsService);
+            }
         }
 
         //endregion
@@ -17,21 +17,29 @@
 package org.apache.isis.applib.services.jaxb;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.lang.reflect.Method;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
 import javax.xml.bind.Unmarshaller;
+import javax.xml.transform.Result;
+import javax.xml.transform.stream.StreamResult;
 
 import com.google.common.base.Function;
 import com.google.common.base.Joiner;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 
 import org.apache.isis.applib.ApplicationException;
@@ -39,6 +47,7 @@
 import org.apache.isis.applib.NonRecoverableException;
 import org.apache.isis.applib.annotation.Programmatic;
 import org.apache.isis.applib.services.dto.Dto_downloadXsd;
+import org.apache.isis.applib.util.JaxbUtil;
 
 public interface JaxbService {
 
@@ -100,7 +109,7 @@ public boolean shouldIgnore(final String namespaceUri) {
     Map<String, String> toXsd(final Object domainObject, final IsisSchemas isisSchemas);
 
 
-    public static class Simple implements JaxbService {
+    public static class Simple implements JaxbService2 {
 
         @Override
         public Object fromXml(final JAXBContext jaxbContext, final String xml) {
@@ -110,6 +119,15 @@ public Object fromXml(final JAXBContext jaxbContext, final String xml) {
         public Object fromXml(final JAXBContext jaxbContext, final String xml, final Map<String, Object> unmarshallerProperties) {
             try {
 
+                if(unmarshallerProperties.isEmpty()) {
+                    final Unmarshaller unmarshaller = unmarshallers.borrow(jaxbContext);
+                    try {
+                        return unmarshaller.unmarshal(new StringReader(xml));
+                    } finally {
+                        unmarshallers.release(jaxbContext, unmarshaller);
+                    }
+                }
+
                 final Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
 
                 for (Map.Entry<String, Object> entry : unmarshallerProperties.entrySet()) {
@@ -133,7 +151,7 @@ public <T> T fromXml(final Class<T> domainClass, final String xml) {
         @Override
         public <T> T fromXml(final Class<T> domainClass, final String xml, final Map<String, Object> unmarshallerProperties) {
             try {
-                final JAXBContext context = JAXBContext.newInstance(domainClass);
+                final JAXBContext context = JaxbUtil.jaxbContextFor(domainClass);
                 return (T) fromXml(context, xml, unmarshallerProperties);
 
             } catch (final JAXBException ex) {
@@ -148,69 +166,203 @@ public String toXml(final Object domainObject) {
 
         @Override
         public String toXml(final Object domainObject, final Map<String, Object> marshallerProperties)  {
+            final StringWriter sw = new StringWriter();
+            toXml(domainObject, marshallerProperties, new StreamResult(sw));
+            return sw.toString();
+        }
+
+        @Override
+        public void toXml(final Object domainObject, final OutputStream outputStream) {
+            toXml(domainObject, Maps.<String,Object>newHashMap(), new StreamResult(outputStream));
+        }
+
+        @Override
+        public List<String> toXmlBatch(final List<?> domainObjects) {
+            final List<String> xmls = Lists.newArrayListWithCapacity(domainObjects.size());
+            final Map<JAXBContext, Marshaller> marshallerByContext = Maps.newHashMap();
+            Class<?> domainClass = null;
+            try {
+                for (final Object domainObject : domainObjects) {
+                    domainClass = domainObject.getClass();
+                    final JAXBContext context = JaxbUtil.jaxbContextFor(domainClass);
+                    Marshaller marshaller = marshallerByContext.get(context);
+                    if(marshaller == null) {
+                        marshaller = marshallers.borrow(context);
+                        marshallerByContext.put(context, marshaller);
+                    }
+                    final StringWriter sw = new StringWriter();
+                    marshaller.marshal(domainObject, sw);
+                    xmls.add(sw.toString());
+                }
+                return xmls;
+            } catch (final JAXBException ex) {
+                throw marshallingException(domainClass, ex);
+            } finally {
+                for (final Map.Entry<JAXBContext, Marshaller> entry : marshallerByContext.entrySet()) {
+                    marshallers.release(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+
+        private void toXml(final Object domainObject, final Map<String, Object> marshallerProperties, final Result result)  {
 
             final Class<?> domainClass = domainObject.getClass();
             try {
-                final JAXBContext context = JAXBContext.newInstance(domainClass);
+                final JAXBContext context = JaxbUtil.jaxbContextFor(domainClass);
 
-                final Marshaller marshaller = context.createMarshaller();
+                if(marshallerProperties.isEmpty()) {
+                    final Marshaller marshaller = marshallers.borrow(context);
+                    try {
+                        marshaller.marshal(domainObject, result);
+                        return;
+                    } finally {
+                        marshallers.release(context, marshaller);
+                    }
+                }
 
-                marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
+                final Marshaller marshaller = newMarshaller(context);
                 for (Map.Entry<String, Object> entry : marshallerProperties.entrySet()) {
                     marshaller.setProperty(entry.getKey(), entry.getValue());
                 }
 
-                configure(marshaller);
+                marshaller.marshal(domainObject, result);
 
-                final StringWriter sw = new StringWriter();
-                marshaller.marshal(domainObject, sw);
-                final String xml = sw.toString();
+            } catch (final JAXBException ex) {
+                throw marshallingException(domainClass, ex);
+            }
+        }
 
-                return xml;
+        private Marshaller newMarshaller(final JAXBContext context) throws JAXBException {
+            final Marshaller marshaller = context.createMarshaller();
+            marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
+            configure(marshaller);
+            return marshaller;
+        }
 
-            } catch (final JAXBException ex) {
-                final Class<? extends JAXBException> exClass = ex.getClass();
-
-                final String name = exClass.getName();
-                if(name.equals("com.sun.xml.bind.v2.runtime.IllegalAnnotationsException")) {
-                    // report a better error if possible
-                    // this is done reflectively so as to not have to bring in a new Maven dependency
-                    List<? extends Exception> errors = null;
-                    String annotationExceptionMessages = null;
-                    try {
-                        final Method getErrorsMethod = exClass.getMethod("getErrors");
-                        errors = (List<? extends Exception>) getErrorsMethod.invoke(ex);
-                        annotationExceptionMessages = ": " + Joiner.on("; ").join(
-                                Iterables.transform(errors, new Function<Exception, String>() {
-                                    @Override public String apply(final Exception e) {
-                                        return e.getMessage();
-                                    }
-                                }));
-                    } catch (Exception e) {
-                        // fall through if we hit any snags, and instead throw the more generic error message.
-                    }
-                    if(errors != null) {
-                        throw new NonRecoverableException(
-                                "Error marshalling domain object to XML, due to illegal annotations on domain object class '"
-                                        + domainClass.getName() + "'; " + errors.size() + " error"
-                                        + (errors.size() == 1? "": "s")
-                                        + " reported" + (!errors
-                                        .isEmpty() ? annotationExceptionMessages : ""), ex);
+        private static NonRecoverableException marshallingException(final Class<?> domainClass, final JAXBException ex) {
+            final Class<? extends JAXBException> exClass = ex.getClass();
+
+            final String name = exClass.getName();
+            if(name.equals("com.sun.xml.bind.v2.runtime.IllegalAnnotationsException")) {
+                // report a better error if possible
+                // this is done reflectively so as to not have to bring in a new Maven dependency
+                List<? extends Exception> errors = null;
+                String annotationExceptionMessages = null;
+                try {
+                    final Method getErrorsMethod = exClass.getMethod("getErrors");
+                    errors = (List<? extends Exception>) getErrorsMethod.invoke(ex);
+                    annotationExceptionMessages = ": " + Joiner.on("; ").join(
+                            Iterables.transform(errors, new Function<Exception, String>() {
+                                @Override public String apply(final Exception e) {
+                                    return e.getMessage();
+                                }
+                            }));
+                } catch (Exception e) {
+                    // fall through if we hit any snags, and instead throw the more generic error message.
+                }
+                if(errors != null) {
+                    return new NonRecoverableException(
+                            "Error marshalling domain object to XML, due to illegal annotations on domain object class '"
+                                    + domainClass.getName() + "'; " + errors.size() + " error"
+                                    + (errors.size() == 1? "": "s")
+                                    + " reported" + (!errors
+                                    .isEmpty() ? annotationExceptionMessages : ""), ex);
+                }
+            }
+
+            return new NonRecoverableException("Error marshalling domain object to XML; domain object class is '" + domainClass.getName() + "'", ex);
+        }
+
+        //region > pooled (un)marshallers
+
+        /**
+         * (Un)marshallers are not thread-safe but are relatively expensive to create, so idle ones are kept for each
+         * {@link JAXBContext}, up to a bound.
+         *
+         * <p>
+         *     Only those configured solely by the {@link #configure(Marshaller) configure} hooks are pooled; those
+         *     that also require caller-provided properties are created afresh.  A (un)marshaller is borrowed for the
+         *     duration of its use, so nested use (eg from within an <code>XmlAdapter</code>) is safe.
+         * </p>
+         *
+         * <p>
+         *     The pool is shared by all threads (rather than being per-thread) so that it, and the contexts (and thus
+         *     domain classes) that it references, can be released when the service is {@link #shutdown() shut down}.
+         * </p>
+         */
+        private abstract static class Pool<T> {
+
+            private static final int MAX_CONTEXTS = 32;
+            private static final int MAX_IDLE_PER_CONTEXT = 8;
+
+            private final ConcurrentMap<JAXBContext, Queue<T>> idleByContext = Maps.newConcurrentMap();
+
+            T borrow(final JAXBContext context) throws JAXBException {
+                final Queue<T> idle = idleByContext.get(context);
+                final T instance = idle != null ? idle.poll() : null;
+                return instance != null ? instance : create(context);
+            }
+
+            void release(final JAXBContext context, final T instance) {
+                Queue<T> idle = idleByContext.get(context);
+                if(idle == null) {
+                    if(idleByContext.size() >= MAX_CONTEXTS) {
+                        // bound the memory used by callers that pass in arbitrary contexts
+                        idleByContext.clear();
                     }
+                    final Queue<T> newIdle = new ConcurrentLinkedQueue<>();
+                    final Queue<T> existingIdle = idleByContext.putIfAbsent(context, newIdle);
+                    idle = existingIdle != null ? existingIdle : newIdle;
                 }
+                // the size is approximate under contention, which is good enough for a bound
+                if(idle.size() < MAX_IDLE_PER_CONTEXT) {
+                    idle.offer(instance);
+                }
+            }
 
-                throw new NonRecoverableException("Error marshalling domain object to XML; domain object class is '" + domainClass.getName() + "'", ex);
+            void clear() {
+                idleByContext.clear();
             }
+
+            abstract T create(final JAXBContext context) throws JAXBException;
         }
 
+        private final Pool<Marshaller> marshallers = new Pool<Marshaller>() {
+            @Override
+            Marshaller create(final JAXBContext context) throws JAXBException {
+                return newMarshaller(context);
+            }
+        };
+
+        private final Pool<Unmarshaller> unmarshallers = new Pool<Unmarshaller>() {
+            @Override
+            Unmarshaller create(final JAXBContext context) throws JAXBException {
+                final Unmarshaller unmarshaller = context.createUnmarshaller();
+                configure(unmarshaller);
+                return unmarshaller;
+            }
+        };
+
+        /**
+         * Discards the pooled (un)marshallers, so that neither they nor their {@link JAXBContext}s are retained.
+         */
+        @Programmatic
+        @PreDestroy
+        public void shutdown() {
+            marshallers.clear();
+            unmarshallers.clear();
+        }
+
+        //endregion
+
         /**
-         * Optional hook
+         * Optional hook, called once for each unmarshaller that is created (pooled unmarshallers are reused).
          */
         protected void configure(final Unmarshaller unmarshaller) {
         }
 
         /**
-         * Optional hook
+         * Optional hook, called once for each marshaller that is created (pooled marshallers are reused).
          */
         protected void configure(final Marshaller marshaller) {
         }
@@ -219,7 +371,7 @@ public Map<String,String> toXsd(final Object domainObject, final IsisSchemas isi
 
             try {
                 final Class<?> domainClass = domainObject.getClass();
-                final JAXBContext context = JAXBContext.newInstance(domainClass);
+                final JAXBContext context = JaxbUtil.jaxbContextFor(domainClass);
 
                 final CatalogingSchemaOutputResolver outputResolver = new CatalogingSchemaOutputResolver(isisSchemas);
                 context.generateSchema(outputResolver);
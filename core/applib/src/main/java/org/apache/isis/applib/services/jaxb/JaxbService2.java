@@ -0,0 +1,53 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.applib.services.jaxb;
+
+import java.io.OutputStream;
+import java.util.List;
+
+import org.apache.isis.applib.annotation.Programmatic;
+
+/**
+ * Extends {@link JaxbService} with the ability to stream XML and to marshal a number of objects in one go.
+ */
+public interface JaxbService2 extends JaxbService {
+
+    /**
+     * As {@link #toXml(Object)}, but writing the XML (encoded as UTF-8) to the provided stream rather than returning
+     * it as a string.
+     *
+     * <p>
+     *     The stream is not closed.
+     * </p>
+     */
+    @Programmatic
+    void toXml(final Object domainObject, final OutputStream outputStream);
+
+    /**
+     * As {@link #toXml(Object)} for each of the domain objects (or DTOs), returning their XML in the same order.
+     *
+     * <p>
+     *     More efficient than calling {@link #toXml(Object)} repeatedly, because each marshaller is reused for all of
+     *     the objects of its class.
+     * </p>
+     */
+    @Programmatic
+    List<String> toXmlBatch(final List<?> domainObjects);
+
+}
@@ -0,0 +1,103 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.applib.services.metrics;
+
+import javax.enterprise.context.RequestScoped;
+
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.services.iactn.InteractionContext;
+import org.apache.isis.schema.ixn.v1.MemberExecutionDto;
+
+/**
+ * Extends {@link MetricsService} with further counts and timings, to help identify hot spots.
+ *
+ * <p>
+ *     As for {@link MetricsService}, each is cumulative for the current request (or rather, transaction), and is
+ *     captured within {@link MemberExecutionDto#getMetrics()} (accessible from
+ *     {@link InteractionContext#getInteraction()}).
+ * </p>
+ */
+@RequestScoped
+public interface MetricsService2 extends MetricsService {
+
+    /**
+     * The number of queries that have, so far in this request, been executed against the object store.
+     */
+    @Programmatic
+    int numberQueriesExecuted();
+
+    /**
+     * The cumulative time (in milliseconds) spent, so far in this request, executing queries against the object store.
+     */
+    @Programmatic
+    long queryExecutionMillis();
+
+    /**
+     * The number of times that, so far in this request, pending changes have been flushed to the object store.
+     */
+    @Programmatic
+    int numberFlushes();
+
+    /**
+     * The cumulative time (in milliseconds) spent, so far in this request, flushing pending changes to the object
+     * store.
+     */
+    @Programmatic
+    long flushMillis();
+
+    /**
+     * The number of (framework-internal) adapters that have, so far in this request, been created to wrap domain
+     * objects; a measure of the number of distinct objects touched by the interaction.
+     */
+    @Programmatic
+    int numberAdaptersCreated();
+
+    /**
+     * The number of action, property and collection domain events that have, so far in this request, been posted
+     * on the event bus.
+     */
+    @Programmatic
+    int numberDomainEventsPosted();
+
+    /**
+     * The cumulative time (in milliseconds) spent, so far in this request, checking whether members are visible,
+     * usable or valid.
+     *
+     * <p>
+     * Always 0 unless enabled (using <tt>isis.services.metrics.facetChecks.timed</tt>), as these checks are too
+     * frequent to time by default.
+     */
+    @Programmatic
+    long facetCheckMillis();
+
+    /**
+     * The number of <tt>@Cacheable</tt> entities that have, so far in this request, been looked up by id and were
+     * found in the (cross-request) second-level cache.
+     */
+    @Programmatic
+    int numberLevel2CacheHits();
+
+    /**
+     * The number of <tt>@Cacheable</tt> entities that have, so far in this request, been looked up by id but were
+     * not found in the (cross-request) second-level cache, so had to be loaded from the database.
+     */
+    @Programmatic
+    int numberLevel2CacheMisses();
+
+}
@@ -0,0 +1,46 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.applib.services.publish;
+
+import java.util.List;
+
+import org.apache.isis.applib.annotation.Programmatic;
+
+/**
+ * Extends {@link PublisherService} so that changed objects can be received in batches.
+ *
+ * <p>
+ * If changed objects are delivered asynchronously (see <tt>isis.services.delivery.asynchronous</tt>) and an
+ * implementation of {@link PublisherService} also implements this interface, then {@link #publish(List)} will be
+ * called instead of {@link PublisherService#publish(PublishedObjects)} for each transaction.  Otherwise (ie changed
+ * objects are delivered synchronously), this interface has no effect.
+ *
+ * <p>
+ * Note that action invocations and property edits ({@link PublisherService#publish(org.apache.isis.applib.services.iactn.Interaction.Execution)})
+ * are always published synchronously.
+ */
+public interface PublisherService2 extends PublisherService {
+
+    /**
+     * The changed objects of one or more (committed) transactions, in the order that they were committed.
+     */
+    @Programmatic
+    void publish(final List<PublishedObjects> publishedObjectsList);
+
+}
@@ -0,0 +1,50 @@
+/**
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.isis.applib.services.xmlsnapshot;
+
+import java.io.OutputStream;
+
+import org.w3c.dom.Document;
+
+import org.apache.isis.applib.annotation.Programmatic;
+
+/**
+ * Extends {@link XmlSnapshotService} so that a snapshot can be written directly to a stream, rather than being built
+ * in memory.
+ */
+public interface XmlSnapshotService2 extends XmlSnapshotService {
+
+    public interface Builder2 extends XmlSnapshotService.Builder {
+
+        /**
+         * Rather than {@link #build() building} the snapshot in memory (as a pair of W3C {@link Document}s), writes
+         * the XML (UTF-8 encoded) directly to <tt>xmlOut</tt> as the graph is traversed, so that memory use does not
+         * depend on the size of the graph.
+         *
+         * <p>
+         * If <tt>xsdOutIfAny</tt> is provided then the corresponding XSD is written to it once the XML is complete.
+         * Neither stream is closed.
+         * </p>
+         */
+        public void writeTo(final OutputStream xmlOut, final OutputStream xsdOutIfAny);
+    }
+
+    @Programmatic
+    @Override
+    public XmlSnapshotService2.Builder2 builderFor(final Object domainObject);
+
+}
@@ -23,17 +23,24 @@
 import java.io.Writer;
 import java.net.URL;
 import java.nio.charset.Charset;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
 import javax.xml.bind.Unmarshaller;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.common.io.Resources;
 
 /**
- * Helper methods for converting {@link javax.xml.bind.annotation.XmlRootElement}-annotated class to-and-from XML.  Intended primarily for
- * test use only (the {@link JAXBContext} is not cached).
+ * Helper methods for converting {@link javax.xml.bind.annotation.XmlRootElement}-annotated class to-and-from XML.
+ *
+ * <p>
+ * Also acts as a registry of {@link JAXBContext}s (see {@link #jaxbContextFor(Class[])}); these are expensive to
+ * create but thread-safe, so are created only once for any given set of classes.
  *
  * <p>
  * For example usage, see <a href="https://github.com/isisaddons/isis-module-publishmq">Isis addons' publishmq module</a> (non-ASF)
@@ -85,9 +92,85 @@ public static <T> void toXml(final T dto, final Writer writer) {
 
     private static JAXBContext getJaxbContext(Class<?> dtoClass) {
         try {
-            return JAXBContext.newInstance(dtoClass);
+            return jaxbContextFor(dtoClass);
         } catch (JAXBException e) {
             throw new RuntimeException(e);
         }
     }
+
+    //region > jaxbContextFor
+
+    /**
+     * The {@link JAXBContext}s, held against the {@link #mostSpecificOf(Class[]) most specific} of their classes.
+     *
+     * <p>
+     * A context references each of its classes, so holding them in a static map would pin those classes (and their
+     * class loaders, eg of an undeployed webapp) for the life of this class.  Held in a {@link ClassValue} instead,
+     * a context is released along with the class that it is held against.
+     */
+    private static final ClassValue<ConcurrentMap<Set<Class<?>>, JAXBContext>> jaxbContextsByClass =
+            new ClassValue<ConcurrentMap<Set<Class<?>>, JAXBContext>>() {
+        @Override
+        protected ConcurrentMap<Set<Class<?>>, JAXBContext> computeValue(final Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * Returns the (cached) {@link JAXBContext} for the specified set of classes, creating it if necessary.
+     *
+     * <p>
+     * The order in which the classes are specified is not significant.
+     */
+    public static JAXBContext jaxbContextFor(final Class<?>... classes) throws JAXBException {
+        final Set<Class<?>> key = ImmutableSet.copyOf(classes);
+        final ConcurrentMap<Set<Class<?>>, JAXBContext> jaxbContextByClasses =
+                jaxbContextsByClass.get(mostSpecificOf(classes));
+        final JAXBContext jaxbContext = jaxbContextByClasses.get(key);
+        if(jaxbContext != null) {
+            return jaxbContext;
+        }
+        // if two threads race then both create a context, but only the first is retained
+        final JAXBContext newJaxbContext = JAXBContext.newInstance(classes);
+        final JAXBContext existingJaxbContext = jaxbContextByClasses.putIfAbsent(key, newJaxbContext);
+        return existingJaxbContext != null ? existingJaxbContext : newJaxbContext;
+    }
+
+    /**
+     * The class loaded by the most specific class loader, ie the one that cannot outlive any of the others (so
+     * long as their class loaders are all related; otherwise the first class).  Of those loaded by the same class
+     * loader, the first by name is chosen, so that the result does not depend on the order of the classes.
+     */
+    private static Class<?> mostSpecificOf(final Class<?>[] classes) {
+        if(classes.length == 0) {
+            return JaxbUtil.class;
+        }
+        Class<?> mostSpecific = classes[0];
+        for (final Class<?> cls : classes) {
+            final ClassLoader classLoader = cls.getClassLoader();
+            final ClassLoader mostSpecificClassLoader = mostSpecific.getClassLoader();
+            if(isAncestorOf(mostSpecificClassLoader, classLoader) ||
+               classLoader == mostSpecificClassLoader && cls.getName().compareTo(mostSpecific.getName()) < 0) {
+                mostSpecific = cls;
+            }
+        }
+        return mostSpecific;
+    }
+
+    private static boolean isAncestorOf(final ClassLoader candidate, final ClassLoader classLoader) {
+        if(classLoader == null || candidate == classLoader) {
+            return false;
+        }
+        // the bootstrap class loader (null) is the ancestor of all others
+        for (ClassLoader parent = classLoader.getParent(); ; parent = parent.getParent()) {
+            if(parent == candidate) {
+                return true;
+            }
+            if(parent == null) {
+                return false;
+            }
+        }
+    }
+
+    //endregion
 }
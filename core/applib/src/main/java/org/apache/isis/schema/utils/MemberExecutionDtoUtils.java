@@ -29,8 +29,10 @@
 import javax.xml.namespace.QName;
 import javax.xml.transform.stream.StreamSource;
 
+import org.apache.isis.applib.util.JaxbUtil;
 import org.apache.isis.schema.common.v1.DifferenceDto;
 import org.apache.isis.schema.common.v1.PeriodDto;
+import org.apache.isis.schema.ixn.v1.CountersDto;
 import org.apache.isis.schema.ixn.v1.MemberExecutionDto;
 import org.apache.isis.schema.ixn.v1.MetricsDto;
 import org.apache.isis.schema.ixn.v1.ObjectCountsDto;
@@ -44,7 +46,7 @@ public static <T extends MemberExecutionDto> T clone(final T dto) {
 
     private static <T> T clone(final T dto, final Class<T> dtoClass) {
         try {
-            JAXBContext jaxbContext = JAXBContext.newInstance(dtoClass);
+            final JAXBContext jaxbContext = JaxbUtil.jaxbContextFor(dtoClass);
 
             final Marshaller marshaller = jaxbContext.createMarshaller();
 
@@ -110,4 +112,87 @@ public static DifferenceDto numberObjectsDirtiedFor(final ObjectCountsDto object
         }
         return differenceDto;
     }
+
+    public static CountersDto countersFor(final MetricsDto metricsDto) {
+        CountersDto counters = metricsDto.getCounters();
+        if(counters == null) {
+            counters = new CountersDto();
+            metricsDto.setCounters(counters);
+        }
+        return counters;
+    }
+
+    /**
+     * The counters (of {@link CountersDto}), each a {@link DifferenceDto} of the value before and after an execution.
+     */
+    public enum Counter {
+        QUERIES_EXECUTED {
+            @Override DifferenceDto get(final CountersDto countersDto) {
+                return countersDto.getQueriesExecuted();
+            }
+            @Override void set(final CountersDto countersDto, final DifferenceDto differenceDto) {
+                countersDto.setQueriesExecuted(differenceDto);
+            }
+        },
+        QUERY_EXECUTION_MILLIS {
+            @Override DifferenceDto get(final CountersDto countersDto) {
+                return countersDto.getQueryExecutionMillis();
+            }
+            @Override void set(final CountersDto countersDto, final DifferenceDto differenceDto) {
+                countersDto.setQueryExecutionMillis(differenceDto);
+            }
+        },
+        FLUSHES {
+            @Override DifferenceDto get(final CountersDto countersDto) {
+                return countersDto.getFlushes();
+            }
+            @Override void set(final CountersDto countersDto, final DifferenceDto differenceDto) {
+                countersDto.setFlushes(differenceDto);
+            }
+        },
+        FLUSH_MILLIS {
+            @Override DifferenceDto get(final CountersDto countersDto) {
+                return countersDto.getFlushMillis();
+            }
+            @Override void set(final CountersDto countersDto, final DifferenceDto differenceDto) {
+                countersDto.setFlushMillis(differenceDto);
+            }
+        },
+        ADAPTERS_CREATED {
+            @Override DifferenceDto get(final CountersDto countersDto) {
+                return countersDto.getAdaptersCreated();
+            }
+            @Override void set(final CountersDto countersDto, final DifferenceDto differenceDto) {
+                countersDto.setAdaptersCreated(differenceDto);
+            }
+        },
+        DOMAIN_EVENTS_POSTED {
+            @Override DifferenceDto get(final CountersDto countersDto) {
+                return countersDto.getDomainEventsPosted();
+            }
+            @Override void set(final CountersDto countersDto, final DifferenceDto differenceDto) {
+                countersDto.setDomainEventsPosted(differenceDto);
+            }
+        },
+        FACET_CHECK_MILLIS {
+            @Override DifferenceDto get(final CountersDto countersDto) {
+                return countersDto.getFacetCheckMillis();
+            }
+            @Override void set(final CountersDto countersDto, final DifferenceDto differenceDto) {
+                countersDto.setFacetCheckMillis(differenceDto);
+            }
+        };
+
+        abstract DifferenceDto get(final CountersDto countersDto);
+        abstract void set(final CountersDto countersDto, final DifferenceDto differenceDto);
+    }
+
+    public static DifferenceDto counterFor(final CountersDto countersDto, final Counter counter) {
+        DifferenceDto differenceDto = counter.get(countersDto);
+        if(differenceDto == null) {
+            differenceDto = new DifferenceDto();
+            counter.set(countersDto, differenceDto);
+        }
+        return differenceDto;
+    }
 }
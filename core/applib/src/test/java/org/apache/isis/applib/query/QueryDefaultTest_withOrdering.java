@@ -0,0 +1,58 @@
+/**
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.isis.applib.query;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class QueryDefaultTest_withOrdering {
+
+    private QueryDefault<Customer> queryDefault;
+
+    static class Customer {}
+
+    @Before
+    public void setUp() throws Exception {
+        queryDefault = new QueryDefault<Customer>(Customer.class, "findByLastName", "lastName", "Smith");
+    }
+
+    @Test
+    public void defaults() throws Exception {
+        assertThat(queryDefault.getOrdering(), is(nullValue()));
+    }
+
+    @Test
+    public void happyCase() throws Exception {
+        final QueryDefault<Customer> q = queryDefault.withOrdering("firstName descending");
+
+        assertThat(q, is(queryDefault));
+        assertThat(q.getOrdering(), is("firstName descending"));
+    }
+
+    @Test
+    public void combinedWithRange() throws Exception {
+        final QueryDefault<Customer> q = queryDefault.withStart(10L).withCount(5L).withOrdering("firstName ascending");
+
+        assertThat(q.getStart(), is(10L));
+        assertThat(q.getCount(), is(5L));
+        assertThat(q.getOrdering(), is("firstName ascending"));
+    }
+
+}
@@ -0,0 +1,129 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.applib.services.iactn;
+
+import java.sql.Timestamp;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.isis.applib.services.metrics.MetricsService;
+import org.apache.isis.applib.services.metrics.MetricsService2;
+import org.apache.isis.schema.common.v1.DifferenceDto;
+import org.apache.isis.schema.ixn.v1.CountersDto;
+import org.apache.isis.schema.ixn.v1.PropertyEditDto;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class InteractionTest_syncCounters {
+
+    static class StubMetricsService implements MetricsService2 {
+        int numberQueriesExecuted;
+        long queryExecutionMillis;
+        int numberFlushes;
+        long flushMillis;
+        int numberAdaptersCreated;
+        int numberDomainEventsPosted;
+        long facetCheckMillis;
+
+        @Override public int numberObjectsLoaded() { return 0; }
+        @Override public int numberObjectsDirtied() { return 0; }
+        @Override public int numberQueriesExecuted() { return numberQueriesExecuted; }
+        @Override public long queryExecutionMillis() { return queryExecutionMillis; }
+        @Override public int numberFlushes() { return numberFlushes; }
+        @Override public long flushMillis() { return flushMillis; }
+        @Override public int numberAdaptersCreated() { return numberAdaptersCreated; }
+        @Override public int numberDomainEventsPosted() { return numberDomainEventsPosted; }
+        @Override public long facetCheckMillis() { return facetCheckMillis; }
+        @Override public int numberLevel2CacheHits() { return 0; }
+        @Override public int numberLevel2CacheMisses() { return 0; }
+    }
+
+    private Interaction interaction;
+    private StubMetricsService metricsService;
+    private Interaction.PropertyEdit propertyEdit;
+
+    @Before
+    public void setUp() throws Exception {
+        metricsService = new StubMetricsService();
+        interaction = new Interaction();
+        interaction.metricsService = metricsService;
+
+        propertyEdit = new Interaction.PropertyEdit(
+                interaction, "com.mycompany.Customer#name", new Object(), "Freddy", "name", "Customer");
+        propertyEdit.setDto(new PropertyEditDto());
+    }
+
+    @Test
+    public void captures_counters_before_and_after() throws Exception {
+
+        metricsService.numberQueriesExecuted = 1;
+        metricsService.queryExecutionMillis = 2L;
+        metricsService.numberFlushes = 3;
+        metricsService.flushMillis = 4L;
+        metricsService.numberAdaptersCreated = 5;
+        metricsService.numberDomainEventsPosted = 6;
+        metricsService.facetCheckMillis = 7L;
+
+        propertyEdit.setStartedAt(new Timestamp(0L));
+
+        metricsService.numberQueriesExecuted = 11;
+        metricsService.queryExecutionMillis = 12L;
+        metricsService.numberFlushes = 13;
+        metricsService.flushMillis = 14L;
+        metricsService.numberAdaptersCreated = 15;
+        metricsService.numberDomainEventsPosted = 16;
+        metricsService.facetCheckMillis = Long.MAX_VALUE;
+
+        propertyEdit.setCompletedAt(new Timestamp(1000L));
+
+        final CountersDto counters = propertyEdit.getDto().getMetrics().getCounters();
+        assertDifference(counters.getQueriesExecuted(), 1, 11);
+        assertDifference(counters.getQueryExecutionMillis(), 2, 12);
+        assertDifference(counters.getFlushes(), 3, 13);
+        assertDifference(counters.getFlushMillis(), 4, 14);
+        assertDifference(counters.getAdaptersCreated(), 5, 15);
+        assertDifference(counters.getDomainEventsPosted(), 6, 16);
+        // saturated rather than overflowing
+        assertDifference(counters.getFacetCheckMillis(), 7, Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void no_counters_if_only_MetricsService() throws Exception {
+
+        interaction.metricsService = new MetricsService() {
+            @Override public int numberObjectsLoaded() { return 1; }
+            @Override public int numberObjectsDirtied() { return 2; }
+        };
+
+        propertyEdit.setStartedAt(new Timestamp(0L));
+        propertyEdit.setCompletedAt(new Timestamp(1000L));
+
+        assertThat(propertyEdit.getDto().getMetrics().getObjectCounts().getLoaded().getAfter(), is(1));
+        assertThat(propertyEdit.getDto().getMetrics().getCounters(), is(nullValue()));
+    }
+
+    private static void assertDifference(final DifferenceDto differenceDto, final int before, final int after) {
+        assertThat(differenceDto.getBefore(), is(before));
+        assertThat(differenceDto.getAfter(), is(after));
+    }
+
+}
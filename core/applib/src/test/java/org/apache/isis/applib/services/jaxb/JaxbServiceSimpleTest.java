@@ -0,0 +1,131 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.applib.services.jaxb;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import org.junit.Test;
+
+import org.apache.isis.applib.util.JaxbUtil;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class JaxbServiceSimpleTest {
+
+    @XmlRootElement
+    public static class Customer {
+        public String name;
+
+        public Customer() {
+        }
+
+        Customer(final String name) {
+            this.name = name;
+        }
+    }
+
+    @XmlRootElement
+    public static class Order {
+        public int number;
+
+        public Order() {
+        }
+
+        Order(final int number) {
+            this.number = number;
+        }
+    }
+
+    private final JaxbService2 jaxbService = new JaxbService.Simple();
+
+    @Test
+    public void jaxb_contexts_are_cached_by_set_of_classes() throws Exception {
+        assertThat(JaxbUtil.jaxbContextFor(Customer.class), is(sameInstance(JaxbUtil.jaxbContextFor(Customer.class))));
+        assertThat(
+                JaxbUtil.jaxbContextFor(Customer.class, Order.class),
+                is(sameInstance(JaxbUtil.jaxbContextFor(Order.class, Customer.class))));
+    }
+
+    @Test
+    public void round_trip_reusing_pooled_marshallers() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            final String xml = jaxbService.toXml(new Customer("Fred" + i));
+            assertThat(xml, containsString("<name>Fred" + i + "</name>"));
+            assertThat(jaxbService.fromXml(Customer.class, xml).name, is("Fred" + i));
+        }
+    }
+
+    @Test
+    public void pooled_marshallers_are_shared_between_threads_and_discarded_on_shutdown() throws Exception {
+        final AtomicInteger marshallersCreated = new AtomicInteger();
+        final JaxbService.Simple jaxbService = new JaxbService.Simple() {
+            @Override
+            protected void configure(final Marshaller marshaller) {
+                marshallersCreated.incrementAndGet();
+            }
+        };
+
+        jaxbService.toXml(new Customer("Fred"));
+        final Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                jaxbService.toXml(new Customer("Mary"));
+            }
+        });
+        thread.start();
+        thread.join();
+        assertThat(marshallersCreated.get(), is(1));
+
+        jaxbService.shutdown();
+
+        jaxbService.toXml(new Customer("Fred"));
+        assertThat(marshallersCreated.get(), is(2));
+    }
+
+    @Test
+    public void to_output_stream() throws Exception {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+
+        jaxbService.toXml(new Customer("Fred"), baos);
+
+        final String xml = baos.toString("UTF-8");
+        assertThat(xml, is(jaxbService.toXml(new Customer("Fred"))));
+    }
+
+    @Test
+    public void batch() throws Exception {
+        final List<String> xmls = jaxbService.toXmlBatch(
+                Arrays.asList(new Customer("Fred"), new Order(1), new Customer("Mary")));
+
+        assertThat(xmls.size(), is(3));
+        assertThat(xmls.get(0), is(jaxbService.toXml(new Customer("Fred"))));
+        assertThat(xmls.get(1), is(jaxbService.toXml(new Order(1))));
+        assertThat(xmls.get(2), is(jaxbService.toXml(new Customer("Mary"))));
+    }
+
+}
@@ -26,6 +26,7 @@
 import com.google.common.primitives.Primitives;
 
 import org.apache.isis.core.metamodel.exceptions.MetaModelException;
+import org.apache.isis.core.metamodel.methodutils.MethodInvokers;
 
 public class MethodExtensions {
 
@@ -50,7 +51,7 @@ public static Object invoke(final Method method, final Object object) {
     public static Object invoke(final Method method, final Object object, final Object[] arguments) {
         try {
             Object[] defaultAnyPrimitive = defaultAnyPrimitive(method.getParameterTypes(), arguments);
-            return method.invoke(object, defaultAnyPrimitive);
+            return MethodInvokers.invoke(method, object, defaultAnyPrimitive);
         } catch (final IllegalArgumentException e) {
             throw e;
         } catch (final InvocationTargetException e) {
@@ -266,6 +266,10 @@ public boolean equals(final Object other) {
     }
 
     public boolean equals(final RootOid other) {
+        // the (cached) hash code is cheap to compare, and differs for most oids that are not equal
+        if (cachedHashCode != other.cachedHashCode) {
+            return false;
+        }
         return Objects.equal(objectSpecId, other.getObjectSpecId()) && Objects.equal(identifier, other.getIdentifier()) && Objects.equal(isTransient(), other.isTransient());
     }
 
@@ -22,6 +22,9 @@
 import java.util.List;
 
 import org.apache.isis.applib.filter.Filter;
+import org.apache.isis.core.metamodel.interactions.DisablingInteractionAdvisor;
+import org.apache.isis.core.metamodel.interactions.HidingInteractionAdvisor;
+import org.apache.isis.core.metamodel.interactions.ValidatingInteractionAdvisor;
 
 /**
  * Anything in the metamodel (which also includes peers in the reflector) that
@@ -65,6 +68,30 @@ public interface FacetHolder {
      */
     List<Facet> getFacets(Filter<Facet> filter);
 
+    /**
+     * All {@link Facet}s that are {@link HidingInteractionAdvisor}s.
+     *
+     * <p>
+     * Equivalent to {@link #getFacets(Filter) filtering} using {@link FacetFilters#isA(Class)}, but the array is
+     * computed only once (and recomputed only if facets are subsequently added or removed).  The returned array
+     * must therefore not be modified.
+     */
+    HidingInteractionAdvisor[] getHidingInteractionAdvisors();
+
+    /**
+     * All {@link Facet}s that are {@link DisablingInteractionAdvisor}s.
+     *
+     * @see #getHidingInteractionAdvisors()
+     */
+    DisablingInteractionAdvisor[] getDisablingInteractionAdvisors();
+
+    /**
+     * All {@link Facet}s that are {@link ValidatingInteractionAdvisor}s.
+     *
+     * @see #getHidingInteractionAdvisors()
+     */
+    ValidatingInteractionAdvisor[] getValidatingInteractionAdvisors();
+
     /**
      * Adds the facet, extracting its {@link Facet#facetType() type} as the key.
      * 
@@ -24,6 +24,9 @@
 import java.util.Map;
 
 import org.apache.isis.applib.filter.Filter;
+import org.apache.isis.core.metamodel.interactions.DisablingInteractionAdvisor;
+import org.apache.isis.core.metamodel.interactions.HidingInteractionAdvisor;
+import org.apache.isis.core.metamodel.interactions.ValidatingInteractionAdvisor;
 
 /**
  * For base subclasses or, more likely, to help write tests.
@@ -32,6 +35,32 @@ public class FacetHolderImpl implements FacetHolder {
 
     private final Map<Class<? extends Facet>, Facet> facetsByClass = new HashMap<Class<? extends Facet>, Facet>();
 
+    /**
+     * Incremented (after the mutation) whenever a facet is added or removed.
+     */
+    private volatile int facetsGeneration;
+
+    /**
+     * Lazily computed from {@link #facetsByClass}, stamped with the {@link #facetsGeneration} read before
+     * computing; only reused while that generation is still current, so a snapshot computed concurrently with a
+     * facet mutation can never outlive it.
+     */
+    private volatile InteractionAdvisors interactionAdvisors;
+
+    private static final class InteractionAdvisors {
+        private final int generation;
+        private final HidingInteractionAdvisor[] hiding;
+        private final DisablingInteractionAdvisor[] disabling;
+        private final ValidatingInteractionAdvisor[] validating;
+
+        private InteractionAdvisors(final int generation, final Map<Class<? extends Facet>, Facet> facetsByClass) {
+            this.generation = generation;
+            this.hiding = FacetUtil.getFacetsOfType(facetsByClass, HidingInteractionAdvisor.class);
+            this.disabling = FacetUtil.getFacetsOfType(facetsByClass, DisablingInteractionAdvisor.class);
+            this.validating = FacetUtil.getFacetsOfType(facetsByClass, ValidatingInteractionAdvisor.class);
+        }
+    }
+
     @Override
     public boolean containsFacet(final Class<? extends Facet> facetType) {
         return getFacet(facetType) != null;
@@ -60,6 +89,7 @@ private void addFacet(final Class<? extends Facet> facetType, final Facet facet)
         final Facet existingFacet = getFacet(facetType);
         if (existingFacet == null || existingFacet.isNoop()) {
             facetsByClass.put(facetType, facet);
+            invalidateInteractionAdvisors();
             return;
         }
         if (!facet.alwaysReplace()) {
@@ -70,16 +100,19 @@ private void addFacet(final Class<? extends Facet> facetType, final Facet facet)
         }
         facet.setUnderlyingFacet(existingFacet);
         facetsByClass.put(facetType, facet);
+        invalidateInteractionAdvisors();
     }
 
     @Override
     public void removeFacet(final Facet facet) {
         FacetUtil.removeFacet(facetsByClass, facet);
+        invalidateInteractionAdvisors();
     }
 
     @Override
     public void removeFacet(final Class<? extends Facet> facetType) {
         FacetUtil.removeFacet(facetsByClass, facetType);
+        invalidateInteractionAdvisors();
     }
 
     @Override
@@ -98,4 +131,41 @@ public List<Facet> getFacets(final Filter<Facet> filter) {
         return FacetUtil.getFacets(facetsByClass, filter);
     }
 
+    @Override
+    public HidingInteractionAdvisor[] getHidingInteractionAdvisors() {
+        return getInteractionAdvisors().hiding;
+    }
+
+    @Override
+    public DisablingInteractionAdvisor[] getDisablingInteractionAdvisors() {
+        return getInteractionAdvisors().disabling;
+    }
+
+    @Override
+    public ValidatingInteractionAdvisor[] getValidatingInteractionAdvisors() {
+        return getInteractionAdvisors().validating;
+    }
+
+    private InteractionAdvisors getInteractionAdvisors() {
+        final int generation = facetsGeneration;
+        InteractionAdvisors advisors = interactionAdvisors;
+        if (advisors == null || advisors.generation != generation) {
+            advisors = new InteractionAdvisors(generation, facetsByClass);
+            interactionAdvisors = advisors;
+        }
+        return advisors;
+    }
+
+    private void invalidateInteractionAdvisors() {
+        facetsGeneration++;
+        onFacetsChanged();
+    }
+
+    /**
+     * Hook for subclasses that memoize anything derived from their facets; called after every facet is added,
+     * replaced or removed.
+     */
+    protected void onFacetsChanged() {
+    }
+
 }
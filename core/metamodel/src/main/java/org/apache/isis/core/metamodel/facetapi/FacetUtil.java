@@ -19,6 +19,7 @@
 
 package org.apache.isis.core.metamodel.facetapi;
 
+import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.Hashtable;
 import java.util.List;
@@ -129,6 +130,20 @@ public static List<Facet> getFacets(final Map<Class<? extends Facet>, Facet> fac
         return filteredFacets;
     }
 
+    /**
+     * Bit nasty, for use only by {@link FacetHolder}s that index their
+     * {@link Facet}s in a Map.
+     *
+     * <p>
+     * As per {@link #getFacets(Map, Filter)}, but returning only those facets that are instances of the specified type,
+     * as an array.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T[] getFacetsOfType(final Map<Class<? extends Facet>, Facet> facetsByClass, final Class<T> type) {
+        final List<Facet> facets = getFacets(facetsByClass, FacetFilters.isA(type));
+        return facets.toArray((T[]) Array.newInstance(type, facets.size()));
+    }
+
     public static void removeFacet(final Map<Class<? extends Facet>, Facet> facetsByClass, final Facet facet) {
         removeFacet(facetsByClass, facet.facetType());
     }
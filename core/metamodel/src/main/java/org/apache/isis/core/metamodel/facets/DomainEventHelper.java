@@ -43,6 +43,7 @@
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.facetapi.IdentifiedHolder;
 import org.apache.isis.core.metamodel.services.ServicesInjector;
+import org.apache.isis.core.metamodel.services.metrics.MetricsServiceInternal;
 import org.apache.isis.core.metamodel.spec.feature.ObjectAction;
 import org.apache.isis.core.metamodel.spec.feature.ObjectActionParameter;
 
@@ -122,7 +123,7 @@ public ActionDomainEvent<?> postEventForAction(
                 }
             }
 
-            getEventBusService().post(event);
+            post(event);
             return event;
         } catch (Exception e) {
             throw new FatalException(e);
@@ -214,7 +215,7 @@ private static List<Object> asList(final Object[] arguments) {
             // just in case the actual new value held by the object is different from that applied
             setEventNewValue(event, newValue);
 
-            this.getEventBusService().post(event);
+            post(event);
             return event;
         } catch (Exception e) {
             throw new FatalException(e);
@@ -300,7 +301,7 @@ static <S,T> PropertyDomainEvent<S,T> newPropertyDomainEvent(
             event.setEventPhase(phase);
             event.setPhase(AbstractInteractionEvent.Phase.from(phase));
 
-            getEventBusService().post(event);
+            post(event);
             return event;
         } catch (Exception e) {
             throw new FatalException(e);
@@ -407,7 +408,20 @@ <S, T> CollectionDomainEvent<S, T> newCollectionDomainEvent(
     //endregion
 
 
-    //region > eventBusService
+    //region > post
+
+    private void post(final AbstractDomainEvent<?> event) {
+        getEventBusService().post(event);
+
+        final MetricsServiceInternal metricsServiceInternal = getMetricsServiceInternal();
+        if(metricsServiceInternal != null) {
+            metricsServiceInternal.domainEventPosted();
+        }
+    }
+
+    //endregion
+
+    //region > eventBusService, metricsServiceInternal
 
     private EventBusService getEventBusService() {
         // previously this method used to cache, however it prevents integration tests
@@ -415,6 +429,10 @@ private EventBusService getEventBusService() {
         return this.servicesInjector.lookupService(EventBusService.class);
     }
 
+    private MetricsServiceInternal getMetricsServiceInternal() {
+        return this.servicesInjector.lookupService(MetricsServiceInternal.class);
+    }
+
     //endregion
 
 }
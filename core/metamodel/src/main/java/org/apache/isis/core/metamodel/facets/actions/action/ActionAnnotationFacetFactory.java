@@ -58,6 +58,7 @@
 import org.apache.isis.core.metamodel.facets.actions.action.command.CommandFacetForActionAnnotation;
 import org.apache.isis.core.metamodel.facets.actions.action.command.CommandFacetForCommandAnnotation;
 import org.apache.isis.core.metamodel.facets.actions.action.disabled.DisabledFacetForDisabledAnnotationOnAction;
+import org.apache.isis.core.metamodel.facets.actions.action.fetchgroups.FetchGroupsFacetForActionAnnotation;
 import org.apache.isis.core.metamodel.facets.actions.action.hidden.HiddenFacetForActionAnnotation;
 import org.apache.isis.core.metamodel.facets.actions.action.hidden.HiddenFacetForHiddenAnnotationOnAction;
 import org.apache.isis.core.metamodel.facets.actions.action.invocation.ActionDomainEventFacetAbstract;
@@ -87,6 +88,7 @@
 import org.apache.isis.core.metamodel.facets.actions.semantics.ActionSemanticsFacet;
 import org.apache.isis.core.metamodel.facets.all.hide.HiddenFacet;
 import org.apache.isis.core.metamodel.facets.members.disabled.DisabledFacet;
+import org.apache.isis.core.metamodel.facets.members.fetchgroups.FetchGroupsFacet;
 import org.apache.isis.core.metamodel.services.ServicesInjector;
 import org.apache.isis.core.metamodel.spec.ObjectSpecification;
 import org.apache.isis.core.metamodel.specloader.CollectionUtils;
@@ -133,6 +135,8 @@ public void process(final ProcessMethodContext processMethodContext) {
         processPublishing(processMethodContext);
 
         processTypeOf(processMethodContext);
+
+        processFetchGroups(processMethodContext);
     }
 
     void processInvocation(final ProcessMethodContext processMethodContext) {
@@ -414,6 +418,17 @@ void processPublishing(final ProcessMethodContext processMethodContext) {
         FacetUtil.addFacet(facet);
     }
 
+    void processFetchGroups(final ProcessMethodContext processMethodContext) {
+        final Method method = processMethodContext.getMethod();
+        final FacetHolder holder = processMethodContext.getFacetHolder();
+
+        // check for @Action(fetchGroups=...)
+        final Action action = Annotations.getAnnotation(method, Action.class);
+        final FetchGroupsFacet facet = FetchGroupsFacetForActionAnnotation.create(action, holder);
+
+        FacetUtil.addFacet(facet);
+    }
+
     void processTypeOf(final ProcessMethodContext processMethodContext) {
 
         final Method method = processMethodContext.getMethod();
@@ -23,6 +23,8 @@
 import com.google.common.collect.Lists;
 import org.apache.isis.applib.NonRecoverableException;
 import org.apache.isis.applib.RecoverableException;
+import org.apache.isis.applib.query.Query;
+import org.apache.isis.applib.query.QueryResultsList;
 import org.apache.isis.applib.services.bookmark.Bookmark;
 import org.apache.isis.applib.services.bookmark.BookmarkService;
 import org.apache.isis.applib.services.clock.ClockService;
@@ -57,6 +59,7 @@
 import org.apache.isis.core.metamodel.facets.actions.semantics.ActionSemanticsFacet;
 import org.apache.isis.core.metamodel.facets.collections.modify.CollectionFacet;
 import org.apache.isis.core.metamodel.facets.object.viewmodel.ViewModelFacet;
+import org.apache.isis.core.metamodel.methodutils.MethodInvokers;
 import org.apache.isis.core.metamodel.services.ServicesInjector;
 import org.apache.isis.core.metamodel.services.ixn.InteractionDtoServiceInternal;
 import org.apache.isis.core.metamodel.services.persistsession.PersistenceSessionServiceInternal;
@@ -400,12 +403,12 @@ protected Object invokeMethodElseFromCache(
             return queryResultsCache.execute(new Callable<Object>() {
                 @Override
                 public Object call() throws Exception {
-                    return method.invoke(targetPojo, executionParameters);
+                    return MethodInvokers.invoke(method, targetPojo, executionParameters);
                 }
             }, targetPojo.getClass(), method.getName(), targetPojoPlusExecutionParameters);
 
         } else {
-            return method.invoke(targetPojo, executionParameters);
+            return MethodInvokers.invoke(method, targetPojo, executionParameters);
         }
     }
 
@@ -513,9 +516,11 @@ protected ObjectAdapter filteredIfRequired(
                             adapterList,
                             interactionInitiatedBy);
             final Object visibleObjects =
-                    CollectionUtils.copyOf(
-                            Lists.transform(visibleAdapters, ObjectAdapter.Functions.getObject()),
-                            method.getReturnType());
+                    result instanceof QueryResultsList && method.getReturnType().isAssignableFrom(QueryResultsList.class)
+                            ? copyOf((QueryResultsList<?>) result, visibleAdapters)
+                            : CollectionUtils.copyOf(
+                                    Lists.transform(visibleAdapters, ObjectAdapter.Functions.getObject()),
+                                    method.getReturnType());
             if (visibleObjects != null) {
                 return getPersistenceSessionServiceInternal().adapterFor(visibleObjects);
             }
@@ -532,6 +537,19 @@ protected ObjectAdapter filteredIfRequired(
     }
 
 
+    /**
+     * Retains the originating query, so that viewers can continue to page and sort the results within the object store.
+     */
+    @SuppressWarnings("unchecked")
+    private static QueryResultsList<Object> copyOf(
+            final QueryResultsList<?> queryResultsList,
+            final List<ObjectAdapter> visibleAdapters) {
+        return new QueryResultsList<>(
+                (Query<Object>) queryResultsList.getQuery(),
+                Lists.transform(visibleAdapters, ObjectAdapter.Functions.getObject()));
+    }
+
+
     /**
      * Optional hook to allow the facet implementation for the deprecated {@link org.apache.isis.applib.annotation.PostsActionInvokedEvent} annotation
      * to discard the event if the domain event is of a different type (specifically if was installed by virtue of a no
@@ -47,6 +47,7 @@
 import org.apache.isis.core.metamodel.facets.all.hide.HiddenFacet;
 import org.apache.isis.core.metamodel.facets.collections.collection.disabled.DisabledFacetForCollectionAnnotation;
 import org.apache.isis.core.metamodel.facets.collections.collection.disabled.DisabledFacetForDisabledAnnotationOnCollection;
+import org.apache.isis.core.metamodel.facets.collections.collection.fetchgroups.FetchGroupsFacetForCollectionAnnotation;
 import org.apache.isis.core.metamodel.facets.collections.collection.hidden.HiddenFacetForCollectionAnnotation;
 import org.apache.isis.core.metamodel.facets.collections.collection.hidden.HiddenFacetForHiddenAnnotationOnCollection;
 import org.apache.isis.core.metamodel.facets.collections.collection.modify.CollectionAddToFacetForDomainEventFromAbstract;
@@ -70,6 +71,7 @@
 import org.apache.isis.core.metamodel.facets.collections.modify.CollectionAddToFacet;
 import org.apache.isis.core.metamodel.facets.collections.modify.CollectionRemoveFromFacet;
 import org.apache.isis.core.metamodel.facets.members.disabled.DisabledFacet;
+import org.apache.isis.core.metamodel.facets.members.fetchgroups.FetchGroupsFacet;
 import org.apache.isis.core.metamodel.facets.propcoll.accessor.PropertyOrCollectionAccessorFacet;
 import org.apache.isis.core.metamodel.facets.propcoll.notpersisted.NotPersistedFacet;
 import org.apache.isis.core.metamodel.services.ServicesInjector;
@@ -100,6 +102,7 @@ public void process(final ProcessMethodContext processMethodContext) {
         processEditing(processMethodContext);
         processNotPersisted(processMethodContext);
         processTypeOf(processMethodContext);
+        processFetchGroups(processMethodContext);
     }
 
     void processModify(final ProcessMethodContext processMethodContext) {
@@ -290,6 +293,16 @@ void processNotPersisted(final ProcessMethodContext processMethodContext) {
         FacetUtil.addFacet(facet);
     }
 
+    void processFetchGroups(final ProcessMethodContext processMethodContext) {
+        final Method method = processMethodContext.getMethod();
+        final FacetHolder holder = processMethodContext.getFacetHolder();
+
+        // check for @Collection(fetchGroups=...)
+        final Collection collection = Annotations.getAnnotation(method, Collection.class);
+        final FetchGroupsFacet facet = FetchGroupsFacetForCollectionAnnotation.create(collection, holder);
+
+        FacetUtil.addFacet(facet);
+    }
 
     void processTypeOf(final ProcessMethodContext processMethodContext) {
 
@@ -21,8 +21,11 @@
 
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 
+import com.google.common.base.Function;
 import com.google.common.collect.Collections2;
+import com.google.common.collect.Lists;
 
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.adapter.mgr.AdapterManager;
@@ -38,11 +41,19 @@ public JavaCollectionFacet(final FacetHolder holder, final AdapterManager adapte
         this.adapterManager = adapterManager;
     }
 
+    /**
+     * If the underlying collection is a {@link List}, then so is the returned collection, so that a subset of its
+     * elements (eg a page) can be accessed without adapting all of the others.
+     */
     @Override
     @SuppressWarnings("unchecked")
     public Collection<ObjectAdapter> collection(final ObjectAdapter wrappedCollection) {
         final Collection<?> collectionOfUnderlying = collectionOfUnderlying(wrappedCollection);
-        return Collections2.transform(collectionOfUnderlying, ObjectAdapter.Functions.adapterForUsing(getAdapterManager()));
+        final Function<Object, ObjectAdapter> adapterFor = ObjectAdapter.Functions.adapterForUsing(getAdapterManager());
+        if (collectionOfUnderlying instanceof List) {
+            return Lists.transform((List<?>) collectionOfUnderlying, adapterFor);
+        }
+        return Collections2.transform(collectionOfUnderlying, adapterFor);
     }
 
     @Override
@@ -19,12 +19,8 @@
 
 package org.apache.isis.core.metamodel.interactions;
 
-import java.util.List;
-
 import org.apache.isis.core.metamodel.consent.InteractionResult;
 import org.apache.isis.core.metamodel.consent.InteractionResultSet;
-import org.apache.isis.core.metamodel.facetapi.Facet;
-import org.apache.isis.core.metamodel.facetapi.FacetFilters;
 import org.apache.isis.core.metamodel.facetapi.FacetHolder;
 
 public final class InteractionUtils {
@@ -32,33 +28,120 @@ public final class InteractionUtils {
     private InteractionUtils() {
     }
 
+    //region > facetCheckNanos
+
+    /**
+     * Whether facet checks are timed at all; if not (the default) then checking costs neither a thread-local lookup
+     * nor any calls to {@link System#nanoTime()}.
+     */
+    private static volatile boolean facetChecksTimed;
+
+    /**
+     * Cumulative time spent by each thread evaluating interaction advisors (excluding nested evaluations).
+     */
+    private static final ThreadLocal<FacetCheckTimer> facetCheckTimer = new ThreadLocal<FacetCheckTimer>() {
+        @Override
+        protected FacetCheckTimer initialValue() {
+            return new FacetCheckTimer();
+        }
+    };
+
+    private static class FacetCheckTimer {
+        private int depth;
+        private long startedAt;
+        private long cumulativeNanos;
+
+        void start() {
+            if(depth++ == 0) {
+                startedAt = System.nanoTime();
+            }
+        }
+
+        void stop() {
+            if(--depth == 0) {
+                cumulativeNanos += System.nanoTime() - startedAt;
+            }
+        }
+    }
+
+    public static boolean isFacetChecksTimed() {
+        return facetChecksTimed;
+    }
+
+    /**
+     * Typically set just the once, on bootstrapping, from configuration.
+     */
+    public static void setFacetChecksTimed(final boolean facetChecksTimed) {
+        InteractionUtils.facetChecksTimed = facetChecksTimed;
+    }
+
+    /**
+     * The cumulative time (in nanos) that the current thread has spent checking whether members are visible, usable
+     * or valid; always 0 unless {@link #setFacetChecksTimed(boolean) timed}.
+     */
+    public static long getFacetCheckNanos() {
+        return facetChecksTimed ? facetCheckTimer.get().cumulativeNanos : 0L;
+    }
+
+    private static FacetCheckTimer startFacetCheckTimerIfTimed() {
+        if(!facetChecksTimed) {
+            return null;
+        }
+        final FacetCheckTimer timer = facetCheckTimer.get();
+        timer.start();
+        return timer;
+    }
+
+    private static void stop(final FacetCheckTimer timerIfAny) {
+        if(timerIfAny != null) {
+            timerIfAny.stop();
+        }
+    }
+
+    //endregion
+
     public static InteractionResult isVisibleResult(final FacetHolder facetHolder, final VisibilityContext<?> context) {
         final InteractionResult result = new InteractionResult(context.createInteractionEvent());
-        final List<Facet> facets = facetHolder.getFacets(FacetFilters.isA(HidingInteractionAdvisor.class));
-        for (final Facet facet : facets) {
-            final HidingInteractionAdvisor advisor = (HidingInteractionAdvisor) facet;
-            result.advise(advisor.hides(context), advisor);
+        final HidingInteractionAdvisor[] advisors = facetHolder.getHidingInteractionAdvisors();
+        final FacetCheckTimer timerIfAny = startFacetCheckTimerIfTimed();
+        try {
+            for (int i = 0; i < advisors.length; i++) {
+                final HidingInteractionAdvisor advisor = advisors[i];
+                result.advise(advisor.hides(context), advisor);
+            }
+        } finally {
+            stop(timerIfAny);
         }
         return result;
     }
 
     public static InteractionResult isUsableResult(final FacetHolder facetHolder, final UsabilityContext<?> context) {
         final InteractionResult result = new InteractionResult(context.createInteractionEvent());
-        final List<Facet> facets = facetHolder.getFacets(FacetFilters.isA(DisablingInteractionAdvisor.class));
-        for (final Facet facet : facets) {
-            final DisablingInteractionAdvisor advisor = (DisablingInteractionAdvisor) facet;
-            final String disables = advisor.disables(context);
-            result.advise(disables, advisor);
+        final DisablingInteractionAdvisor[] advisors = facetHolder.getDisablingInteractionAdvisors();
+        final FacetCheckTimer timerIfAny = startFacetCheckTimerIfTimed();
+        try {
+            for (int i = 0; i < advisors.length; i++) {
+                final DisablingInteractionAdvisor advisor = advisors[i];
+                final String disables = advisor.disables(context);
+                result.advise(disables, advisor);
+            }
+        } finally {
+            stop(timerIfAny);
         }
         return result;
     }
 
     public static InteractionResult isValidResult(final FacetHolder facetHolder, final ValidityContext<?> context) {
         final InteractionResult result = new InteractionResult(context.createInteractionEvent());
-        final List<Facet> facets = facetHolder.getFacets(FacetFilters.isA(ValidatingInteractionAdvisor.class));
-        for (final Facet facet : facets) {
-            final ValidatingInteractionAdvisor advisor = (ValidatingInteractionAdvisor) facet;
-            result.advise(advisor.invalidates(context), advisor);
+        final ValidatingInteractionAdvisor[] advisors = facetHolder.getValidatingInteractionAdvisors();
+        final FacetCheckTimer timerIfAny = startFacetCheckTimerIfTimed();
+        try {
+            for (int i = 0; i < advisors.length; i++) {
+                final ValidatingInteractionAdvisor advisor = advisors[i];
+                result.advise(advisor.invalidates(context), advisor);
+            }
+        } finally {
+            stop(timerIfAny);
         }
         return result;
     }
@@ -0,0 +1,42 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.metamodel.methodutils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Invokes a particular {@link Method}, with the same contract as {@link Method#invoke(Object, Object...)}.
+ *
+ * <p>
+ * Implementations are generated by {@link MethodInvokerGenerator}, and are looked up using
+ * {@link MethodInvokers#invoke(Method, Object, Object[])}.
+ */
+public interface MethodInvoker {
+
+    /**
+     * @param target - the object to invoke the method on; ignored for static methods.
+     * @param arguments - the arguments, one per parameter of the method.
+     *
+     * @throws IllegalArgumentException - if the number or types of the arguments are incorrect.
+     * @throws InvocationTargetException - wrapping any exception thrown by the method itself.
+     */
+    Object invoke(Object target, Object[] arguments) throws IllegalAccessException, InvocationTargetException;
+
+}
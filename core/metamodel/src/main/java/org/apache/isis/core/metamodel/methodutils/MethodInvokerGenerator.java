@@ -0,0 +1,274 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.metamodel.methodutils;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.collect.MapMaker;
+import com.google.common.primitives.Primitives;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javassist.CannotCompileException;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtField;
+import javassist.CtNewConstructor;
+import javassist.CtNewMethod;
+import javassist.LoaderClassPath;
+import javassist.NotFoundException;
+
+/**
+ * Uses Javassist to generate a {@link MethodInvoker} for a {@link Method}, that calls the method directly (rather
+ * than reflectively).
+ *
+ * <p>
+ * Invokers can only be generated for public methods of public classes whose parameter types are also public, and
+ * whose class loader can also see {@link MethodInvoker}; for other methods {@link #generate(Method)} returns
+ * <tt>null</tt>.
+ *
+ * <p>
+ * The method is only called directly if the target is an instance of its declaring class and each argument is
+ * exactly of the type of its parameter (or the corresponding wrapper type, for primitive parameters); otherwise the
+ * invoker delegates to {@link Method#invoke(Object, Object...)}, so that (for example) arguments are widened, and
+ * bad arguments rejected, exactly as they would be reflectively.  The invoker references that {@link Method} only
+ * weakly (so that it can be held as the value of a map weakly keyed by the method, as by {@link MethodInvokers});
+ * the caller must therefore keep the method reachable for as long as it uses the invoker.
+ *
+ * <p>
+ * The invoker classes are defined in a package of their own ({@value #PACKAGE_NAME}), by a class loader of their
+ * own that is a child of the domain class' loader; nothing is added to the domain class' package or loader.
+ */
+public final class MethodInvokerGenerator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MethodInvokerGenerator.class);
+
+    static final String PACKAGE_NAME = "org.apache.isis.core.metamodel.methodutils.generated";
+
+    private static final AtomicInteger classNumber = new AtomicInteger();
+
+    /**
+     * The loader for invokers, keyed by the class loader of the domain classes they invoke.
+     *
+     * <p>
+     * Both are held weakly (the invoker loader references the domain class loader as its parent), the invoker loader
+     * being kept reachable by the classes that it has defined.
+     */
+    private static final ConcurrentMap<ClassLoader, InvokerClassLoader> invokerClassLoaderByParent =
+            new MapMaker().weakKeys().weakValues().makeMap();
+
+    private MethodInvokerGenerator() {
+    }
+
+    /**
+     * @return the generated invoker, or <tt>null</tt> if one could not be generated for this method.
+     */
+    public static MethodInvoker generate(final Method method) {
+        final Class<?> declaringClass = method.getDeclaringClass();
+        if(!canGenerateFor(method)) {
+            return null;
+        }
+        final ClassLoader classLoader = declaringClass.getClassLoader();
+        if(!canSeeMethodInvoker(classLoader)) {
+            return null;
+        }
+
+        final String className = PACKAGE_NAME + "." + declaringClass.getSimpleName() + "$" + method.getName()
+                + "$" + classNumber.incrementAndGet();
+        try {
+            final ClassPool classPool = new ClassPool(false);
+            classPool.appendClassPath(new LoaderClassPath(classLoader));
+            classPool.appendSystemPath();
+
+            final CtClass ctClass = classPool.makeClass(className);
+            ctClass.addInterface(classPool.get(MethodInvoker.class.getName()));
+            ctClass.addField(CtField.make("private final java.lang.ref.Reference method;", ctClass));
+            ctClass.addConstructor(CtNewConstructor.make(
+                    "public " + ctClass.getSimpleName() + "(java.lang.reflect.Method method) { "
+                            + "this.method = new java.lang.ref.WeakReference(method); }",
+                    ctClass));
+            ctClass.addMethod(CtNewMethod.make(invokeMethodSourceFor(method), ctClass));
+
+            final byte[] bytecode = ctClass.toBytecode();
+            ctClass.detach();
+            final Class<?> invokerClass = invokerClassLoaderFor(classLoader).define(className, bytecode);
+            return (MethodInvoker) invokerClass.getConstructor(Method.class).newInstance(method);
+        } catch (final NotFoundException | CannotCompileException | IOException | ReflectiveOperationException
+                | RuntimeException | LinkageError ex) {
+            LOG.debug("Unable to generate invoker for {}; will be invoked reflectively", method, ex);
+            return null;
+        }
+    }
+
+    private static InvokerClassLoader invokerClassLoaderFor(final ClassLoader parent) {
+        final InvokerClassLoader invokerClassLoader = invokerClassLoaderByParent.get(parent);
+        if(invokerClassLoader != null) {
+            return invokerClassLoader;
+        }
+        final InvokerClassLoader newInvokerClassLoader = new InvokerClassLoader(parent);
+        final InvokerClassLoader existing = invokerClassLoaderByParent.putIfAbsent(parent, newInvokerClassLoader);
+        return existing != null ? existing : newInvokerClassLoader;
+    }
+
+    private static class InvokerClassLoader extends ClassLoader {
+
+        InvokerClassLoader(final ClassLoader parent) {
+            super(parent);
+        }
+
+        synchronized Class<?> define(final String className, final byte[] bytecode) {
+            return defineClass(className, bytecode, 0, bytecode.length);
+        }
+    }
+
+    static boolean canGenerateFor(final Method method) {
+        final Class<?> declaringClass = method.getDeclaringClass();
+        if(!Modifier.isPublic(method.getModifiers())) {
+            return false;
+        }
+        if(declaringClass.isInterface() && Modifier.isStatic(method.getModifiers())) {
+            return false;
+        }
+        if(declaringClass.getClassLoader() == null) {
+            // eg methods of java.lang.Object; can't define classes in the bootstrap class loader
+            return false;
+        }
+        if(!isPublic(declaringClass)) {
+            return false;
+        }
+        for (final Class<?> parameterType : method.getParameterTypes()) {
+            if(!isPublic(parameterType)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isPublic(final Class<?> cls) {
+        if(cls.isPrimitive()) {
+            return true;
+        }
+        if(cls.isArray()) {
+            return isPublic(cls.getComponentType());
+        }
+        for (Class<?> c = cls; c != null; c = c.getEnclosingClass()) {
+            if(!Modifier.isPublic(c.getModifiers())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean canSeeMethodInvoker(final ClassLoader classLoader) {
+        try {
+            return Class.forName(MethodInvoker.class.getName(), false, classLoader) == MethodInvoker.class;
+        } catch (final ClassNotFoundException ex) {
+            return false;
+        }
+    }
+
+    //region > source
+
+    /**
+     * If the target or arguments are not exactly of the types of the method (including if any argument for a
+     * primitive parameter is <tt>null</tt>), then the call is delegated to {@link Method#invoke(Object, Object...)};
+     * otherwise the method is called directly, with any exception it throws wrapped in an
+     * {@link java.lang.reflect.InvocationTargetException}, as for reflection.
+     */
+    static String invokeMethodSourceFor(final Method method) {
+        final Class<?> declaringClass = method.getDeclaringClass();
+        final Class<?>[] parameterTypes = method.getParameterTypes();
+        final boolean isStatic = Modifier.isStatic(method.getModifiers());
+
+        final StringBuilder buf = new StringBuilder();
+        buf.append("public Object invoke(Object target, Object[] args) ")
+           .append("throws java.lang.IllegalAccessException, java.lang.reflect.InvocationTargetException {\n");
+
+        buf.append("  if (");
+        if(parameterTypes.length == 0) {
+            buf.append("(args != null && args.length != 0)");
+        } else {
+            buf.append("args == null || args.length != ").append(parameterTypes.length);
+        }
+        if(!isStatic) {
+            buf.append("\n      || !(target instanceof ").append(sourceNameOf(declaringClass)).append(")");
+        }
+        for (int i = 0; i < parameterTypes.length; i++) {
+            final Class<?> parameterType = parameterTypes[i];
+            buf.append("\n      || !(");
+            if(parameterType.isPrimitive()) {
+                buf.append("args[").append(i).append("] instanceof ").append(Primitives.wrap(parameterType).getName());
+            } else {
+                buf.append("args[").append(i).append("] == null || args[").append(i).append("] instanceof ")
+                   .append(sourceNameOf(parameterType));
+            }
+            buf.append(")");
+        }
+        buf.append(") {\n")
+           .append("    return ((java.lang.reflect.Method) method.get()).invoke(target, args);\n")
+           .append("  }\n");
+
+        final StringBuilder call = new StringBuilder();
+        call.append(isStatic ? sourceNameOf(declaringClass) : "((" + sourceNameOf(declaringClass) + ") target)")
+            .append(".").append(method.getName()).append("(");
+        for (int i = 0; i < parameterTypes.length; i++) {
+            call.append(i > 0 ? ", " : "").append(unboxed(parameterTypes[i], "args[" + i + "]"));
+        }
+        call.append(")");
+
+        buf.append("  try {\n");
+        final Class<?> returnType = method.getReturnType();
+        if(returnType == void.class) {
+            buf.append("    ").append(call).append(";\n")
+               .append("    return null;\n");
+        } else if(returnType.isPrimitive()) {
+            buf.append("    return ").append(Primitives.wrap(returnType).getName())
+               .append(".valueOf(").append(call).append(");\n");
+        } else {
+            buf.append("    return ").append(call).append(";\n");
+        }
+        buf.append("  } catch (java.lang.Throwable ex) {\n")
+           .append("    throw new java.lang.reflect.InvocationTargetException(ex);\n")
+           .append("  }\n");
+
+        buf.append("}\n");
+        return buf.toString();
+    }
+
+    private static String unboxed(final Class<?> type, final String expression) {
+        if(!type.isPrimitive()) {
+            return "(" + sourceNameOf(type) + ") " + expression;
+        }
+        return "((" + Primitives.wrap(type).getName() + ") " + expression + ")." + type.getName() + "Value()";
+    }
+
+    private static String sourceNameOf(final Class<?> type) {
+        return type.isArray()
+                ? sourceNameOf(type.getComponentType()) + "[]"
+                : type.getName();
+    }
+
+    //endregion
+
+}
@@ -0,0 +1,74 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.metamodel.methodutils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.collect.MapMaker;
+
+/**
+ * Registry of the {@link MethodInvoker}s {@link #generateFor(Method) generated} (at metamodel build time) for the
+ * {@link Method}s held by facets.
+ *
+ * <p>
+ * The registry is keyed by the identity of the {@link Method} instance (as held by the facet) and those keys are
+ * held weakly, so that generated invokers do not outlive the metamodel (the invokers themselves only reference
+ * their method weakly, so do not keep their key reachable).  Any {@link Method} for which no invoker has
+ * been generated - or that is not the same instance - is simply invoked reflectively.
+ */
+public final class MethodInvokers {
+
+    private MethodInvokers() {
+    }
+
+    private static final ConcurrentMap<Method, MethodInvoker> invokerByMethod =
+            new MapMaker().weakKeys().makeMap();
+
+    /**
+     * Generates (if possible, and not already generated) an invoker for the method.
+     *
+     * @return whether there is now a generated invoker for this method.
+     */
+    public static boolean generateFor(final Method method) {
+        if(invokerByMethod.containsKey(method)) {
+            return true;
+        }
+        final MethodInvoker invoker = MethodInvokerGenerator.generate(method);
+        if(invoker == null) {
+            return false;
+        }
+        invokerByMethod.putIfAbsent(method, invoker);
+        return true;
+    }
+
+    /**
+     * Invokes the method, using its generated invoker if there is one, otherwise
+     * {@link Method#invoke(Object, Object...) reflectively}.
+     */
+    public static Object invoke(final Method method, final Object target, final Object[] arguments)
+            throws IllegalAccessException, InvocationTargetException {
+        final MethodInvoker invoker = invokerByMethod.get(method);
+        return invoker != null
+                ? invoker.invoke(target, arguments)
+                : method.invoke(target, arguments);
+    }
+
+}
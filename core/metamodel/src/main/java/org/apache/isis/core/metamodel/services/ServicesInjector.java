@@ -84,9 +84,18 @@ public class ServicesInjector implements ApplicationScopedComponent {
      * If no key, not yet searched for type; otherwise the corresponding value is a {@link List} of all
      * services that are assignable to the type.  It's possible that this is an empty list.
      */
-    private final Map<Class<?>, List<Object>> servicesAssignableToType = Maps.newHashMap();
+    private final Map<Class<?>, List<Object>> servicesAssignableToType = Maps.newConcurrentMap();
 
-    private final Map<Class<?>, Object> serviceByConcreteType = Maps.newHashMap();
+    /**
+     * Lazily populated; <tt>null</tt> if not yet built (or invalidated).
+     */
+    private volatile Map<Class<?>, Object> serviceByConcreteType;
+
+    /**
+     * If no key, no object of the class has yet been injected into; otherwise the {@link InjectionPlan} for that
+     * class, bound to the {@link #services} at the time it was created.
+     */
+    private final Map<Class<?>, InjectionPlan> injectionPlanByClass = Maps.newConcurrentMap();
 
     private final InjectorMethodEvaluator injectorMethodEvaluator;
     private final boolean autowireSetters;
@@ -154,17 +163,21 @@ public <T> void replaceService(final T existingService, final T replacementServi
 
         // invalidate
         servicesAssignableToType.clear();
-        serviceByConcreteType.clear();
+        serviceByConcreteType = null;
+        injectionPlanByClass.clear();
         autowire();
     }
 
     public boolean isRegisteredService(final Class<?> cls) {
         // lazily construct cache
-        if(serviceByConcreteType.isEmpty()) {
+        Map<Class<?>, Object> serviceByConcreteType = this.serviceByConcreteType;
+        if(serviceByConcreteType == null) {
+            serviceByConcreteType = Maps.newHashMap();
             for (Object service : services) {
                 final Class<?> concreteType = service.getClass();
                 serviceByConcreteType.put(concreteType, service);
             }
+            this.serviceByConcreteType = serviceByConcreteType;
         }
         return serviceByConcreteType.containsKey(cls);
     }
@@ -176,6 +189,11 @@ public <T> void addFallbackIfRequired(final Class<T> serviceClass, final T servi
             // FixtureScriptsDefault so that appears it top of prototyping menu; not
             // more flexible than this currently just because of YAGNI).
             services.add(0, serviceInstance);
+
+            // invalidate
+            servicesAssignableToType.clear();
+            serviceByConcreteType = null;
+            injectionPlanByClass.clear();
         }
     }
 
@@ -243,7 +261,7 @@ public List<Object> getRegisteredServices() {
      * Called in multiple places from metamodel and facets.
      */
     public void injectServicesInto(final Object object) {
-        injectServices(object, services);
+        injectionPlanFor(object.getClass()).injectInto(object);
     }
 
     /**
@@ -275,21 +293,40 @@ public void injectInto(final Object candidate) {
 
     //region > helpers
 
-    private void injectServices(final Object object, final List<Object> services) {
+    private InjectionPlan injectionPlanFor(final Class<?> cls) {
 
-        final Class<?> cls = object.getClass();
+        // there's no need to synchronize this access.
+        // if there were a race condition, then at worst an equivalent plan would be created and discarded
 
-        autowireViaFields(object, services, cls);
+        InjectionPlan injectionPlan = injectionPlanByClass.get(cls);
+        if(injectionPlan == null) {
+            injectionPlan = newInjectionPlan(cls);
+            injectionPlanByClass.put(cls, injectionPlan);
+        }
+        return injectionPlan;
+    }
+
+    /**
+     * Reflects over the class to determine which services are to be injected into which fields and methods.
+     *
+     * <p>
+     * Not cached; visible only for the benchmark.
+     */
+    InjectionPlan newInjectionPlan(final Class<?> cls) {
+        final InjectionPlan injectionPlan = new InjectionPlan();
+
+        planViaFields(injectionPlan, services, cls);
 
         if(autowireSetters) {
-            autowireViaPrefixedMethods(object, services, cls, "set");
+            planViaPrefixedMethods(injectionPlan, services, cls, "set");
         }
         if(autowireInject) {
-            autowireViaPrefixedMethods(object, services, cls, "inject");
+            planViaPrefixedMethods(injectionPlan, services, cls, "inject");
         }
+        return injectionPlan;
     }
 
-    private void autowireViaFields(final Object object, final List<Object> services, final Class<?> cls) {
+    private void planViaFields(final InjectionPlan injectionPlan, final List<Object> services, final Class<?> cls) {
         final List<Field> fields = Arrays.asList(cls.getDeclaredFields());
         final Iterable<Field> injectFields = Iterables.filter(fields, new Predicate<Field>() {
             @Override
@@ -300,18 +337,24 @@ public boolean apply(final Field input) {
         });
 
         for (final Field field : injectFields) {
-            autowire(object, field, services);
+            final Object value = valueToInject(field, services);
+            if(value != null) {
+                field.setAccessible(true);
+                injectionPlan.addField(field, value);
+            }
         }
 
         // recurse up the object's class hierarchy
         final Class<?> superclass = cls.getSuperclass();
         if(superclass != null) {
-            autowireViaFields(object, services, superclass);
+            planViaFields(injectionPlan, services, superclass);
         }
     }
 
-    private void autowire(
-            final Object object,
+    /**
+     * @return the service (or {@link List} of services) to inject into the field, or <tt>null</tt> if none.
+     */
+    private static Object valueToInject(
             final Field field,
             final List<Object> services) {
 
@@ -319,17 +362,18 @@ private void autowire(
         // don't think that type can ever be null,
         // but Javadoc for java.lang.reflect.Field doesn't say
         if(type == null) {
-            return;
+            return null;
         }
 
+        Object value = null;
+
         // inject into Collection<T> or List<T>
         if(Collection.class.isAssignableFrom(type) || List.class.isAssignableFrom(type)) {
             final Type genericType = field.getGenericType();
             if(genericType instanceof ParameterizedType) {
                 final ParameterizedType listParameterizedType = (ParameterizedType) genericType;
                 final Class<?> listType = (Class<?>) listParameterizedType.getActualTypeArguments()[0];
-                final List<Object> listOfServices =
-                        Collections.unmodifiableList(
+                value = Collections.unmodifiableList(
                                 Lists.newArrayList(
                                         Iterables.filter(services, new Predicate<Object>() {
                                             @Override
@@ -337,21 +381,20 @@ public boolean apply(final Object input) {
                                                 return input != null && listType.isAssignableFrom(input.getClass());
                                             }
                                         })));
-                invokeInjectorField(field, object, listOfServices);
             }
         }
 
         for (final Object service : services) {
             final Class<?> serviceClass = service.getClass();
             if(type.isAssignableFrom(serviceClass)) {
-                invokeInjectorField(field, object, service);
-                return;
+                return service;
             }
         }
+        return value;
     }
 
-    private void autowireViaPrefixedMethods(
-            final Object object,
+    private void planViaPrefixedMethods(
+            final InjectionPlan injectionPlan,
             final List<Object> services,
             final Class<?> cls,
             final String prefix) {
@@ -364,21 +407,50 @@ public boolean apply(final Method method) {
         });
 
         for (final Method prefixedMethod : prefixedMethods) {
-            autowire(object, prefixedMethod, services);
+            for (final Object service : services) {
+                final Class<?> serviceClass = service.getClass();
+                final boolean isInjectorMethod = injectorMethodEvaluator.isInjectorMethodFor(prefixedMethod, serviceClass);
+                if(isInjectorMethod) {
+                    prefixedMethod.setAccessible(true);
+                    injectionPlan.addMethod(prefixedMethod, service);
+                    break;
+                }
+            }
         }
     }
 
-    private void autowire(
-            final Object object,
-            final Method prefixedMethod,
-            final List<Object> services) {
-        for (final Object service : services) {
-            final Class<?> serviceClass = service.getClass();
-            final boolean isInjectorMethod = injectorMethodEvaluator.isInjectorMethodFor(prefixedMethod, serviceClass);
-            if(isInjectorMethod) {
-                prefixedMethod.setAccessible(true);
-                invokeInjectorMethod(prefixedMethod, object, service);
-                return;
+    /**
+     * The fields and methods of a class to inject into, each with the service (or {@link List} of services) to be
+     * injected, in the order that they are to be injected.
+     *
+     * <p>
+     * Created once per class (by {@link #newInjectionPlan(Class)}) and thereafter immutable, so that injecting into
+     * each further instance of the class requires no further reflection over either the class or the services.
+     * </p>
+     */
+    static final class InjectionPlan {
+
+        private final List<Field> fields = Lists.newArrayList();
+        private final List<Object> fieldValues = Lists.newArrayList();
+        private final List<Method> methods = Lists.newArrayList();
+        private final List<Object> methodServices = Lists.newArrayList();
+
+        private void addField(final Field field, final Object value) {
+            fields.add(field);
+            fieldValues.add(value);
+        }
+
+        private void addMethod(final Method method, final Object service) {
+            methods.add(method);
+            methodServices.add(service);
+        }
+
+        void injectInto(final Object object) {
+            for (int i = 0; i < fields.size(); i++) {
+                invokeInjectorField(fields.get(i), object, fieldValues.get(i));
+            }
+            for (int i = 0; i < methods.size(); i++) {
+                invokeInjectorMethod(methods.get(i), object, methodServices.get(i));
             }
         }
     }
@@ -402,7 +474,6 @@ private static void invokeMethod(final Method method, final Object target, final
 
     private static void invokeInjectorField(final Field field, final Object target, final Object parameter) {
         try {
-            field.setAccessible(true);
             field.set(target, parameter);
         } catch (final IllegalArgumentException e) {
             throw new MetaModelException(e);
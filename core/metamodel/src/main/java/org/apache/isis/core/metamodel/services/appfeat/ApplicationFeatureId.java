@@ -29,7 +29,9 @@
 import com.google.common.base.Joiner;
 import com.google.common.base.Predicate;
 import com.google.common.base.Splitter;
+import com.google.common.collect.ComparisonChain;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Ordering;
 import com.google.common.io.BaseEncoding;
 
 import org.apache.isis.applib.annotation.Programmatic;
@@ -423,9 +425,18 @@ private static List<ApplicationFeatureId> appendParents(final ApplicationFeature
 
     private final static String propertyNames = "type, packageName, className, memberName";
 
+    private final static Ordering<ApplicationFeatureType> TYPE_NULLS_FIRST = Ordering.<ApplicationFeatureType>natural().nullsFirst();
+    private final static Ordering<String> STRING_NULLS_FIRST = Ordering.<String>natural().nullsFirst();
+
     @Override
     public int compareTo(final ApplicationFeatureId other) {
-        return ObjectContracts.compare(this, other, propertyNames);
+        // equivalent to ObjectContracts.compare(this, other, propertyNames), but without the reflection.
+        return ComparisonChain.start()
+                .compare(type, other.type, TYPE_NULLS_FIRST)
+                .compare(packageName, other.packageName, STRING_NULLS_FIRST)
+                .compare(className, other.className, STRING_NULLS_FIRST)
+                .compare(memberName, other.memberName, STRING_NULLS_FIRST)
+                .result();
     }
 
     @Override
@@ -21,13 +21,22 @@
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.Set;
-import java.util.SortedMap;
+import java.util.Map;
 import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
@@ -67,22 +76,78 @@
 public class ApplicationFeatureRepositoryDefault implements ApplicationFeatureRepository {
 
     //region > caches
-    SortedMap<ApplicationFeatureId, ApplicationFeature> packageFeatures = Maps.newTreeMap();
-    private final SortedMap<ApplicationFeatureId, ApplicationFeature> classFeatures = Maps.newTreeMap();
-    private final SortedMap<ApplicationFeatureId, ApplicationFeature> memberFeatures = Maps.newTreeMap();
-    private final SortedMap<ApplicationFeatureId, ApplicationFeature> propertyFeatures = Maps.newTreeMap();
-    private final SortedMap<ApplicationFeatureId, ApplicationFeature> collectionFeatures = Maps.newTreeMap();
-    private final SortedMap<ApplicationFeatureId, ApplicationFeature> actionFeatures = Maps.newTreeMap();
+
+    // populated while the index is built (see #initializeIfRequired()), then published as an immutable snapshot
+    Map<ApplicationFeatureId, ApplicationFeature> packageFeatures = Maps.newHashMap();
+    private final Map<ApplicationFeatureId, ApplicationFeature> classFeatures = Maps.newHashMap();
+    private final Map<ApplicationFeatureId, ApplicationFeature> memberFeatures = Maps.newHashMap();
+    private final Map<ApplicationFeatureId, ApplicationFeature> propertyFeatures = Maps.newHashMap();
+    private final Map<ApplicationFeatureId, ApplicationFeature> collectionFeatures = Maps.newHashMap();
+    private final Map<ApplicationFeatureId, ApplicationFeature> actionFeatures = Maps.newHashMap();
+
+    /**
+     * Immutable snapshot of the features, so that lookups (performed by security modules for every permission check)
+     * are hashed and require no locking.
+     *
+     * <p>
+     *     The values of each map iterate in the natural order of their {@link ApplicationFeatureId}s, as did the
+     *     <tt>TreeMap</tt>s previously used.
+     * </p>
+     */
+    static class Index {
+
+        final ImmutableMap<ApplicationFeatureId, ApplicationFeature> packageFeatures;
+        final ImmutableMap<ApplicationFeatureId, ApplicationFeature> classFeatures;
+        final ImmutableMap<ApplicationFeatureId, ApplicationFeature> memberFeatures;
+        final ImmutableMap<ApplicationFeatureId, ApplicationFeature> propertyFeatures;
+        final ImmutableMap<ApplicationFeatureId, ApplicationFeature> collectionFeatures;
+        final ImmutableMap<ApplicationFeatureId, ApplicationFeature> actionFeatures;
+
+        /**
+         * For each package, the (ordered) ids of all classes within it or any of its sub-packages.
+         */
+        final ImmutableListMultimap<ApplicationFeatureId, ApplicationFeatureId> classIdsByPackageId;
+
+        Index(final ApplicationFeatureRepositoryDefault repository) {
+            packageFeatures = sortedCopyOf(repository.packageFeatures);
+            classFeatures = sortedCopyOf(repository.classFeatures);
+            memberFeatures = sortedCopyOf(repository.memberFeatures);
+            propertyFeatures = sortedCopyOf(repository.propertyFeatures);
+            collectionFeatures = sortedCopyOf(repository.collectionFeatures);
+            actionFeatures = sortedCopyOf(repository.actionFeatures);
+
+            final ImmutableListMultimap.Builder<ApplicationFeatureId, ApplicationFeatureId> builder =
+                    ImmutableListMultimap.builder();
+            for (final ApplicationFeatureId classId : classFeatures.keySet()) {
+                for (final ApplicationFeatureId packageId : classId.getParentIds()) {
+                    builder.put(packageId, classId);
+                }
+            }
+            classIdsByPackageId = builder.build();
+        }
+
+        private static ImmutableMap<ApplicationFeatureId, ApplicationFeature> sortedCopyOf(
+                final Map<ApplicationFeatureId, ApplicationFeature> features) {
+            return ImmutableMap.copyOf(new TreeMap<>(features));
+        }
+    }
+
+    private volatile Index index;
+
     //endregion
 
 
     //region > init
 
     private static final String KEY = "isis.services.applicationFeatures.init";
+    private static final String KEY_PARALLEL = "isis.services.applicationFeatures.init.parallel";
+
+    private boolean parallelInitialize;
 
     @Programmatic
     @PostConstruct
     public void init() {
+        parallelInitialize = isParallelInitialize();
         if(isEagerInitialize()) {
             initializeIfRequired();
         }
@@ -94,24 +159,30 @@ private boolean isEagerInitialize() {
                 "eagerly".equalsIgnoreCase(configuredValue);
     }
 
+    private boolean isParallelInitialize() {
+        return "true".equalsIgnoreCase(configurationService.getProperty(KEY_PARALLEL, "false"));
+    }
+
     //endregion
 
 
     //region > initializeIfRequired
 
-    enum InitializationState {
-        NOT_INITIALIZED,
-        INITIALIZED
+    /**
+     * Lock-free once the {@link Index} has been built.
+     */
+    private Index index() {
+        final Index index = this.index;
+        return index != null ? index : initializeIfRequired();
     }
-    private InitializationState initializationState = InitializationState.NOT_INITIALIZED;
 
-    private synchronized void initializeIfRequired() {
-        if(initializationState == InitializationState.INITIALIZED) {
-            return;
+    private synchronized Index initializeIfRequired() {
+        if(index == null) {
+            final Collection<ObjectSpecification> specifications = primeMetaModel();
+            createApplicationFeaturesFor(specifications);
+            index = new Index(this);
         }
-        initializationState = InitializationState.INITIALIZED;
-        final Collection<ObjectSpecification> specifications = primeMetaModel();
-        createApplicationFeaturesFor(specifications);
+        return index;
     }
 
     private Collection<ObjectSpecification> primeMetaModel() {
@@ -125,14 +196,97 @@ private Collection<ObjectSpecification> primeMetaModel() {
     private void createApplicationFeaturesFor(final Collection<ObjectSpecification> specifications) {
         // take copy to avoid ConcurrentModificationException
         final List<ObjectSpecification> objectSpecifications = Lists.newArrayList(specifications);
-        for (final ObjectSpecification spec : objectSpecifications) {
-            createApplicationFeaturesFor(spec);
+        if(!parallelInitialize) {
+            for (final ObjectSpecification spec : objectSpecifications) {
+                createApplicationFeaturesFor(spec);
+            }
+            return;
+        }
+        for (final ClassMembers classMembers : membersOfInParallel(objectSpecifications)) {
+            if(classMembers != null) {
+                createApplicationFeaturesFor(classMembers);
+            }
         }
     }
 
-    void createApplicationFeaturesFor(final ObjectSpecification spec) {
+    /**
+     * Obtains the members of each of the specifications using a thread per processor; this is where most of the time
+     * is spent (the mixed-in and contributed members of each specification being determined on first access).
+     *
+     * <p>
+     *     The features themselves are then created sequentially, by the calling thread.
+     * </p>
+     */
+    private List<ClassMembers> membersOfInParallel(final List<ObjectSpecification> specifications) {
+        final List<Callable<ClassMembers>> tasks = Lists.newArrayList();
+        for (final ObjectSpecification spec : specifications) {
+            tasks.add(new Callable<ClassMembers>() {
+                @Override
+                public ClassMembers call() {
+                    return membersOf(spec);
+                }
+            });
+        }
+
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        final ExecutorService executorService = Executors.newFixedThreadPool(
+                Runtime.getRuntime().availableProcessors(), new ThreadFactory() {
+                    private final AtomicInteger threadNumber = new AtomicInteger();
+                    @Override
+                    public Thread newThread(final Runnable runnable) {
+                        final Thread thread = new Thread(runnable, "isis-appfeat-" + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        thread.setContextClassLoader(contextClassLoader);
+                        return thread;
+                    }
+                });
+        try {
+            final List<ClassMembers> classMembersList = Lists.newArrayList();
+            for (final Future<ClassMembers> future : executorService.invokeAll(tasks)) {
+                classMembersList.add(future.get());
+            }
+            return classMembersList;
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while obtaining members of specifications", ex);
+        } catch (final ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            if(cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if(cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    static class ClassMembers {
+        private final ObjectSpecification spec;
+        private final List<ObjectAssociation> properties;
+        private final List<ObjectAssociation> collections;
+        private final List<ObjectAction> actions;
+
+        ClassMembers(
+                final ObjectSpecification spec,
+                final List<ObjectAssociation> properties,
+                final List<ObjectAssociation> collections,
+                final List<ObjectAction> actions) {
+            this.spec = spec;
+            this.properties = properties;
+            this.collections = collections;
+            this.actions = actions;
+        }
+    }
+
+    /**
+     * @return <tt>null</tt> if the specification is {@link #exclude(ObjectSpecification) excluded} or has no members.
+     */
+    private ClassMembers membersOf(final ObjectSpecification spec) {
         if (exclude(spec)) {
-            return;
+            return null;
         }
 
         final List<ObjectAssociation> properties = spec.getAssociations(Contributed.INCLUDED, ObjectAssociation.Filters.PROPERTIES);
@@ -140,8 +294,23 @@ void createApplicationFeaturesFor(final ObjectSpecification spec) {
         final List<ObjectAction> actions = spec.getObjectActions(Contributed.INCLUDED);
 
         if (properties.isEmpty() && collections.isEmpty() && actions.isEmpty()) {
-            return;
+            return null;
         }
+        return new ClassMembers(spec, properties, collections, actions);
+    }
+
+    void createApplicationFeaturesFor(final ObjectSpecification spec) {
+        final ClassMembers classMembers = membersOf(spec);
+        if (classMembers != null) {
+            createApplicationFeaturesFor(classMembers);
+        }
+    }
+
+    private void createApplicationFeaturesFor(final ClassMembers classMembers) {
+        final ObjectSpecification spec = classMembers.spec;
+        final List<ObjectAssociation> properties = classMembers.properties;
+        final List<ObjectAssociation> collections = classMembers.collections;
+        final List<ObjectAction> actions = classMembers.actions;
 
         final String fullIdentifier = spec.getFullIdentifier();
         final ApplicationFeatureId classFeatureId = ApplicationFeatureId.newClass(fullIdentifier);
@@ -224,7 +393,7 @@ void addParents(final ApplicationFeatureId classOrPackageId) {
     }
 
     private ApplicationFeature findPackageElseCreate(final ApplicationFeatureId parentPackageId) {
-        ApplicationFeature parentPackage = findPackage(parentPackageId);
+        ApplicationFeature parentPackage = packageFeatures.get(parentPackageId);
         if (parentPackage == null) {
             parentPackage = newPackage(parentPackageId);
         }
@@ -307,11 +476,11 @@ private void newMember(
         // also cache per memberType
         featuresMapFor(memberType).put(featureId, memberFeature);
 
-        final ApplicationFeature classFeature = findClass(classFeatureId);
+        final ApplicationFeature classFeature = classFeatures.get(classFeatureId);
         classFeature.addToMembers(featureId, memberType);
     }
 
-    private SortedMap<ApplicationFeatureId, ApplicationFeature> featuresMapFor(final ApplicationMemberType memberType) {
+    private Map<ApplicationFeatureId, ApplicationFeature> featuresMapFor(final ApplicationMemberType memberType) {
         switch (memberType) {
         case PROPERTY:
             return propertyFeatures;
@@ -394,7 +563,6 @@ protected boolean isBuiltIn(final ObjectSpecification spec) {
     //region > packageFeatures, classFeatures, memberFeatures
     @Programmatic
     public ApplicationFeature findFeature(final ApplicationFeatureId featureId) {
-        initializeIfRequired();
         switch (featureId.getType()) {
         case PACKAGE:
             return findPackage(featureId);
@@ -408,20 +576,17 @@ public ApplicationFeature findFeature(final ApplicationFeatureId featureId) {
 
     @Programmatic
     public ApplicationFeature findPackage(final ApplicationFeatureId featureId) {
-        initializeIfRequired();
-        return packageFeatures.get(featureId);
+        return index().packageFeatures.get(featureId);
     }
 
     @Programmatic
     public ApplicationFeature findClass(final ApplicationFeatureId featureId) {
-        initializeIfRequired();
-        return classFeatures.get(featureId);
+        return index().classFeatures.get(featureId);
     }
 
     @Programmatic
     public ApplicationFeature findMember(final ApplicationFeatureId featureId) {
-        initializeIfRequired();
-        return memberFeatures.get(featureId);
+        return index().memberFeatures.get(featureId);
     }
 
     //endregion
@@ -429,7 +594,6 @@ public ApplicationFeature findMember(final ApplicationFeatureId featureId) {
     //region > allFeatures, allPackages, allClasses, allMembers
     @Programmatic
     public Collection<ApplicationFeature> allFeatures(final ApplicationFeatureType featureType) {
-        initializeIfRequired();
         if (featureType == null) {
             return Collections.emptyList();
         }
@@ -446,45 +610,38 @@ public Collection<ApplicationFeature> allFeatures(final ApplicationFeatureType f
 
     @Programmatic
     public Collection<ApplicationFeature> allPackages() {
-        initializeIfRequired();
-        return packageFeatures.values();
+        return index().packageFeatures.values();
     }
 
     @Programmatic
     public Collection<ApplicationFeature> allClasses() {
-        initializeIfRequired();
-        return classFeatures.values();
+        return index().classFeatures.values();
     }
 
     @Programmatic
     public Collection<ApplicationFeature> allMembers() {
-        initializeIfRequired();
-        return memberFeatures.values();
+        return index().memberFeatures.values();
     }
 
     @Programmatic
     public Collection<ApplicationFeature> allProperties() {
-        initializeIfRequired();
-        return propertyFeatures.values();
+        return index().propertyFeatures.values();
     }
 
     @Programmatic
     public Collection<ApplicationFeature> allCollections() {
-        initializeIfRequired();
-        return collectionFeatures.values();
+        return index().collectionFeatures.values();
     }
 
     @Programmatic
     public Collection<ApplicationFeature> allActions() {
-        initializeIfRequired();
-        return actionFeatures.values();
+        return index().actionFeatures.values();
     }
     //endregion
 
     //region > packageNames, packageNamesContainingClasses, classNamesContainedIn, memberNamesOf
     @Override @Programmatic
     public List<String> packageNames() {
-        initializeIfRequired();
         return Lists.newArrayList(
                 Iterables.transform(
                         allFeatures(ApplicationFeatureType.PACKAGE), ApplicationFeature.Functions.GET_FQN));
@@ -492,7 +649,6 @@ public List<String> packageNames() {
 
     @Override @Programmatic
     public List<String> packageNamesContainingClasses(final ApplicationMemberType memberType) {
-        initializeIfRequired();
         final Collection<ApplicationFeature> packages = allFeatures(ApplicationFeatureType.PACKAGE);
         return Lists.newArrayList(
                 Iterables.transform(
@@ -505,7 +661,6 @@ public List<String> packageNamesContainingClasses(final ApplicationMemberType me
 
     @Override @Programmatic
     public List<String> classNamesContainedIn(final String packageFqn, final ApplicationMemberType memberType) {
-        initializeIfRequired();
         final ApplicationFeatureId packageId = ApplicationFeatureId.newPackage(packageFqn);
         final ApplicationFeature pkg = findPackage(packageId);
         if (pkg == null) {
@@ -522,18 +677,11 @@ public List<String> classNamesContainedIn(final String packageFqn, final Applica
 
     @Override @Programmatic
     public List<String> classNamesRecursivelyContainedIn(final String packageFqn) {
-        initializeIfRequired();
         final ApplicationFeatureId packageId = ApplicationFeatureId.newPackage(packageFqn);
-        final ApplicationFeature pkg = findPackage(packageId);
-        if (pkg == null) {
-            return Collections.emptyList();
-        }
-        final Set<ApplicationFeatureId> classIds = this.classFeatures.keySet();
+        final List<ApplicationFeatureId> classIds = index().classIdsByPackageId.get(packageId);
         return Lists.newArrayList(
                 Iterables.transform(
-                        Iterables.filter(
-                                classIds,
-                                ApplicationFeatureId.Predicates.isClassRecursivelyWithin(packageId)),
+                        classIds,
                         ApplicationFeatureId.Functions.GET_CLASS_NAME));
     }
 
@@ -542,7 +690,6 @@ public List<String> memberNamesOf(
             final String packageFqn,
             final String className,
             final ApplicationMemberType memberType) {
-        initializeIfRequired();
         final ApplicationFeatureId classId = ApplicationFeatureId.newClass(packageFqn + "." + className);
         final ApplicationFeature cls = findClass(classId);
         if (cls == null) {
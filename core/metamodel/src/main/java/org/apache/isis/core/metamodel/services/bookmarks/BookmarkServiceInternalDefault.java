@@ -23,6 +23,7 @@
 
 import javax.inject.Inject;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 
 import org.apache.isis.applib.annotation.DomainService;
@@ -31,6 +32,7 @@
 import org.apache.isis.applib.services.bookmark.Bookmark;
 import org.apache.isis.applib.services.bookmark.BookmarkHolder;
 import org.apache.isis.applib.services.bookmark.BookmarkService2;
+import org.apache.isis.applib.services.bookmark.BookmarkService3;
 import org.apache.isis.applib.services.registry.ServiceRegistry2;
 import org.apache.isis.applib.services.wrapper.WrapperFactory;
 import org.apache.isis.core.metamodel.services.persistsession.PersistenceSessionServiceInternal;
@@ -47,7 +49,7 @@
 @DomainService(
         nature = NatureOfService.DOMAIN
 )
-public class BookmarkServiceInternalDefault implements BookmarkService2 {
+public class BookmarkServiceInternalDefault implements BookmarkService3 {
 
 
     @Programmatic
@@ -104,6 +106,37 @@ public Object lookup(final Bookmark bookmark) {
     }
 
 
+    @Programmatic
+    @Override
+    public List<Object> lookup(
+            final List<Bookmark> bookmarks,
+            final FieldResetPolicy fieldResetPolicy) {
+
+        // services are looked up directly, all else (that is, entities and view models) together
+        final List<Object> objects = Lists.newArrayList();
+        final List<Bookmark> bookmarksToLookup = Lists.newArrayList();
+        for (final Bookmark bookmark : bookmarks) {
+            final Object service = bookmark != null ? lookupService(bookmark.getObjectType()) : null;
+            objects.add(service);
+            bookmarksToLookup.add(service == null ? bookmark : null);
+        }
+
+        final List<Object> lookedUpObjects = persistenceSessionServiceInternal.lookup(bookmarksToLookup, fieldResetPolicy);
+        for (int i = 0; i < objects.size(); i++) {
+            if(objects.get(i) == null) {
+                objects.set(i, lookedUpObjects.get(i));
+            }
+        }
+        return objects;
+    }
+
+    @Programmatic
+    @Override
+    public List<Object> lookup(final List<Bookmark> bookmarks) {
+        return lookup(bookmarks, FieldResetPolicy.RESET);
+    }
+
+
     @SuppressWarnings("unchecked")
     @Programmatic
     @Override
@@ -43,6 +43,7 @@
 import org.apache.isis.applib.services.grid.GridLoaderService;
 import org.apache.isis.applib.services.grid.GridSystemService;
 import org.apache.isis.applib.services.jaxb.JaxbService;
+import org.apache.isis.applib.util.JaxbUtil;
 import org.apache.isis.core.metamodel.deployment.DeploymentCategoryProvider;
 
 @DomainService(
@@ -128,7 +129,7 @@ public Grid load(final Class<?> domainClass) {
 
         try {
             // all known implementations of Page
-            final JAXBContext context = JAXBContext.newInstance(pageImplementations.toArray(new Class[0]));
+            final JAXBContext context = JaxbUtil.jaxbContextFor(pageImplementations.toArray(new Class[0]));
 
             final Grid grid = (Grid) jaxbService.fromXml(context, xml);
             grid.setDomainClass(domainClass);
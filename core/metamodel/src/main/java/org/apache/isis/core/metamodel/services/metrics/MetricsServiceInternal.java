@@ -0,0 +1,47 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.metamodel.services.metrics;
+
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.services.metrics.MetricsService2;
+
+/**
+ * Called by the framework to record the counts and timings made available by {@link MetricsService2}.
+ */
+public interface MetricsServiceInternal {
+
+    @Programmatic
+    void queryExecuted(final long nanos);
+
+    @Programmatic
+    void flushed(final long nanos);
+
+    @Programmatic
+    void adapterCreated();
+
+    @Programmatic
+    void domainEventPosted();
+
+    @Programmatic
+    void level2CacheHit();
+
+    @Programmatic
+    void level2CacheMiss();
+
+}
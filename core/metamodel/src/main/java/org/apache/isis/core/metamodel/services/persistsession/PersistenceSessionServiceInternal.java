@@ -17,6 +17,7 @@
 package org.apache.isis.core.metamodel.services.persistsession;
 
 import java.util.List;
+import java.util.concurrent.Callable;
 
 import org.apache.isis.applib.annotation.Programmatic;
 import org.apache.isis.applib.query.Query;
@@ -79,6 +80,16 @@ public interface PersistenceSessionServiceInternal extends AdapterManager {
     @Programmatic
     Object lookup(Bookmark bookmark, final BookmarkService2.FieldResetPolicy fieldResetPolicy);
 
+    /**
+     * Provided by <tt>PersistenceSession</tt> when used by framework.
+     *
+     * <p>
+     * Called by <tt>BookmarkServicesDefault</tt>.
+     * @return the looked-up objects, in the same order as the bookmarks; <tt>null</tt> for any not found.
+     */
+    @Programmatic
+    List<Object> lookup(List<Bookmark> bookmarks, final BookmarkService2.FieldResetPolicy fieldResetPolicy);
+
     @Programmatic
     Bookmark bookmarkFor(Object domainObject);
 
@@ -139,6 +150,32 @@ public interface PersistenceSessionServiceInternal extends AdapterManager {
 
     //endregion
 
+    //region > withFetchGroups
+
+    /**
+     * Provided by the <tt>PersistenceSession</tt> when used by framework.
+     *
+     * <p>
+     * Adds the named fetch groups to the fetch plan while the callable is called, so that related objects are loaded
+     * together rather than one-by-one.  Called when reading collections annotated with
+     * <tt>@Collection(fetchGroups=...)</tt> and invoking actions annotated with <tt>@Action(fetchGroups=...)</tt>.
+     */
+    @Programmatic
+    <T> T withFetchGroups(List<String> fetchGroups, Callable<T> callable);
+
+    /**
+     * Provided by the <tt>PersistenceSession</tt> when used by framework.
+     *
+     * <p>
+     * As {@link #withFetchGroups(List, Callable)}, for the callable that reads a collection annotated with
+     * <tt>@Collection(fetchGroups=...)</tt>.  If the fetch groups were not already in the fetch plan, then the
+     * (lazily loaded) elements of the collection are loaded while they apply.
+     */
+    @Programmatic
+    Object loadCollectionWithFetchGroups(List<String> fetchGroups, Callable<?> collectionAccessor);
+
+    //endregion
+
     //region > allMatchingQuery, firstMatchingQuery
     /**
      * Provided by <tt>PersistenceSession</tt> when used by framework.
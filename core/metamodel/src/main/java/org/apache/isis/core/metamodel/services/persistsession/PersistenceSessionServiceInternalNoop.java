@@ -19,6 +19,9 @@
 package org.apache.isis.core.metamodel.services.persistsession;
 
 import java.util.List;
+import java.util.concurrent.Callable;
+
+import com.google.common.base.Throwables;
 
 import org.apache.isis.applib.annotation.DomainService;
 import org.apache.isis.applib.annotation.NatureOfService;
@@ -86,6 +89,13 @@ public Object lookup(
         throw new UnsupportedOperationException("Not supported by this implementation of PersistenceSessionServiceInternal");
     }
 
+    @Override
+    public List<Object> lookup(
+            final List<Bookmark> bookmarks,
+            final BookmarkService2.FieldResetPolicy fieldResetPolicy) {
+        throw new UnsupportedOperationException("Not supported by this implementation of PersistenceSessionServiceInternal");
+    }
+
     @Override
     public Bookmark bookmarkFor(Object domainObject) {
         throw new UnsupportedOperationException("Not supported by this implementation of PersistenceSessionServiceInternal");
@@ -136,6 +146,20 @@ public void remove(final ObjectAdapter adapter) {
         throw new UnsupportedOperationException("Not supported by this implementation of PersistenceSessionServiceInternal");
     }
 
+    @Override
+    public <T> T withFetchGroups(final List<String> fetchGroups, final Callable<T> callable) {
+        try {
+            return callable.call();
+        } catch (final Exception ex) {
+            throw Throwables.propagate(ex);
+        }
+    }
+
+    @Override
+    public Object loadCollectionWithFetchGroups(final List<String> fetchGroups, final Callable<?> collectionAccessor) {
+        return withFetchGroups(fetchGroups, collectionAccessor);
+    }
+
     @Override
     public void makePersistent(final ObjectAdapter adapter) {
         throw new UnsupportedOperationException("Not supported by this implementation of PersistenceSessionServiceInternal");
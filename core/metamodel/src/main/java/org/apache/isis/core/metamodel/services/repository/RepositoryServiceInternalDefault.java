@@ -34,6 +34,7 @@
 import org.apache.isis.applib.annotation.Programmatic;
 import org.apache.isis.applib.query.Query;
 import org.apache.isis.applib.query.QueryFindAllInstances;
+import org.apache.isis.applib.query.QueryResultsList;
 import org.apache.isis.applib.services.factory.FactoryService;
 import org.apache.isis.applib.services.repository.RepositoryService;
 import org.apache.isis.applib.services.wrapper.WrapperFactory;
@@ -170,7 +171,7 @@ public <T> List<T> allMatches(final Query<T> query) {
 
     <T> List<T> submitQuery(final Query<T> query) {
         final List<ObjectAdapter> allMatching = persistenceSessionServiceInternal.allMatchingQuery(query);
-        return ObjectAdapter.Util.unwrapT(allMatching);
+        return new QueryResultsList<>(query, ObjectAdapter.Util.<T>unwrapT(allMatching));
     }
 
 
@@ -18,37 +18,106 @@
  */
 package org.apache.isis.core.metamodel.services.swagger;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 
+import com.google.common.base.Charsets;
+import com.google.common.collect.Maps;
+import com.google.common.hash.Hashing;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.apache.isis.applib.annotation.DomainService;
 import org.apache.isis.applib.annotation.NatureOfService;
 import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.services.i18n.LocaleProvider;
 import org.apache.isis.applib.services.swagger.SwaggerService;
 import org.apache.isis.core.metamodel.services.swagger.internal.SwaggerSpecGenerator;
 import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
 
+/**
+ * Generates the spec for each combination of {@link Visibility} and {@link Format} at most once, caching it until a
+ * specification is {@link SpecificationLoader#invalidateCache(Class) invalidated} (eg by JRebel).
+ *
+ * <p>
+ * Because descriptions in the spec are translated, each spec is also cached separately for each
+ * {@link LocaleProvider#getLocale() locale}.
+ *
+ * <p>
+ * Optionally (see {@link #KEY_PREGENERATE}) the specs are generated in the background on startup, so that even the
+ * first request is served from the cache.  As there is no request (and so no locale) at that point, these are
+ * generated for the fallback locale only, as used by requests whose locale cannot be determined (eg those from the
+ * Restful Objects viewer).
+ */
 @DomainService(
         nature = NatureOfService.DOMAIN
 )
 public class SwaggerServiceDefault implements SwaggerService {
 
-    @SuppressWarnings("unused")
     private final static Logger LOG = LoggerFactory.getLogger(SwaggerServiceDefault.class);
 
     public static final String KEY_RESTFUL_BASE_PATH = "isis.services.swagger.restfulBasePath";
     public static final String KEY_RESTFUL_BASE_PATH_DEFAULT = "/restful";
 
+    /**
+     * Whether to generate the (JSON) specs for each {@link Visibility} in the background on startup.
+     */
+    public static final String KEY_PREGENERATE = "isis.services.swagger.pregenerate";
+    public static final String KEY_PREGENERATE_DEFAULT = "false";
+
     private String basePath;
 
+    private final ConcurrentMap<List<Object>, CachedSwaggerSpec> cache = Maps.newConcurrentMap();
+    private volatile long generation;
+
+    private Thread pregenerationThread;
+
     @PostConstruct
     public void init(final Map<String,String> properties) {
         this.basePath = getPropertyElse(properties, KEY_RESTFUL_BASE_PATH, KEY_RESTFUL_BASE_PATH_DEFAULT);
+        this.generation = specificationLoader.getCacheGeneration();
+
+        if(Boolean.parseBoolean(getPropertyElse(properties, KEY_PREGENERATE, KEY_PREGENERATE_DEFAULT))) {
+            pregenerationThread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    pregenerate();
+                }
+            }, "isis-swagger-pregeneration");
+            pregenerationThread.setDaemon(true);
+            pregenerationThread.start();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if(pregenerationThread != null) {
+            pregenerationThread.interrupt();
+        }
+    }
+
+    private void pregenerate() {
+        for (final Visibility visibility : Visibility.values()) {
+            if(Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            try {
+                final long start = System.nanoTime();
+                lookupSwaggerSpec(visibility, Format.JSON);
+                LOG.info("pregenerated swagger spec for {} in {}ms",
+                        visibility, (System.nanoTime() - start) / 1000000);
+            } catch(final RuntimeException ex) {
+                LOG.warn("Failed to pregenerate swagger spec for {}", visibility, ex);
+            }
+        }
     }
 
     static String getPropertyElse(final Map<String, String> properties, final String key, final String dflt) {
@@ -64,14 +133,91 @@ static String getPropertyElse(final Map<String, String> properties, final String
     public String generateSwaggerSpec(
             final Visibility visibility,
             final Format format) {
+        return lookupSwaggerSpec(visibility, format).getSpec();
+    }
+
+    /**
+     * As {@link #generateSwaggerSpec(Visibility, Format)}, also providing a (strong) ETag for the spec, for use in
+     * conditional requests.
+     */
+    @Programmatic
+    public CachedSwaggerSpec lookupSwaggerSpec(
+            final Visibility visibility,
+            final Format format) {
+
+        final long generationAtStart = specificationLoader.getCacheGeneration();
+        clearIfStale(generationAtStart);
 
-        final SwaggerSpecGenerator swaggerSpecGenerator = new SwaggerSpecGenerator(specificationLoader);
-        final String swaggerSpec = swaggerSpecGenerator.generate(basePath, visibility, format);
-        return swaggerSpec;
+        final List<Object> key = Arrays.<Object>asList(basePath, visibility, format, currentLocale());
+        final CachedSwaggerSpec cached = cache.get(key);
+        if(cached != null) {
+            return cached;
+        }
+
+        // the spec can be several MB, so avoid generating the same one concurrently
+        synchronized (this) {
+            final CachedSwaggerSpec cachedMeanwhile = cache.get(key);
+            if(cachedMeanwhile != null) {
+                return cachedMeanwhile;
+            }
+            final SwaggerSpecGenerator swaggerSpecGenerator = new SwaggerSpecGenerator(specificationLoader);
+            final CachedSwaggerSpec swaggerSpec =
+                    new CachedSwaggerSpec(swaggerSpecGenerator.generate(basePath, visibility, format));
+
+            // only cache the spec if no specification was invalidated while it was being generated
+            if (generation == generationAtStart && specificationLoader.getCacheGeneration() == generationAtStart) {
+                cache.put(key, swaggerSpec);
+            }
+            return swaggerSpec;
+        }
+    }
+
+    /**
+     * The locale that the spec's descriptions are translated into, or <tt>null</tt> if the fallback.
+     */
+    private Locale currentLocale() {
+        return localeProvider != null ? localeProvider.getLocale() : null;
+    }
+
+    private void clearIfStale(final long currentGeneration) {
+        if (generation == currentGeneration) {
+            return;
+        }
+        synchronized (this) {
+            if (generation != currentGeneration) {
+                cache.clear();
+                generation = currentGeneration;
+            }
+        }
+    }
+
+    public static class CachedSwaggerSpec {
+
+        private final String spec;
+        private final String eTag;
+
+        public CachedSwaggerSpec(final String spec) {
+            this.spec = spec;
+            this.eTag = Hashing.murmur3_128().hashString(spec, Charsets.UTF_8).toString();
+        }
+
+        public String getSpec() {
+            return spec;
+        }
+
+        /**
+         * A hash of the {@link #getSpec() spec}, for use as a strong ETag.
+         */
+        public String getETag() {
+            return eTag;
+        }
     }
 
 
     @javax.inject.Inject
     SpecificationLoader specificationLoader;
 
+    @javax.inject.Inject
+    LocaleProvider localeProvider;
+
 }
@@ -76,6 +76,38 @@ public final class ReflectorConstants {
     public static final String LAYOUT_METADATA_READER_LIST_DEFAULT = LayoutMetadataReaderFromJson.class.getName();
 
 
+    /**
+     * Key used to determine whether specifications are introspected in parallel at boot time.
+     *
+     * <p>
+     * Default is {@link #INTROSPECTION_PARALLEL_DEFAULT false}.
+     *
+     * @see #INTROSPECTION_PARALLELISM
+     */
+    public static final String INTROSPECTION_PARALLEL = ConfigurationConstants.ROOT + "reflector.introspection.parallel";
+    public static final boolean INTROSPECTION_PARALLEL_DEFAULT = false;
+
+    /**
+     * Key used to specify the number of threads used to introspect specifications, if
+     * {@link #INTROSPECTION_PARALLEL in parallel}.
+     *
+     * <p>
+     * Defaults to the number of available processors.
+     */
+    public static final String INTROSPECTION_PARALLELISM = ConfigurationConstants.ROOT + "reflector.introspection.parallelism";
+
+    /**
+     * Key used to determine whether, as each specification is introspected, invokers are generated for the methods
+     * of its (imperative) facets, so that they are not invoked reflectively.
+     *
+     * <p>
+     * Default is {@link #INVOKERS_GENERATED_DEFAULT false}.
+     *
+     * @see org.apache.isis.core.metamodel.methodutils.MethodInvokers
+     */
+    public static final String INVOKERS_GENERATED = ConfigurationConstants.ROOT + "reflector.invokers.generated";
+    public static final boolean INVOKERS_GENERATED_DEFAULT = false;
+
     private ReflectorConstants() {
     }
 
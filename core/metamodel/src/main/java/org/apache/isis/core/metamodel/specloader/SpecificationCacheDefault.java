@@ -31,10 +31,13 @@
 import org.apache.isis.core.metamodel.specloader.validator.MetaModelValidator;
 import org.apache.isis.core.metamodel.specloader.validator.ValidationFailures;
 
+/**
+ * Safe for concurrent use; lookups never block.
+ */
 class SpecificationCacheDefault {
     
-    private final Map<String, ObjectSpecification> specByClassName = Maps.newHashMap();
-    private Map<ObjectSpecId, String> classNameBySpecId;
+    private final Map<String, ObjectSpecification> specByClassName = Maps.newConcurrentMap();
+    private volatile Map<ObjectSpecId, String> classNameBySpecId;
 
     public ObjectSpecification get(final String className) {
         return specByClassName.get(className);
@@ -67,14 +70,15 @@ public ObjectSpecification getByObjectType(ObjectSpecId objectSpecID) {
      * xxxallxxx most specs have been loaded.
      */
     void setCacheBySpecId(final Map<ObjectSpecId, ObjectSpecification> specById) {
-        this.classNameBySpecId = Maps.newHashMap();
+        final Map<ObjectSpecId, String> classNameBySpecId = Maps.newConcurrentMap();
 
         for (ObjectSpecId objectSpecId : specById.keySet()) {
             final ObjectSpecification objectSpec = specById.get(objectSpecId);
             final String className = objectSpec.getCorrespondingClass().getName();
-            this.classNameBySpecId.put(objectSpecId, className);
+            classNameBySpecId.put(objectSpecId, className);
             this.specByClassName.put(className, objectSpec);
         }
+        this.classNameBySpecId = classNameBySpecId;
     }
 
     public ObjectSpecification remove(String typeName) {
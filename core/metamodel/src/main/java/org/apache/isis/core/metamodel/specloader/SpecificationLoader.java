@@ -16,15 +16,26 @@
  */
 package org.apache.isis.core.metamodel.specloader;
 
+import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.google.common.base.Function;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,19 +45,28 @@
 import org.apache.isis.applib.annotation.NatureOfService;
 import org.apache.isis.applib.annotation.Programmatic;
 import org.apache.isis.core.commons.components.ApplicationScopedComponent;
+import org.apache.isis.core.commons.config.IsisConfiguration;
 import org.apache.isis.core.commons.ensure.Assert;
 import org.apache.isis.core.commons.exceptions.IsisException;
 import org.apache.isis.core.commons.lang.ClassUtil;
 import org.apache.isis.core.metamodel.facetapi.Facet;
+import org.apache.isis.core.metamodel.facetapi.FacetFilters;
+import org.apache.isis.core.metamodel.facetapi.FacetHolder;
 import org.apache.isis.core.metamodel.facets.FacetFactory;
+import org.apache.isis.core.metamodel.facets.ImperativeFacet;
 import org.apache.isis.core.metamodel.facets.object.autocomplete.AutoCompleteFacet;
 import org.apache.isis.core.metamodel.facets.object.objectspecid.ObjectSpecIdFacet;
 import org.apache.isis.core.metamodel.layoutmetadata.LayoutMetadataReader;
+import org.apache.isis.core.metamodel.methodutils.MethodInvokers;
 import org.apache.isis.core.metamodel.progmodel.ProgrammingModel;
 import org.apache.isis.core.metamodel.services.ServicesInjector;
 import org.apache.isis.core.metamodel.spec.FreeStandingList;
 import org.apache.isis.core.metamodel.spec.ObjectSpecId;
 import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.Contributed;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAction;
+import org.apache.isis.core.metamodel.spec.feature.ObjectActionParameter;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
 import org.apache.isis.core.metamodel.specloader.classsubstitutor.ClassSubstitutor;
 import org.apache.isis.core.metamodel.specloader.facetprocessor.FacetProcessor;
 import org.apache.isis.core.metamodel.specloader.specimpl.FacetedMethodsBuilderContext;
@@ -96,11 +116,45 @@ public class SpecificationLoader implements ApplicationScopedComponent {
     private final SpecificationCacheDefault cache = new SpecificationCacheDefault();
     private final List<LayoutMetadataReader> layoutMetadataReaders;
 
+    /**
+     * Number of threads to use to introspect specifications at {@link #init() boot}; if 1 then are introspected
+     * sequentially (in the calling thread).
+     */
+    private final int introspectionParallelism;
+
+    /**
+     * Whether to {@link MethodInvokers#generateFor(Method) generate} invokers for the methods of the imperative
+     * facets of each specification, once introspected.
+     */
+    private final boolean generateInvokers;
+
     public SpecificationLoader(
             final ProgrammingModel programmingModel,
             final MetaModelValidator metaModelValidator,
             final List<LayoutMetadataReader> layoutMetadataReaders,
             final ServicesInjector servicesInjector) {
+        this(programmingModel, metaModelValidator, layoutMetadataReaders, servicesInjector, 1, false);
+    }
+
+    public SpecificationLoader(
+            final ProgrammingModel programmingModel,
+            final MetaModelValidator metaModelValidator,
+            final List<LayoutMetadataReader> layoutMetadataReaders,
+            final ServicesInjector servicesInjector,
+            final IsisConfiguration configuration) {
+        this(programmingModel, metaModelValidator, layoutMetadataReaders, servicesInjector,
+                introspectionParallelismFrom(configuration),
+                configuration.getBoolean(
+                        ReflectorConstants.INVOKERS_GENERATED, ReflectorConstants.INVOKERS_GENERATED_DEFAULT));
+    }
+
+    private SpecificationLoader(
+            final ProgrammingModel programmingModel,
+            final MetaModelValidator metaModelValidator,
+            final List<LayoutMetadataReader> layoutMetadataReaders,
+            final ServicesInjector servicesInjector,
+            final int introspectionParallelism,
+            final boolean generateInvokers) {
 
         this.servicesInjector = servicesInjector;
         this.programmingModel = programmingModel;
@@ -108,6 +162,19 @@ public SpecificationLoader(
 
         this.facetProcessor = new FacetProcessor(programmingModel);
         this.layoutMetadataReaders = layoutMetadataReaders;
+        this.introspectionParallelism = introspectionParallelism;
+        this.generateInvokers = generateInvokers;
+    }
+
+    private static int introspectionParallelismFrom(final IsisConfiguration configuration) {
+        if(!configuration.getBoolean(
+                ReflectorConstants.INTROSPECTION_PARALLEL,
+                ReflectorConstants.INTROSPECTION_PARALLEL_DEFAULT)) {
+            return 1;
+        }
+        final int parallelism = configuration.getInteger(
+                ReflectorConstants.INTROSPECTION_PARALLELISM, Runtime.getRuntime().availableProcessors());
+        return Math.max(parallelism, 1);
     }
 
     @Override
@@ -146,30 +213,137 @@ public void init() {
         facetProcessor.init();
         metaModelValidator.init(this);
 
-        loadSpecificationsForServices();
-        loadSpecificationsForMixins();
+        if(introspectionParallelism > 1) {
+            loadSpecificationsInParallel();
+        } else {
+            final long start = System.nanoTime();
+            final int numServices = loadSpecificationsForServices();
+            logTiming("services", numServices, start);
+
+            final long startMixins = System.nanoTime();
+            final int numMixins = loadSpecificationsForMixins();
+            logTiming("mixins", numMixins, startMixins);
+        }
+
+        final long start = System.nanoTime();
         cacheBySpecId();
+        logTiming("cacheBySpecId", allSpecifications().size(), start);
 
         initialized = true;
     }
 
-    private void loadSpecificationsForServices() {
-        for (final Class<?> serviceClass : allServiceClasses()) {
-            final DomainService domainService = serviceClass.getAnnotation(DomainService.class);
-            final NatureOfService nature = domainService != null ? domainService.nature() : NatureOfService.DOMAIN;
-            // will 'markAsService'
-            internalLoadSpecification(serviceClass, nature);
+    private int loadSpecificationsForServices() {
+        final List<Class<?>> serviceClasses = allServiceClasses();
+        for (final Class<?> serviceClass : serviceClasses) {
+            loadSpecificationForService(serviceClass);
         }
+        return serviceClasses.size();
+    }
+
+    private void loadSpecificationForService(final Class<?> serviceClass) {
+        final DomainService domainService = serviceClass.getAnnotation(DomainService.class);
+        final NatureOfService nature = domainService != null ? domainService.nature() : NatureOfService.DOMAIN;
+        // will 'markAsService'
+        internalLoadSpecification(serviceClass, nature);
     }
 
-    private void loadSpecificationsForMixins() {
+    private int loadSpecificationsForMixins() {
         final Set<Class<?>> mixinTypes = AppManifest.Registry.instance().getMixinTypes();
         if(mixinTypes == null) {
-            return;
+            return 0;
         }
         for (final Class<?> mixinType : mixinTypes) {
             internalLoadSpecification(mixinType);
         }
+        return mixinTypes.size();
+    }
+
+    /**
+     * Introspects the services, mixins and (if known from the {@link AppManifest}) entities using a
+     * {@link ForkJoinPool}, one task per type.
+     *
+     * <p>
+     * Each type is introspected exactly once, by whichever thread first requests it; any other thread requesting
+     * that type waits until it has been introspected and published (see
+     * {@link #awaitIntrospection(String, ObjectSpecification)}), so no thread ever sees a specification that is
+     * being introspected by another thread that is still running.
+     */
+    private void loadSpecificationsInParallel() {
+
+        final List<Callable<Class<?>>> tasks = Lists.newArrayList();
+        for (final Class<?> serviceClass : allServiceClasses()) {
+            tasks.add(new Callable<Class<?>>() {
+                @Override
+                public Class<?> call() {
+                    loadSpecificationForService(serviceClass);
+                    return serviceClass;
+                }
+            });
+        }
+        final int numServices = tasks.size();
+
+        final Set<Class<?>> mixinTypes = AppManifest.Registry.instance().getMixinTypes();
+        final Set<Class<?>> entityTypes = AppManifest.Registry.instance().getPersistenceCapableTypes();
+        for (final Set<Class<?>> types : Arrays.asList(mixinTypes, entityTypes)) {
+            if(types == null) {
+                continue;
+            }
+            for (final Class<?> type : types) {
+                tasks.add(new Callable<Class<?>>() {
+                    @Override
+                    public Class<?> call() {
+                        internalLoadSpecification(type);
+                        return type;
+                    }
+                });
+            }
+        }
+
+        final long start = System.nanoTime();
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        final ForkJoinPool pool = new ForkJoinPool(
+                introspectionParallelism,
+                new ForkJoinPool.ForkJoinWorkerThreadFactory() {
+                    @Override
+                    public ForkJoinWorkerThread newThread(final ForkJoinPool pool) {
+                        final ForkJoinWorkerThread thread = new ForkJoinWorkerThread(pool) {};
+                        thread.setName("isis-introspection-" + thread.getPoolIndex());
+                        thread.setContextClassLoader(contextClassLoader);
+                        return thread;
+                    }
+                },
+                null, false);
+        try {
+            for (final Future<Class<?>> future : pool.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IsisException("Interrupted while introspecting", ex);
+        } catch (final ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            if(cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if(cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IsisException(cause);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        LOG.info("introspected {} services, {} mixins and {} entities using {} threads",
+                numServices, sizeOf(mixinTypes), sizeOf(entityTypes), introspectionParallelism);
+        logTiming("services, mixins and entities (parallel)", tasks.size(), start);
+    }
+
+    private static int sizeOf(final Set<Class<?>> types) {
+        return types != null ? types.size() : 0;
+    }
+
+    private static void logTiming(final String phase, final int num, final long startNanos) {
+        LOG.info("{}: {} in {}ms", phase, num, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
     }
 
     private void cacheBySpecId() {
@@ -208,6 +382,17 @@ public void shutdown() {
 
     //region > invalidateCache
 
+    private final AtomicLong cacheGeneration = new AtomicLong();
+
+    /**
+     * Incremented each time {@link #invalidateCache(Class)} is called, so that anything derived from (and cached
+     * against) the specifications can detect that it is stale.
+     */
+    @Programmatic
+    public long getCacheGeneration() {
+        return cacheGeneration.get();
+    }
+
     @Programmatic
     public void invalidateCache(final Class<?> cls) {
 
@@ -233,6 +418,8 @@ public void invalidateCache(final Class<?> cls) {
             }
             spec = spec.superclass();
         }
+
+        cacheGeneration.incrementAndGet();
     }
 
 
@@ -288,7 +475,7 @@ public ObjectSpecification loadSpecification(final String className) {
             if (spec == null) {
                 throw new IsisException("No such class available: " + className);
             }
-            return spec;
+            return awaitIntrospection(className, spec);
         }
     }
 
@@ -335,32 +522,59 @@ private ObjectSpecification loadSpecificationForSubstitutedClass(final Class<?>
         final String typeName = type.getName();
         final ObjectSpecification spec = cache.get(typeName);
         if (spec != null) {
-            return spec;
+            return awaitIntrospection(typeName, spec);
         }
 
         return loadSpecificationForSubstitutedClassSynchronized(type, nature);
     }
 
-    private synchronized ObjectSpecification loadSpecificationForSubstitutedClassSynchronized(
+    private ObjectSpecification loadSpecificationForSubstitutedClassSynchronized(
             final Class<?> type,
             final NatureOfService natureOfService) {
 
         final String typeName = type.getName();
-        final ObjectSpecification spec = cache.get(typeName);
-        if (spec != null) {
-            // because caller isn't synchronized.
-            return spec;
+        final ObjectSpecification existingSpec;
+        final ObjectSpecification specification;
+        final Introspection introspection;
+        synchronized (this) {
+            existingSpec = cache.get(typeName);
+            if (existingSpec == null) {
+                specification = createSpecification(type, natureOfService);
+                if (specification == null) {
+                    throw new IsisException("Failed to create specification for class " + typeName);
+                }
+
+                // registered before being cached, so that any thread that finds the spec in the cache will also
+                // find that it has yet to be introspected
+                introspection = new Introspection();
+                introspections.put(typeName, introspection);
+
+                // put into the cache prior to introspecting, to prevent
+                // infinite loops
+                cache.cache(typeName, specification);
+            } else {
+                specification = null;
+                introspection = null;
+            }
         }
-        final ObjectSpecification specification = createSpecification(type, natureOfService);
-        if (specification == null) {
-            throw new IsisException("Failed to create specification for class " + typeName);
+        if (existingSpec != null) {
+            // because caller isn't synchronized.
+            // (nb: must not wait while holding the lock)
+            return awaitIntrospection(typeName, existingSpec);
         }
 
-        // put into the cache prior to introspecting, to prevent
-        // infinite loops
-        cache.cache(typeName, specification);
-
-        introspectIfRequired(specification);
+        final IntrospectingThread introspectingThread = INTROSPECTING_THREAD.get();
+        introspectingThread.depth++;
+        try {
+            introspectIfRequired(specification);
+        } finally {
+            introspections.remove(typeName);
+            introspection.done.countDown();
+            introspectingThread.depth--;
+        }
+        if(introspectingThread.depth == 0) {
+            introspectingThread.awaitBorrowed();
+        }
 
         return specification;
     }
@@ -451,6 +665,152 @@ private void introspect(final ObjectSpecificationAbstract specSpi) {
         specSpi.updateFromFacetValues();
         specSpi.setIntrospectionState(ObjectSpecificationAbstract.IntrospectionState.INTROSPECTED);
 
+        if(generateInvokers) {
+            generateInvokersFor(specSpi);
+        }
+    }
+
+    private static void generateInvokersFor(final ObjectSpecification spec) {
+        generateInvokersFor((FacetHolder) spec);
+        for (final ObjectAssociation association : spec.getAssociations(Contributed.EXCLUDED)) {
+            generateInvokersFor(association);
+        }
+        for (final ObjectAction action : spec.getObjectActions(Contributed.EXCLUDED)) {
+            generateInvokersFor(action);
+            for (final ObjectActionParameter parameter : action.getParameters()) {
+                generateInvokersFor(parameter);
+            }
+        }
+    }
+
+    private static void generateInvokersFor(final FacetHolder facetHolder) {
+        for (final Facet facet : facetHolder.getFacets(FacetFilters.ANY)) {
+            final ImperativeFacet imperativeFacet = ImperativeFacet.Util.getImperativeFacet(facet);
+            if(imperativeFacet == null) {
+                continue;
+            }
+            for (final Method method : imperativeFacet.getMethods()) {
+                MethodInvokers.generateFor(method);
+            }
+        }
+    }
+
+    //endregion
+
+    //region > awaitIntrospection
+
+    /**
+     * A specification being introspected by its {@link #owner} thread.
+     */
+    private static class Introspection {
+        private final Thread owner = Thread.currentThread();
+        private final CountDownLatch done = new CountDownLatch(1);
+
+        private boolean isDone() {
+            return done.getCount() == 0;
+        }
+
+        private void await(final String typeName) {
+            try {
+                done.await();
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IsisException("Interrupted while waiting for " + typeName + " to be introspected", ex);
+            }
+        }
+    }
+
+    /**
+     * The specifications being introspected by the current thread (nested, hence the {@link #depth}), and those
+     * being introspected by other threads that it has had to use before they were done.
+     */
+    private static class IntrospectingThread {
+        private int depth;
+        private final Map<String, Introspection> borrowed = Maps.newLinkedHashMap();
+
+        private void awaitBorrowed() {
+            if(borrowed.isEmpty()) {
+                return;
+            }
+            // nothing can be waiting on this thread, as it is no longer introspecting anything
+            for (final Map.Entry<String, Introspection> entry : borrowed.entrySet()) {
+                entry.getValue().await(entry.getKey());
+            }
+            borrowed.clear();
+        }
+    }
+
+    private static final ThreadLocal<IntrospectingThread> INTROSPECTING_THREAD = new ThreadLocal<IntrospectingThread>() {
+        @Override
+        protected IntrospectingThread initialValue() {
+            return new IntrospectingThread();
+        }
+    };
+
+    /**
+     * The specifications yet to be introspected, keyed by class name.
+     */
+    private final Map<String, Introspection> introspections = Maps.newConcurrentMap();
+
+    /**
+     * The introspection (if any) that each thread is waiting on.
+     */
+    private final Map<Thread, Introspection> introspectionAwaitedByThread = Maps.newConcurrentMap();
+
+    /**
+     * Returns the (cached) spec once it has been introspected; or immediately if it is being introspected by the
+     * current thread (a cyclic reference between types), exactly as happens when introspecting sequentially.
+     *
+     * <p>
+     * If instead waiting would deadlock, because the thread introspecting the spec is itself (directly or
+     * indirectly) waiting on a spec being introspected by the current thread, then the partially introspected spec
+     * is returned straight away, as for a cycle within a single thread.  The current thread's outermost load then
+     * waits for that spec to be done before returning to its caller.  (Another thread that was waiting on one of the
+     * current thread's specs may however see such a spec, referenced from it, before it is done.)
+     */
+    private ObjectSpecification awaitIntrospection(final String typeName, final ObjectSpecification spec) {
+        final Introspection introspection = introspections.get(typeName);
+        if(introspection == null) {
+            return spec;
+        }
+        final Thread currentThread = Thread.currentThread();
+        if(introspection.owner == currentThread) {
+            return spec;
+        }
+        // registered before checking for a cycle, so that of any threads that close a cycle at the same time, at
+        // least one will detect it
+        introspectionAwaitedByThread.put(currentThread, introspection);
+        try {
+            if(wouldDeadlock(introspection, currentThread)) {
+                INTROSPECTING_THREAD.get().borrowed.put(typeName, introspection);
+                return spec;
+            }
+            introspection.await(typeName);
+        } finally {
+            introspectionAwaitedByThread.remove(currentThread);
+        }
+        return spec;
+    }
+
+    /**
+     * Whether the owner of the introspection is waiting, through a chain of threads each waiting on the next, on
+     * the current thread.
+     */
+    private boolean wouldDeadlock(final Introspection introspection, final Thread currentThread) {
+        final Set<Thread> visited = Sets.newHashSet();
+        Thread owner = introspection.owner;
+        while(visited.add(owner)) {
+            if(owner == currentThread) {
+                return true;
+            }
+            final Introspection awaited = introspectionAwaitedByThread.get(owner);
+            if(awaited == null || awaited.isDone()) {
+                // running, or about to be (this thread's own introspections cannot be done, as it is still here)
+                return false;
+            }
+            owner = awaited.owner;
+        }
+        return false;
     }
 
     //endregion
@@ -32,8 +32,11 @@
 import org.apache.isis.core.metamodel.facetapi.FacetHolderImpl;
 import org.apache.isis.core.metamodel.facetapi.FacetUtil;
 import org.apache.isis.core.metamodel.facetapi.MultiTypedFacet;
+import org.apache.isis.core.metamodel.interactions.DisablingInteractionAdvisor;
+import org.apache.isis.core.metamodel.interactions.HidingInteractionAdvisor;
 import org.apache.isis.core.metamodel.interactions.InteractionUtils;
 import org.apache.isis.core.metamodel.interactions.UsabilityContext;
+import org.apache.isis.core.metamodel.interactions.ValidatingInteractionAdvisor;
 import org.apache.isis.core.metamodel.interactions.VisibilityContext;
 import org.apache.isis.core.metamodel.services.ServicesInjector;
 import org.apache.isis.core.metamodel.spec.ObjectSpecification;
@@ -227,6 +230,21 @@ public List<Facet> getFacets(Filter<Facet> filter) {
         return facetHolder.getFacets(filter);
     }
 
+    @Override
+    public HidingInteractionAdvisor[] getHidingInteractionAdvisors() {
+        return facetHolder.getHidingInteractionAdvisors();
+    }
+
+    @Override
+    public DisablingInteractionAdvisor[] getDisablingInteractionAdvisors() {
+        return facetHolder.getDisablingInteractionAdvisors();
+    }
+
+    @Override
+    public ValidatingInteractionAdvisor[] getValidatingInteractionAdvisors() {
+        return facetHolder.getValidatingInteractionAdvisors();
+    }
+
     @Override
     public void addFacet(Facet facet) {
         facetHolder.addFacet(facet);
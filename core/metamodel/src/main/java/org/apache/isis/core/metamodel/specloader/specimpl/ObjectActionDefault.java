@@ -54,6 +54,7 @@
 import org.apache.isis.core.metamodel.facets.actions.defaults.ActionDefaultsFacet;
 import org.apache.isis.core.metamodel.facets.actions.prototype.PrototypeFacet;
 import org.apache.isis.core.metamodel.facets.actions.semantics.ActionSemanticsFacet;
+import org.apache.isis.core.metamodel.facets.members.fetchgroups.FetchGroupsFacet;
 import org.apache.isis.core.metamodel.facets.param.choices.ActionChoicesFacet;
 import org.apache.isis.core.metamodel.facets.param.choices.ActionParameterChoicesFacet;
 import org.apache.isis.core.metamodel.facets.param.defaults.ActionParameterDefaultsFacet;
@@ -395,7 +396,17 @@ public ObjectAdapter executeInternal(
             final ObjectAdapter mixedInAdapter,
             final ObjectAdapter[] argumentAdapters, final InteractionInitiatedBy interactionInitiatedBy) {
         final ActionInvocationFacet facet = getFacet(ActionInvocationFacet.class);
-        return facet.invoke(this, targetAdapter, mixedInAdapter, argumentAdapters, interactionInitiatedBy);
+        final FetchGroupsFacet fetchGroupsFacet = getFacet(FetchGroupsFacet.class);
+        if(fetchGroupsFacet == null) {
+            return facet.invoke(this, targetAdapter, mixedInAdapter, argumentAdapters, interactionInitiatedBy);
+        }
+        final ObjectActionDefault owningAction = this;
+        return getPersistenceSessionService().withFetchGroups(fetchGroupsFacet.value(), new Callable<ObjectAdapter>() {
+            @Override
+            public ObjectAdapter call() {
+                return facet.invoke(owningAction, targetAdapter, mixedInAdapter, argumentAdapters, interactionInitiatedBy);
+            }
+        });
     }
 
     protected ActionInvocationFacet getActionInvocationFacet() {
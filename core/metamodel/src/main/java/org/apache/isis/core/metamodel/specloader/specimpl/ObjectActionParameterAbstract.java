@@ -51,7 +51,10 @@
 import org.apache.isis.core.metamodel.facets.param.choices.ActionParameterChoicesFacet;
 import org.apache.isis.core.metamodel.facets.param.defaults.ActionParameterDefaultsFacet;
 import org.apache.isis.core.metamodel.interactions.ActionArgValidityContext;
+import org.apache.isis.core.metamodel.interactions.DisablingInteractionAdvisor;
+import org.apache.isis.core.metamodel.interactions.HidingInteractionAdvisor;
 import org.apache.isis.core.metamodel.interactions.InteractionUtils;
+import org.apache.isis.core.metamodel.interactions.ValidatingInteractionAdvisor;
 import org.apache.isis.core.metamodel.interactions.ValidityContext;
 import org.apache.isis.core.metamodel.services.persistsession.PersistenceSessionServiceInternal;
 import org.apache.isis.core.metamodel.spec.DomainModelException;
@@ -63,6 +66,10 @@
 
 public abstract class ObjectActionParameterAbstract implements ObjectActionParameter {
 
+    private static final HidingInteractionAdvisor[] NO_HIDING_ADVISORS = new HidingInteractionAdvisor[0];
+    private static final DisablingInteractionAdvisor[] NO_DISABLING_ADVISORS = new DisablingInteractionAdvisor[0];
+    private static final ValidatingInteractionAdvisor[] NO_VALIDATING_ADVISORS = new ValidatingInteractionAdvisor[0];
+
     private final int number;
     private final ObjectActionDefault parentAction;
     private final TypedHolder peer;
@@ -233,6 +240,24 @@ public List<Facet> getFacets(final Filter<Facet> filter) {
         return facetHolder != null ? facetHolder.getFacets(filter) : Lists.<Facet> newArrayList();
     }
 
+    @Override
+    public HidingInteractionAdvisor[] getHidingInteractionAdvisors() {
+        final FacetHolder facetHolder = getFacetHolder();
+        return facetHolder != null ? facetHolder.getHidingInteractionAdvisors() : NO_HIDING_ADVISORS;
+    }
+
+    @Override
+    public DisablingInteractionAdvisor[] getDisablingInteractionAdvisors() {
+        final FacetHolder facetHolder = getFacetHolder();
+        return facetHolder != null ? facetHolder.getDisablingInteractionAdvisors() : NO_DISABLING_ADVISORS;
+    }
+
+    @Override
+    public ValidatingInteractionAdvisor[] getValidatingInteractionAdvisors() {
+        final FacetHolder facetHolder = getFacetHolder();
+        return facetHolder != null ? facetHolder.getValidatingInteractionAdvisors() : NO_VALIDATING_ADVISORS;
+    }
+
     @Override
     public void addFacet(final Facet facet) {
         final FacetHolder facetHolder = getFacetHolder();
@@ -53,6 +53,7 @@
 import org.apache.isis.core.metamodel.interactions.InteractionContext;
 import org.apache.isis.core.metamodel.interactions.InteractionUtils;
 import org.apache.isis.core.metamodel.interactions.UsabilityContext;
+import org.apache.isis.core.metamodel.interactions.ValidatingInteractionAdvisor;
 import org.apache.isis.core.metamodel.interactions.VisibilityContext;
 import org.apache.isis.core.metamodel.services.ServicesInjector;
 import org.apache.isis.core.metamodel.services.command.CommandDtoServiceInternal;
@@ -77,6 +78,12 @@ public static ObjectSpecification getSpecification(final SpecificationLoader spe
     private final SpecificationLoader specificationLoader;
     private final ServicesInjector servicesInjector;
     private final PersistenceSessionServiceInternal persistenceSessionServiceInternal;
+
+    /**
+     * The specification that this member has been added to, notified whenever this member's facets change (because
+     * it memoizes lookups that depend on them).
+     */
+    private volatile ObjectSpecificationAbstract memberOf;
     //endregion
 
     protected ObjectMemberAbstract(
@@ -151,24 +158,54 @@ public List<Facet> getFacets(final Filter<Facet> filter) {
         return getFacetHolder().getFacets(filter);
     }
 
+    @Override
+    public HidingInteractionAdvisor[] getHidingInteractionAdvisors() {
+        return getFacetHolder().getHidingInteractionAdvisors();
+    }
+
+    @Override
+    public DisablingInteractionAdvisor[] getDisablingInteractionAdvisors() {
+        return getFacetHolder().getDisablingInteractionAdvisors();
+    }
+
+    @Override
+    public ValidatingInteractionAdvisor[] getValidatingInteractionAdvisors() {
+        return getFacetHolder().getValidatingInteractionAdvisors();
+    }
+
     @Override
     public void addFacet(final Facet facet) {
         getFacetHolder().addFacet(facet);
+        facetsChanged();
     }
 
     @Override
     public void addFacet(final MultiTypedFacet facet) {
         getFacetHolder().addFacet(facet);
+        facetsChanged();
     }
 
     @Override
     public void removeFacet(final Facet facet) {
         getFacetHolder().removeFacet(facet);
+        facetsChanged();
     }
 
     @Override
     public void removeFacet(final Class<? extends Facet> facetType) {
         getFacetHolder().removeFacet(facetType);
+        facetsChanged();
+    }
+
+    void setMemberOf(final ObjectSpecificationAbstract objectSpecification) {
+        this.memberOf = objectSpecification;
+    }
+
+    private void facetsChanged() {
+        final ObjectSpecificationAbstract objectSpecification = memberOf;
+        if(objectSpecification != null) {
+            objectSpecification.invalidateMemberCache();
+        }
     }
 
     //endregion
@@ -25,11 +25,16 @@
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import com.google.common.base.Function;
 import com.google.common.base.Predicate;
 import com.google.common.collect.Collections2;
 import com.google.common.collect.FluentIterable;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
@@ -103,13 +108,11 @@ public abstract class ObjectSpecificationAbstract extends FacetHolderImpl implem
     private final static Logger LOG = LoggerFactory.getLogger(ObjectSpecificationAbstract.class);
 
     private static class SubclassList {
-        private final List<ObjectSpecification> classes = Lists.newArrayList();
+        // subclasses may be introspected concurrently (see SpecificationLoader's parallel introspection)
+        private final CopyOnWriteArrayList<ObjectSpecification> classes = Lists.newCopyOnWriteArrayList();
 
         public void addSubclass(final ObjectSpecification subclass) {
-            if(classes.contains(subclass)) { 
-                return;
-            }
-            classes.add(subclass);
+            classes.addIfAbsent(subclass);
         }
 
         public boolean hasSubclasses() {
@@ -148,6 +151,55 @@ private static Map<ActionType, List<ObjectAction>> createObjectActionsByType() {
         return map;
     }
 
+    /**
+     * Incremented whenever {@link #associations} or {@link #objectActions} are updated, or the facets of this
+     * specification or any of its members change.
+     */
+    private volatile int memberCacheGeneration;
+
+    /**
+     * Memoizes lookups of {@link #associations} and {@link #objectActions}.
+     *
+     * <p>
+     * Stamped with the {@link #memberCacheGeneration} read before it was created, and replaced (rather than cleared)
+     * once that generation is no longer current, so that a lookup computed from the previous members (or their
+     * previous facets, eg before a layout was reloaded) can never be cached against the new ones.
+     */
+    private volatile MemberCache memberCache = new MemberCache(0);
+
+    private static class MemberCache {
+        private final int generation;
+        private final Map<Contributed, List<ObjectAssociation>> associationsByContributed =
+                new ConcurrentHashMap<>();
+        private final Map<Contributed, ConcurrentMap<Filter<ObjectAssociation>, List<ObjectAssociation>>>
+                associationsByContributedAndFilter = Maps.newEnumMap(Contributed.class);
+        private volatile Map<String, ObjectAssociation> associationsById;
+        private final ConcurrentMap<List<ActionType>, Map<String, ObjectAction>> objectActionsByTypesAndId =
+                new ConcurrentHashMap<>();
+
+        MemberCache(final int generation) {
+            this.generation = generation;
+            for (final Contributed contributed : Contributed.values()) {
+                associationsByContributedAndFilter.put(
+                        contributed, new ConcurrentHashMap<Filter<ObjectAssociation>, List<ObjectAssociation>>());
+            }
+        }
+    }
+
+    /**
+     * The filters whose results are memoized by {@link #getAssociations(Contributed, Filter)}; each depends only on
+     * the (static) metamodel, never on the target object or the current user.
+     */
+    private static final Set<Filter<ObjectAssociation>> MEMOIZABLE_ASSOCIATION_FILTERS =
+            ImmutableSet.of(
+                    ObjectAssociation.Filters.ALL,
+                    ObjectAssociation.Filters.PROPERTIES,
+                    ObjectAssociation.Filters.REFERENCE_PROPERTIES,
+                    ObjectAssociation.Filters.COLLECTIONS,
+                    ObjectAssociation.Filters.VISIBLE_AT_LEAST_SOMETIMES,
+                    ObjectAssociation.Filters.WHERE_VISIBLE_IN_COLLECTION_TABLE,
+                    ObjectAssociation.Filters.WHERE_VISIBLE_IN_STANDALONE_TABLE);
+
     private boolean contributeeAndMixedInAssociationsAdded;
     private boolean contributeeAndMixedInActionsAdded;
 
@@ -171,7 +223,7 @@ private static Map<ActionType, List<ObjectAction>> createObjectActionsByType() {
     private IconFacet iconFacet;
     private CssClassFacet cssClassFacet;
 
-    private IntrospectionState introspected = IntrospectionState.NOT_INTROSPECTED;
+    private volatile IntrospectionState introspected = IntrospectionState.NOT_INTROSPECTED;
     //endregion
 
     //region > Constructor
@@ -332,6 +384,10 @@ protected void sortAndUpdateAssociations(final List<ObjectAssociation> associati
         synchronized (this.associations) {
             this.associations.clear();
             this.associations.addAll(orderedAssociations);
+            for (final ObjectAssociation association : orderedAssociations) {
+                addMember(association);
+            }
+            invalidateMemberCache();
         }
     }
 
@@ -346,7 +402,36 @@ protected void sortCacheAndUpdateActions(final List<ObjectAction> objectActions)
                 objectActionForType.clear();
                 objectActionForType.addAll(Collections2.filter(objectActions, ObjectAction.Predicates.ofType(type)));
             }
+            for (final ObjectAction action : orderedActions) {
+                addMember(action);
+            }
+            invalidateMemberCache();
+        }
+    }
+
+    private void addMember(final ObjectMember member) {
+        if(member instanceof ObjectMemberAbstract) {
+            ((ObjectMemberAbstract) member).setMemberOf(this);
+        }
+    }
+
+    @Override
+    protected void onFacetsChanged() {
+        invalidateMemberCache();
+    }
+
+    void invalidateMemberCache() {
+        memberCacheGeneration++;
+    }
+
+    private MemberCache getMemberCache() {
+        final int generation = memberCacheGeneration;
+        MemberCache memberCache = this.memberCache;
+        if(memberCache.generation != generation) {
+            memberCache = new MemberCache(generation);
+            this.memberCache = memberCache;
         }
+        return memberCache;
     }
 
     //endregion
@@ -628,9 +713,18 @@ public List<ObjectAssociation> getAssociations(final Contributed contributed) {
                 contributeeAndMixedInAssociationsAdded = true;
             }
         }
-        final List<ObjectAssociation> associations = Lists.newArrayList(this.associations);
-        return Lists.newArrayList(Iterables.filter(
-                associations, ContributeeMember.Predicates.regularElse(contributed)));
+        final MemberCache memberCache = getMemberCache();
+        List<ObjectAssociation> associations = memberCache.associationsByContributed.get(contributed);
+        if(associations == null) {
+            final List<ObjectAssociation> allAssociations;
+            synchronized (this.associations) {
+                allAssociations = Lists.newArrayList(this.associations);
+            }
+            associations = ImmutableList.copyOf(Iterables.filter(
+                    allAssociations, ContributeeMember.Predicates.regularElse(contributed)));
+            memberCache.associationsByContributed.put(contributed, associations);
+        }
+        return associations;
     }
 
 
@@ -648,9 +742,6 @@ protected Boolean initialValue() {
      * simply returns <tt>null</tt>.
      * 
      * <p>
-     * TODO put fields into hash.
-     * 
-     * <p>
      * TODO: could this be made final? (ie does the framework ever call this
      * method for an {@link org.apache.isis.core.metamodel.specloader.specimpl.standalonelist.ObjectSpecificationOnStandaloneList})
      */
@@ -685,12 +776,20 @@ public ObjectAssociation getAssociation(final String id) {
     }
 
     private ObjectAssociation getAssociationWithId(final String id) {
-        for (final ObjectAssociation objectAssociation : getAssociations(Contributed.INCLUDED)) {
-            if (objectAssociation.getId().equals(id)) {
-                return objectAssociation;
+        // ensure contributed associations have been added (which in turn may replace the memberCache)
+        getAssociations(Contributed.INCLUDED);
+        final MemberCache memberCache = getMemberCache();
+        Map<String, ObjectAssociation> associationsById = memberCache.associationsById;
+        if(associationsById == null) {
+            associationsById = Maps.newHashMap();
+            for (final ObjectAssociation objectAssociation : getAssociations(Contributed.INCLUDED)) {
+                if(!associationsById.containsKey(objectAssociation.getId())) {
+                    associationsById.put(objectAssociation.getId(), objectAssociation);
+                }
             }
+            memberCache.associationsById = associationsById;
         }
-        return null;
+        return associationsById.get(id);
     }
 
     @Deprecated
@@ -701,12 +800,27 @@ public List<ObjectAssociation> getAssociations(Filter<ObjectAssociation> filter)
 
     @Override
     public List<ObjectAssociation> getAssociations(Contributed contributed, final Filter<ObjectAssociation> filter) {
-        final List<ObjectAssociation> allAssociations = getAssociations(contributed);
-        return Lists.newArrayList(
-                FluentIterable.from(allAssociations)
-                        .filter(Filters.asPredicate(filter))
-                        .toSortedList(ObjectMember.Comparators.byMemberOrderSequence())
-        );
+        if(!MEMOIZABLE_ASSOCIATION_FILTERS.contains(filter)) {
+            return Lists.newArrayList(filterAndSort(getAssociations(contributed), filter));
+        }
+        // read the memberCache before any members (or their facets) are, so that a result computed from members
+        // that change concurrently is only ever cached against the memberCache that such a change replaces
+        final ConcurrentMap<Filter<ObjectAssociation>, List<ObjectAssociation>> associationsByFilter =
+                getMemberCache().associationsByContributedAndFilter.get(contributed);
+        List<ObjectAssociation> associations = associationsByFilter.get(filter);
+        if(associations == null) {
+            associations = filterAndSort(getAssociations(contributed), filter);
+            associationsByFilter.put(filter, associations);
+        }
+        return associations;
+    }
+
+    private static ImmutableList<ObjectAssociation> filterAndSort(
+            final List<ObjectAssociation> associations,
+            final Filter<ObjectAssociation> filter) {
+        return FluentIterable.from(associations)
+                .filter(Filters.asPredicate(filter))
+                .toSortedList(ObjectMember.Comparators.byMemberOrderSequence());
     }
 
     @SuppressWarnings({ "rawtypes", "unchecked" })
@@ -782,6 +896,41 @@ public List<ObjectAction> getObjectActions(
         return getObjectActions(Collections.singletonList(type), contributed, filter);
     }
 
+    /**
+     * The first of the {@link #getObjectActions(List, Contributed, Filter) actions} of the specified types (including
+     * contributed) whose {@link Identifier#toNameParmsIdentityString()} or {@link Identifier#toNameIdentityString()}
+     * matches the provided id.
+     *
+     * <p>
+     * The actions are indexed by both identity strings on first use.
+     */
+    protected ObjectAction getObjectActionWithId(final List<ActionType> types, final String id) {
+        if (id == null) {
+            return null;
+        }
+        // ensure contributed actions have been added (which in turn may replace the memberCache)
+        getObjectActions(types, Contributed.INCLUDED, Filters.<ObjectAction>any());
+        final MemberCache memberCache = getMemberCache();
+        Map<String, ObjectAction> actionsById = memberCache.objectActionsByTypesAndId.get(types);
+        if(actionsById == null) {
+            actionsById = Maps.newHashMap();
+            for (final ObjectAction action :
+                    getObjectActions(types, Contributed.INCLUDED, Filters.<ObjectAction>any())) {
+                final Identifier identifier = action.getIdentifier();
+                putIfAbsent(actionsById, identifier.toNameParmsIdentityString(), action);
+                putIfAbsent(actionsById, identifier.toNameIdentityString(), action);
+            }
+            memberCache.objectActionsByTypesAndId.put(types, actionsById);
+        }
+        return actionsById.get(id);
+    }
+
+    private static void putIfAbsent(final Map<String, ObjectAction> actionsById, final String id, final ObjectAction action) {
+        if(!actionsById.containsKey(id)) {
+            actionsById.put(id, action);
+        }
+    }
+
     //endregion
 
     //region > sorting
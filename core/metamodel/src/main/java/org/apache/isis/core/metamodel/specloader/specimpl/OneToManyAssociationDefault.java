@@ -22,6 +22,7 @@
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
 
 import org.apache.isis.applib.annotation.Where;
 import org.apache.isis.core.commons.exceptions.IsisException;
@@ -36,6 +37,7 @@
 import org.apache.isis.core.metamodel.facets.collections.modify.CollectionClearFacet;
 import org.apache.isis.core.metamodel.facets.collections.modify.CollectionFacet;
 import org.apache.isis.core.metamodel.facets.collections.modify.CollectionRemoveFromFacet;
+import org.apache.isis.core.metamodel.facets.members.fetchgroups.FetchGroupsFacet;
 import org.apache.isis.core.metamodel.facets.propcoll.accessor.PropertyOrCollectionAccessorFacet;
 import org.apache.isis.core.metamodel.interactions.CollectionAddToContext;
 import org.apache.isis.core.metamodel.interactions.CollectionRemoveFromContext;
@@ -175,8 +177,18 @@ public ObjectAdapter get(
             final InteractionInitiatedBy interactionInitiatedBy) {
 
         final PropertyOrCollectionAccessorFacet accessor = getFacet(PropertyOrCollectionAccessorFacet.class);
-        final Object collection = accessor.getProperty(ownerAdapter,
-                interactionInitiatedBy);
+        final FetchGroupsFacet fetchGroupsFacet = getFacet(FetchGroupsFacet.class);
+        final Object collection;
+        if(fetchGroupsFacet == null || !ownerAdapter.representsPersistent()) {
+            collection = accessor.getProperty(ownerAdapter, interactionInitiatedBy);
+        } else {
+            collection = getPersistenceSessionService().loadCollectionWithFetchGroups(fetchGroupsFacet.value(), new Callable<Object>() {
+                @Override
+                public Object call() {
+                    return accessor.getProperty(ownerAdapter, interactionInitiatedBy);
+                }
+            });
+        }
         if (collection == null) {
             return null;
         }
@@ -107,7 +107,9 @@ public class XmlSnapshot implements Snapshot {
     private String schemaLocationFileName;
     private boolean topLevelElementWritten = false;
 
-    private final Document xmlDocument;
+    private final DocumentBuilder documentBuilder;
+
+    private Document xmlDocument;
 
     /**
      * root element of {@link #xmlDocument}
@@ -143,22 +145,13 @@ public XmlSnapshot(final ObjectAdapter rootAdapter, final XmlSchema schema) {
 
         this.schema = schema;
 
-        final DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-        dbf.setNamespaceAware(true);
-        DocumentBuilder db;
-        try {
-            db = dbf.newDocumentBuilder();
-            this.xmlDocument = db.newDocument();
-            this.xsdDocument = db.newDocument();
-
-            xsdElement = xsMeta.createXsSchemaElement(xsdDocument);
+        this.documentBuilder = newDocumentBuilder();
+        this.xmlDocument = documentBuilder.newDocument();
+        this.xsdDocument = documentBuilder.newDocument();
 
-            this.rootPlace = appendXml(rootAdapter);
+        xsdElement = xsMeta.createXsSchemaElement(xsdDocument);
 
-        } catch (final ParserConfigurationException e) {
-            LOG.error("unable to build snapshot", e);
-            throw new IsisException(e);
-        }
+        this.rootPlace = appendXml(rootAdapter);
 
         for (final String path : getPathsFor(rootAdapter.getObject())) {
             include(path);
@@ -166,7 +159,38 @@ public XmlSnapshot(final ObjectAdapter rootAdapter, final XmlSchema schema) {
 
     }
 
-    private List<String> getPathsFor(final Object object) {
+    /**
+     * For {@link XmlSnapshotWriter}, which uses {@link #objectToDetachedElement(ObjectAdapter)} to create the
+     * elements for each object in turn, rather than appending them to the {@link #getXmlDocument() XML document}.
+     *
+     * <p>
+     * The {@link #getXsdDocument() XSD document} is built up as usual.
+     */
+    XmlSnapshot(final XmlSchema schema) {
+        this.isisMetaModel = new IsisSchema();
+        this.xsMeta = new XsMetaModel();
+        this.schema = schema;
+
+        this.documentBuilder = newDocumentBuilder();
+        this.xmlDocument = documentBuilder.newDocument();
+        this.xsdDocument = documentBuilder.newDocument();
+
+        this.xsdElement = xsMeta.createXsSchemaElement(xsdDocument);
+        this.rootPlace = null;
+    }
+
+    private static DocumentBuilder newDocumentBuilder() {
+        final DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+        dbf.setNamespaceAware(true);
+        try {
+            return dbf.newDocumentBuilder();
+        } catch (final ParserConfigurationException e) {
+            LOG.error("unable to build snapshot", e);
+            throw new IsisException(e);
+        }
+    }
+
+    static List<String> getPathsFor(final Object object) {
         if (!(object instanceof SnapshottableWithInclusions)) {
             return Collections.emptyList();
         }
@@ -815,6 +839,16 @@ Place objectToElement(final ObjectAdapter adapter) {
         return place;
     }
 
+    /**
+     * As {@link #objectToElement(ObjectAdapter)}, but creating the elements in a new document that is otherwise
+     * unreferenced, so that the elements (along with the XSD elements associated with them as user data) can be
+     * garbage collected once written.
+     */
+    Place objectToDetachedElement(final ObjectAdapter adapter) {
+        xmlDocument = documentBuilder.newDocument();
+        return objectToElement(adapter);
+    }
+
     
     private final Map<ObjectAdapter, String> viewModelFakeOids = Maps.newHashMap();
     
@@ -862,10 +896,14 @@ public String getXsdDocumentAsString() {
     }
     
     private static String asString(final Document doc) {
+        final StringWriter writer = new StringWriter();
+        transform(doc, new StreamResult(writer));
+        return writer.toString();
+    }
+
+    static void transform(final Document doc, final StreamResult result) {
         try {
             final DOMSource domSource = new DOMSource(doc);
-            final StringWriter writer = new StringWriter();
-            final StreamResult result = new StreamResult(writer);
             final TransformerFactory tf = TransformerFactory.newInstance();
             final Transformer transformer = tf.newTransformer();
             transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "no");
@@ -874,8 +912,6 @@ private static String asString(final Document doc) {
             transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
             transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "2");
             transformer.transform(domSource, result);
-            
-            return writer.toString();
         } catch (TransformerConfigurationException e) {
             throw new IsisException(e);
         } catch (TransformerException e) {
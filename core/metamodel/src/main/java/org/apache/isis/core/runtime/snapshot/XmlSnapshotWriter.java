@@ -0,0 +1,373 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.snapshot;
+
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringTokenizer;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.stream.StreamResult;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+import org.w3c.dom.Attr;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import org.apache.isis.core.commons.exceptions.IsisException;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.consent.InteractionInitiatedBy;
+import org.apache.isis.core.metamodel.facets.collections.modify.CollectionFacet;
+import org.apache.isis.core.metamodel.spec.feature.Contributed;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.metamodel.spec.feature.OneToManyAssociation;
+import org.apache.isis.core.metamodel.spec.feature.OneToOneAssociation;
+
+/**
+ * Writes the same XML as an {@link XmlSnapshot} (and optionally its XSD), but directly to an {@link XMLStreamWriter}
+ * as the object graph is traversed, rather than first building a DOM of the entire graph.
+ *
+ * <p>
+ * Only the elements for the object currently being written (its title and fields) are held in memory, so memory
+ * use does not depend on the size of the graph.  The XSD describes types rather than instances, so it is built up
+ * in memory as usual and written once the XML is complete.
+ *
+ * <p>
+ * Unlike {@link XmlSnapshot}, all paths must be {@link #include(String) included} before the snapshot is written.
+ * Paths that share a prefix are traversed together.  The XML is not indented.
+ */
+public class XmlSnapshotWriter {
+
+    private final ObjectAdapter rootAdapter;
+    private final XmlSchema schema;
+    private final IsisSchema isisMetaModel = new IsisSchema();
+
+    private final Inclusion rootInclusion = new Inclusion();
+
+    /**
+     * The fields to traverse from an object, and the annotation (if any) for the field at the end of a path.
+     */
+    private static class Inclusion {
+        private final Map<String, Inclusion> fieldInclusions = Maps.newLinkedHashMap();
+        private String annotation;
+
+        Inclusion inclusionFor(final String fieldName) {
+            Inclusion inclusion = fieldInclusions.get(fieldName);
+            if (inclusion == null) {
+                inclusion = new Inclusion();
+                fieldInclusions.put(fieldName, inclusion);
+            }
+            return inclusion;
+        }
+    }
+
+    public XmlSnapshotWriter(final ObjectAdapter rootAdapter) {
+        this(rootAdapter, new XmlSchema());
+    }
+
+    public XmlSnapshotWriter(final ObjectAdapter rootAdapter, final XmlSchema schema) {
+        this.rootAdapter = rootAdapter;
+        this.schema = schema;
+        for (final String path : XmlSnapshot.getPathsFor(rootAdapter.getObject())) {
+            include(path);
+        }
+    }
+
+    public void include(final String path) {
+        include(path, null);
+    }
+
+    public void include(final String path, final String annotation) {
+        Inclusion inclusion = rootInclusion;
+        for (final StringTokenizer tok = new StringTokenizer(path, "/"); tok.hasMoreTokens();) {
+            inclusion = inclusion.inclusionFor(tok.nextToken());
+        }
+        if (annotation != null && inclusion != rootInclusion) {
+            inclusion.annotation = annotation;
+        }
+    }
+
+    //region > writeTo
+
+    /**
+     * Writes the XML document (UTF-8 encoded) to <tt>xmlOut</tt> and, if provided, the XSD document to
+     * <tt>xsdOutIfAny</tt>.  Neither stream is closed.
+     */
+    public void writeTo(final OutputStream xmlOut, final OutputStream xsdOutIfAny) {
+        try {
+            final XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(xmlOut, "UTF-8");
+            try {
+                writer.writeStartDocument("UTF-8", "1.0");
+                final XmlSnapshot xsdSnapshot = write(writer);
+                writer.writeEndDocument();
+                writer.flush();
+                if (xsdOutIfAny != null) {
+                    XmlSnapshot.transform(xsdSnapshot.getXsdDocument(), new StreamResult(xsdOutIfAny));
+                }
+            } finally {
+                writer.close();
+            }
+        } catch (final XMLStreamException ex) {
+            throw new IsisException(ex);
+        }
+    }
+
+    /**
+     * Writes the root element of the XML document (only) to the supplied writer, for example so that the snapshot
+     * can be embedded within some other document.
+     *
+     * @return the (scratch) {@link XmlSnapshot} holding the {@link XmlSnapshot#getXsdDocument() XSD document}.
+     */
+    public XmlSnapshot write(final XMLStreamWriter writer) throws XMLStreamException {
+        final XmlSnapshot xsdSnapshot = new XmlSnapshot(schema);
+
+        final String fullyQualifiedClassName = rootAdapter.getSpecification().getFullIdentifier();
+        schema.setUri(fullyQualifiedClassName);
+
+        final Place rootPlace = xsdSnapshot.objectToDetachedElement(rootAdapter);
+        xsdSnapshot.getXsdElement().appendChild(rootPlace.getXsdElement());
+        schema.setTargetNamespace(xsdSnapshot.getXsdDocument(), fullyQualifiedClassName);
+
+        final String schemaLocation = schema.getUri() + " " + fullyQualifiedClassName + ".xsd";
+        writeObject(writer, xsdSnapshot, rootPlace, rootInclusion, schemaLocation);
+
+        return xsdSnapshot;
+    }
+
+    private void writeObject(
+            final XMLStreamWriter writer,
+            final XmlSnapshot xsdSnapshot,
+            final Place place,
+            final Inclusion inclusion,
+            final String schemaLocationIfRoot) throws XMLStreamException {
+
+        final Element element = place.getXmlElement();
+        writeStartElement(writer, element);
+        if (schemaLocationIfRoot != null) {
+            declareNamespaceIfRequired(writer, XsMetaModel.W3_ORG_XSI_PREFIX, XsMetaModel.W3_ORG_XSI_URI);
+            writer.writeAttribute(
+                    XsMetaModel.W3_ORG_XSI_PREFIX, XsMetaModel.W3_ORG_XSI_URI, "schemaLocation", schemaLocationIfRoot);
+        }
+        writeAttributes(writer, element);
+
+        final NodeList childNodes = element.getChildNodes();
+        for (int i = 0; i < childNodes.getLength(); i++) {
+            final Node childNode = childNodes.item(i);
+            final Inclusion fieldInclusion = fieldInclusionFor(childNode, inclusion);
+            if (fieldInclusion != null) {
+                writeIncludedField(writer, xsdSnapshot, place.getObject(), (Element) childNode, fieldInclusion);
+            } else {
+                writeNode(writer, childNode);
+            }
+        }
+
+        writer.writeEndElement();
+    }
+
+    private Inclusion fieldInclusionFor(final Node childNode, final Inclusion inclusion) {
+        if (!(childNode instanceof Element) || !schema.getUri().equals(childNode.getNamespaceURI())) {
+            return null;
+        }
+        return inclusion.fieldInclusions.get(childNode.getLocalName());
+    }
+
+    /**
+     * Writes the field's element and then, nested within it, the element for each object referenced by the field.
+     *
+     * <p>
+     * Equivalent to {@link XmlSnapshot#include(String, String)}.
+     */
+    private void writeIncludedField(
+            final XMLStreamWriter writer,
+            final XmlSnapshot xsdSnapshot,
+            final ObjectAdapter object,
+            final Element fieldElement,
+            final Inclusion fieldInclusion) throws XMLStreamException {
+
+        if (fieldInclusion.annotation != null) {
+            isisMetaModel.setAnnotationAttribute(fieldElement, fieldInclusion.annotation);
+        }
+
+        writeStartElement(writer, fieldElement);
+        writeAttributes(writer, fieldElement);
+        final NodeList childNodes = fieldElement.getChildNodes();
+        for (int i = 0; i < childNodes.getLength(); i++) {
+            writeNode(writer, childNodes.item(i));
+        }
+
+        final Element fieldXsElement = new Place(object, fieldElement).getXsdElement();
+        final Set<String> oidsWritten = Sets.newHashSet();
+        for (final ObjectAdapter referencedObject : referencedObjects(object, fieldElement.getLocalName())) {
+            final Place referencedPlace = xsdSnapshot.objectToDetachedElement(referencedObject);
+            final Element referencedElement = referencedPlace.getXmlElement();
+
+            // as XmlSnapshot#mergeTree, each object appears only once within the field
+            if (!oidsWritten.add(isisMetaModel.getAttribute(referencedElement, "oid"))) {
+                continue;
+            }
+            if (fieldXsElement != null) {
+                schema.addXsElementIfNotPresent(fieldXsElement, referencedPlace.getXsdElement());
+            }
+            writeObject(writer, xsdSnapshot, referencedPlace, fieldInclusion, null);
+        }
+
+        writer.writeEndElement();
+    }
+
+    private static Iterable<ObjectAdapter> referencedObjects(final ObjectAdapter object, final String fieldName) {
+        final ObjectAssociation field = object.getSpecification().getAssociation(fieldName);
+        if (field instanceof OneToOneAssociation) {
+            if (field.getSpecification().getAssociations(Contributed.INCLUDED).isEmpty()) {
+                // a value
+                return Collections.emptyList();
+            }
+            final ObjectAdapter referencedObject =
+                    ((OneToOneAssociation) field).get(object, InteractionInitiatedBy.FRAMEWORK);
+            return referencedObject != null
+                    ? Collections.singletonList(referencedObject)
+                    : Collections.<ObjectAdapter>emptyList();
+        }
+        if (field instanceof OneToManyAssociation) {
+            final ObjectAdapter collection =
+                    ((OneToManyAssociation) field).get(object, InteractionInitiatedBy.FRAMEWORK);
+            final CollectionFacet facet = collection.getSpecification().getFacet(CollectionFacet.class);
+            return facet.iterable(collection);
+        }
+        return Collections.emptyList();
+    }
+
+    //endregion
+
+    //region > DOM to StAX
+
+    private static void writeNode(final XMLStreamWriter writer, final Node node) throws XMLStreamException {
+        switch (node.getNodeType()) {
+        case Node.ELEMENT_NODE:
+            final Element element = (Element) node;
+            writeStartElement(writer, element);
+            writeAttributes(writer, element);
+            final NodeList childNodes = element.getChildNodes();
+            for (int i = 0; i < childNodes.getLength(); i++) {
+                writeNode(writer, childNodes.item(i));
+            }
+            writer.writeEndElement();
+            return;
+        case Node.TEXT_NODE:
+        case Node.CDATA_SECTION_NODE:
+            writer.writeCharacters(node.getNodeValue());
+            return;
+        default:
+            // comments etc are never created by the snapshot
+        }
+    }
+
+    /**
+     * Writes the start of the element, followed by any namespace declarations required (for the element and its
+     * attributes) that are not already in scope.
+     *
+     * <p>
+     * The declarations required are determined before the element is started, because some writers implicitly bind
+     * the element's own prefix when it is started (without actually writing out the declaration).
+     */
+    private static void writeStartElement(final XMLStreamWriter writer, final Element element) throws XMLStreamException {
+        final String prefix = element.getPrefix() != null ? element.getPrefix() : XMLConstants.DEFAULT_NS_PREFIX;
+        final String namespaceUri = element.getNamespaceURI() != null ? element.getNamespaceURI() : XMLConstants.NULL_NS_URI;
+
+        final Map<String, String> namespacesToDeclare = Maps.newLinkedHashMap();
+        addIfNotInScope(writer, namespacesToDeclare, prefix, namespaceUri);
+        final NamedNodeMap attributes = element.getAttributes();
+        for (int i = 0; i < attributes.getLength(); i++) {
+            final Attr attr = (Attr) attributes.item(i);
+            if (XMLConstants.XMLNS_ATTRIBUTE_NS_URI.equals(attr.getNamespaceURI())) {
+                addIfNotInScope(writer, namespacesToDeclare, attr.getLocalName(), attr.getValue());
+            } else if (attr.getPrefix() != null) {
+                addIfNotInScope(writer, namespacesToDeclare, attr.getPrefix(), attr.getNamespaceURI());
+            }
+        }
+
+        writer.writeStartElement(prefix, element.getLocalName(), namespaceUri);
+        for (final Map.Entry<String, String> entry : namespacesToDeclare.entrySet()) {
+            declareNamespace(writer, entry.getKey(), entry.getValue());
+        }
+    }
+
+    private static void addIfNotInScope(
+            final XMLStreamWriter writer,
+            final Map<String, String> namespacesToDeclare,
+            final String prefix,
+            final String namespaceUri) {
+        if (!namespacesToDeclare.containsKey(prefix) && !isInScope(writer, prefix, namespaceUri)) {
+            namespacesToDeclare.put(prefix, namespaceUri);
+        }
+    }
+
+    private static void declareNamespaceIfRequired(
+            final XMLStreamWriter writer,
+            final String prefix,
+            final String namespaceUri) throws XMLStreamException {
+        if (!isInScope(writer, prefix, namespaceUri)) {
+            declareNamespace(writer, prefix, namespaceUri);
+        }
+    }
+
+    private static boolean isInScope(final XMLStreamWriter writer, final String prefix, final String namespaceUri) {
+        final String namespaceUriInScope = writer.getNamespaceContext().getNamespaceURI(prefix);
+        return namespaceUri.equals(namespaceUriInScope != null ? namespaceUriInScope : XMLConstants.NULL_NS_URI);
+    }
+
+    private static void declareNamespace(
+            final XMLStreamWriter writer,
+            final String prefix,
+            final String namespaceUri) throws XMLStreamException {
+        if (XMLConstants.DEFAULT_NS_PREFIX.equals(prefix)) {
+            writer.setDefaultNamespace(namespaceUri);
+            writer.writeDefaultNamespace(namespaceUri);
+        } else {
+            writer.setPrefix(prefix, namespaceUri);
+            writer.writeNamespace(prefix, namespaceUri);
+        }
+    }
+
+    private static void writeAttributes(final XMLStreamWriter writer, final Element element) throws XMLStreamException {
+        final NamedNodeMap attributes = element.getAttributes();
+        for (int i = 0; i < attributes.getLength(); i++) {
+            final Attr attr = (Attr) attributes.item(i);
+            if (XMLConstants.XMLNS_ATTRIBUTE_NS_URI.equals(attr.getNamespaceURI())) {
+                continue;
+            }
+            if (attr.getNamespaceURI() != null) {
+                writer.writeAttribute(attr.getPrefix(), attr.getNamespaceURI(), attr.getLocalName(), attr.getValue());
+            } else {
+                writer.writeAttribute(attr.getName(), attr.getValue());
+            }
+        }
+    }
+
+    //endregion
+
+}
@@ -60,7 +60,7 @@ public static SpecificationLoader createObjectReflector(
             programmingModel.refineMetaModelValidator(metaModelValidator, configuration);
         }
 
-        return new SpecificationLoader(programmingModel, metaModelValidator, layoutMetadataReaders, servicesInjector);
+        return new SpecificationLoader(programmingModel, metaModelValidator, layoutMetadataReaders, servicesInjector, configuration);
     }
 
 }
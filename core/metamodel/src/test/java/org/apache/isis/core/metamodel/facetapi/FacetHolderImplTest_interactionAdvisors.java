@@ -0,0 +1,122 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.metamodel.facetapi;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.isis.applib.events.VisibilityEvent;
+import org.apache.isis.core.metamodel.interactions.HidingInteractionAdvisor;
+import org.apache.isis.core.metamodel.interactions.VisibilityContext;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class FacetHolderImplTest_interactionAdvisors {
+
+    public static class HidingFacet extends FacetAbstract implements HidingInteractionAdvisor {
+        public HidingFacet(final FacetHolder holder) {
+            super(HidingFacet.class, holder, Derivation.NOT_DERIVED);
+        }
+
+        @Override
+        public String hides(final VisibilityContext<? extends VisibilityEvent> ic) {
+            return null;
+        }
+    }
+
+    public static class ReplacingHidingFacet extends FacetAbstract implements HidingInteractionAdvisor {
+        public ReplacingHidingFacet(final FacetHolder holder) {
+            super(HidingFacet.class, holder, Derivation.NOT_DERIVED);
+        }
+
+        @Override
+        public String hides(final VisibilityContext<? extends VisibilityEvent> ic) {
+            return "replaced";
+        }
+    }
+
+    public static class OtherFacet extends FacetAbstract {
+        public OtherFacet(final FacetHolder holder) {
+            super(OtherFacet.class, holder, Derivation.NOT_DERIVED);
+        }
+    }
+
+    private FacetHolderImpl facetHolder;
+
+    @Before
+    public void setUp() throws Exception {
+        facetHolder = new FacetHolderImpl();
+        FacetUtil.addFacet(new OtherFacet(facetHolder));
+    }
+
+    @Test
+    public void when_none() throws Exception {
+        assertThat(facetHolder.getHidingInteractionAdvisors().length, is(0));
+        assertThat(facetHolder.getDisablingInteractionAdvisors().length, is(0));
+        assertThat(facetHolder.getValidatingInteractionAdvisors().length, is(0));
+    }
+
+    @Test
+    public void computed_once() throws Exception {
+        final HidingFacet hidingFacet = new HidingFacet(facetHolder);
+        FacetUtil.addFacet(hidingFacet);
+
+        final HidingInteractionAdvisor[] advisors = facetHolder.getHidingInteractionAdvisors();
+        assertThat(advisors.length, is(1));
+        assertThat(advisors[0], is(sameInstance((HidingInteractionAdvisor) hidingFacet)));
+
+        assertThat(facetHolder.getHidingInteractionAdvisors(), is(sameInstance(advisors)));
+    }
+
+    @Test
+    public void recomputed_when_facet_added() throws Exception {
+        assertThat(facetHolder.getHidingInteractionAdvisors().length, is(0));
+
+        FacetUtil.addFacet(new HidingFacet(facetHolder));
+
+        assertThat(facetHolder.getHidingInteractionAdvisors().length, is(1));
+    }
+
+    @Test
+    public void recomputed_when_facet_removed() throws Exception {
+        FacetUtil.addFacet(new HidingFacet(facetHolder));
+        assertThat(facetHolder.getHidingInteractionAdvisors().length, is(1));
+
+        facetHolder.removeFacet(HidingFacet.class);
+
+        assertThat(facetHolder.getHidingInteractionAdvisors().length, is(0));
+    }
+
+    @Test
+    public void recomputed_when_facet_replaced() throws Exception {
+        FacetUtil.addFacet(new HidingFacet(facetHolder));
+        assertThat(facetHolder.getHidingInteractionAdvisors().length, is(1));
+
+        final ReplacingHidingFacet replacement = new ReplacingHidingFacet(facetHolder);
+        FacetUtil.addFacet(replacement);
+
+        final HidingInteractionAdvisor[] advisors = facetHolder.getHidingInteractionAdvisors();
+        assertThat(advisors.length, is(1));
+        assertThat(advisors[0], is(sameInstance((HidingInteractionAdvisor) replacement)));
+    }
+
+}
@@ -0,0 +1,104 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.metamodel.facets;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.Identifier;
+import org.apache.isis.applib.services.eventbus.AbstractDomainEvent;
+import org.apache.isis.applib.services.eventbus.CollectionDomainEvent;
+import org.apache.isis.applib.services.eventbus.EventBusService;
+import org.apache.isis.applib.services.eventbus.PropertyDomainEvent;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.facetapi.IdentifiedHolder;
+import org.apache.isis.core.metamodel.services.ServicesInjector;
+import org.apache.isis.core.metamodel.services.metrics.MetricsServiceInternal;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+
+public class DomainEventHelperTest_metrics {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(JUnitRuleMockery2.Mode.INTERFACES_AND_CLASSES);
+
+    public static class SomeDomainObject {}
+
+    @Mock
+    private ServicesInjector mockServicesInjector;
+    @Mock
+    private EventBusService mockEventBusService;
+    @Mock
+    private MetricsServiceInternal mockMetricsServiceInternal;
+    @Mock
+    private IdentifiedHolder mockIdentifiedHolder;
+    @Mock
+    private ObjectAdapter mockTargetAdapter;
+
+    private DomainEventHelper domainEventHelper;
+
+    @Before
+    public void setUp() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockServicesInjector).lookupService(EventBusService.class);
+            will(returnValue(mockEventBusService));
+            allowing(mockIdentifiedHolder).getIdentifier();
+            will(returnValue(Identifier.propertyOrCollectionIdentifier(SomeDomainObject.class, "someMember")));
+            allowing(mockTargetAdapter).getObject();
+            will(returnValue(new SomeDomainObject()));
+        }});
+
+        domainEventHelper = new DomainEventHelper(mockServicesInjector);
+    }
+
+    @Test
+    public void counts_each_event_posted() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockServicesInjector).lookupService(MetricsServiceInternal.class);
+            will(returnValue(mockMetricsServiceInternal));
+
+            exactly(2).of(mockEventBusService).post(with(any(Object.class)));
+            exactly(2).of(mockMetricsServiceInternal).domainEventPosted();
+        }});
+
+        domainEventHelper.postEventForProperty(
+                AbstractDomainEvent.Phase.VALIDATE, PropertyDomainEvent.Default.class, null,
+                mockIdentifiedHolder, mockTargetAdapter, null, "new value");
+        domainEventHelper.postEventForCollection(
+                AbstractDomainEvent.Phase.EXECUTED, CollectionDomainEvent.Default.class, null,
+                mockIdentifiedHolder, mockTargetAdapter, CollectionDomainEvent.Of.ADD_TO, new Object());
+    }
+
+    @Test
+    public void still_posts_if_no_metrics_service() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockServicesInjector).lookupService(MetricsServiceInternal.class);
+            will(returnValue(null));
+
+            oneOf(mockEventBusService).post(with(any(Object.class)));
+        }});
+
+        domainEventHelper.postEventForProperty(
+                AbstractDomainEvent.Phase.VALIDATE, PropertyDomainEvent.Default.class, null,
+                mockIdentifiedHolder, mockTargetAdapter, null, "new value");
+    }
+
+}
@@ -20,6 +20,7 @@
 package org.apache.isis.core.metamodel.facets.actions.action;
 
 import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
@@ -65,6 +66,7 @@
 import org.apache.isis.core.metamodel.facets.actions.action.command.CommandFacetForActionAnnotationAsConfigured;
 import org.apache.isis.core.metamodel.facets.actions.action.command.CommandFacetForCommandAnnotation;
 import org.apache.isis.core.metamodel.facets.actions.action.command.CommandFacetFromConfiguration;
+import org.apache.isis.core.metamodel.facets.actions.action.fetchgroups.FetchGroupsFacetForActionAnnotation;
 import org.apache.isis.core.metamodel.facets.actions.action.hidden.HiddenFacetForActionAnnotation;
 import org.apache.isis.core.metamodel.facets.actions.action.invocation.ActionDomainEventFacet;
 import org.apache.isis.core.metamodel.facets.actions.action.invocation.ActionDomainEventFacetDefault;
@@ -88,6 +90,7 @@
 import org.apache.isis.core.metamodel.facets.actions.semantics.ActionSemanticsFacet;
 import org.apache.isis.core.metamodel.facets.actions.semantics.ActionSemanticsFacetAbstract;
 import org.apache.isis.core.metamodel.facets.all.hide.HiddenFacet;
+import org.apache.isis.core.metamodel.facets.members.fetchgroups.FetchGroupsFacet;
 import org.apache.isis.core.metamodel.spec.ObjectSpecification;
 
 import static org.apache.isis.core.commons.matchers.IsisMatchers.classEqualTo;
@@ -1400,6 +1403,75 @@ public void someAction() {
 
     }
 
+    public static class FetchGroups extends ActionAnnotationFacetFactoryTest {
+
+        @Test
+        public void withAnnotation() {
+
+            class Customer {
+                @Action(fetchGroups = {"withProduct", "withCustomer"})
+                public void someAction() {
+                }
+            }
+
+            // given
+            final Class<?> cls = Customer.class;
+            actionMethod = findMethod(cls, "someAction");
+
+            // when
+            final ProcessMethodContext processMethodContext = new ProcessMethodContext(cls, null, null, actionMethod, mockMethodRemover, facetedMethod);
+            facetFactory.processFetchGroups(processMethodContext);
+
+            // then
+            final FetchGroupsFacet facet = facetedMethod.getFacet(FetchGroupsFacet.class);
+            Assert.assertNotNull(facet);
+            Assert.assertTrue(facet instanceof FetchGroupsFacetForActionAnnotation);
+            assertThat(facet.value(), is(Arrays.asList("withProduct", "withCustomer")));
+        }
+
+        @Test
+        public void withAnnotationButNoFetchGroups() {
+
+            class Customer {
+                @Action(semantics = SemanticsOf.SAFE)
+                public void someAction() {
+                }
+            }
+
+            // given
+            final Class<?> cls = Customer.class;
+            actionMethod = findMethod(cls, "someAction");
+
+            // when
+            final ProcessMethodContext processMethodContext = new ProcessMethodContext(cls, null, null, actionMethod, mockMethodRemover, facetedMethod);
+            facetFactory.processFetchGroups(processMethodContext);
+
+            // then
+            Assert.assertNull(facetedMethod.getFacet(FetchGroupsFacet.class));
+        }
+
+        @Test
+        public void withoutAnnotation() {
+
+            class Customer {
+                public void someAction() {
+                }
+            }
+
+            // given
+            final Class<?> cls = Customer.class;
+            actionMethod = findMethod(cls, "someAction");
+
+            // when
+            final ProcessMethodContext processMethodContext = new ProcessMethodContext(cls, null, null, actionMethod, mockMethodRemover, facetedMethod);
+            facetFactory.processFetchGroups(processMethodContext);
+
+            // then
+            Assert.assertNull(facetedMethod.getFacet(FetchGroupsFacet.class));
+        }
+
+    }
+
     public static class TypeOf extends ActionAnnotationFacetFactoryTest {
 
         @Test
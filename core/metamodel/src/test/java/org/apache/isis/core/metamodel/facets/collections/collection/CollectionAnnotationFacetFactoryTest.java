@@ -17,6 +17,7 @@
 package org.apache.isis.core.metamodel.facets.collections.collection;
 
 import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.List;
 
 import org.jmock.Expectations;
@@ -49,6 +50,7 @@
 import org.apache.isis.core.metamodel.facets.actcoll.typeof.TypeOfFacetInferredFromGenerics;
 import org.apache.isis.core.metamodel.facets.all.hide.HiddenFacet;
 import org.apache.isis.core.metamodel.facets.collections.collection.disabled.DisabledFacetForCollectionAnnotation;
+import org.apache.isis.core.metamodel.facets.collections.collection.fetchgroups.FetchGroupsFacetForCollectionAnnotation;
 import org.apache.isis.core.metamodel.facets.collections.collection.hidden.HiddenFacetForCollectionAnnotation;
 import org.apache.isis.core.metamodel.facets.collections.collection.modify.CollectionAddToFacetForDomainEventFromCollectionAnnotation;
 import org.apache.isis.core.metamodel.facets.collections.collection.modify.CollectionAddToFacetForDomainEventFromCollectionInteractionAnnotation;
@@ -69,6 +71,7 @@
 import org.apache.isis.core.metamodel.facets.collections.modify.CollectionRemoveFromFacet;
 import org.apache.isis.core.metamodel.facets.collections.modify.CollectionRemoveFromFacetAbstract;
 import org.apache.isis.core.metamodel.facets.members.disabled.DisabledFacet;
+import org.apache.isis.core.metamodel.facets.members.fetchgroups.FetchGroupsFacet;
 import org.apache.isis.core.metamodel.facets.propcoll.accessor.PropertyOrCollectionAccessorFacetAbstract;
 import org.apache.isis.core.metamodel.spec.ObjectSpecification;
 
@@ -623,4 +626,67 @@ public void setOrders(final java.util.Collection<Order> orders) {
 
     }
 
-}
\ No newline at end of file
+    public static class FetchGroups extends CollectionAnnotationFacetFactoryTest {
+
+        @Test
+        public void withAnnotation() {
+
+            class Order {
+            }
+            class Customer {
+                @Collection(fetchGroups = {"withProduct", "withCustomer"})
+                public List<Order> getOrders() {
+                    return null;
+                }
+
+                public void setOrders(final List<Order> orders) {
+                }
+            }
+
+            // given
+            final Class<?> cls = Customer.class;
+            collectionMethod = findMethod(Customer.class, "getOrders");
+
+            // when
+            final FacetFactory.ProcessMethodContext processMethodContext = new FacetFactory.ProcessMethodContext(cls,
+                    null, null, collectionMethod, mockMethodRemover, facetedMethod);
+            facetFactory.processFetchGroups(processMethodContext);
+
+            // then
+            final FetchGroupsFacet facet = facetedMethod.getFacet(FetchGroupsFacet.class);
+            Assert.assertNotNull(facet);
+            Assert.assertTrue(facet instanceof FetchGroupsFacetForCollectionAnnotation);
+            assertThat(facet.value(), is(Arrays.asList("withProduct", "withCustomer")));
+        }
+
+        @Test
+        public void withoutAnnotation() {
+
+            class Order {
+            }
+            class Customer {
+                @Collection
+                public List<Order> getOrders() {
+                    return null;
+                }
+
+                public void setOrders(final List<Order> orders) {
+                }
+            }
+
+            // given
+            final Class<?> cls = Customer.class;
+            collectionMethod = findMethod(Customer.class, "getOrders");
+
+            // when
+            final FacetFactory.ProcessMethodContext processMethodContext = new FacetFactory.ProcessMethodContext(cls,
+                    null, null, collectionMethod, mockMethodRemover, facetedMethod);
+            facetFactory.processFetchGroups(processMethodContext);
+
+            // then
+            Assert.assertNull(facetedMethod.getFacet(FetchGroupsFacet.class));
+        }
+
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.metamodel.interactions;
+
+import org.jmock.Expectations;
+import org.jmock.api.Invocation;
+import org.jmock.auto.Mock;
+import org.jmock.lib.action.CustomAction;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.events.VisibilityEvent;
+import org.apache.isis.core.metamodel.facetapi.FacetHolder;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.Assert.assertThat;
+
+public class InteractionUtilsTest_facetCheckNanos {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private FacetHolder mockFacetHolder;
+    @Mock
+    private HidingInteractionAdvisor mockAdvisor;
+    @Mock
+    private VisibilityContext<VisibilityEvent> mockVisibilityContext;
+
+    @Before
+    public void setUp() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockFacetHolder).getHidingInteractionAdvisors();
+            will(returnValue(new HidingInteractionAdvisor[] { mockAdvisor }));
+            allowing(mockVisibilityContext).createInteractionEvent();
+            will(returnValue(null));
+            allowing(mockAdvisor).hides(mockVisibilityContext);
+            will(new CustomAction("takes a while") {
+                @Override
+                public Object invoke(final Invocation invocation) throws Throwable {
+                    Thread.sleep(5L);
+                    return null;
+                }
+            });
+        }});
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        InteractionUtils.setFacetChecksTimed(false);
+    }
+
+    @Test
+    public void not_timed_by_default() throws Exception {
+        InteractionUtils.isVisibleResult(mockFacetHolder, mockVisibilityContext);
+
+        assertThat(InteractionUtils.getFacetCheckNanos(), is(0L));
+    }
+
+    @Test
+    public void timed_when_enabled() throws Exception {
+        InteractionUtils.setFacetChecksTimed(true);
+        final long nanosBefore = InteractionUtils.getFacetCheckNanos();
+
+        InteractionUtils.isVisibleResult(mockFacetHolder, mockVisibilityContext);
+
+        assertThat(InteractionUtils.getFacetCheckNanos() - nanosBefore, is(greaterThan(4000000L)));
+    }
+
+}
@@ -0,0 +1,222 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.metamodel.methodutils;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.List;
+
+import com.google.common.collect.Lists;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class MethodInvokerGeneratorTest {
+
+    public static class Customer {
+        private String name;
+        private int age;
+        private List<String> notes = Lists.newArrayList();
+
+        public String getName() {
+            return name;
+        }
+        public void setName(final String name) {
+            this.name = name;
+        }
+        public int getAge() {
+            return age;
+        }
+        public long addToBalance(final long amount) {
+            return amount;
+        }
+        public Customer changeAge(final int age, final boolean notify) {
+            this.age = age;
+            return this;
+        }
+        public String hideChangeAge(final int age, final boolean notify) {
+            return age < 0 ? "Invalid" : null;
+        }
+        public void addNotes(final String[] notes) {
+            this.notes.addAll(Lists.newArrayList(notes));
+        }
+        public void fail() {
+            throw new IllegalStateException("failed");
+        }
+        public static String describe() {
+            return "customer";
+        }
+        String packagePrivate() {
+            return "package";
+        }
+    }
+
+    static class NotPublic {
+        public String getName() {
+            return "name";
+        }
+    }
+
+    @Test
+    public void getter_and_setter() throws Exception {
+        final Customer customer = new Customer();
+        invoke(Customer.class.getMethod("setName", String.class), customer, "Fred");
+
+        assertThat(invoke(Customer.class.getMethod("getName"), customer), is((Object) "Fred"));
+    }
+
+    @Test
+    public void primitives_are_boxed_and_unboxed() throws Exception {
+        final Customer customer = new Customer();
+        final Object result = invoke(Customer.class.getMethod("changeAge", int.class, boolean.class), customer, 42, true);
+
+        assertThat(result, is(sameInstance((Object) customer)));
+        assertThat(invoke(Customer.class.getMethod("getAge"), customer), is((Object) 42));
+        assertThat(invoke(Customer.class.getMethod("hideChangeAge", int.class, boolean.class), customer, -1, false),
+                is((Object) "Invalid"));
+    }
+
+    @Test
+    public void arrays_and_static_methods() throws Exception {
+        final Customer customer = new Customer();
+        invoke(Customer.class.getMethod("addNotes", String[].class), customer, (Object) new String[] {"a", "b"});
+
+        assertThat(customer.notes.size(), is(2));
+        assertThat(invoke(Customer.class.getMethod("describe"), null), is((Object) "customer"));
+    }
+
+    @Test
+    public void exceptions_are_wrapped() throws Exception {
+        try {
+            invoke(Customer.class.getMethod("fail"), new Customer());
+            fail();
+        } catch (final InvocationTargetException ex) {
+            assertThat(ex.getTargetException(), instanceOf(IllegalStateException.class));
+        }
+    }
+
+    @Test
+    public void wrong_arguments() throws Exception {
+        // the invoker only references the method weakly
+        final Method setName = Customer.class.getMethod("setName", String.class);
+        final MethodInvoker invoker = MethodInvokerGenerator.generate(setName);
+        try {
+            invoker.invoke(new Customer(), new Object[0]);
+            fail();
+        } catch (final IllegalArgumentException ex) {
+            // expected
+        }
+        try {
+            invoker.invoke(new Customer(), new Object[] { 1 });
+            fail();
+        } catch (final IllegalArgumentException ex) {
+            // expected
+        }
+        try {
+            invoker.invoke("not a customer", new Object[] { "Fred" });
+            fail();
+        } catch (final IllegalArgumentException ex) {
+            // expected
+        }
+    }
+
+    @Test
+    public void arguments_not_of_the_exact_types_are_passed_reflectively() throws Exception {
+        // widened, as for reflection
+        assertThat(invoke(Customer.class.getMethod("addToBalance", long.class), new Customer(), 42),
+                is((Object) 42L));
+
+        final Method changeAge = Customer.class.getMethod("changeAge", int.class, boolean.class);
+        final MethodInvoker invoker = MethodInvokerGenerator.generate(changeAge);
+        try {
+            invoker.invoke(new Customer(), new Object[] { null, true });
+            fail();
+        } catch (final IllegalArgumentException ex) {
+            // expected
+        }
+        try {
+            invoker.invoke(null, new Object[] { 42, true });
+            fail();
+        } catch (final NullPointerException ex) {
+            // expected; the target is required, as for reflection
+        }
+    }
+
+    @Test
+    public void invokers_are_defined_in_their_own_package_and_class_loader() throws Exception {
+        final MethodInvoker invoker = MethodInvokerGenerator.generate(Customer.class.getMethod("getName"));
+
+        final Class<? extends MethodInvoker> invokerClass = invoker.getClass();
+        assertThat(invokerClass.getName().startsWith(MethodInvokerGenerator.PACKAGE_NAME + "."), is(true));
+        assertThat(invokerClass.getClassLoader(), is(not(sameInstance(Customer.class.getClassLoader()))));
+        assertThat(invokerClass.getClassLoader().getParent(), is(sameInstance(Customer.class.getClassLoader())));
+    }
+
+    @Test
+    public void invoker_does_not_keep_its_method_reachable() throws Exception {
+        Method getName = Customer.class.getMethod("getName");
+        final MethodInvoker invoker = MethodInvokerGenerator.generate(getName);
+        final WeakReference<Method> methodRef = new WeakReference<>(getName);
+
+        getName = null;
+        for (int i = 0; i < 50 && methodRef.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertThat(methodRef.get(), is(nullValue()));
+        assertThat(invoker, is(not(nullValue())));
+    }
+
+    @Test
+    public void cannot_generate_for_inaccessible_methods() throws Exception {
+        assertThat(MethodInvokerGenerator.generate(Customer.class.getDeclaredMethod("packagePrivate")), is(nullValue()));
+        assertThat(MethodInvokerGenerator.generate(NotPublic.class.getMethod("getName")), is(nullValue()));
+        assertThat(MethodInvokerGenerator.generate(Object.class.getMethod("toString")), is(nullValue()));
+    }
+
+    @Test
+    public void registry_falls_back_to_reflection() throws Exception {
+        final Method getName = Customer.class.getMethod("getName");
+        final Method packagePrivate = Customer.class.getDeclaredMethod("packagePrivate");
+
+        assertThat(MethodInvokers.generateFor(getName), is(true));
+        assertThat(MethodInvokers.generateFor(packagePrivate), is(false));
+
+        final Customer customer = new Customer();
+        customer.setName("Joe");
+        assertThat(MethodInvokers.invoke(getName, customer, new Object[0]), is((Object) "Joe"));
+        assertThat(MethodInvokers.invoke(packagePrivate, customer, new Object[0]), is((Object) "package"));
+    }
+
+    private static Object invoke(final Method method, final Object target, final Object... args) throws Exception {
+        final MethodInvoker invoker = MethodInvokerGenerator.generate(method);
+        assertThat(invoker, is(not(nullValue())));
+        return invoker.invoke(target, args);
+    }
+
+}
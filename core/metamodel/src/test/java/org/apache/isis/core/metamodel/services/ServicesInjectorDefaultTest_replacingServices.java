@@ -0,0 +1,153 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.metamodel.services;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.isis.core.commons.config.IsisConfigurationDefault;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+/**
+ * The {@link ServicesInjector.InjectionPlan} of a class is cached once anything has been injected into an instance
+ * of it; these check that the plan is rebuilt when the registered services change.
+ */
+public class ServicesInjectorDefaultTest_replacingServices {
+
+    public interface Clock { }
+    public static class ClockDefault implements Clock { }
+    public static class ClockFixed implements Clock { }
+
+    public interface Listener { }
+    public static class Listener1 implements Listener { }
+    public static class Listener2 implements Listener { }
+
+    public static class Fallback { }
+
+    public static class Customer {
+        @javax.inject.Inject
+        Clock clock;
+        @javax.inject.Inject
+        List<Listener> listeners;
+        @javax.inject.Inject
+        Fallback fallback;
+
+        private Clock clockViaSetter;
+        public void setClockViaSetter(final Clock clock) {
+            this.clockViaSetter = clock;
+        }
+
+        private Fallback fallbackViaSetter;
+        public void setFallbackViaSetter(final Fallback fallback) {
+            this.fallbackViaSetter = fallback;
+        }
+    }
+
+    private ClockDefault clock;
+    private Listener1 listener1;
+    private Listener2 listener2;
+
+    private ServicesInjector injector;
+
+    @Before
+    public void setUp() throws Exception {
+        clock = new ClockDefault();
+        listener1 = new Listener1();
+        listener2 = new Listener2();
+        injector = new ServicesInjector(
+                Arrays.<Object>asList(clock, listener1, listener2), new IsisConfigurationDefault());
+
+        // caches the injection plan for Customer
+        final Customer customer = new Customer();
+        injector.injectServicesInto(customer);
+
+        assertThat(customer.clock, is(sameInstance((Clock) clock)));
+        assertThat(customer.clockViaSetter, is(sameInstance((Clock) clock)));
+        assertThat(customer.listeners, is(Arrays.<Listener>asList(listener1, listener2)));
+        assertThat(customer.fallback, is(nullValue()));
+        assertThat(customer.fallbackViaSetter, is(nullValue()));
+    }
+
+    @Test
+    public void replaced_service_is_injected_into_fields_and_setters() throws Exception {
+
+        final ClockFixed replacement = new ClockFixed();
+        injector.replaceService(clock, replacement);
+
+        final Customer customer = new Customer();
+        injector.injectServicesInto(customer);
+
+        assertThat(customer.clock, is(sameInstance((Clock) replacement)));
+        assertThat(customer.clockViaSetter, is(sameInstance((Clock) replacement)));
+        assertThat(injector.lookupService(Clock.class), is(sameInstance((Clock) replacement)));
+    }
+
+    @Test
+    public void replaced_service_is_injected_into_list_fields() throws Exception {
+
+        final Listener1 replacement = new Listener1();
+        injector.replaceService(listener1, replacement);
+
+        final Customer customer = new Customer();
+        injector.injectServicesInto(customer);
+
+        // the replacement is registered last
+        assertThat(customer.listeners, is(Arrays.<Listener>asList(listener2, replacement)));
+        assertThat(injector.lookupServices(Listener.class), is(Arrays.<Listener>asList(listener2, replacement)));
+    }
+
+    @Test
+    public void fallback_is_injected_into_fields_and_setters() throws Exception {
+
+        // also populates the lookup cache
+        assertThat(injector.lookupService(Fallback.class), is(nullValue()));
+
+        final Fallback fallback = new Fallback();
+        injector.addFallbackIfRequired(Fallback.class, fallback);
+
+        final Customer customer = new Customer();
+        injector.injectServicesInto(customer);
+
+        assertThat(customer.fallback, is(sameInstance(fallback)));
+        assertThat(customer.fallbackViaSetter, is(sameInstance(fallback)));
+        assertThat(injector.lookupService(Fallback.class), is(sameInstance(fallback)));
+        assertThat(injector.isRegisteredService(Fallback.class), is(true));
+    }
+
+    @Test
+    public void fallback_is_ignored_if_already_registered() throws Exception {
+
+        final ClockDefault fallback = new ClockDefault();
+        injector.addFallbackIfRequired(ClockDefault.class, fallback);
+
+        final Customer customer = new Customer();
+        injector.injectServicesInto(customer);
+
+        assertThat(customer.clock, is(sameInstance((Clock) clock)));
+        assertThat(injector.getRegisteredServices().contains(fallback), is(false));
+    }
+
+}
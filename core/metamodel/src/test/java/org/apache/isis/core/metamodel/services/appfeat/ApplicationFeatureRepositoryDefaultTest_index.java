@@ -0,0 +1,362 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.metamodel.services.appfeat;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.google.common.collect.Lists;
+
+import org.jmock.Expectations;
+import org.jmock.api.Invocation;
+import org.jmock.auto.Mock;
+import org.jmock.lib.action.CustomAction;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.annotation.ActionSemantics;
+import org.apache.isis.applib.services.appfeat.ApplicationMemberType;
+import org.apache.isis.applib.services.config.ConfigurationService;
+import org.apache.isis.applib.services.factory.FactoryService;
+import org.apache.isis.applib.services.registry.ServiceRegistry2;
+import org.apache.isis.core.metamodel.facets.all.hide.HiddenFacet;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.Contributed;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAction;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.metamodel.spec.feature.OneToManyAssociation;
+import org.apache.isis.core.metamodel.spec.feature.OneToOneAssociation;
+import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.fail;
+
+public class ApplicationFeatureRepositoryDefaultTest_index {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(JUnitRuleMockery2.Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    ServiceRegistry2 mockServiceRegistry;
+    @Mock
+    SpecificationLoader mockSpecificationLoader;
+    @Mock
+    FactoryService mockFactoryService;
+    @Mock
+    ObjectSpecification mockValueSpec;
+
+    private List<ObjectSpecification> specifications;
+    private int numberOfRepositories;
+
+    @Before
+    public void setUp() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockServiceRegistry).getRegisteredServices();
+            will(returnValue(Lists.newArrayList()));
+
+            allowing(mockFactoryService).instantiate(ApplicationFeature.class);
+            will(new CustomAction("new ApplicationFeature") {
+                @Override
+                public Object invoke(final Invocation invocation) throws Throwable {
+                    return new ApplicationFeature();
+                }
+            });
+
+            allowing(mockValueSpec).getCorrespondingClass();
+            will(returnValue(Integer.class));
+        }});
+
+        specifications = Arrays.asList(
+                spec("com.other.Widget", false,
+                        Collections.<ObjectAssociation>emptyList(),
+                        Collections.<ObjectAssociation>emptyList(),
+                        Arrays.asList(action("Widget#make"))),
+                spec("com.mycompany.dom.sub.Order", false,
+                        Collections.<ObjectAssociation>emptyList(),
+                        Arrays.<ObjectAssociation>asList(collection("Order#items")),
+                        Collections.<ObjectAction>emptyList()),
+                spec("com.mycompany.dom.Customer", false,
+                        Arrays.<ObjectAssociation>asList(property("Customer#name")),
+                        Collections.<ObjectAssociation>emptyList(),
+                        Arrays.asList(action("Customer#placeOrder"))),
+                spec("com.mycompany.dom.AbstractCustomer", true, null, null, null));
+    }
+
+    @Test
+    public void findFeature() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockSpecificationLoader).allSpecifications();
+            will(returnValue(specifications));
+        }});
+        final ApplicationFeatureRepositoryDefault repository = newRepository(false);
+
+        final ApplicationFeature pkg = repository.findFeature(ApplicationFeatureId.newPackage("com.mycompany.dom"));
+        assertThat(pkg, is(notNullValue()));
+        assertThat(pkg.getContents(), contains(
+                ApplicationFeatureId.newPackage("com.mycompany.dom.sub"),
+                ApplicationFeatureId.newClass("com.mycompany.dom.Customer")));
+
+        final ApplicationFeature cls = repository.findFeature(ApplicationFeatureId.newClass("com.mycompany.dom.Customer"));
+        assertThat(cls, is(notNullValue()));
+        assertThat(cls.getProperties(), contains(ApplicationFeatureId.newMember("com.mycompany.dom.Customer", "name")));
+        assertThat(cls.getActions(), contains(ApplicationFeatureId.newMember("com.mycompany.dom.Customer", "placeOrder")));
+
+        final ApplicationFeature member = repository.findFeature(ApplicationFeatureId.newMember("com.mycompany.dom.sub.Order", "items"));
+        assertThat(member, is(notNullValue()));
+        assertThat(member.getMemberType(), is(ApplicationMemberType.COLLECTION));
+
+        // abstract classes are excluded, as are any features not in the metamodel
+        assertThat(repository.findFeature(ApplicationFeatureId.newClass("com.mycompany.dom.AbstractCustomer")), is(nullValue()));
+        assertThat(repository.findFeature(ApplicationFeatureId.newPackage("com.unknown")), is(nullValue()));
+        assertThat(repository.findFeature(ApplicationFeatureId.newMember("com.mycompany.dom.Customer", "unknown")), is(nullValue()));
+    }
+
+    @Test
+    public void classNamesRecursivelyContainedIn() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockSpecificationLoader).allSpecifications();
+            will(returnValue(specifications));
+        }});
+        final ApplicationFeatureRepositoryDefault repository = newRepository(false);
+
+        assertThat(repository.classNamesRecursivelyContainedIn("com"), contains("Customer", "Order", "Widget"));
+        assertThat(repository.classNamesRecursivelyContainedIn("com.mycompany"), contains("Customer", "Order"));
+        assertThat(repository.classNamesRecursivelyContainedIn("com.mycompany.dom.sub"), contains("Order"));
+        assertThat(repository.classNamesRecursivelyContainedIn("com.unknown"), is(empty()));
+    }
+
+    @Test
+    public void allMembers_in_feature_id_order() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockSpecificationLoader).allSpecifications();
+            will(returnValue(specifications));
+        }});
+        final ApplicationFeatureRepositoryDefault repository = newRepository(false);
+
+        assertThat(idsOf(repository.allMembers()), contains(
+                ApplicationFeatureId.newMember("com.mycompany.dom.Customer", "name"),
+                ApplicationFeatureId.newMember("com.mycompany.dom.Customer", "placeOrder"),
+                ApplicationFeatureId.newMember("com.mycompany.dom.sub.Order", "items"),
+                ApplicationFeatureId.newMember("com.other.Widget", "make")));
+        assertThat(idsOf(repository.allActions()), contains(
+                ApplicationFeatureId.newMember("com.mycompany.dom.Customer", "placeOrder"),
+                ApplicationFeatureId.newMember("com.other.Widget", "make")));
+        assertThat(idsOf(repository.allProperties()), contains(
+                ApplicationFeatureId.newMember("com.mycompany.dom.Customer", "name")));
+        assertThat(idsOf(repository.allCollections()), contains(
+                ApplicationFeatureId.newMember("com.mycompany.dom.sub.Order", "items")));
+    }
+
+    @Test
+    public void parallel_initialization_creates_the_same_features_as_serial() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockSpecificationLoader).allSpecifications();
+            will(returnValue(specifications));
+        }});
+        final ApplicationFeatureRepositoryDefault serial = newRepository(false);
+        final ApplicationFeatureRepositoryDefault parallel = newRepository(true);
+
+        assertThat(idsOf(parallel.allPackages()), is(idsOf(serial.allPackages())));
+        assertThat(idsOf(parallel.allClasses()), is(idsOf(serial.allClasses())));
+        assertThat(idsOf(parallel.allMembers()), is(idsOf(serial.allMembers())));
+
+        for (final ApplicationFeature serialPackage : serial.allPackages()) {
+            final ApplicationFeature parallelPackage = parallel.findPackage(serialPackage.getFeatureId());
+            assertThat(parallelPackage.getContents(), is(serialPackage.getContents()));
+        }
+        for (final ApplicationFeature serialClass : serial.allClasses()) {
+            final ApplicationFeature parallelClass = parallel.findClass(serialClass.getFeatureId());
+            assertThat(parallelClass.getProperties(), is(serialClass.getProperties()));
+            assertThat(parallelClass.getCollections(), is(serialClass.getCollections()));
+            assertThat(parallelClass.getActions(), is(serialClass.getActions()));
+        }
+        for (final ApplicationFeature serialMember : serial.allMembers()) {
+            final ApplicationFeature parallelMember = parallel.findMember(serialMember.getFeatureId());
+            assertThat(parallelMember.getMemberType(), is(serialMember.getMemberType()));
+            assertThat(parallelMember.getReturnTypeName(), is(serialMember.getReturnTypeName()));
+            assertThat(parallelMember.getActionSemantics(), is(serialMember.getActionSemantics()));
+        }
+    }
+
+    @Test
+    public void lookups_do_not_lock_once_initialized() throws Exception {
+        context.checking(new Expectations() {{
+            // the features are only built once
+            oneOf(mockSpecificationLoader).allSpecifications();
+            will(returnValue(specifications));
+        }});
+        final ApplicationFeatureRepositoryDefault repository = newRepository(false);
+
+        // when (lazily initialized by the first lookup)
+        assertThat(repository.findClass(ApplicationFeatureId.newClass("com.mycompany.dom.Customer")), is(notNullValue()));
+
+        // then subsequent lookups do not need the repository's monitor, even while some other thread holds it
+        final CountDownLatch locked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Thread lockHolder = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                synchronized (repository) {
+                    locked.countDown();
+                    try {
+                        release.await();
+                    } catch (final InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        });
+        lockHolder.start();
+        locked.await();
+
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            final Future<Integer> future = executorService.submit(new Callable<Integer>() {
+                @Override
+                public Integer call() {
+                    assertThat(repository.findFeature(ApplicationFeatureId.newMember("com.other.Widget", "make")), is(notNullValue()));
+                    assertThat(repository.classNamesRecursivelyContainedIn("com.mycompany"), contains("Customer", "Order"));
+                    return repository.allMembers().size();
+                }
+            });
+            assertThat(future.get(10, TimeUnit.SECONDS), is(4));
+        } catch (final TimeoutException ex) {
+            fail("lookup blocked on the repository's monitor");
+        } finally {
+            release.countDown();
+            lockHolder.join();
+            executorService.shutdownNow();
+        }
+    }
+
+    //region > helpers
+
+    private ApplicationFeatureRepositoryDefault newRepository(final boolean parallel) {
+        final ConfigurationService mockConfigurationService =
+                context.mock(ConfigurationService.class, "mockConfigurationService#" + ++numberOfRepositories);
+        context.checking(new Expectations() {{
+            allowing(mockConfigurationService).getProperty("isis.services.applicationFeatures.init");
+            will(returnValue(null));
+            allowing(mockConfigurationService).getProperty("isis.services.applicationFeatures.init.parallel", "false");
+            will(returnValue(Boolean.toString(parallel)));
+        }});
+
+        final ApplicationFeatureRepositoryDefault repository = new ApplicationFeatureRepositoryDefault();
+        repository.serviceRegistry = mockServiceRegistry;
+        repository.specificationLoader = mockSpecificationLoader;
+        repository.configurationService = mockConfigurationService;
+
+        final ApplicationFeatureFactory applicationFeatureFactory = new ApplicationFeatureFactory();
+        applicationFeatureFactory.factoryService = mockFactoryService;
+        repository.applicationFeatureFactory = applicationFeatureFactory;
+
+        repository.init();
+        return repository;
+    }
+
+    private ObjectSpecification spec(
+            final String fullIdentifier,
+            final boolean isAbstract,
+            final List<ObjectAssociation> properties,
+            final List<ObjectAssociation> collections,
+            final List<ObjectAction> actions) {
+        final ObjectSpecification mockSpec = context.mock(ObjectSpecification.class, fullIdentifier);
+        context.checking(new Expectations() {{
+            allowing(mockSpec).isAbstract();
+            will(returnValue(isAbstract));
+            allowing(mockSpec).getFullIdentifier();
+            will(returnValue(fullIdentifier));
+            allowing(mockSpec).getFacet(HiddenFacet.class);
+            will(returnValue(null));
+            allowing(mockSpec).getCorrespondingClass();
+            will(returnValue(Object.class));
+            allowing(mockSpec).getAssociations(with(Contributed.INCLUDED), with(ObjectAssociation.Filters.PROPERTIES));
+            will(returnValue(properties));
+            allowing(mockSpec).getAssociations(with(Contributed.INCLUDED), with(ObjectAssociation.Filters.COLLECTIONS));
+            will(returnValue(collections));
+            allowing(mockSpec).getObjectActions(with(Contributed.INCLUDED));
+            will(returnValue(actions));
+        }});
+        return mockSpec;
+    }
+
+    private ObjectAssociation property(final String name) {
+        return association(context.mock(OneToOneAssociation.class, name), name);
+    }
+
+    private ObjectAssociation collection(final String name) {
+        return association(context.mock(OneToManyAssociation.class, name), name);
+    }
+
+    private ObjectAssociation association(final ObjectAssociation mockAssociation, final String name) {
+        context.checking(new Expectations() {{
+            allowing(mockAssociation).getId();
+            will(returnValue(memberIdOf(name)));
+            allowing(mockAssociation).isAlwaysHidden();
+            will(returnValue(false));
+            allowing(mockAssociation).getSpecification();
+            will(returnValue(mockValueSpec));
+            allowing(mockAssociation).containsDoOpFacet(with(any(Class.class)));
+            will(returnValue(true));
+        }});
+        return mockAssociation;
+    }
+
+    private ObjectAction action(final String name) {
+        final ObjectAction mockAction = context.mock(ObjectAction.class, name);
+        context.checking(new Expectations() {{
+            allowing(mockAction).getId();
+            will(returnValue(memberIdOf(name)));
+            allowing(mockAction).isAlwaysHidden();
+            will(returnValue(false));
+            allowing(mockAction).getReturnType();
+            will(returnValue(mockValueSpec));
+            allowing(mockAction).getSemantics();
+            will(returnValue(ActionSemantics.Of.SAFE));
+        }});
+        return mockAction;
+    }
+
+    private static String memberIdOf(final String name) {
+        return name.substring(name.indexOf('#') + 1);
+    }
+
+    private static List<ApplicationFeatureId> idsOf(final Collection<ApplicationFeature> features) {
+        return Lists.newArrayList(Lists.transform(Lists.newArrayList(features), ApplicationFeature.Functions.GET_ID));
+    }
+
+    //endregion
+
+}
@@ -0,0 +1,99 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.metamodel.services.bookmarks;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.services.bookmark.Bookmark;
+import org.apache.isis.applib.services.bookmark.BookmarkService2;
+import org.apache.isis.applib.services.registry.ServiceRegistry2;
+import org.apache.isis.core.metamodel.services.persistsession.PersistenceSessionServiceInternal;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class BookmarkServiceInternalDefaultTest_lookupList {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(JUnitRuleMockery2.Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    PersistenceSessionServiceInternal mockPersistenceSessionServiceInternal;
+
+    @Mock
+    ServiceRegistry2 mockServiceRegistry2;
+
+    public static class SomeService {
+    }
+
+    private BookmarkServiceInternalDefault bookmarkService;
+    private SomeService someService;
+
+    @Before
+    public void setUp() throws Exception {
+        someService = new SomeService();
+
+        bookmarkService = new BookmarkServiceInternalDefault();
+        bookmarkService.persistenceSessionServiceInternal = mockPersistenceSessionServiceInternal;
+        bookmarkService.serviceRegistry2 = mockServiceRegistry2;
+
+        context.checking(new Expectations() {{
+            allowing(mockServiceRegistry2).getRegisteredServices();
+            will(returnValue(Collections.<Object>singletonList(someService)));
+        }});
+    }
+
+    @Test
+    public void services_looked_up_directly_and_others_together() throws Exception {
+
+        final Bookmark customerBookmark = new Bookmark("CUS", "1");
+        final Bookmark serviceBookmark = new Bookmark(SomeService.class.getName(), "1");
+        final Bookmark orderBookmark = new Bookmark("ORD", "2");
+        final Object customer = new Object();
+
+        context.checking(new Expectations() {{
+            oneOf(mockPersistenceSessionServiceInternal).lookup(
+                    Arrays.asList(customerBookmark, null, orderBookmark, null),
+                    BookmarkService2.FieldResetPolicy.DONT_RESET);
+            will(returnValue(Arrays.asList(customer, null, null, null)));
+        }});
+
+        final List<Object> objects = bookmarkService.lookup(
+                Arrays.asList(customerBookmark, serviceBookmark, orderBookmark, null),
+                BookmarkService2.FieldResetPolicy.DONT_RESET);
+
+        assertThat(objects.size(), is(4));
+        assertThat(objects.get(0), is(sameInstance(customer)));
+        assertThat(objects.get(1), is(sameInstance((Object) someService)));
+        assertThat(objects.get(2), is(nullValue()));
+        assertThat(objects.get(3), is(nullValue()));
+    }
+
+}
@@ -0,0 +1,145 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.metamodel.services.swagger;
+
+import java.util.Collections;
+import java.util.Locale;
+
+import org.jmock.Expectations;
+import org.jmock.States;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.services.i18n.LocaleProvider;
+import org.apache.isis.applib.services.swagger.SwaggerService;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class SwaggerServiceDefaultTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(JUnitRuleMockery2.Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    SpecificationLoader mockSpecificationLoader;
+    @Mock
+    LocaleProvider mockLocaleProvider;
+
+    SwaggerServiceDefault swaggerService;
+
+    States cacheGeneration;
+    States locale;
+
+    @Before
+    public void setUp() throws Exception {
+        cacheGeneration = context.states("cacheGeneration").startsAs("initial");
+        locale = context.states("locale").startsAs("english");
+        context.checking(new Expectations() {{
+            allowing(mockSpecificationLoader).getCacheGeneration();
+            when(cacheGeneration.is("initial"));
+            will(returnValue(0L));
+
+            allowing(mockSpecificationLoader).getCacheGeneration();
+            when(cacheGeneration.is("invalidated"));
+            will(returnValue(1L));
+
+            allowing(mockSpecificationLoader).allSpecifications();
+            will(returnValue(Collections.<ObjectSpecification>emptyList()));
+
+            allowing(mockLocaleProvider).getLocale();
+            when(locale.is("english"));
+            will(returnValue(Locale.ENGLISH));
+
+            allowing(mockLocaleProvider).getLocale();
+            when(locale.is("french"));
+            will(returnValue(Locale.FRENCH));
+        }});
+
+        swaggerService = new SwaggerServiceDefault();
+        swaggerService.specificationLoader = mockSpecificationLoader;
+        swaggerService.localeProvider = mockLocaleProvider;
+        swaggerService.init(Collections.<String, String>emptyMap());
+    }
+
+    @Test
+    public void cached() throws Exception {
+        final SwaggerServiceDefault.CachedSwaggerSpec first =
+                swaggerService.lookupSwaggerSpec(SwaggerService.Visibility.PUBLIC, SwaggerService.Format.JSON);
+        final SwaggerServiceDefault.CachedSwaggerSpec second =
+                swaggerService.lookupSwaggerSpec(SwaggerService.Visibility.PUBLIC, SwaggerService.Format.JSON);
+
+        assertThat(second, is(sameInstance(first)));
+        assertThat(swaggerService.generateSwaggerSpec(SwaggerService.Visibility.PUBLIC, SwaggerService.Format.JSON),
+                is(sameInstance(first.getSpec())));
+    }
+
+    @Test
+    public void cachedPerVisibilityAndFormat() throws Exception {
+        final SwaggerServiceDefault.CachedSwaggerSpec publicJson =
+                swaggerService.lookupSwaggerSpec(SwaggerService.Visibility.PUBLIC, SwaggerService.Format.JSON);
+        final SwaggerServiceDefault.CachedSwaggerSpec publicYaml =
+                swaggerService.lookupSwaggerSpec(SwaggerService.Visibility.PUBLIC, SwaggerService.Format.YAML);
+
+        assertThat(publicYaml, is(not(sameInstance(publicJson))));
+        assertThat(publicYaml.getETag(), is(not(publicJson.getETag())));
+    }
+
+    @Test
+    public void cachedPerLocale() throws Exception {
+        final SwaggerServiceDefault.CachedSwaggerSpec english =
+                swaggerService.lookupSwaggerSpec(SwaggerService.Visibility.PUBLIC, SwaggerService.Format.JSON);
+
+        locale.become("french");
+
+        final SwaggerServiceDefault.CachedSwaggerSpec french =
+                swaggerService.lookupSwaggerSpec(SwaggerService.Visibility.PUBLIC, SwaggerService.Format.JSON);
+        assertThat(french, is(not(sameInstance(english))));
+        assertThat(swaggerService.lookupSwaggerSpec(SwaggerService.Visibility.PUBLIC, SwaggerService.Format.JSON),
+                is(sameInstance(french)));
+
+        locale.become("english");
+
+        assertThat(swaggerService.lookupSwaggerSpec(SwaggerService.Visibility.PUBLIC, SwaggerService.Format.JSON),
+                is(sameInstance(english)));
+    }
+
+    @Test
+    public void regeneratedOnceInvalidated() throws Exception {
+        final SwaggerServiceDefault.CachedSwaggerSpec first =
+                swaggerService.lookupSwaggerSpec(SwaggerService.Visibility.PUBLIC, SwaggerService.Format.JSON);
+
+        cacheGeneration.become("invalidated");
+
+        final SwaggerServiceDefault.CachedSwaggerSpec second =
+                swaggerService.lookupSwaggerSpec(SwaggerService.Visibility.PUBLIC, SwaggerService.Format.JSON);
+        assertThat(second, is(not(sameInstance(first))));
+
+        // the spec is unchanged, and so therefore is its ETag
+        assertThat(second.getETag(), is(first.getETag()));
+    }
+
+}
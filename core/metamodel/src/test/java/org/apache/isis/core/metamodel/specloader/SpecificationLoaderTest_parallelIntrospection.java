@@ -0,0 +1,226 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.metamodel.specloader;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.Lists;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.services.grid.GridService;
+import org.apache.isis.applib.services.i18n.TranslationService;
+import org.apache.isis.core.commons.authentication.AuthenticationSessionProvider;
+import org.apache.isis.core.commons.config.IsisConfigurationDefault;
+import org.apache.isis.core.metamodel.deployment.DeploymentCategory;
+import org.apache.isis.core.metamodel.deployment.DeploymentCategoryProvider;
+import org.apache.isis.core.metamodel.layoutmetadata.LayoutMetadataReader;
+import org.apache.isis.core.metamodel.layoutmetadata.json.LayoutMetadataReaderFromJson;
+import org.apache.isis.core.metamodel.metamodelvalidator.dflt.MetaModelValidatorDefault;
+import org.apache.isis.core.metamodel.services.ServicesInjector;
+import org.apache.isis.core.metamodel.services.msgbroker.MessageBrokerServiceInternal;
+import org.apache.isis.core.metamodel.services.persistsession.PersistenceSessionServiceInternal;
+import org.apache.isis.core.metamodel.services.transtate.TransactionStateProviderInternal;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.Contributed;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.metamodel.specloader.specimpl.ObjectSpecificationAbstract;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+import org.apache.isis.progmodels.dflt.ProgrammingModelFacetsJava5;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class SpecificationLoaderTest_parallelIntrospection {
+
+    public static class Customer {
+        private String name;
+        public String getName() { return name; }
+        public void setName(final String name) { this.name = name; }
+
+        private Order lastOrder;
+        public Order getLastOrder() { return lastOrder; }
+        public void setLastOrder(final Order lastOrder) { this.lastOrder = lastOrder; }
+    }
+
+    public static class Order {
+        private Customer customer;
+        public Customer getCustomer() { return customer; }
+        public void setCustomer(final Customer customer) { this.customer = customer; }
+
+        private Product product;
+        public Product getProduct() { return product; }
+        public void setProduct(final Product product) { this.product = product; }
+    }
+
+    public static class Product {
+        private Customer preferredBy;
+        public Customer getPreferredBy() { return preferredBy; }
+        public void setPreferredBy(final Customer preferredBy) { this.preferredBy = preferredBy; }
+    }
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private DeploymentCategoryProvider mockDeploymentCategoryProvider;
+    @Mock
+    private AuthenticationSessionProvider mockAuthenticationSessionProvider;
+    @Mock
+    private GridService mockGridService;
+    @Mock
+    private PersistenceSessionServiceInternal mockPersistenceSessionServiceInternal;
+    @Mock
+    private TransactionStateProviderInternal mockTransactionStateProviderInternal;
+    @Mock
+    private MessageBrokerServiceInternal mockMessageBrokerServiceInternal;
+    @Mock
+    private TranslationService mockTranslationService;
+
+    private SpecificationLoader specificationLoader;
+    private ExecutorService executorService;
+
+    @Before
+    public void setUp() throws Exception {
+
+        context.checking(new Expectations() {{
+
+            allowing(mockDeploymentCategoryProvider).getDeploymentCategory();
+            will(returnValue(DeploymentCategory.PRODUCTION));
+
+            ignoring(mockGridService).existsFor(with(any(Class.class)));
+
+            ignoring(mockPersistenceSessionServiceInternal);
+            ignoring(mockTransactionStateProviderInternal);
+            ignoring(mockMessageBrokerServiceInternal);
+
+            allowing(mockTranslationService).getMode();
+            will(returnValue(TranslationService.Mode.READ));
+        }});
+
+        final IsisConfigurationDefault stubConfiguration = new IsisConfigurationDefault(null);
+        stubConfiguration.add(ReflectorConstants.INTROSPECTION_PARALLEL, "true");
+        stubConfiguration.add(ReflectorConstants.INTROSPECTION_PARALLELISM, "4");
+
+        final ServicesInjector stubServicesInjector =
+                new ServicesInjector(
+                    Lists.newArrayList(
+                        mockAuthenticationSessionProvider,
+                        stubConfiguration,
+                        mockDeploymentCategoryProvider,
+                        mockPersistenceSessionServiceInternal,
+                        mockMessageBrokerServiceInternal,
+                        mockTransactionStateProviderInternal,
+                        mockGridService,
+                        mockTranslationService),
+                    stubConfiguration);
+
+        specificationLoader =
+                new SpecificationLoader(
+                        new ProgrammingModelFacetsJava5(stubConfiguration),
+                        new MetaModelValidatorDefault(), Lists.<LayoutMetadataReader>newArrayList(
+                                new LayoutMetadataReaderFromJson()), stubServicesInjector, stubConfiguration);
+
+        stubServicesInjector.addFallbackIfRequired(SpecificationLoader.class, specificationLoader);
+
+        specificationLoader.init();
+
+        executorService = Executors.newFixedThreadPool(8);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void services_are_introspected_at_init() throws Exception {
+        for (final ObjectSpecification spec : specificationLoader.allSpecifications()) {
+            assertIntrospected(spec);
+        }
+    }
+
+    @Test
+    public void concurrent_loads_of_cyclically_referencing_types() throws Exception {
+
+        final int numThreads = 16;
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Callable<List<ObjectSpecification>>> tasks = Lists.newArrayList();
+        for (int i = 0; i < numThreads; i++) {
+            final List<Class<?>> types = Lists.<Class<?>>newArrayList(Customer.class, Order.class, Product.class);
+            // vary the order in which each thread requests the types
+            java.util.Collections.rotate(types, i);
+            tasks.add(new Callable<List<ObjectSpecification>>() {
+                @Override
+                public List<ObjectSpecification> call() throws Exception {
+                    start.await();
+                    final List<ObjectSpecification> specs = Lists.newArrayList();
+                    for (final Class<?> type : types) {
+                        final ObjectSpecification spec = specificationLoader.loadSpecification(type);
+                        // check immediately, rather than once all threads are done
+                        assertIntrospected(spec);
+                        specs.add(spec);
+                    }
+                    return specs;
+                }
+            });
+        }
+
+        final List<Future<List<ObjectSpecification>>> futures = Lists.newArrayList();
+        for (final Callable<List<ObjectSpecification>> task : tasks) {
+            futures.add(executorService.submit(task));
+        }
+        start.countDown();
+
+        for (final Future<List<ObjectSpecification>> future : futures) {
+            for (final ObjectSpecification spec : future.get(30, TimeUnit.SECONDS)) {
+                assertThat(spec, is(sameInstance(specificationLoader.loadSpecification(spec.getCorrespondingClass()))));
+                for (final ObjectAssociation association : spec.getAssociations(Contributed.EXCLUDED)) {
+                    assertIntrospected(association.getSpecification());
+                }
+            }
+        }
+
+        final ObjectSpecification customerSpec = specificationLoader.loadSpecification(Customer.class);
+        assertThat(customerSpec.getAssociation("name"), is(notNullValue()));
+        assertThat(customerSpec.getAssociation("lastOrder").getSpecification(),
+                is(sameInstance(specificationLoader.loadSpecification(Order.class))));
+        assertThat(specificationLoader.loadSpecification(Order.class).getAssociations(Contributed.EXCLUDED).size(), is(2));
+    }
+
+    private static void assertIntrospected(final ObjectSpecification spec) {
+        assertThat(((ObjectSpecificationAbstract) spec).getIntrospectionState(),
+                is(ObjectSpecificationAbstract.IntrospectionState.INTROSPECTED));
+    }
+
+}
@@ -0,0 +1,210 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.metamodel.specloader.specimpl;
+
+import java.util.List;
+
+import com.google.common.collect.Lists;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.annotation.MemberOrder;
+import org.apache.isis.applib.annotation.When;
+import org.apache.isis.applib.annotation.Where;
+import org.apache.isis.applib.services.grid.GridService;
+import org.apache.isis.applib.services.i18n.TranslationService;
+import org.apache.isis.core.commons.authentication.AuthenticationSessionProvider;
+import org.apache.isis.core.commons.config.IsisConfigurationDefault;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.deployment.DeploymentCategory;
+import org.apache.isis.core.metamodel.deployment.DeploymentCategoryProvider;
+import org.apache.isis.core.metamodel.facetapi.FacetHolder;
+import org.apache.isis.core.metamodel.facetapi.FacetUtil;
+import org.apache.isis.core.metamodel.facets.all.hide.HiddenFacet;
+import org.apache.isis.core.metamodel.facets.members.hidden.HiddenFacetAbstract;
+import org.apache.isis.core.metamodel.facets.members.order.annotprop.MemberOrderFacetXml;
+import org.apache.isis.core.metamodel.facets.object.plural.PluralFacetAbstract;
+import org.apache.isis.core.metamodel.layoutmetadata.LayoutMetadataReader;
+import org.apache.isis.core.metamodel.layoutmetadata.json.LayoutMetadataReaderFromJson;
+import org.apache.isis.core.metamodel.metamodelvalidator.dflt.MetaModelValidatorDefault;
+import org.apache.isis.core.metamodel.services.ServicesInjector;
+import org.apache.isis.core.metamodel.services.msgbroker.MessageBrokerServiceInternal;
+import org.apache.isis.core.metamodel.services.persistsession.PersistenceSessionServiceInternal;
+import org.apache.isis.core.metamodel.services.transtate.TransactionStateProviderInternal;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.Contributed;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+import org.apache.isis.progmodels.dflt.ProgrammingModelFacetsJava5;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class ObjectSpecificationAbstractTest_memberCache {
+
+    public static class Customer {
+        private String firstName;
+        @MemberOrder(sequence = "1")
+        public String getFirstName() { return firstName; }
+        public void setFirstName(final String firstName) { this.firstName = firstName; }
+
+        private String lastName;
+        @MemberOrder(sequence = "2")
+        public String getLastName() { return lastName; }
+        public void setLastName(final String lastName) { this.lastName = lastName; }
+    }
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private DeploymentCategoryProvider mockDeploymentCategoryProvider;
+    @Mock
+    private AuthenticationSessionProvider mockAuthenticationSessionProvider;
+    @Mock
+    private GridService mockGridService;
+    @Mock
+    private PersistenceSessionServiceInternal mockPersistenceSessionServiceInternal;
+    @Mock
+    private TransactionStateProviderInternal mockTransactionStateProviderInternal;
+    @Mock
+    private MessageBrokerServiceInternal mockMessageBrokerServiceInternal;
+    @Mock
+    private TranslationService mockTranslationService;
+
+    private ObjectSpecification customerSpec;
+
+    @Before
+    public void setUp() throws Exception {
+
+        context.checking(new Expectations() {{
+
+            allowing(mockDeploymentCategoryProvider).getDeploymentCategory();
+            will(returnValue(DeploymentCategory.PRODUCTION));
+
+            ignoring(mockGridService).existsFor(with(any(Class.class)));
+
+            ignoring(mockPersistenceSessionServiceInternal);
+            ignoring(mockTransactionStateProviderInternal);
+            ignoring(mockMessageBrokerServiceInternal);
+
+            allowing(mockTranslationService).getMode();
+            will(returnValue(TranslationService.Mode.READ));
+        }});
+
+        final IsisConfigurationDefault stubConfiguration = new IsisConfigurationDefault(null);
+
+        final ServicesInjector stubServicesInjector =
+                new ServicesInjector(
+                    Lists.newArrayList(
+                        mockAuthenticationSessionProvider,
+                        stubConfiguration,
+                        mockDeploymentCategoryProvider,
+                        mockPersistenceSessionServiceInternal,
+                        mockMessageBrokerServiceInternal,
+                        mockTransactionStateProviderInternal,
+                        mockGridService,
+                        mockTranslationService),
+                    stubConfiguration);
+
+        final SpecificationLoader specificationLoader =
+                new SpecificationLoader(
+                        new ProgrammingModelFacetsJava5(stubConfiguration),
+                        new MetaModelValidatorDefault(), Lists.<LayoutMetadataReader>newArrayList(
+                                new LayoutMetadataReaderFromJson()), stubServicesInjector, stubConfiguration);
+
+        stubServicesInjector.addFallbackIfRequired(SpecificationLoader.class, specificationLoader);
+
+        specificationLoader.init();
+
+        customerSpec = specificationLoader.loadSpecification(Customer.class);
+    }
+
+    @Test
+    public void memoized_while_unchanged() throws Exception {
+        final List<ObjectAssociation> properties =
+                customerSpec.getAssociations(Contributed.EXCLUDED, ObjectAssociation.Filters.PROPERTIES);
+
+        assertThat(customerSpec.getAssociations(Contributed.EXCLUDED, ObjectAssociation.Filters.PROPERTIES),
+                is(sameInstance(properties)));
+    }
+
+    @Test
+    public void reset_when_facet_of_member_replaced() throws Exception {
+        assertThat(ids(customerSpec.getAssociations(
+                Contributed.EXCLUDED, ObjectAssociation.Filters.WHERE_VISIBLE_IN_STANDALONE_TABLE)),
+                is((List<String>) Lists.newArrayList("firstName", "lastName")));
+
+        // as per GridSystemServiceAbstract#overwriteFacets
+        FacetUtil.addOrReplaceFacet(hiddenFacet(Where.STANDALONE_TABLES, customerSpec.getAssociation("firstName")));
+
+        assertThat(ids(customerSpec.getAssociations(
+                Contributed.EXCLUDED, ObjectAssociation.Filters.WHERE_VISIBLE_IN_STANDALONE_TABLE)),
+                is((List<String>) Lists.newArrayList("lastName")));
+    }
+
+    @Test
+    public void reset_when_member_order_of_member_replaced() throws Exception {
+        assertThat(ids(customerSpec.getAssociations(Contributed.EXCLUDED, ObjectAssociation.Filters.PROPERTIES)),
+                is((List<String>) Lists.newArrayList("firstName", "lastName")));
+
+        FacetUtil.addOrReplaceFacet(
+                new MemberOrderFacetXml(null, "3", mockTranslationService, customerSpec.getAssociation("firstName")));
+
+        assertThat(ids(customerSpec.getAssociations(Contributed.EXCLUDED, ObjectAssociation.Filters.PROPERTIES)),
+                is((List<String>) Lists.newArrayList("lastName", "firstName")));
+    }
+
+    @Test
+    public void reset_when_facet_of_spec_replaced() throws Exception {
+        final List<ObjectAssociation> properties =
+                customerSpec.getAssociations(Contributed.EXCLUDED, ObjectAssociation.Filters.PROPERTIES);
+
+        FacetUtil.addOrReplaceFacet(new PluralFacetAbstract("Clients", customerSpec) {});
+
+        assertThat(customerSpec.getAssociations(Contributed.EXCLUDED, ObjectAssociation.Filters.PROPERTIES),
+                is(not(sameInstance(properties))));
+    }
+
+    private static HiddenFacet hiddenFacet(final Where where, final FacetHolder holder) {
+        return new HiddenFacetAbstract(HiddenFacet.class, When.ALWAYS, where, holder) {
+            @Override
+            protected String hiddenReason(final ObjectAdapter target, final Where whereContext) {
+                return null;
+            }
+        };
+    }
+
+    private static List<String> ids(final List<ObjectAssociation> associations) {
+        final List<String> ids = Lists.newArrayList();
+        for (final ObjectAssociation association : associations) {
+            ids.add(association.getId());
+        }
+        return ids;
+    }
+
+}
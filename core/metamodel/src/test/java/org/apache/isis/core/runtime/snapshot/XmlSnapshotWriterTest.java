@@ -0,0 +1,296 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.snapshot;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.jmock.Expectations;
+import org.junit.Rule;
+import org.junit.Test;
+import org.w3c.dom.Attr;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.adapter.oid.Oid;
+import org.apache.isis.core.metamodel.consent.InteractionInitiatedBy;
+import org.apache.isis.core.metamodel.facetapi.Facet;
+import org.apache.isis.core.metamodel.facets.collections.modify.CollectionFacet;
+import org.apache.isis.core.metamodel.facets.object.value.ValueFacet;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.Contributed;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.metamodel.spec.feature.OneToManyAssociation;
+import org.apache.isis.core.metamodel.spec.feature.OneToOneAssociation;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class XmlSnapshotWriterTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    private ObjectAdapter customer;
+
+    @Test
+    public void sameAsXmlSnapshot_whenNothingIncluded() throws Exception {
+        givenCustomerWithAddressAndOrders();
+
+        final XmlSnapshot xmlSnapshot = new XmlSnapshot(customer);
+        final XmlSnapshotWriter writer = new XmlSnapshotWriter(customer);
+
+        assertSame(xmlSnapshot, writer);
+    }
+
+    @Test
+    public void sameAsXmlSnapshot_withReferenceAndCollectionIncluded() throws Exception {
+        givenCustomerWithAddressAndOrders();
+
+        final XmlSnapshot xmlSnapshot = new XmlSnapshot(customer);
+        xmlSnapshot.include("address");
+        xmlSnapshot.include("orders", "the orders");
+        final XmlSnapshotWriter writer = new XmlSnapshotWriter(customer);
+        writer.include("address");
+        writer.include("orders", "the orders");
+
+        final String xml = assertSame(xmlSnapshot, writer);
+        assertThat(xml, containsString("123 High Street"));
+        assertThat(xml, containsString("ORD:2"));
+    }
+
+    private String assertSame(final XmlSnapshot xmlSnapshot, final XmlSnapshotWriter writer) throws Exception {
+        final ByteArrayOutputStream xmlOut = new ByteArrayOutputStream();
+        final ByteArrayOutputStream xsdOut = new ByteArrayOutputStream();
+        writer.writeTo(xmlOut, xsdOut);
+
+        assertThat(canonical(parse(xmlOut)), is(canonical(xmlSnapshot.getXmlElement())));
+        assertThat(canonical(parse(xsdOut)), is(canonical(xmlSnapshot.getXsdElement())));
+        return xmlOut.toString("UTF-8");
+    }
+
+    //region > helpers: fixture
+
+    private void givenCustomerWithAddressAndOrders() {
+        final ObjectSpecification stringSpec = spec("String", "java.lang.String", true,
+                Collections.<ObjectAssociation>emptyList());
+
+        final OneToOneAssociation street = association(OneToOneAssociation.class, "street", stringSpec);
+        final ObjectSpecification addressSpec = spec("Address", "com.mycompany.Address", false,
+                Arrays.<ObjectAssociation>asList(street));
+
+        final OneToOneAssociation number = association(OneToOneAssociation.class, "number", stringSpec);
+        final ObjectSpecification orderSpec = spec("Order", "com.mycompany.Order", false,
+                Arrays.<ObjectAssociation>asList(number));
+
+        final OneToOneAssociation name = association(OneToOneAssociation.class, "name", stringSpec);
+        final OneToOneAssociation address = association(OneToOneAssociation.class, "address", addressSpec);
+        final OneToManyAssociation orders = association(OneToManyAssociation.class, "orders", orderSpec);
+        final ObjectSpecification customerSpec = spec("Customer", "com.mycompany.Customer", false,
+                Arrays.<ObjectAssociation>asList(name, address, orders));
+
+        customer = adapter(customerSpec, "Joe Bloggs", "CUS:1");
+        final ObjectAdapter addressAdapter = adapter(addressSpec, "123 High Street", "ADR:1");
+        final ObjectAdapter order1 = adapter(orderSpec, "Order #1", "ORD:1");
+        final ObjectAdapter order2 = adapter(orderSpec, "Order #2", "ORD:2");
+
+        givenValue(customer, name, stringSpec, "Joe Bloggs");
+        givenValue(addressAdapter, street, stringSpec, "123 High Street");
+        givenValue(order1, number, stringSpec, "1");
+        givenValue(order2, number, stringSpec, "2");
+        givenValue(customer, address, addressAdapter);
+        givenCollection(customer, orders, order1, order2);
+    }
+
+    private ObjectSpecification spec(
+            final String shortIdentifier,
+            final String fullIdentifier,
+            final boolean isValue,
+            final List<ObjectAssociation> associations) {
+        final ObjectSpecification spec = context.mock(ObjectSpecification.class, fullIdentifier);
+        context.checking(new Expectations() {{
+            allowing(spec).getShortIdentifier();
+            will(returnValue(shortIdentifier));
+            allowing(spec).getFullIdentifier();
+            will(returnValue(fullIdentifier));
+            allowing(spec).getSingularName();
+            will(returnValue(shortIdentifier));
+            allowing(spec).getPluralName();
+            will(returnValue(shortIdentifier + "s"));
+            allowing(spec).containsFacet(ValueFacet.class);
+            will(returnValue(isValue));
+            allowing(spec).getFacetTypes();
+            will(returnValue(new Class[0]));
+            allowing(spec).getAssociations(Contributed.INCLUDED);
+            will(returnValue(associations));
+            for (final ObjectAssociation association : associations) {
+                allowing(spec).getAssociation(association.getId());
+                will(returnValue(association));
+            }
+            allowing(spec).getFacet(with(any(Class.class)));
+            will(returnValue(null));
+        }});
+        return spec;
+    }
+
+    private <T extends ObjectAssociation> T association(
+            final Class<T> associationType,
+            final String id,
+            final ObjectSpecification spec) {
+        final T association = context.mock(associationType, id);
+        context.checking(new Expectations() {{
+            allowing(association).getId();
+            will(returnValue(id));
+            allowing(association).getName();
+            will(returnValue(id.toUpperCase()));
+            allowing(association).getSpecification();
+            will(returnValue(spec));
+            allowing(association).getFacetTypes();
+            will(returnValue(new Class[0]));
+        }});
+        return association;
+    }
+
+    private ObjectAdapter adapter(final ObjectSpecification spec, final String title, final String oidStr) {
+        final ObjectAdapter adapter = context.mock(ObjectAdapter.class, oidStr);
+        final Oid oid = context.mock(Oid.class, oidStr + "-oid");
+        context.checking(new Expectations() {{
+            allowing(adapter).getSpecification();
+            will(returnValue(spec));
+            allowing(adapter).titleString();
+            will(returnValue(title));
+            allowing(adapter).getOid();
+            will(returnValue(oid));
+            allowing(adapter).getObject();
+            will(returnValue(new Object()));
+            allowing(oid).enString();
+            will(returnValue(oidStr));
+        }});
+        return adapter;
+    }
+
+    private void givenValue(
+            final ObjectAdapter owner,
+            final OneToOneAssociation association,
+            final ObjectSpecification valueSpec,
+            final String value) {
+        givenValue(owner, association, adapter(valueSpec, value, "VAL:" + value));
+    }
+
+    private void givenValue(
+            final ObjectAdapter owner,
+            final OneToOneAssociation association,
+            final ObjectAdapter value) {
+        context.checking(new Expectations() {{
+            allowing(association).get(owner, InteractionInitiatedBy.FRAMEWORK);
+            will(returnValue(value));
+        }});
+    }
+
+    private void givenCollection(
+            final ObjectAdapter owner,
+            final OneToManyAssociation association,
+            final ObjectAdapter... elements) {
+        final ObjectSpecification listSpec = context.mock(ObjectSpecification.class, "java.util.List");
+        final ObjectAdapter collection = context.mock(ObjectAdapter.class, association.getId() + "-collection");
+        final CollectionFacet collectionFacet = context.mock(CollectionFacet.class);
+        context.checking(new Expectations() {{
+            allowing(association).get(owner, InteractionInitiatedBy.FRAMEWORK);
+            will(returnValue(collection));
+            allowing(collection).getSpecification();
+            will(returnValue(listSpec));
+            allowing(listSpec).getFacet(CollectionFacet.class);
+            will(returnValue(collectionFacet));
+            allowing(collectionFacet).size(collection);
+            will(returnValue(elements.length));
+            allowing(collectionFacet).iterable(collection);
+            will(returnValue(Arrays.asList(elements)));
+        }});
+    }
+
+    //endregion
+
+    //region > helpers: comparison
+
+    private static Element parse(final ByteArrayOutputStream out) throws Exception {
+        final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        return factory.newDocumentBuilder().parse(new ByteArrayInputStream(out.toByteArray())).getDocumentElement();
+    }
+
+    /**
+     * Ignores namespace declarations (which may legitimately be placed differently), ordering of attributes and
+     * whitespace-only text (the DOM snapshot is indented, the streamed one is not).
+     */
+    private static String canonical(final Element element) {
+        final StringBuilder buf = new StringBuilder();
+        appendCanonical(element, buf);
+        return buf.toString();
+    }
+
+    private static void appendCanonical(final Element element, final StringBuilder buf) {
+        buf.append("<{").append(element.getNamespaceURI()).append("}").append(element.getLocalName());
+        final Map<String, String> attributes = new TreeMap<>();
+        final NamedNodeMap attributeNodes = element.getAttributes();
+        for (int i = 0; i < attributeNodes.getLength(); i++) {
+            final Attr attr = (Attr) attributeNodes.item(i);
+            if (XMLConstants.XMLNS_ATTRIBUTE_NS_URI.equals(attr.getNamespaceURI())) {
+                continue;
+            }
+            // attributes of the DOM snapshot's XSD are created without a namespace (so have no local name)
+            final String localName = attr.getLocalName() != null ? attr.getLocalName() : attr.getName();
+            attributes.put("{" + attr.getNamespaceURI() + "}" + localName, attr.getValue());
+        }
+        buf.append(attributes).append(">");
+        final List<Node> children = new ArrayList<>();
+        final NodeList childNodes = element.getChildNodes();
+        for (int i = 0; i < childNodes.getLength(); i++) {
+            children.add(childNodes.item(i));
+        }
+        for (final Node child : children) {
+            if (child instanceof Element) {
+                appendCanonical((Element) child, buf);
+            } else if (child.getNodeType() == Node.TEXT_NODE || child.getNodeType() == Node.CDATA_SECTION_NODE) {
+                final String text = child.getNodeValue().trim();
+                if (!text.isEmpty()) {
+                    buf.append(text);
+                }
+            }
+        }
+        buf.append("</").append(element.getLocalName()).append(">\n");
+    }
+
+    //endregion
+
+}
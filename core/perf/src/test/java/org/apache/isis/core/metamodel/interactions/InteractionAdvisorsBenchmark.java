@@ -0,0 +1,159 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.core.metamodel.interactions;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.apache.isis.applib.events.UsabilityEvent;
+import org.apache.isis.applib.events.VisibilityEvent;
+import org.apache.isis.core.metamodel.facetapi.Facet;
+import org.apache.isis.core.metamodel.facetapi.FacetAbstract;
+import org.apache.isis.core.metamodel.facetapi.FacetFilters;
+import org.apache.isis.core.metamodel.facetapi.FacetHolder;
+import org.apache.isis.core.metamodel.facetapi.FacetHolderImpl;
+import org.apache.isis.core.metamodel.facetapi.FacetUtil;
+
+/**
+ * Compares looking up the {@link HidingInteractionAdvisor}s and {@link DisablingInteractionAdvisor}s of a
+ * {@link FacetHolder} by filtering all of its facets (as {@link InteractionUtils} used to do for every visibility
+ * and usability check) against the precomputed arrays.
+ *
+ * <p>
+ * Not run as part of the build; to run (with allocation profiling):
+ * <pre>
+ * cd core/perf
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt
+ * java -cp target/test-classes:$(cat cp.txt) org.openjdk.jmh.Main InteractionAdvisorsBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class InteractionAdvisorsBenchmark {
+
+    public static class HidingFacet1 extends HidingFacetAbstract {
+        public HidingFacet1(final FacetHolder holder) { super(HidingFacet1.class, holder); }
+    }
+    public static class HidingFacet2 extends HidingFacetAbstract {
+        public HidingFacet2(final FacetHolder holder) { super(HidingFacet2.class, holder); }
+    }
+    public static class DisablingFacet1 extends DisablingFacetAbstract {
+        public DisablingFacet1(final FacetHolder holder) { super(DisablingFacet1.class, holder); }
+    }
+    public static class DisablingFacet2 extends DisablingFacetAbstract {
+        public DisablingFacet2(final FacetHolder holder) { super(DisablingFacet2.class, holder); }
+    }
+    public static class OtherFacet1 extends OtherFacetAbstract {
+        public OtherFacet1(final FacetHolder holder) { super(OtherFacet1.class, holder); }
+    }
+    public static class OtherFacet2 extends OtherFacetAbstract {
+        public OtherFacet2(final FacetHolder holder) { super(OtherFacet2.class, holder); }
+    }
+    public static class OtherFacet3 extends OtherFacetAbstract {
+        public OtherFacet3(final FacetHolder holder) { super(OtherFacet3.class, holder); }
+    }
+    public static class OtherFacet4 extends OtherFacetAbstract {
+        public OtherFacet4(final FacetHolder holder) { super(OtherFacet4.class, holder); }
+    }
+
+    private FacetHolderImpl facetHolder;
+
+    @Setup
+    public void setUp() {
+        facetHolder = new FacetHolderImpl();
+        FacetUtil.addFacet(new HidingFacet1(facetHolder));
+        FacetUtil.addFacet(new HidingFacet2(facetHolder));
+        FacetUtil.addFacet(new DisablingFacet1(facetHolder));
+        FacetUtil.addFacet(new DisablingFacet2(facetHolder));
+        FacetUtil.addFacet(new OtherFacet1(facetHolder));
+        FacetUtil.addFacet(new OtherFacet2(facetHolder));
+        FacetUtil.addFacet(new OtherFacet3(facetHolder));
+        FacetUtil.addFacet(new OtherFacet4(facetHolder));
+    }
+
+    @Benchmark
+    public void filterFacets(final Blackhole blackhole) {
+        final List<Facet> hidingFacets = facetHolder.getFacets(FacetFilters.isA(HidingInteractionAdvisor.class));
+        for (final Facet facet : hidingFacets) {
+            blackhole.consume(((HidingInteractionAdvisor) facet).hides(null));
+        }
+        final List<Facet> disablingFacets = facetHolder.getFacets(FacetFilters.isA(DisablingInteractionAdvisor.class));
+        for (final Facet facet : disablingFacets) {
+            blackhole.consume(((DisablingInteractionAdvisor) facet).disables(null));
+        }
+    }
+
+    @Benchmark
+    public void precomputedArrays(final Blackhole blackhole) {
+        final HidingInteractionAdvisor[] hidingAdvisors = facetHolder.getHidingInteractionAdvisors();
+        for (int i = 0; i < hidingAdvisors.length; i++) {
+            blackhole.consume(hidingAdvisors[i].hides(null));
+        }
+        final DisablingInteractionAdvisor[] disablingAdvisors = facetHolder.getDisablingInteractionAdvisors();
+        for (int i = 0; i < disablingAdvisors.length; i++) {
+            blackhole.consume(disablingAdvisors[i].disables(null));
+        }
+    }
+
+    static abstract class HidingFacetAbstract extends FacetAbstract implements HidingInteractionAdvisor {
+        HidingFacetAbstract(final Class<? extends Facet> facetType, final FacetHolder holder) {
+            super(facetType, holder, Derivation.NOT_DERIVED);
+        }
+
+        @Override
+        public String hides(final VisibilityContext<? extends VisibilityEvent> ic) {
+            return null;
+        }
+    }
+
+    static abstract class DisablingFacetAbstract extends FacetAbstract implements DisablingInteractionAdvisor {
+        DisablingFacetAbstract(final Class<? extends Facet> facetType, final FacetHolder holder) {
+            super(facetType, holder, Derivation.NOT_DERIVED);
+        }
+
+        @Override
+        public String disables(final UsabilityContext<? extends UsabilityEvent> ic) {
+            return null;
+        }
+    }
+
+    static abstract class OtherFacetAbstract extends FacetAbstract {
+        OtherFacetAbstract(final Class<? extends Facet> facetType, final FacetHolder holder) {
+            super(facetType, holder, Derivation.NOT_DERIVED);
+        }
+    }
+
+}
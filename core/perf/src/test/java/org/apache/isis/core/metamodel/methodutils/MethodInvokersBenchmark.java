@@ -0,0 +1,112 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.metamodel.methodutils;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares invoking a property getter and an action (with a primitive parameter) reflectively, as
+ * {@link java.lang.reflect.Method#invoke(Object, Object...)}, against using a {@link MethodInvokerGenerator generated}
+ * {@link MethodInvoker}.
+ *
+ * <p>
+ * Not run as part of the build; to run (with allocation profiling):
+ * <pre>
+ * cd core/perf
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt
+ * java -cp target/test-classes:$(cat cp.txt) org.openjdk.jmh.Main MethodInvokersBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MethodInvokersBenchmark {
+
+    public static class Customer {
+        private String name = "Fred";
+        private int age;
+
+        public String getName() {
+            return name;
+        }
+
+        public Customer changeAge(final int age) {
+            this.age = age;
+            return this;
+        }
+    }
+
+    private Customer customer;
+
+    private Method getName;
+    private Method changeAge;
+
+    private MethodInvoker getNameInvoker;
+    private MethodInvoker changeAgeInvoker;
+
+    private final Object[] noArgs = new Object[0];
+    private final Object[] ageArgs = new Object[] { 42 };
+
+    @Setup
+    public void setUp() throws Exception {
+        customer = new Customer();
+
+        getName = Customer.class.getMethod("getName");
+        changeAge = Customer.class.getMethod("changeAge", int.class);
+
+        getNameInvoker = MethodInvokerGenerator.generate(getName);
+        changeAgeInvoker = MethodInvokerGenerator.generate(changeAge);
+    }
+
+    @Benchmark
+    public Object getterReflective() throws Exception {
+        return getName.invoke(customer, noArgs);
+    }
+
+    @Benchmark
+    public Object getterGenerated() throws Exception {
+        return getNameInvoker.invoke(customer, noArgs);
+    }
+
+    @Benchmark
+    public Object actionReflective() throws Exception {
+        return changeAge.invoke(customer, ageArgs);
+    }
+
+    @Benchmark
+    public Object actionGenerated() throws Exception {
+        return changeAgeInvoker.invoke(customer, ageArgs);
+    }
+
+}
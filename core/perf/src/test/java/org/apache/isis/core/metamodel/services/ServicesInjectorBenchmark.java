@@ -0,0 +1,135 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.metamodel.services;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+
+import com.google.common.collect.Lists;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.apache.isis.core.commons.config.IsisConfigurationDefault;
+import org.apache.isis.core.metamodel.specloader.InjectorMethodEvaluatorDefault;
+
+/**
+ * Compares injecting services into an entity by reflecting over its class and the registered services for every
+ * instance (as {@link ServicesInjector} used to do) against applying the cached {@link ServicesInjector.InjectionPlan}.
+ *
+ * <p>
+ * Not run as part of the build; to run (with allocation profiling):
+ * <pre>
+ * cd core/perf
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt
+ * java -cp target/test-classes:$(cat cp.txt) org.openjdk.jmh.Main ServicesInjectorBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ServicesInjectorBenchmark {
+
+    private static final int NUMBER_OF_OTHER_SERVICES = 100;
+
+    public interface Repository {}
+    public interface Clock {}
+    public interface Listener {}
+
+    public static class RepositoryDefault implements Repository {}
+    public static class ClockDefault implements Clock {}
+    public static class Listener1 implements Listener {}
+    public static class Listener2 implements Listener {}
+    public static class OtherService {}
+
+    public static abstract class EntityAbstract {
+        @Inject
+        Clock clock;
+
+        private Repository repository;
+
+        public Repository getRepository() {
+            return repository;
+        }
+
+        public void setRepository(final Repository repository) {
+            this.repository = repository;
+        }
+    }
+
+    public static class Entity extends EntityAbstract {
+        @Inject
+        List<Listener> listeners;
+
+        private String name;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(final String name) {
+            this.name = name;
+        }
+    }
+
+    private ServicesInjector servicesInjector;
+
+    @Setup
+    public void setUp() {
+        final List<Object> services = Lists.newArrayList();
+        for (int i = 0; i < NUMBER_OF_OTHER_SERVICES; i++) {
+            services.add(new OtherService());
+        }
+        services.add(new RepositoryDefault());
+        services.add(new ClockDefault());
+        services.add(new Listener1());
+        services.add(new Listener2());
+
+        servicesInjector = new ServicesInjector(
+                services, new IsisConfigurationDefault(), new InjectorMethodEvaluatorDefault());
+    }
+
+    @Benchmark
+    public Entity reflectPerInstance() {
+        final Entity entity = new Entity();
+        servicesInjector.newInjectionPlan(Entity.class).injectInto(entity);
+        return entity;
+    }
+
+    @Benchmark
+    public Entity injectionPlan() {
+        final Entity entity = new Entity();
+        servicesInjector.injectServicesInto(entity);
+        return entity;
+    }
+
+}
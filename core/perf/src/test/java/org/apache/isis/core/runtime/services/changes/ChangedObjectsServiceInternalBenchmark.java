@@ -0,0 +1,288 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.changes;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.apache.isis.applib.services.publish.PublisherService;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.adapter.oid.RootOid;
+import org.apache.isis.core.metamodel.spec.ObjectSpecId;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.runtime.services.auditing.AuditingServiceInternal;
+import org.apache.isis.core.runtime.system.transaction.IsisTransaction;
+
+/**
+ * Compares the allocations of enlisting a bulk update (many objects, one property of each modified) as
+ * {@link ChangedObjectsServiceInternal} used to do (one {@link AdapterAndProperty} / {@link PreAndPostValues} entry
+ * per property of every object) against the current implementation, both with the pre-values captured (because
+ * there is a {@link PublisherService}) and without (nothing to audit or publish to).
+ *
+ * <p>
+ * Not run as part of the build; to run (with allocation profiling):
+ * <pre>
+ * cd core/perf
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt
+ * java -cp target/test-classes:$(cat cp.txt) org.openjdk.jmh.Main ChangedObjectsServiceInternalBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ChangedObjectsServiceInternalBenchmark {
+
+    @Param({"10000"})
+    public int numberOfObjects;
+
+    @Param({"20"})
+    public int numberOfProperties;
+
+    private ObjectAdapter[] adapters;
+    /**
+     * The (adapters of the) current value of each property of each object; see {@link #modifyFirstProperty()}.
+     */
+    private ObjectAdapter[][] valuesByAdapter;
+    private ObjectAdapter[] originalValues;
+    private ObjectAdapter[] modifiedValues;
+
+    @Setup
+    public void setUp() {
+        final ObjectAssociation[] properties = new ObjectAssociation[numberOfProperties];
+        for (int i = 0; i < numberOfProperties; i++) {
+            properties[i] = property(i);
+        }
+        final ObjectSpecification spec = spec(Arrays.asList(properties));
+
+        adapters = new ObjectAdapter[numberOfObjects];
+        valuesByAdapter = new ObjectAdapter[numberOfObjects][];
+        originalValues = new ObjectAdapter[numberOfObjects];
+        modifiedValues = new ObjectAdapter[numberOfObjects];
+        for (int i = 0; i < numberOfObjects; i++) {
+            valuesByAdapter[i] = new ObjectAdapter[numberOfProperties];
+            for (int j = 0; j < numberOfProperties; j++) {
+                valuesByAdapter[i][j] = valueAdapter("value-" + i + "-" + j);
+            }
+            originalValues[i] = valuesByAdapter[i][0];
+            modifiedValues[i] = valueAdapter("modified-" + i);
+            adapters[i] = adapter(spec, RootOid.create(ObjectSpecId.of("CUS"), "" + i), valuesByAdapter[i]);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void restoreFirstProperty() {
+        for (int i = 0; i < numberOfObjects; i++) {
+            valuesByAdapter[i][0] = originalValues[i];
+        }
+    }
+
+    private void modifyFirstProperty() {
+        for (int i = 0; i < numberOfObjects; i++) {
+            valuesByAdapter[i][0] = modifiedValues[i];
+        }
+    }
+
+    @Benchmark
+    public Set<Map.Entry<AdapterAndProperty, PreAndPostValues>> legacy() {
+        final Map<AdapterAndProperty, PreAndPostValues> enlistedObjectProperties = Maps.newLinkedHashMap();
+        for (final ObjectAdapter adapter : adapters) {
+            for (final ObjectAssociation property : adapter.getSpecification().getAssociations(null, null)) {
+                final AdapterAndProperty aap = AdapterAndProperty.of(adapter, property);
+                if(property.isNotPersisted()) {
+                    continue;
+                }
+                if(enlistedObjectProperties.containsKey(aap)) {
+                    continue;
+                }
+                enlistedObjectProperties.put(aap, PreAndPostValues.pre(aap.getPropertyValue()));
+            }
+        }
+
+        modifyFirstProperty();
+
+        final Map<AdapterAndProperty, PreAndPostValues> processedObjectProperties = Maps.newLinkedHashMap();
+        for (final AdapterAndProperty aap : Sets.newLinkedHashSet(enlistedObjectProperties.keySet())) {
+            final PreAndPostValues papv = enlistedObjectProperties.remove(aap);
+            papv.setPost(aap.getAdapter().isDestroyed() ? IsisTransaction.Placeholder.DELETED : aap.getPropertyValue());
+            processedObjectProperties.put(aap, papv);
+        }
+        return Collections.unmodifiableSet(
+                Sets.filter(processedObjectProperties.entrySet(), PreAndPostValues.Predicates.CHANGED));
+    }
+
+    @Benchmark
+    public Set<Map.Entry<AdapterAndProperty, PreAndPostValues>> compact() {
+        return enlistAndCapture(newService(true));
+    }
+
+    @Benchmark
+    public Set<Map.Entry<AdapterAndProperty, PreAndPostValues>> compact_nothingToAuditOrPublish() {
+        return enlistAndCapture(newService(false));
+    }
+
+    private Set<Map.Entry<AdapterAndProperty, PreAndPostValues>> enlistAndCapture(
+            final ChangedObjectsServiceInternal service) {
+        for (final ObjectAdapter adapter : adapters) {
+            service.enlistUpdating(adapter);
+        }
+
+        modifyFirstProperty();
+
+        return service.getChangedObjectProperties();
+    }
+
+    private static ChangedObjectsServiceInternal newService(final boolean publish) {
+        final ChangedObjectsServiceInternal service = new ChangedObjectsServiceInternal();
+        service.publisherServices = publish
+                ? Collections.singletonList(stub(PublisherService.class, new InvocationHandler() {
+                    @Override
+                    public Object invoke(final Object proxy, final Method method, final Object[] args) {
+                        return identity(proxy, method, args);
+                    }
+                }))
+                : Collections.<PublisherService>emptyList();
+        service.auditingServiceInternal = new AuditingServiceInternal() {
+            @Override
+            public boolean canAudit() {
+                return false;
+            }
+        };
+        return service;
+    }
+
+    //region > stubs
+
+    private static ObjectSpecification spec(final List<ObjectAssociation> properties) {
+        return stub(ObjectSpecification.class, new InvocationHandler() {
+            @Override
+            public Object invoke(final Object proxy, final Method method, final Object[] args) {
+                switch (method.getName()) {
+                case "getAssociations":
+                    return properties;
+                case "getCorrespondingClass":
+                    return Object.class;
+                default:
+                    return identity(proxy, method, args);
+                }
+            }
+        });
+    }
+
+    private static ObjectAssociation property(final int index) {
+        final String id = "property" + index;
+        return stub(ObjectAssociation.class, new InvocationHandler() {
+            @Override
+            public Object invoke(final Object proxy, final Method method, final Object[] args) {
+                switch (method.getName()) {
+                case "get":
+                    return ((StubbedAdapter) Proxy.getInvocationHandler(args[0])).values[index];
+                case "getId":
+                    return id;
+                case "isNotPersisted":
+                    return false;
+                default:
+                    return identity(proxy, method, args);
+                }
+            }
+        });
+    }
+
+    private static ObjectAdapter adapter(
+            final ObjectSpecification spec,
+            final RootOid oid,
+            final ObjectAdapter[] values) {
+        return stub(ObjectAdapter.class, new StubbedAdapter(spec, oid, values));
+    }
+
+    private static ObjectAdapter valueAdapter(final String value) {
+        return stub(ObjectAdapter.class, new InvocationHandler() {
+            @Override
+            public Object invoke(final Object proxy, final Method method, final Object[] args) {
+                return method.getName().equals("getObject") ? value : identity(proxy, method, args);
+            }
+        });
+    }
+
+    static class StubbedAdapter implements InvocationHandler {
+        private final ObjectSpecification spec;
+        private final RootOid oid;
+        private final ObjectAdapter[] values;
+
+        StubbedAdapter(final ObjectSpecification spec, final RootOid oid, final ObjectAdapter[] values) {
+            this.spec = spec;
+            this.oid = oid;
+            this.values = values;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) {
+            switch (method.getName()) {
+            case "getSpecification":
+                return spec;
+            case "getOid":
+                return oid;
+            case "isDestroyed":
+                return false;
+            default:
+                return identity(proxy, method, args);
+            }
+        }
+    }
+
+    private static Object identity(final Object proxy, final Method method, final Object[] args) {
+        switch (method.getName()) {
+        case "equals":
+            return proxy == args[0];
+        case "hashCode":
+            return System.identityHashCode(proxy);
+        case "toString":
+            return "stub@" + Integer.toHexString(System.identityHashCode(proxy));
+        default:
+            return null;
+        }
+    }
+
+    private static <T> T stub(final Class<T> type, final InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, handler));
+    }
+
+    //endregion
+
+}
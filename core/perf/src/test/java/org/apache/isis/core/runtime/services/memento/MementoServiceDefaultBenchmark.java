@@ -0,0 +1,117 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.memento;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.joda.time.LocalDate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.apache.isis.applib.services.bookmark.Bookmark;
+import org.apache.isis.applib.services.memento.MementoService.Memento;
+import org.apache.isis.applib.services.urlencoding.UrlEncodingServiceUsingBaseEncoding;
+
+/**
+ * Compares the time to create (and convert to a string) and to parse (and read all values of) a memento, in the
+ * (URL encoded) XML format and the binary format.  (The sizes of the same mementos in each format are compared by
+ * <tt>MementoServiceDefaultTest_binary</tt>, in the runtime module.)
+ *
+ * <p>
+ * Not run as part of the build; to run:
+ * <pre>
+ * cd core/perf
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt
+ * java -cp target/test-classes:$(cat cp.txt) org.openjdk.jmh.Main MementoServiceDefaultBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MementoServiceDefaultBenchmark {
+
+    /**
+     * The number of times that the (typical view model's) set of values is repeated in the memento.
+     */
+    @Param({"1", "10"})
+    public int repeat;
+
+    /**
+     * As per {@link MementoServiceDefault#KEY_FORMAT}.
+     */
+    @Param({"xml", "binary"})
+    public String format;
+
+    private MementoServiceDefault mementoService;
+    private String mementoStr;
+
+    @Setup
+    public void setUp() {
+        mementoService = new MementoServiceDefault();
+        mementoService.urlEncodingService = new UrlEncodingServiceUsingBaseEncoding();
+        mementoService.init(Collections.singletonMap(MementoServiceDefault.KEY_FORMAT, format));
+        mementoStr = create();
+    }
+
+    @Benchmark
+    public String create() {
+        final Memento memento = mementoService.create();
+        for (int i = 0; i < repeat; i++) {
+            memento.set("hostname" + i, "services.mycompany.com")
+                   .set("port" + i, 8080)
+                   .set("id" + i, 123456L + i)
+                   .set("customer" + i, new Bookmark("CUS", "" + i))
+                   .set("asOf" + i, new LocalDate(2016, 12, 31))
+                   .set("amount" + i, new BigDecimal("1234.56"))
+                   .set("active" + i, true);
+        }
+        return memento.asString();
+    }
+
+    @Benchmark
+    public int parse() {
+        final Memento memento = mementoService.parse(mementoStr);
+        int hash = 0;
+        for (int i = 0; i < repeat; i++) {
+            hash += memento.get("hostname" + i, String.class).hashCode()
+                    + memento.get("port" + i, int.class)
+                    + memento.get("id" + i, Long.class).hashCode()
+                    + memento.get("customer" + i, Bookmark.class).hashCode()
+                    + memento.get("asOf" + i, LocalDate.class).hashCode()
+                    + memento.get("amount" + i, BigDecimal.class).hashCode()
+                    + memento.get("active" + i, boolean.class).hashCode();
+        }
+        return hash;
+    }
+
+}
@@ -0,0 +1,244 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.wrapper.handlers;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.Maps;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.apache.isis.applib.services.wrapper.WrappingObject;
+import org.apache.isis.core.commons.lang.ArrayExtensions;
+import org.apache.isis.core.metamodel.facetapi.FacetUtil;
+import org.apache.isis.core.metamodel.facets.FacetedMethod;
+import org.apache.isis.core.metamodel.facets.ImperativeFacet;
+import org.apache.isis.core.metamodel.facets.ImperativeFacet.Intent;
+import org.apache.isis.core.metamodel.facets.all.named.NamedFacetInferred;
+import org.apache.isis.core.metamodel.facets.members.disabled.method.DisableForContextFacetViaMethod;
+import org.apache.isis.core.metamodel.facets.members.hidden.method.HideForContextFacetViaMethod;
+import org.apache.isis.core.metamodel.facets.properties.accessor.PropertyAccessorFacetViaAccessor;
+import org.apache.isis.core.metamodel.facets.properties.update.clear.PropertyClearFacetViaClearMethod;
+import org.apache.isis.core.metamodel.facets.properties.update.modify.PropertySetterFacetViaModifyMethod;
+import org.apache.isis.core.metamodel.facets.properties.validating.method.PropertyValidateFacetViaMethod;
+import org.apache.isis.core.metamodel.spec.feature.ObjectMember;
+import org.apache.isis.core.metamodel.spec.feature.OneToOneAssociation;
+import org.apache.isis.core.metamodel.specloader.classsubstitutor.JavassistEnhanced;
+import org.apache.isis.core.wrapper.internal.util.Util;
+import org.apache.isis.core.wrapper.proxy.ProxyCreator;
+import org.apache.isis.progmodel.wrapper.dom.employees.Employee;
+
+import javassist.util.proxy.MethodFilter;
+import javassist.util.proxy.MethodHandler;
+import javassist.util.proxy.ProxyFactory;
+
+/**
+ * Compares the per-wrap and per-call overhead of the {@link org.apache.isis.applib.services.wrapper.WrapperFactory}
+ * as it used to be (a proxy class obtained from javassist's {@link ProxyFactory} and a new {@link MethodHandler} for
+ * every object wrapped; the {@link ObjectMember} and its {@link Intent} looked up for every call) against the current
+ * implementation ({@link ProxyCreator}'s cache of proxy classes, and the {@link MethodDispatchTable}).
+ *
+ * <p>
+ * Not run as part of the build; to run (with allocation profiling):
+ * <pre>
+ * cd core/perf
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt
+ * java -cp target/test-classes:$(cat cp.txt) org.openjdk.jmh.Main DomainObjectDispatchBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DomainObjectDispatchBenchmark {
+
+    private Employee employee;
+    private StubbedHandler handler;
+
+    private ProxyFactory proxyFactory;
+    private ProxyCreator proxyCreator;
+
+    private Method getNameMethod;
+    private Map<Method, ObjectMember> membersByMethod;
+    private MethodDispatchTable methodDispatchTable;
+
+    @Setup
+    public void setUp() throws Exception {
+        employee = new Employee();
+        employee.setName("Smith");
+        handler = new StubbedHandler(employee);
+
+        proxyFactory = legacyProxyFactoryFor(Employee.class);
+        proxyCreator = new ProxyCreator();
+
+        getNameMethod = Employee.class.getMethod("getName");
+        final ObjectMember nameMember = nameProperty();
+
+        // as per ObjectSpecificationDefault#getMember(Method)
+        membersByMethod = Maps.newHashMap();
+        for (final Method method : Employee.class.getMethods()) {
+            membersByMethod.put(method, nameMember);
+        }
+
+        methodDispatchTable = new MethodDispatchTable();
+        methodDispatchTable.register(getNameMethod, MethodDispatchTable.Dispatch.forMember(nameMember, getNameMethod), 0L);
+    }
+
+    @Benchmark
+    public Object wrap_legacy() {
+        final Class<?> enhancedClass = proxyFactory.createClass();
+        final javassist.util.proxy.Proxy proxy = (javassist.util.proxy.Proxy) Util.createInstance(enhancedClass);
+        proxy.setHandler(new MethodHandler() {
+            @Override
+            public Object invoke(Object self, Method thisMethod, Method proceed, Object[] args) throws Throwable {
+                return handler.invoke(self, thisMethod, args);
+            }
+        });
+        return proxy;
+    }
+
+    @Benchmark
+    public Object wrap() {
+        return proxyCreator.instantiateProxy(handler);
+    }
+
+    @Benchmark
+    public Intent dispatch_legacy() {
+        final ObjectMember member = membersByMethod.get(getNameMethod);
+        return ImperativeFacet.Util.getIntent(member, getNameMethod);
+    }
+
+    @Benchmark
+    public Intent dispatch() {
+        return methodDispatchTable.lookup(getNameMethod, 0L).getIntent();
+    }
+
+    //region > helpers
+
+    /**
+     * As {@link ProxyCreator} used to configure (and then cache) the {@link ProxyFactory} for each class.
+     */
+    private static ProxyFactory legacyProxyFactoryFor(final Class<?> toProxyClass) {
+        final ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setSuperclass(toProxyClass);
+        proxyFactory.setInterfaces(ArrayExtensions.combine(
+                toProxyClass.getInterfaces(),
+                new Class<?>[] { JavassistEnhanced.class, WrappingObject.class }));
+        proxyFactory.setFilter(new MethodFilter() {
+            @Override
+            public boolean isHandled(final Method m) {
+                return !m.getName().equals("finalize") || m.isBridge();
+            }
+        });
+        proxyFactory.setUseCache(true);
+        return proxyFactory;
+    }
+
+    /**
+     * The facets (imperative and otherwise) of a typical property.
+     */
+    private static ObjectMember nameProperty() throws NoSuchMethodException {
+        final Method getName = Employee.class.getMethod("getName");
+        final FacetedMethod facetedMethod = FacetedMethod.createForProperty(Employee.class, getName);
+        FacetUtil.addFacet(new NamedFacetInferred("Name", facetedMethod));
+        FacetUtil.addFacet(new PropertyAccessorFacetViaAccessor(getName, facetedMethod, null, null, null, null, null));
+        FacetUtil.addFacet(new PropertySetterFacetViaModifyMethod(
+                Employee.class.getMethod("modifyName", String.class), facetedMethod));
+        FacetUtil.addFacet(new PropertyClearFacetViaClearMethod(
+                Employee.class.getMethod("clearName"), facetedMethod));
+        FacetUtil.addFacet(new HideForContextFacetViaMethod(
+                Employee.class.getMethod("hideName"), facetedMethod));
+        FacetUtil.addFacet(new DisableForContextFacetViaMethod(
+                Employee.class.getMethod("disableName"), null, null, facetedMethod));
+        FacetUtil.addFacet(new PropertyValidateFacetViaMethod(
+                Employee.class.getMethod("validateName", String.class), null, null, facetedMethod));
+
+        return (ObjectMember) Proxy.newProxyInstance(
+                DomainObjectDispatchBenchmark.class.getClassLoader(),
+                new Class<?>[] { OneToOneAssociation.class },
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(final Object proxy, final Method method, final Object[] args)
+                            throws Throwable {
+                        switch (method.getName()) {
+                        case "getFacets":
+                        case "getFacet":
+                            return method.invoke(facetedMethod, args);
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            return null;
+                        }
+                    }
+                });
+    }
+
+    static class StubbedHandler implements DelegatingInvocationHandler<Employee>, MethodHandler {
+        private final Employee delegate;
+
+        StubbedHandler(final Employee delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Employee getDelegate() {
+            return delegate;
+        }
+
+        @Override
+        public boolean isResolveObjectChangedEnabled() {
+            return false;
+        }
+
+        @Override
+        public void setResolveObjectChangedEnabled(final boolean resolveObjectChangedEnabled) {
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            return method.invoke(delegate, args);
+        }
+
+        @Override
+        public Object invoke(final Object self, final Method thisMethod, final Method proceed, final Object[] args)
+                throws Throwable {
+            return invoke(self, thisMethod, args);
+        }
+    }
+
+    //endregion
+
+}
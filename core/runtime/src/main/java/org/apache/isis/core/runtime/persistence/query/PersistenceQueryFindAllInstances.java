@@ -30,14 +30,41 @@
  */
 public class PersistenceQueryFindAllInstances extends PersistenceQueryBuiltInAbstract {
 
+    private final String ordering;
+
+    public PersistenceQueryFindAllInstances(
+            final ObjectSpecification specification,
+            final SpecificationLoader specificationLoader,
+            final long... range) {
+        this(specification, null, specificationLoader, range);
+    }
+
     public PersistenceQueryFindAllInstances(
             final ObjectSpecification specification,
+            final String ordering,
             final SpecificationLoader specificationLoader,
             final long... range) {
         super(specification, specificationLoader, range);
+        this.ordering = ordering;
         index=0;
         countedSoFar=0;
     }
+
+    /**
+     * Optional ordering (in the syntax of the object store) to override the natural ordering of the instances.
+     */
+    public String getOrdering() {
+        return ordering;
+    }
+
+    public long getEnd() {
+        // as per PersistenceQueryFindUsingApplibQueryDefault
+        return getCount() != 0? getStart() + getCount(): Integer.MAX_VALUE;
+    }
+
+    public boolean hasRange() {
+        return getStart() != 0 || getCount() != 0;
+    }
     
 
     /**
@@ -41,6 +41,7 @@ public class PersistenceQueryFindUsingApplibQueryDefault extends PersistenceQuer
     private final String queryName;
     private final QueryCardinality cardinality;
     private final Map<String, ObjectAdapter> argumentsAdaptersByParameterName;
+    private final String ordering;
 
     public PersistenceQueryFindUsingApplibQueryDefault(
             final ObjectSpecification specification,
@@ -49,10 +50,22 @@ public PersistenceQueryFindUsingApplibQueryDefault(
             final QueryCardinality cardinality,
             final SpecificationLoader specificationLoader,
             final long... range) {
+        this(specification, queryName, argumentsAdaptersByParameterName, cardinality, null, specificationLoader, range);
+    }
+
+    public PersistenceQueryFindUsingApplibQueryDefault(
+            final ObjectSpecification specification,
+            final String queryName,
+            final Map<String, ObjectAdapter> argumentsAdaptersByParameterName,
+            final QueryCardinality cardinality,
+            final String ordering,
+            final SpecificationLoader specificationLoader,
+            final long... range) {
         super(specification, specificationLoader, range);
         this.queryName = queryName;
         this.cardinality = cardinality;
         this.argumentsAdaptersByParameterName = argumentsAdaptersByParameterName;
+        this.ordering = ordering;
         initialized();
     }
 
@@ -65,6 +78,7 @@ public PersistenceQueryFindUsingApplibQueryDefault(
         this.cardinality = QueryCardinality.valueOf(input.readUTF());
         // TODO: need to read from input
         this.argumentsAdaptersByParameterName = new HashMap<>();
+        this.ordering = null;
         initialized();
     }
 
@@ -98,6 +112,13 @@ public QueryCardinality getCardinality() {
         return cardinality;
     }
 
+    /**
+     * Optional ordering (in the syntax of the object store) to override that of the named query.
+     */
+    public String getOrdering() {
+        return ordering;
+    }
+
     @Override
     public String toString() {
         final ToString str = ToString.createAnonymous(this);
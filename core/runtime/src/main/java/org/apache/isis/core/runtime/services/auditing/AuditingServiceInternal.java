@@ -29,6 +29,7 @@
 import org.apache.isis.applib.annotation.NatureOfService;
 import org.apache.isis.applib.annotation.Programmatic;
 import org.apache.isis.applib.services.audit.AuditerService;
+import org.apache.isis.applib.services.audit.AuditerService2;
 import org.apache.isis.applib.services.audit.AuditingService3;
 import org.apache.isis.applib.services.bookmark.Bookmark;
 import org.apache.isis.applib.services.clock.ClockService;
@@ -42,6 +43,7 @@
 import org.apache.isis.core.runtime.services.changes.AdapterAndProperty;
 import org.apache.isis.core.runtime.services.changes.ChangedObjectsServiceInternal;
 import org.apache.isis.core.runtime.services.changes.PreAndPostValues;
+import org.apache.isis.core.runtime.services.delivery.DeliveryServiceInternal;
 
 /**
  * Wrapper around {@link org.apache.isis.applib.services.audit.AuditingService3}.  Is a no-op if there is no injected service.
@@ -51,7 +53,11 @@ public class AuditingServiceInternal {
 
     Boolean whetherCanAudit;
 
-    private boolean canAudit() {
+    /**
+     * Whether there is any (enabled) service to audit to.
+     */
+    @Programmatic
+    public boolean canAudit() {
         if(whetherCanAudit == null) {
             whetherCanAudit = determineWhetherCanAudit();
         }
@@ -118,6 +124,12 @@ private void auditChangedProperty(
             auditingServiceIfAny
                     .audit(transactionId, targetClass, target, memberId, propertyId, preValue, postValue, user, timestamp);
         }
+        if(deliveryServiceInternal.isAsynchronous()) {
+            // delivered to the AuditerServices once the transaction has committed
+            deliveryServiceInternal.enlistAuditEntry(new AuditerService2.Entry(
+                    transactionId, sequence, targetClass, target, memberId, propertyId, preValue, postValue, user, timestamp));
+            return;
+        }
         for (AuditerService auditerService : auditerServices) {
             if (auditerService.isEnabled()) {
                 auditerService
@@ -138,6 +150,9 @@ private void auditChangedProperty(
     @javax.inject.Inject
     private ChangedObjectsServiceInternal changedObjectsServiceInternal;
 
+    @javax.inject.Inject
+    DeliveryServiceInternal deliveryServiceInternal;
+
     @javax.inject.Inject
     UserService userService;
 
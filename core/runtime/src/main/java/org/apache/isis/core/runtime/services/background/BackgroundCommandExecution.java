@@ -19,12 +19,23 @@
 import java.sql.Timestamp;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.google.common.base.Function;
 import com.google.common.base.Throwables;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import org.apache.isis.applib.services.background.ActionInvocationMemento;
 import org.apache.isis.applib.services.bookmark.Bookmark;
 import org.apache.isis.applib.services.bookmark.BookmarkService2;
@@ -35,6 +46,7 @@
 import org.apache.isis.applib.services.iactn.Interaction;
 import org.apache.isis.applib.services.iactn.InteractionContext;
 import org.apache.isis.applib.services.jaxb.JaxbService;
+import org.apache.isis.core.commons.authentication.AuthenticationSession;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.consent.InteractionInitiatedBy;
 import org.apache.isis.core.metamodel.facets.actions.action.invocation.CommandUtil;
@@ -67,9 +79,25 @@
  * <p>
  * This implementation uses the {@link #findBackgroundCommandsToExecute() hook method} so that it is
  * independent of the location where the actions have actually been persisted to.
+ *
+ * <p>
+ * By default the commands are executed sequentially, on the calling thread.  If more than one
+ * {@link #getNumberOfWorkers() worker} is configured (using {@value #KEY_WORKERS}), then the commands are instead
+ * partitioned by their {@link Command#getTarget() target} and each partition is executed by its own worker, each
+ * with its own {@link org.apache.isis.core.runtime.system.session.IsisSession session}.  Commands against the
+ * same target are therefore still executed in order.
+ *
+ * <p>
+ * Either way, a failure to execute any one command (for example, because its transaction could not be committed)
+ * is logged and does not prevent the remaining commands from being executed.
  */
 public abstract class BackgroundCommandExecution extends AbstractIsisSessionTemplate {
 
+    private static final Logger LOG = LoggerFactory.getLogger(BackgroundCommandExecution.class);
+
+    public static final String KEY_WORKERS = "isis.services.background.execution.workers";
+    private static final int WORKERS_DEFAULT = 1;
+
     private final MementoServiceDefault mementoService;
 
     public BackgroundCommandExecution() {
@@ -92,8 +120,28 @@ public void execute() {
             }
         });
 
-        for (final Command backgroundCommand : backgroundCommands) {
-            execute(transactionManager, backgroundCommand);
+        resetMetrics();
+        final long startedAt = System.nanoTime();
+        try {
+            final int numberOfWorkers = Math.min(getNumberOfWorkers(), backgroundCommands.size());
+            final List<List<Bookmark>> partitions =
+                    numberOfWorkers > 1
+                            ? partition(transactionManager, backgroundCommands, numberOfWorkers)
+                            : null;
+            if(partitions != null) {
+                executeInParallel(partitions);
+            } else {
+                for (final Command backgroundCommand : backgroundCommands) {
+                    executeIsolated(transactionManager, backgroundCommand);
+                }
+            }
+        } finally {
+            elapsedNanos = System.nanoTime() - startedAt;
+            if(!backgroundCommands.isEmpty()) {
+                LOG.info("Executed {} background commands in {}ms ({} failed, mean {}ms, max {}ms)",
+                        getNumberExecuted(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                        getNumberFailed(), getMeanLatencyMillis(), getMaxLatencyMillis());
+            }
         }
     }
 
@@ -102,6 +150,234 @@ public void execute() {
      */
     protected abstract List<? extends Command> findBackgroundCommandsToExecute();
 
+    /**
+     * The number of workers to execute the commands with; if 1 (the default) then they are executed sequentially,
+     * on the calling thread.
+     *
+     * <p>
+     * Obtained from the {@value #KEY_WORKERS} configuration property, but can be overridden.
+     */
+    protected int getNumberOfWorkers() {
+        return getIsisSessionFactory().getConfiguration().getInteger(KEY_WORKERS, WORKERS_DEFAULT);
+    }
+
+    // //////////////////////////////////////
+
+    //region > parallel execution
+
+    /**
+     * Partitions the commands by their target, as bookmarks (so that each command can be looked up again within
+     * each worker's own session).
+     *
+     * @return <tt>null</tt> if any of the commands cannot be bookmarked (in which case they must be executed
+     * sequentially).
+     */
+    private List<List<Bookmark>> partition(
+            final IsisTransactionManager transactionManager,
+            final List<Command> backgroundCommands,
+            final int numberOfPartitions) {
+
+        final List<List<Bookmark>> partitions = Lists.newArrayList();
+        for (int i = 0; i < numberOfPartitions; i++) {
+            partitions.add(Lists.<Bookmark>newArrayList());
+        }
+        final boolean[] allBookmarked = { true };
+        transactionManager.executeWithinTransaction(new TransactionalClosure() {
+            @Override
+            public void execute() {
+                for (final Command backgroundCommand : backgroundCommands) {
+                    final Bookmark commandBookmark = bookmarkService.bookmarkFor(backgroundCommand);
+                    if(commandBookmark == null) {
+                        allBookmarked[0] = false;
+                        return;
+                    }
+                    partitions.get(partitionFor(backgroundCommand.getTarget(), numberOfPartitions)).add(commandBookmark);
+                }
+            }
+        });
+        if(!allBookmarked[0]) {
+            LOG.warn("Unable to bookmark background commands; executing sequentially");
+            return null;
+        }
+        return partitions;
+    }
+
+    private static int partitionFor(final Bookmark target, final int numberOfPartitions) {
+        final int hashCode = target != null ? target.toString().hashCode() : 0;
+        return (hashCode & Integer.MAX_VALUE) % numberOfPartitions;
+    }
+
+    private void executeInParallel(final List<List<Bookmark>> partitions) {
+
+        final AuthenticationSession authenticationSession =
+                getIsisSessionFactory().getCurrentSession().getAuthenticationSession();
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(partitions.size(), new ThreadFactory() {
+            private final AtomicInteger threadNumber = new AtomicInteger();
+            @Override
+            public Thread newThread(final Runnable runnable) {
+                final Thread thread = new Thread(runnable, "isis-background-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        try {
+            final List<Future<?>> futures = Lists.newArrayList();
+            for (final List<Bookmark> partition : partitions) {
+                futures.add(executorService.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        getIsisSessionFactory().doInSession(new Runnable() {
+                            @Override
+                            public void run() {
+                                executePartition(partition);
+                            }
+                        }, authenticationSession);
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (final ExecutionException ex) {
+                    LOG.error("Failed to execute partition of background commands", ex.getCause());
+                }
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            executorService.shutdownNow();
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    /**
+     * Called within the worker's own session.
+     */
+    private void executePartition(final List<Bookmark> commandBookmarks) {
+        final IsisTransactionManager transactionManager = getTransactionManager(getPersistenceSession());
+
+        final List<Command> backgroundCommands = Lists.newArrayList();
+        transactionManager.executeWithinTransaction(new TransactionalClosure() {
+            @Override
+            public void execute() {
+                for (final Bookmark commandBookmark : commandBookmarks) {
+                    final Object backgroundCommand = bookmarkService.lookup(commandBookmark);
+                    if(backgroundCommand == null) {
+                        LOG.warn("Unable to find background command {}; skipping", commandBookmark);
+                        continue;
+                    }
+                    backgroundCommands.add((Command) backgroundCommand);
+                }
+            }
+        });
+
+        for (final Command backgroundCommand : backgroundCommands) {
+            if(Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            executeIsolated(transactionManager, backgroundCommand);
+        }
+    }
+
+    //endregion
+
+    //region > metrics
+
+    /*
+     * All metrics relate to the most recent (or current) call to doExecute.
+     */
+
+    private final AtomicLong numberExecuted = new AtomicLong();
+    private final AtomicLong numberFailed = new AtomicLong();
+    private final AtomicLong totalExecutionNanos = new AtomicLong();
+    private final AtomicLong maxExecutionNanos = new AtomicLong();
+    private volatile long elapsedNanos;
+
+    private void resetMetrics() {
+        numberExecuted.set(0L);
+        numberFailed.set(0L);
+        totalExecutionNanos.set(0L);
+        maxExecutionNanos.set(0L);
+        elapsedNanos = 0L;
+    }
+
+    /**
+     * Executes (and records the metrics of) the command, logging rather than propagating any failure so that the
+     * remaining commands are still executed, whether sequentially or in parallel.
+     */
+    private void executeIsolated(
+            final IsisTransactionManager transactionManager,
+            final Command backgroundCommand) {
+        try {
+            executeAndRecord(transactionManager, backgroundCommand);
+        } catch (final RuntimeException ex) {
+            LOG.error("Failed to execute background command {}", backgroundCommand.getTransactionId(), ex);
+        }
+    }
+
+    private void executeAndRecord(
+            final IsisTransactionManager transactionManager,
+            final Command backgroundCommand) {
+        final long startedAt = System.nanoTime();
+        boolean failed = true;
+        try {
+            execute(transactionManager, backgroundCommand);
+            failed = false;
+        } finally {
+            final long executionNanos = System.nanoTime() - startedAt;
+            numberExecuted.incrementAndGet();
+            if(failed) {
+                numberFailed.incrementAndGet();
+            }
+            totalExecutionNanos.addAndGet(executionNanos);
+            long max;
+            while((max = maxExecutionNanos.get()) < executionNanos &&
+                    !maxExecutionNanos.compareAndSet(max, executionNanos)) {
+                // retry
+            }
+        }
+    }
+
+    /**
+     * The number of commands executed (including those that failed).
+     */
+    public long getNumberExecuted() {
+        return numberExecuted.get();
+    }
+
+    /**
+     * The number of commands that could not be executed, for example because the transaction could not be
+     * committed.  (Commands whose action threw an exception are not included; that exception is instead recorded
+     * against the {@link Command#getException() command}).
+     */
+    public long getNumberFailed() {
+        return numberFailed.get();
+    }
+
+    public long getMeanLatencyMillis() {
+        final long numberExecuted = getNumberExecuted();
+        return numberExecuted > 0
+                ? TimeUnit.NANOSECONDS.toMillis(totalExecutionNanos.get() / numberExecuted)
+                : 0L;
+    }
+
+    public long getMaxLatencyMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxExecutionNanos.get());
+    }
+
+    /**
+     * The number of commands executed per second (by all workers).
+     */
+    public double getThroughputPerSecond() {
+        final long elapsedNanos = this.elapsedNanos;
+        return elapsedNanos > 0
+                ? getNumberExecuted() * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos
+                : 0.0;
+    }
+
+    //endregion
+
     // //////////////////////////////////////
 
     
@@ -387,19 +663,19 @@ private static List<ParamDto> paramDtosFrom(final ActionDto actionDto) {
     // //////////////////////////////////////
 
     @javax.inject.Inject
-    private BookmarkService2 bookmarkService;
+    BookmarkService2 bookmarkService;
 
     @javax.inject.Inject
-    private JaxbService jaxbService;
+    JaxbService jaxbService;
 
     @javax.inject.Inject
-    private CommandContext commandContext;
+    CommandContext commandContext;
 
     @javax.inject.Inject
-    private InteractionContext interactionContext;
+    InteractionContext interactionContext;
 
     @javax.inject.Inject
-    private ClockService clockService;
+    ClockService clockService;
 
 
 }
@@ -19,13 +19,14 @@
 package org.apache.isis.core.runtime.services.changes;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import javax.enterprise.context.RequestScoped;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
-import com.google.common.collect.Sets;
 
 import org.apache.isis.applib.annotation.DomainService;
 import org.apache.isis.applib.annotation.NatureOfService;
@@ -33,25 +34,32 @@
 import org.apache.isis.applib.annotation.PublishedObject;
 import org.apache.isis.applib.services.HasTransactionId;
 import org.apache.isis.applib.services.WithTransactionScope;
+import org.apache.isis.applib.services.publish.PublisherService;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.facets.object.audit.AuditableFacet;
 import org.apache.isis.core.metamodel.spec.ObjectSpecification;
 import org.apache.isis.core.metamodel.spec.feature.Contributed;
 import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
-import org.apache.isis.core.runtime.system.transaction.IsisTransaction;
+import org.apache.isis.core.runtime.services.auditing.AuditingServiceInternal;
 
 @DomainService(nature = NatureOfService.DOMAIN)
 @RequestScoped
 public class ChangedObjectsServiceInternal implements WithTransactionScope {
 
     /**
-     * Used for auditing: this contains the pre- values of every property of every object enlisted.
+     * Used for auditing: this contains the pre- values of every property of every object enlisted, as one entry per
+     * object.
      *
      * <p>
      *     When {@link #getChangedObjectProperties()} is called, then this is cleared out and {@link #changedObjectProperties} is non-null, containing
      *     the actual differences.
      * </p>
+     *
+     * <p>
+     *     Objects are only added if their pre- values need to be captured (see {@link #shouldCapturePreValues(ObjectAdapter)}).
+     * </p>
      */
-    private final Map<AdapterAndProperty, PreAndPostValues> enlistedObjectProperties = Maps.newLinkedHashMap();
+    private final Map<ObjectAdapter, EnlistedObject> enlistedObjects = Maps.newLinkedHashMap();
 
     /**
      * Used for auditing; contains the pre- and post- values of every property of every object that actually changed.
@@ -62,6 +70,12 @@ public class ChangedObjectsServiceInternal implements WithTransactionScope {
      */
     private Set<Map.Entry<AdapterAndProperty, PreAndPostValues>> changedObjectProperties;
 
+    /**
+     * The persisted properties of each spec, so that these are only looked up once per spec rather than once per
+     * enlisted object.
+     */
+    private final Map<ObjectSpecification, ObjectAssociation[]> persistedPropertiesBySpec = Maps.newHashMap();
+
 
     // used for publishing
     private final Map<ObjectAdapter,PublishedObject.ChangeKind> changeKindByEnlistedAdapter = Maps.newLinkedHashMap();
@@ -91,18 +105,11 @@ public void enlistCreated(final ObjectAdapter adapter) {
 
         enlistForPublishing(adapter, PublishedObject.ChangeKind.CREATE);
 
-        for (ObjectAssociation property : adapter.getSpecification().getAssociations(Contributed.EXCLUDED, ObjectAssociation.Filters.PROPERTIES)) {
-            final AdapterAndProperty aap = AdapterAndProperty.of(adapter, property);
-            if(property.isNotPersisted()) {
-                continue;
-            }
-            if(enlistedObjectProperties.containsKey(aap)) {
-                // already enlisted, so ignore
-                return;
-            }
-            PreAndPostValues papv = PreAndPostValues.pre(IsisTransaction.Placeholder.NEW);
-            enlistedObjectProperties.put(aap, papv);
+        if(enlistedObjects.containsKey(adapter) || !shouldCapturePreValues(adapter)) {
+            // already enlisted (so ignore), or not needed
+            return;
         }
+        enlistedObjects.put(adapter, EnlistedObject.created(adapter, persistedPropertiesOf(adapter)));
     }
 
 
@@ -125,18 +132,7 @@ public void enlistUpdating(final ObjectAdapter adapter) {
 
         enlistForPublishing(adapter, PublishedObject.ChangeKind.UPDATE);
 
-        for (ObjectAssociation property : adapter.getSpecification().getAssociations(Contributed.EXCLUDED, ObjectAssociation.Filters.PROPERTIES)) {
-            final AdapterAndProperty aap = AdapterAndProperty.of(adapter, property);
-            if(property.isNotPersisted()) {
-                continue;
-            }
-            if(enlistedObjectProperties.containsKey(aap)) {
-                // already enlisted, so ignore
-                continue;
-            }
-            PreAndPostValues papv = PreAndPostValues.pre(aap.getPropertyValue());
-            enlistedObjectProperties.put(aap, papv);
-        }
+        enlistExisting(adapter);
     }
 
     /**
@@ -162,20 +158,48 @@ public void enlistDeleting(final ObjectAdapter adapter) {
             return;
         }
 
-        for (ObjectAssociation property : adapter.getSpecification().getAssociations(Contributed.EXCLUDED, ObjectAssociation.Filters.PROPERTIES)) {
-            final AdapterAndProperty aap = AdapterAndProperty.of(adapter, property);
-            if(property.isNotPersisted()) {
-                continue;
-            }
-            if(enlistedObjectProperties.containsKey(aap)) {
-                // already enlisted, so ignore
-                return;
-            }
-            PreAndPostValues papv = PreAndPostValues.pre(aap.getPropertyValue());
-            enlistedObjectProperties.put(aap, papv);
+        enlistExisting(adapter);
+    }
+
+    private void enlistExisting(final ObjectAdapter adapter) {
+        if(enlistedObjects.containsKey(adapter) || !shouldCapturePreValues(adapter)) {
+            // already enlisted (so ignore), or not needed
+            return;
         }
+        enlistedObjects.put(adapter, EnlistedObject.existing(adapter, persistedPropertiesOf(adapter)));
     }
 
+    /**
+     * The pre- values are only needed if they might be audited, or (because the number of properties modified is
+     * published) if there are any {@link PublisherService}s.
+     */
+    private boolean shouldCapturePreValues(final ObjectAdapter adapter) {
+        if(!publisherServices.isEmpty()) {
+            return true;
+        }
+        if(!auditingServiceInternal.canAudit()) {
+            return false;
+        }
+        final AuditableFacet auditableFacet = adapter.getSpecification().getFacet(AuditableFacet.class);
+        return auditableFacet != null && !auditableFacet.isDisabled();
+    }
+
+    private ObjectAssociation[] persistedPropertiesOf(final ObjectAdapter adapter) {
+        final ObjectSpecification spec = adapter.getSpecification();
+        ObjectAssociation[] properties = persistedPropertiesBySpec.get(spec);
+        if(properties == null) {
+            final List<ObjectAssociation> persistedProperties = Lists.newArrayList();
+            for (final ObjectAssociation property : spec.getAssociations(Contributed.EXCLUDED, ObjectAssociation.Filters.PROPERTIES)) {
+                if(property.isNotPersisted()) {
+                    continue;
+                }
+                persistedProperties.add(property);
+            }
+            properties = persistedProperties.toArray(new ObjectAssociation[persistedProperties.size()]);
+            persistedPropertiesBySpec.put(spec, properties);
+        }
+        return properties;
+    }
 
     /**
      * @return <code>true</code> if successfully enlisted, <code>false</code> if was already enlisted
@@ -219,35 +243,30 @@ private boolean enlistForPublishing(final ObjectAdapter adapter, final Published
     public Set<Map.Entry<AdapterAndProperty, PreAndPostValues>> getChangedObjectProperties() {
         return changedObjectProperties != null
                     ? changedObjectProperties
-                    : (changedObjectProperties = capturePostValuesAndDrain(enlistedObjectProperties));
+                    : (changedObjectProperties = capturePostValuesAndDrain(enlistedObjects));
     }
 
-    private Set<Map.Entry<AdapterAndProperty, PreAndPostValues>> capturePostValuesAndDrain(final Map<AdapterAndProperty, PreAndPostValues> changedObjectProperties) {
-        final Map<AdapterAndProperty, PreAndPostValues> processedObjectProperties1 = Maps.newLinkedHashMap();
+    private Set<Map.Entry<AdapterAndProperty, PreAndPostValues>> capturePostValuesAndDrain(final Map<ObjectAdapter, EnlistedObject> enlistedObjects) {
+        final Map<ObjectAdapter, EnlistedObject> processedObjects = Maps.newLinkedHashMap();
 
-        while(!changedObjectProperties.isEmpty()) {
+        while(!enlistedObjects.isEmpty()) {
 
-            final Set<AdapterAndProperty> keys = Sets.newLinkedHashSet(changedObjectProperties.keySet());
-            for (final AdapterAndProperty aap : keys) {
+            final List<ObjectAdapter> adapters = Lists.newArrayList(enlistedObjects.keySet());
+            for (final ObjectAdapter adapter : adapters) {
 
-                final PreAndPostValues papv = changedObjectProperties.remove(aap);
+                final EnlistedObject enlistedObject = enlistedObjects.remove(adapter);
+                enlistedObject.capturePostValues();
 
-                final ObjectAdapter adapter = aap.getAdapter();
-                if(adapter.isDestroyed()) {
-                    // don't touch the object!!!
-                    // JDO, for example, will complain otherwise...
-                    papv.setPost(IsisTransaction.Placeholder.DELETED);
-                } else {
-                    papv.setPost(aap.getPropertyValue());
-                }
-
-                // if we encounter the same objectProperty again, this will simply overwrite it
-                processedObjectProperties1.put(aap, papv);
+                // if we encounter the same object again, this will simply overwrite it
+                processedObjects.put(adapter, enlistedObject);
             }
         }
 
-        return Collections.unmodifiableSet(
-                Sets.filter(processedObjectProperties1.entrySet(), PreAndPostValues.Predicates.CHANGED));
+        final Map<AdapterAndProperty, PreAndPostValues> changedObjectProperties = Maps.newLinkedHashMap();
+        for (final EnlistedObject processedObject : processedObjects.values()) {
+            processedObject.addChangedTo(changedObjectProperties);
+        }
+        return Collections.unmodifiableSet(changedObjectProperties.entrySet());
     }
 
     protected boolean shouldIgnore(final ObjectAdapter adapter) {
@@ -283,7 +302,7 @@ public int numberObjectPropertiesModified() {
     @Override
     @Programmatic
     public void resetForNextTransaction() {
-        enlistedObjectProperties.clear();
+        enlistedObjects.clear();
         changedObjectProperties = null;
     }
 
@@ -292,5 +311,10 @@ static String asString(Object object) {
         return object != null? object.toString(): null;
     }
 
+    @javax.inject.Inject
+    List<PublisherService> publisherServices;
+
+    @javax.inject.Inject
+    AuditingServiceInternal auditingServiceInternal;
 
 }
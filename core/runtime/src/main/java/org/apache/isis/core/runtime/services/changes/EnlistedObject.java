@@ -0,0 +1,117 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.changes;
+
+import java.util.Map;
+
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.consent.InteractionInitiatedBy;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.runtime.system.transaction.IsisTransaction;
+
+/**
+ * The pre-values of the (persisted) properties of a single enlisted object, held in arrays indexed by property
+ * rather than as one {@link AdapterAndProperty} / {@link PreAndPostValues} pair per property.
+ *
+ * <p>
+ *     Only once the post-values are {@link #capturePostValues() captured} are entries created, and then only for
+ *     those properties whose value actually {@link PreAndPostValues#differ() differs}.
+ * </p>
+ */
+class EnlistedObject {
+
+    private final ObjectAdapter adapter;
+    private final ObjectAssociation[] properties;
+    /**
+     * Null if the object was enlisted as {@link IsisTransaction.Placeholder#NEW new}.
+     */
+    private final Object[] preValues;
+    /**
+     * Eagerly calculated for the same reason as {@link PreAndPostValues#getPreString()}; null if {@link #preValues} is.
+     */
+    private final String[] preStrings;
+
+    private Object[] postValues;
+
+    static EnlistedObject created(final ObjectAdapter adapter, final ObjectAssociation[] properties) {
+        return new EnlistedObject(adapter, properties, null, null);
+    }
+
+    static EnlistedObject existing(final ObjectAdapter adapter, final ObjectAssociation[] properties) {
+        final Object[] preValues = new Object[properties.length];
+        final String[] preStrings = new String[properties.length];
+        for (int i = 0; i < properties.length; i++) {
+            preValues[i] = valueOf(adapter, properties[i]);
+            preStrings[i] = ChangedObjectsServiceInternal.asString(preValues[i]);
+        }
+        return new EnlistedObject(adapter, properties, preValues, preStrings);
+    }
+
+    private EnlistedObject(
+            final ObjectAdapter adapter,
+            final ObjectAssociation[] properties,
+            final Object[] preValues,
+            final String[] preStrings) {
+        this.adapter = adapter;
+        this.properties = properties;
+        this.preValues = preValues;
+        this.preStrings = preStrings;
+    }
+
+    ObjectAdapter getAdapter() {
+        return adapter;
+    }
+
+    void capturePostValues() {
+        final Object[] postValues = new Object[properties.length];
+        for (int i = 0; i < properties.length; i++) {
+            postValues[i] = adapter.isDestroyed()
+                    // don't touch the object!!!
+                    // JDO, for example, will complain otherwise...
+                    ? IsisTransaction.Placeholder.DELETED
+                    : valueOf(adapter, properties[i]);
+        }
+        this.postValues = postValues;
+    }
+
+    /**
+     * Adds an entry for each property whose post-value (as {@link #capturePostValues() captured}) differs from its
+     * pre-value; any existing entry for the same object and property is overwritten.
+     */
+    void addChangedTo(final Map<AdapterAndProperty, PreAndPostValues> changedObjectProperties) {
+        for (int i = 0; i < properties.length; i++) {
+            final Object pre = preValues != null ? preValues[i] : IsisTransaction.Placeholder.NEW;
+            final Object post = postValues[i];
+            if(!PreAndPostValues.differ(pre, post)) {
+                continue;
+            }
+            final PreAndPostValues papv = preValues != null
+                    ? PreAndPostValues.pre(pre, preStrings[i])
+                    : PreAndPostValues.pre(pre);
+            papv.setPost(post);
+            changedObjectProperties.put(AdapterAndProperty.of(adapter, properties[i]), papv);
+        }
+    }
+
+    private static Object valueOf(final ObjectAdapter adapter, final ObjectAssociation property) {
+        final ObjectAdapter referencedAdapter = property.get(adapter, InteractionInitiatedBy.FRAMEWORK);
+        return referencedAdapter == null ? null : referencedAdapter.getObject();
+    }
+
+}
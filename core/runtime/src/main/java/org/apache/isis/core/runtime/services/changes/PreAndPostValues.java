@@ -53,13 +53,19 @@ public boolean apply(Map.Entry<?, PreAndPostValues> input) {
     private String postString;
 
     public static PreAndPostValues pre(Object preValue) {
-        return new PreAndPostValues(preValue, null);
+        return new PreAndPostValues(preValue, ChangedObjectsServiceInternal.asString(preValue));
     }
 
-    private PreAndPostValues(Object pre, Object post) {
+    /**
+     * For a pre-value whose string form was captured earlier (see {@link #getPreString()}).
+     */
+    static PreAndPostValues pre(Object preValue, String preString) {
+        return new PreAndPostValues(preValue, preString);
+    }
+
+    private PreAndPostValues(Object pre, String preString) {
         this.pre = pre;
-        this.post = post;
-        this.preString = ChangedObjectsServiceInternal.asString(pre);
+        this.preString = preString;
     }
 
     /**
@@ -96,9 +102,13 @@ public String toString() {
     }
 
     public boolean differ() {
-        if (getPre() == IsisTransaction.Placeholder.NEW || getPost() == IsisTransaction.Placeholder.DELETED) {
+        return differ(getPre(), getPost());
+    }
+
+    static boolean differ(final Object pre, final Object post) {
+        if (pre == IsisTransaction.Placeholder.NEW || post == IsisTransaction.Placeholder.DELETED) {
             return true;
         }
-        return !Objects.equal(getPre(), getPost());
+        return !Objects.equal(pre, post);
     }
 }
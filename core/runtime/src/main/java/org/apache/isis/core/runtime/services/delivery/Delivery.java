@@ -0,0 +1,104 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.delivery;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+import org.apache.isis.applib.services.audit.AuditerService2;
+import org.apache.isis.applib.services.publish.PublishedObjects;
+
+/**
+ * The audit entries and published objects of a single transaction, to be delivered (asynchronously) once that
+ * transaction has committed.
+ */
+public class Delivery {
+
+    private final UUID transactionId;
+    private final List<AuditerService2.Entry> auditEntries = Lists.newArrayList();
+    private final List<PublishedObjects> publishedObjects = Lists.newArrayList();
+    private final Set<Object> deliveredTo = Sets.newIdentityHashSet();
+
+    private long enqueuedAtNanos;
+
+    public Delivery(final UUID transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    /**
+     * Used to order deliveries; all deliveries for the same transaction id are delivered in the order that they
+     * were enqueued.
+     */
+    public UUID getTransactionId() {
+        return transactionId;
+    }
+
+    public List<AuditerService2.Entry> getAuditEntries() {
+        return Collections.unmodifiableList(auditEntries);
+    }
+
+    public List<PublishedObjects> getPublishedObjects() {
+        return Collections.unmodifiableList(publishedObjects);
+    }
+
+    void addAuditEntry(final AuditerService2.Entry auditEntry) {
+        auditEntries.add(auditEntry);
+    }
+
+    void addPublishedObjects(final PublishedObjects publishedObjects) {
+        this.publishedObjects.add(publishedObjects);
+    }
+
+    boolean isEmpty() {
+        return auditEntries.isEmpty() && publishedObjects.isEmpty();
+    }
+
+    /**
+     * Whether this delivery has already been delivered to the subscriber (eg an
+     * {@link org.apache.isis.applib.services.audit.AuditerService}), so that it is not delivered to it again if
+     * delivery to another subscriber fails and is retried.
+     */
+    synchronized boolean isDeliveredTo(final Object subscriber) {
+        return deliveredTo.contains(subscriber);
+    }
+
+    synchronized void deliveredTo(final Object subscriber) {
+        deliveredTo.add(subscriber);
+    }
+
+    long getEnqueuedAtNanos() {
+        return enqueuedAtNanos;
+    }
+
+    void setEnqueuedAtNanos(final long enqueuedAtNanos) {
+        this.enqueuedAtNanos = enqueuedAtNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "Delivery{transactionId=" + transactionId +
+                ", auditEntries=" + auditEntries.size() +
+                ", publishedObjects=" + publishedObjects.size() + "}";
+    }
+}
@@ -0,0 +1,427 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.delivery;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.collect.Lists;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.isis.applib.services.audit.AuditerService2;
+import org.apache.isis.applib.services.publish.PublishedObjects;
+
+/**
+ * A bounded queue of {@link Delivery deliveries}, drained in batches by a fixed number of background workers.
+ *
+ * <p>
+ * The queue is partitioned into one shard per worker, with each delivery routed to a shard by its
+ * {@link Delivery#getTransactionId() transaction id}; deliveries for the same transaction id are therefore delivered
+ * in the order in which they were {@link #enqueue(Delivery) enqueued}.
+ *
+ * <p>
+ * If a shard is full then {@link #enqueue(Delivery)} blocks until there is space, so that a slow
+ * {@link Deliverer} applies back-pressure to (rather than unbounded memory growth in) the callers.
+ *
+ * <p>
+ * A batch that fails to be delivered is retried (up to <tt>maxAttempts</tt> in all, backing off exponentially from
+ * <tt>retryBackoffMillis</tt> between attempts).  If it still fails then each of its deliveries is attempted on its
+ * own, so that a single undeliverable delivery does not prevent the others in its batch from being delivered; any
+ * that still fail are passed to the {@link DeadLetterHandler}.
+ *
+ * <p>
+ * Once {@link #shutdown(long) shutdown}, any further deliveries that are {@link #enqueue(Delivery) enqueued} are instead
+ * delivered synchronously: the calling thread waits while each is delivered by a thread of its own.
+ */
+public class DeliveryQueue {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DeliveryQueue.class);
+
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+
+    public static final int MAX_ATTEMPTS_DEFAULT = 3;
+    public static final long RETRY_BACKOFF_MILLIS_DEFAULT = 100L;
+
+    public interface Deliverer {
+        /**
+         * Delivers a (non-empty) batch of deliveries, in order.
+         *
+         * <p>
+         * Always called from a thread of the queue's own (never from the thread that {@link #enqueue(Delivery)
+         * enqueued} the delivery), so the deliverer is free to open its own session and transaction.
+         *
+         * <p>
+         * If the batch is retried then the same {@link Delivery} instances are passed again, so a deliverer that
+         * delivers to several subscribers can record its progress against each delivery and skip those subscribers
+         * that have already received it.
+         */
+        void deliver(final List<Delivery> batch);
+    }
+
+    public interface DeadLetterHandler {
+        /**
+         * Called for each delivery that could not be delivered, even after retrying.
+         */
+        void deadLetter(final Delivery delivery, final RuntimeException cause);
+    }
+
+    /**
+     * Logs (at <tt>ERROR</tt>) each of the audit entries and published objects of the undelivered delivery.
+     */
+    public static final DeadLetterHandler LOG_DEAD_LETTERS = new DeadLetterHandler() {
+        @Override
+        public void deadLetter(final Delivery delivery, final RuntimeException cause) {
+            LOG.error("Failed to deliver {}", delivery, cause);
+            for (final AuditerService2.Entry auditEntry : delivery.getAuditEntries()) {
+                LOG.error("  undelivered audit entry: {}", auditEntry);
+            }
+            for (final PublishedObjects publishedObjects : delivery.getPublishedObjects()) {
+                LOG.error("  undelivered published objects: {} by {} at {}",
+                        publishedObjects.getTransactionId(), publishedObjects.getUsername(),
+                        publishedObjects.getCompletedAt());
+            }
+        }
+    };
+
+    private final List<BlockingQueue<Delivery>> shards;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    private final Deliverer deliverer;
+    private final DeadLetterHandler deadLetterHandler;
+    private final ExecutorService executorService;
+
+    private final AtomicLong numberDelivered = new AtomicLong();
+    private final AtomicLong numberFailed = new AtomicLong();
+    private final AtomicLong lastDeliveryLagNanos = new AtomicLong();
+
+    private volatile boolean running;
+
+    public DeliveryQueue(
+            final int numberOfWorkers,
+            final int capacity,
+            final int batchSize,
+            final Deliverer deliverer) {
+        this(numberOfWorkers, capacity, batchSize, MAX_ATTEMPTS_DEFAULT, RETRY_BACKOFF_MILLIS_DEFAULT,
+                deliverer, LOG_DEAD_LETTERS);
+    }
+
+    public DeliveryQueue(
+            final int numberOfWorkers,
+            final int capacity,
+            final int batchSize,
+            final int maxAttempts,
+            final long retryBackoffMillis,
+            final Deliverer deliverer,
+            final DeadLetterHandler deadLetterHandler) {
+        if(numberOfWorkers < 1 || capacity < numberOfWorkers || batchSize < 1) {
+            throw new IllegalArgumentException(String.format(
+                    "Require at least 1 worker, batch size of at least 1 and capacity of at least one per worker "
+                            + "(workers: %d, capacity: %d, batchSize: %d)",
+                    numberOfWorkers, capacity, batchSize));
+        }
+        if(maxAttempts < 1 || retryBackoffMillis < 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Require at least 1 attempt and a non-negative retry backoff "
+                            + "(maxAttempts: %d, retryBackoffMillis: %d)",
+                    maxAttempts, retryBackoffMillis));
+        }
+        this.shards = Lists.newArrayList();
+        for (int i = 0; i < numberOfWorkers; i++) {
+            shards.add(new ArrayBlockingQueue<Delivery>(capacity / numberOfWorkers));
+        }
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.deliverer = deliverer;
+        this.deadLetterHandler = deadLetterHandler;
+        this.executorService = Executors.newFixedThreadPool(numberOfWorkers, new ThreadFactory() {
+            private final AtomicInteger threadNumber = new AtomicInteger();
+            @Override
+            public Thread newThread(final Runnable runnable) {
+                final Thread thread = new Thread(runnable, "isis-delivery-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    //region > start, shutdown
+
+    public void start() {
+        running = true;
+        for (final BlockingQueue<Delivery> shard : shards) {
+            executorService.execute(new Runnable() {
+                @Override
+                public void run() {
+                    drain(shard);
+                }
+            });
+        }
+    }
+
+    /**
+     * Stops accepting further deliveries (any subsequently {@link #enqueue(Delivery) enqueued} are delivered
+     * synchronously instead), and waits (up to the specified timeout) for those already enqueued to be
+     * delivered.
+     *
+     * <p>
+     * Any deliveries still enqueued once the timeout has elapsed are passed to the {@link DeadLetterHandler}.
+     *
+     * @return whether all enqueued deliveries were delivered within the timeout.
+     */
+    public boolean shutdown(final long timeoutMillis) {
+        running = false;
+        executorService.shutdown();
+        try {
+            if(executorService.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        executorService.shutdownNow();
+        final List<Delivery> undelivered = Lists.newArrayList();
+        for (final BlockingQueue<Delivery> shard : shards) {
+            shard.drainTo(undelivered);
+        }
+        if(undelivered.isEmpty()) {
+            return true;
+        }
+        LOG.warn("Shutdown with {} deliveries still enqueued; these will not be delivered", undelivered.size());
+        final IllegalStateException cause = new IllegalStateException("Not delivered before shutdown timed out");
+        for (final Delivery delivery : undelivered) {
+            deadLetter(delivery, cause);
+        }
+        return false;
+    }
+
+    //endregion
+
+    //region > enqueue
+
+    /**
+     * Enqueues the delivery, blocking if the queue is full; or, if no longer running, waits while it is delivered.
+     */
+    public void enqueue(final Delivery delivery) {
+        delivery.setEnqueuedAtNanos(System.nanoTime());
+        if(!running) {
+            deliverSynchronously(delivery);
+            return;
+        }
+        final BlockingQueue<Delivery> shard = shardFor(delivery);
+        if(!shard.offer(delivery)) {
+            LOG.debug("Queue full; waiting to enqueue {}", delivery);
+            try {
+                shard.put(delivery);
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting to enqueue " + delivery, ex);
+            }
+        }
+        if(!running && shard.remove(delivery)) {
+            // shutdown concurrently, so the workers may already have stopped draining
+            deliverSynchronously(delivery);
+        }
+    }
+
+    /**
+     * The caller is typically committing its own transaction, so rather than delivering from within that, delivers
+     * from a separate thread (with no session of its own) and waits for it.
+     */
+    private void deliverSynchronously(final Delivery delivery) {
+        LOG.debug("Not running; delivering synchronously {}", delivery);
+        final Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                deliver(Collections.singletonList(delivery));
+            }
+        }, "isis-delivery-after-shutdown");
+        thread.setDaemon(true);
+        thread.start();
+        boolean interrupted = false;
+        while(thread.isAlive()) {
+            try {
+                thread.join();
+            } catch (final InterruptedException ex) {
+                interrupted = true;
+            }
+        }
+        if(interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private BlockingQueue<Delivery> shardFor(final Delivery delivery) {
+        final int hashCode = delivery.getTransactionId() != null ? delivery.getTransactionId().hashCode() : 0;
+        return shards.get((hashCode & Integer.MAX_VALUE) % shards.size());
+    }
+
+    //endregion
+
+    //region > drain
+
+    private void drain(final BlockingQueue<Delivery> shard) {
+        while(running || !shard.isEmpty()) {
+            final Delivery first;
+            try {
+                first = shard.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (final InterruptedException ex) {
+                return;
+            }
+            if(first == null) {
+                continue;
+            }
+            final List<Delivery> batch = Lists.newArrayList(first);
+            shard.drainTo(batch, batchSize - 1);
+
+            deliver(batch);
+        }
+    }
+
+    //endregion
+
+    //region > deliver (with retries)
+
+    private void deliver(final List<Delivery> batch) {
+        final RuntimeException cause = deliverWithRetries(batch, maxAttempts);
+        if(cause == null) {
+            delivered(batch);
+            return;
+        }
+        if(batch.size() == 1) {
+            deadLetter(batch.get(0), cause);
+            return;
+        }
+        LOG.warn("Failed to deliver batch of {} (first: {}); delivering each individually",
+                batch.size(), batch.get(0), cause);
+        for (final Delivery delivery : batch) {
+            // the batch as a whole has already been retried, so each is attempted just once more
+            final List<Delivery> single = Collections.singletonList(delivery);
+            final RuntimeException singleCause = deliverWithRetries(single, 1);
+            if(singleCause == null) {
+                delivered(single);
+            } else {
+                deadLetter(delivery, singleCause);
+            }
+        }
+    }
+
+    /**
+     * @return the cause of the last failed attempt, or <tt>null</tt> if delivered.
+     */
+    private RuntimeException deliverWithRetries(final List<Delivery> batch, final int attempts) {
+        long backoffMillis = retryBackoffMillis;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                deliverer.deliver(batch);
+                return null;
+            } catch(final RuntimeException ex) {
+                if(attempt >= attempts || Thread.currentThread().isInterrupted()) {
+                    return ex;
+                }
+                LOG.debug("Attempt {} of {} to deliver batch of {} failed; retrying in {}ms",
+                        attempt, attempts, batch.size(), backoffMillis, ex);
+            }
+            try {
+                Thread.sleep(backoffMillis);
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            backoffMillis *= 2;
+        }
+    }
+
+    private void delivered(final List<Delivery> batch) {
+        numberDelivered.addAndGet(batch.size());
+        lastDeliveryLagNanos.set(System.nanoTime() - batch.get(0).getEnqueuedAtNanos());
+    }
+
+    private void deadLetter(final Delivery delivery, final RuntimeException cause) {
+        numberFailed.incrementAndGet();
+        try {
+            deadLetterHandler.deadLetter(delivery, cause);
+        } catch(final RuntimeException ex) {
+            LOG.error("Dead letter handler failed for {}", delivery, ex);
+        }
+    }
+
+    //endregion
+
+    //region > metrics
+
+    /**
+     * The number of deliveries currently enqueued (across all shards).
+     */
+    public int getQueueDepth() {
+        int queueDepth = 0;
+        for (final BlockingQueue<Delivery> shard : shards) {
+            queueDepth += shard.size();
+        }
+        return queueDepth;
+    }
+
+    /**
+     * How long (in millis) the oldest of the deliveries currently enqueued has been waiting; 0 if none.
+     */
+    public long getLagMillis() {
+        final long now = System.nanoTime();
+        long maxLagNanos = 0;
+        for (final BlockingQueue<Delivery> shard : shards) {
+            final Delivery head = shard.peek();
+            if(head != null) {
+                maxLagNanos = Math.max(maxLagNanos, now - head.getEnqueuedAtNanos());
+            }
+        }
+        return TimeUnit.NANOSECONDS.toMillis(maxLagNanos);
+    }
+
+    /**
+     * How long (in millis) the first delivery of the most recently delivered batch had waited, from being enqueued
+     * until its batch was delivered.
+     */
+    public long getLastDeliveryLagMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(lastDeliveryLagNanos.get());
+    }
+
+    public long getNumberDelivered() {
+        return numberDelivered.get();
+    }
+
+    /**
+     * The number of deliveries that could not be delivered (even after retrying), and so were passed to the
+     * {@link DeadLetterHandler}.
+     */
+    public long getNumberFailed() {
+        return numberFailed.get();
+    }
+
+    //endregion
+
+}
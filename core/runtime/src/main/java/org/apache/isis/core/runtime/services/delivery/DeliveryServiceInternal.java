@@ -0,0 +1,450 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.delivery;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import com.google.common.collect.Lists;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.services.audit.AuditerService;
+import org.apache.isis.applib.services.audit.AuditerService2;
+import org.apache.isis.applib.services.delivery.DeadLetterService;
+import org.apache.isis.applib.services.publish.PublishedObjects;
+import org.apache.isis.applib.services.publish.PublisherService;
+import org.apache.isis.applib.services.publish.PublisherService2;
+import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
+import org.apache.isis.core.runtime.system.transaction.IsisTransactionManager;
+import org.apache.isis.core.runtime.system.transaction.TransactionalClosure;
+
+/**
+ * Optionally delivers audit entries (to {@link AuditerService}s) and changed objects (to {@link PublisherService}s)
+ * asynchronously, rather than synchronously within the transaction that made the changes.
+ *
+ * <p>
+ * If enabled (using {@value #KEY_ASYNCHRONOUS}), then the audit entries and published objects of each transaction
+ * are {@link #enlistAuditEntry(AuditerService2.Entry) enlisted} as the transaction is about to commit, and are then
+ * {@link #enqueueEnlisted() enqueued} once it has committed (or {@link #discardEnlisted() discarded} if it aborts).
+ * A {@link DeliveryQueue} then delivers them in batches, from background workers, each batch in its own session
+ * and to each subscriber in its own transaction.  Implementations of {@link AuditerService2} and
+ * {@link PublisherService2} receive each batch in a single call.  If delivery to any subscriber fails then the batch
+ * is retried (see {@value #KEY_MAX_ATTEMPTS}), but only to those subscribers that have not yet received it.  Any
+ * deliveries that still cannot be delivered are passed to the {@link DeadLetterService}s, if any, else are logged.
+ */
+@DomainService(nature = NatureOfService.DOMAIN)
+public class DeliveryServiceInternal {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DeliveryServiceInternal.class);
+
+    public static final String KEY_ASYNCHRONOUS = "isis.services.delivery.asynchronous";
+    public static final String KEY_WORKERS = "isis.services.delivery.workers";
+    public static final String KEY_CAPACITY = "isis.services.delivery.capacity";
+    public static final String KEY_BATCH_SIZE = "isis.services.delivery.batchSize";
+    public static final String KEY_MAX_ATTEMPTS = "isis.services.delivery.maxAttempts";
+    public static final String KEY_RETRY_BACKOFF_MILLIS = "isis.services.delivery.retryBackoffMillis";
+    public static final String KEY_SHUTDOWN_TIMEOUT_MILLIS = "isis.services.delivery.shutdownTimeoutMillis";
+
+    private static final int WORKERS_DEFAULT = 1;
+    private static final int CAPACITY_DEFAULT = 10000;
+    private static final int BATCH_SIZE_DEFAULT = 100;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS_DEFAULT = 10000L;
+
+    private final ThreadLocal<Delivery> enlisted = new ThreadLocal<>();
+
+    private DeliveryQueue deliveryQueue;
+    private long shutdownTimeoutMillis;
+
+    //region > init, shutdown
+
+    @Programmatic
+    @PostConstruct
+    public void init(final Map<String, String> properties) {
+        if(!Boolean.parseBoolean(properties.get(KEY_ASYNCHRONOUS))) {
+            return;
+        }
+        final int workers = getInt(properties, KEY_WORKERS, WORKERS_DEFAULT);
+        final int capacity = getInt(properties, KEY_CAPACITY, CAPACITY_DEFAULT);
+        final int batchSize = getInt(properties, KEY_BATCH_SIZE, BATCH_SIZE_DEFAULT);
+        final int maxAttempts = getInt(properties, KEY_MAX_ATTEMPTS, DeliveryQueue.MAX_ATTEMPTS_DEFAULT);
+        final long retryBackoffMillis =
+                getLong(properties, KEY_RETRY_BACKOFF_MILLIS, DeliveryQueue.RETRY_BACKOFF_MILLIS_DEFAULT);
+        shutdownTimeoutMillis = getLong(properties, KEY_SHUTDOWN_TIMEOUT_MILLIS, SHUTDOWN_TIMEOUT_MILLIS_DEFAULT);
+
+        deliveryQueue = new DeliveryQueue(
+                workers, capacity, batchSize, maxAttempts, retryBackoffMillis,
+                new DeliveryQueue.Deliverer() {
+                    @Override
+                    public void deliver(final List<Delivery> batch) {
+                        deliverInSession(batch);
+                    }
+                },
+                new DeliveryQueue.DeadLetterHandler() {
+                    @Override
+                    public void deadLetter(final Delivery delivery, final RuntimeException cause) {
+                        deadLetterInSession(delivery, cause);
+                    }
+                });
+        deliveryQueue.start();
+
+        LOG.info("Delivering audit entries and published objects asynchronously "
+                + "(workers: {}, capacity: {}, batchSize: {}, maxAttempts: {})",
+                workers, capacity, batchSize, maxAttempts);
+    }
+
+    private static int getInt(final Map<String, String> properties, final String key, final int defaultValue) {
+        final String value = properties.get(key);
+        return value != null ? Integer.parseInt(value.trim()) : defaultValue;
+    }
+
+    private static long getLong(final Map<String, String> properties, final String key, final long defaultValue) {
+        final String value = properties.get(key);
+        return value != null ? Long.parseLong(value.trim()) : defaultValue;
+    }
+
+    @Programmatic
+    @PreDestroy
+    public void shutdown() {
+        if(deliveryQueue == null) {
+            return;
+        }
+        // the queue is retained, so that any transactions committing after this still have their deliveries
+        // delivered (synchronously)
+        deliveryQueue.shutdown(shutdownTimeoutMillis);
+    }
+
+    //endregion
+
+    //region > isAsynchronous, enlist, enqueueEnlisted, discardEnlisted
+
+    /**
+     * Whether audit entries and published objects should be {@link #enlistAuditEntry(AuditerService2.Entry) enlisted}
+     * for asynchronous delivery (rather than being delivered synchronously).
+     */
+    @Programmatic
+    public boolean isAsynchronous() {
+        return deliveryQueue != null;
+    }
+
+    @Programmatic
+    public void enlistAuditEntry(final AuditerService2.Entry auditEntry) {
+        enlistedFor(auditEntry.getTransactionId()).addAuditEntry(auditEntry);
+    }
+
+    /**
+     * The published objects should be fully materialized (in particular, its {@link PublishedObjects#getDto() dto}
+     * computed), as it will be delivered by a different thread once the transaction has committed.
+     */
+    @Programmatic
+    public void enlistPublishedObjects(final PublishedObjects publishedObjects) {
+        enlistedFor(publishedObjects.getTransactionId()).addPublishedObjects(publishedObjects);
+    }
+
+    private Delivery enlistedFor(final UUID transactionId) {
+        Delivery delivery = enlisted.get();
+        if(delivery == null) {
+            delivery = new Delivery(transactionId);
+            enlisted.set(delivery);
+        }
+        return delivery;
+    }
+
+    /**
+     * Called once the current thread's transaction has committed.
+     */
+    @Programmatic
+    public void enqueueEnlisted() {
+        final Delivery delivery = enlisted.get();
+        enlisted.remove();
+        if(delivery == null || delivery.isEmpty()) {
+            return;
+        }
+        deliveryQueue.enqueue(delivery);
+    }
+
+    /**
+     * Called if the current thread's transaction has aborted.
+     */
+    @Programmatic
+    public void discardEnlisted() {
+        enlisted.remove();
+    }
+
+    //endregion
+
+    //region > metrics
+
+    /**
+     * The number of transactions whose audit entries and published objects are waiting to be delivered.
+     */
+    @Programmatic
+    public int getQueueDepth() {
+        final DeliveryQueue deliveryQueue = this.deliveryQueue;
+        return deliveryQueue != null ? deliveryQueue.getQueueDepth() : 0;
+    }
+
+    /**
+     * How long (in millis) the oldest transaction waiting to be delivered has been waiting.
+     */
+    @Programmatic
+    public long getLagMillis() {
+        final DeliveryQueue deliveryQueue = this.deliveryQueue;
+        return deliveryQueue != null ? deliveryQueue.getLagMillis() : 0L;
+    }
+
+    @Programmatic
+    public long getNumberDelivered() {
+        final DeliveryQueue deliveryQueue = this.deliveryQueue;
+        return deliveryQueue != null ? deliveryQueue.getNumberDelivered() : 0L;
+    }
+
+    @Programmatic
+    public long getNumberFailed() {
+        final DeliveryQueue deliveryQueue = this.deliveryQueue;
+        return deliveryQueue != null ? deliveryQueue.getNumberFailed() : 0L;
+    }
+
+    //endregion
+
+    //region > deliver
+
+    private void deliverInSession(final List<Delivery> batch) {
+        inSession(new Runnable() {
+            @Override
+            public void run() {
+                deliver(batch);
+            }
+        });
+    }
+
+    /**
+     * Delivers to each subscriber in its own transaction, skipping any to which (some of) the batch was delivered
+     * by an earlier attempt, so that a subscriber that fails does not cause the others to receive duplicates when
+     * the batch is retried.
+     */
+    private void deliver(final List<Delivery> batch) {
+        RuntimeException firstFailure = null;
+        for (final AuditerService auditerService : auditerServices) {
+            if (!auditerService.isEnabled()) {
+                continue;
+            }
+            firstFailure = firstOf(firstFailure, auditTo(auditerService, batch));
+        }
+        for (final PublisherService publisherService : publisherServices) {
+            firstFailure = firstOf(firstFailure, publishTo(publisherService, batch));
+        }
+        if(firstFailure != null) {
+            throw firstFailure;
+        }
+    }
+
+    private static RuntimeException firstOf(final RuntimeException firstFailure, final RuntimeException failure) {
+        if(firstFailure == null) {
+            return failure;
+        }
+        if(failure != null) {
+            LOG.debug("Also failed to deliver", failure);
+        }
+        return firstFailure;
+    }
+
+    private RuntimeException auditTo(final AuditerService auditerService, final List<Delivery> batch) {
+        final List<Delivery> pending = pendingFor(auditerService, batch);
+        final List<AuditerService2.Entry> auditEntries = Lists.newArrayList();
+        for (final Delivery delivery : pending) {
+            auditEntries.addAll(delivery.getAuditEntries());
+        }
+        if(auditEntries.isEmpty()) {
+            return null;
+        }
+        return deliverTo(auditerService, pending, new TransactionalClosure() {
+            @Override
+            public void execute() {
+                audit(auditerService, auditEntries);
+            }
+        });
+    }
+
+    private RuntimeException publishTo(final PublisherService publisherService, final List<Delivery> batch) {
+        final List<Delivery> pending = pendingFor(publisherService, batch);
+        final List<PublishedObjects> publishedObjectsList = Lists.newArrayList();
+        for (final Delivery delivery : pending) {
+            publishedObjectsList.addAll(delivery.getPublishedObjects());
+        }
+        if(publishedObjectsList.isEmpty()) {
+            return null;
+        }
+        return deliverTo(publisherService, pending, new TransactionalClosure() {
+            @Override
+            public void execute() {
+                publish(publisherService, publishedObjectsList);
+            }
+        });
+    }
+
+    private static List<Delivery> pendingFor(final Object subscriber, final List<Delivery> batch) {
+        final List<Delivery> pending = Lists.newArrayList();
+        for (final Delivery delivery : batch) {
+            if(!delivery.isDeliveredTo(subscriber)) {
+                pending.add(delivery);
+            }
+        }
+        return pending;
+    }
+
+    /**
+     * @return the cause if could not be delivered, else <tt>null</tt> (having recorded the deliveries as delivered
+     * to the subscriber).
+     */
+    private RuntimeException deliverTo(
+            final Object subscriber,
+            final List<Delivery> pending,
+            final TransactionalClosure closure) {
+        try {
+            inTransaction(closure);
+        } catch(final RuntimeException ex) {
+            return ex;
+        }
+        for (final Delivery delivery : pending) {
+            delivery.deliveredTo(subscriber);
+        }
+        return null;
+    }
+
+    private static void audit(final AuditerService auditerService, final List<AuditerService2.Entry> auditEntries) {
+        if(auditerService instanceof AuditerService2) {
+            ((AuditerService2) auditerService).audit(auditEntries);
+            return;
+        }
+        for (final AuditerService2.Entry entry : auditEntries) {
+            auditerService.audit(
+                    entry.getTransactionId(), entry.getSequence(),
+                    entry.getTargetClassName(), entry.getTarget(),
+                    entry.getMemberIdentifier(), entry.getPropertyName(),
+                    entry.getPreValue(), entry.getPostValue(),
+                    entry.getUsername(), entry.getTimestamp());
+        }
+    }
+
+    private static void publish(
+            final PublisherService publisherService,
+            final List<PublishedObjects> publishedObjectsList) {
+        if(publisherService instanceof PublisherService2) {
+            ((PublisherService2) publisherService).publish(publishedObjectsList);
+            return;
+        }
+        for (final PublishedObjects publishedObjects : publishedObjectsList) {
+            publisherService.publish(publishedObjects);
+        }
+    }
+
+    //endregion
+
+    //region > dead letters
+
+    private void deadLetterInSession(final Delivery delivery, final RuntimeException cause) {
+        if(deadLetterServices.isEmpty()) {
+            DeliveryQueue.LOG_DEAD_LETTERS.deadLetter(delivery, cause);
+            return;
+        }
+        final List<Object> undeliveredTo = undeliveredTo(delivery);
+        try {
+            inSession(new Runnable() {
+                @Override
+                public void run() {
+                    inTransaction(new TransactionalClosure() {
+                        @Override
+                        public void execute() {
+                            for (final DeadLetterService deadLetterService : deadLetterServices) {
+                                deadLetterService.deadLetter(
+                                        delivery.getTransactionId(),
+                                        delivery.getAuditEntries(), delivery.getPublishedObjects(),
+                                        undeliveredTo, cause);
+                            }
+                        }
+                    });
+                }
+            });
+        } catch(final RuntimeException ex) {
+            LOG.error("Dead letter service failed for {}", delivery, ex);
+            DeliveryQueue.LOG_DEAD_LETTERS.deadLetter(delivery, cause);
+        }
+    }
+
+    private List<Object> undeliveredTo(final Delivery delivery) {
+        final List<Object> undeliveredTo = Lists.newArrayList();
+        if(!delivery.getAuditEntries().isEmpty()) {
+            for (final AuditerService auditerService : auditerServices) {
+                if(auditerService.isEnabled() && !delivery.isDeliveredTo(auditerService)) {
+                    undeliveredTo.add(auditerService);
+                }
+            }
+        }
+        if(!delivery.getPublishedObjects().isEmpty()) {
+            for (final PublisherService publisherService : publisherServices) {
+                if(!delivery.isDeliveredTo(publisherService)) {
+                    undeliveredTo.add(publisherService);
+                }
+            }
+        }
+        return undeliveredTo;
+    }
+
+    //endregion
+
+    //region > session, transaction (overridable for testing)
+
+    void inSession(final Runnable runnable) {
+        isisSessionFactory.doInSession(runnable);
+    }
+
+    void inTransaction(final TransactionalClosure closure) {
+        final IsisTransactionManager transactionManager =
+                isisSessionFactory.getCurrentSession().getPersistenceSession().getTransactionManager();
+        transactionManager.executeWithinTransaction(closure);
+    }
+
+    //endregion
+
+    //region > injected services
+
+    @javax.inject.Inject
+    List<AuditerService> auditerServices;
+
+    @javax.inject.Inject
+    List<PublisherService> publisherServices;
+
+    @javax.inject.Inject
+    List<DeadLetterService> deadLetterServices;
+
+    @javax.inject.Inject
+    IsisSessionFactory isisSessionFactory;
+
+    //endregion
+
+}
@@ -0,0 +1,443 @@
+/**
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.isis.core.runtime.services.memento;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.Charset;
+import java.util.Date;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import com.google.common.collect.Maps;
+import com.google.common.io.BaseEncoding;
+import com.google.common.io.ByteStreams;
+import com.google.common.primitives.Primitives;
+
+import org.joda.time.LocalDate;
+
+import org.apache.isis.applib.services.bookmark.Bookmark;
+import org.apache.isis.core.commons.exceptions.IsisException;
+import org.apache.isis.core.runtime.services.memento.Dom4jUtil.Parseable;
+
+/**
+ * Compact binary alternative to the XML format of {@link Dom4jUtil}.
+ *
+ * <p>
+ * The format is a header byte (version, and whether the remainder is deflated) followed by the number of entries,
+ * then for each entry its name, a tag byte for the type of its value, and the value itself.  Strings and byte arrays
+ * are length-prefixed, and integral values (and lengths) are written as variable-length integers.  The bytes are then
+ * base-64 URL encoded, following a {@link #PREFIX prefix} that distinguishes them from the XML format.
+ */
+class BinaryMementoUtil {
+
+    private BinaryMementoUtil(){}
+
+    /**
+     * Neither a base-64 URL character, nor the start of an XML document, nor an oid separator (mementos are used as
+     * the identifiers of view models).
+     */
+    static final String PREFIX = ".";
+
+    private static final int VERSION_1 = 1;
+    private static final int FLAG_DEFLATED = 0x80;
+
+    /**
+     * Smaller payloads are not worth attempting to deflate.
+     */
+    private static final int DEFLATE_THRESHOLD_BYTES = 64;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final BaseEncoding BASE_ENCODING = BaseEncoding.base64Url().omitPadding();
+
+    static boolean isBinary(final String str) {
+        return str.startsWith(PREFIX);
+    }
+
+    static String asString(final Map<String, Object> values) {
+        return PREFIX + BASE_ENCODING.encode(toBytes(values));
+    }
+
+    static Map<String, Object> parse(final String str) {
+        return fromBytes(BASE_ENCODING.decode(str.substring(PREFIX.length())));
+    }
+
+    /**
+     * @param cls - see {@link Parseable}
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T get(final Object value, final Class<T> cls) {
+        Parseable.assertSupported(cls);
+        if(value == null) {
+            return null;
+        }
+        if(Primitives.wrap(cls).isInstance(value)) {
+            return (T) value;
+        }
+        // eg an int read as a long, or an enum (held by name)
+        return Parseable.parse(Parseable.format(value), cls);
+    }
+
+    // //////////////////////////////////////
+
+    static byte[] toBytes(final Map<String, Object> values) {
+        try {
+            final ByteArrayOutputStream body = new ByteArrayOutputStream();
+            final DataOutputStream out = new DataOutputStream(body);
+            writeVarLong(out, values.size());
+            for (final Map.Entry<String, Object> entry : values.entrySet()) {
+                writeString(out, entry.getKey());
+                final Object value = entry.getValue();
+                final Tag tag = Tag.of(value);
+                out.writeByte(tag.code);
+                tag.write(out, value);
+            }
+            out.flush();
+
+            byte[] bytes = body.toByteArray();
+            int header = VERSION_1;
+            if(bytes.length >= DEFLATE_THRESHOLD_BYTES) {
+                final byte[] deflated = deflate(bytes);
+                if(deflated.length < bytes.length) {
+                    bytes = deflated;
+                    header |= FLAG_DEFLATED;
+                }
+            }
+
+            final byte[] result = new byte[bytes.length + 1];
+            result[0] = (byte) header;
+            System.arraycopy(bytes, 0, result, 1, bytes.length);
+            return result;
+        } catch (final IOException ex) {
+            throw new IsisException(ex);
+        }
+    }
+
+    static Map<String, Object> fromBytes(final byte[] bytes) {
+        final int header = bytes.length > 0 ? bytes[0] & 0xFF : -1;
+        if((header & ~FLAG_DEFLATED) != VERSION_1) {
+            throw new IsisException("Unrecognised memento format");
+        }
+        final boolean deflated = (header & FLAG_DEFLATED) != 0;
+        try {
+            InputStream body = new ByteArrayInputStream(bytes, 1, bytes.length - 1);
+            if(deflated) {
+                body = new InflaterInputStream(body, new Inflater(true));
+            }
+            final DataInputStream in = new DataInputStream(body);
+            final int size = (int) readVarLong(in);
+            final Map<String, Object> values = Maps.newLinkedHashMap();
+            for (int i = 0; i < size; i++) {
+                final String name = readString(in);
+                final Tag tag = Tag.of(in.readByte());
+                values.put(name, tag.read(in));
+            }
+            return values;
+        } catch (final IOException ex) {
+            throw new IsisException(ex);
+        }
+    }
+
+    private static byte[] deflate(final byte[] bytes) throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        try {
+            final DeflaterOutputStream out = new DeflaterOutputStream(baos, deflater);
+            out.write(bytes);
+            out.close();
+        } finally {
+            deflater.end();
+        }
+        return baos.toByteArray();
+    }
+
+    // //////////////////////////////////////
+
+    /**
+     * The type of each value, as written to the binary format; the codes must therefore never change.
+     */
+    enum Tag {
+        NULL(0) {
+            @Override
+            void write(final DataOutputStream out, final Object value) {
+            }
+            @Override
+            Object read(final DataInputStream in) {
+                return null;
+            }
+        },
+        STRING(1) {
+            @Override
+            void write(final DataOutputStream out, final Object value) throws IOException {
+                // as for the XML format, unsupported types are held as their toString()
+                writeString(out, value.toString());
+            }
+            @Override
+            Object read(final DataInputStream in) throws IOException {
+                return readString(in);
+            }
+        },
+        BOOLEAN(2) {
+            @Override
+            void write(final DataOutputStream out, final Object value) throws IOException {
+                out.writeBoolean((Boolean) value);
+            }
+            @Override
+            Object read(final DataInputStream in) throws IOException {
+                return in.readBoolean();
+            }
+        },
+        BYTE(3) {
+            @Override
+            void write(final DataOutputStream out, final Object value) throws IOException {
+                out.writeByte((Byte) value);
+            }
+            @Override
+            Object read(final DataInputStream in) throws IOException {
+                return in.readByte();
+            }
+        },
+        SHORT(4) {
+            @Override
+            void write(final DataOutputStream out, final Object value) throws IOException {
+                writeVarLong(out, zigZag((Short) value));
+            }
+            @Override
+            Object read(final DataInputStream in) throws IOException {
+                return (short) unZigZag(readVarLong(in));
+            }
+        },
+        INTEGER(5) {
+            @Override
+            void write(final DataOutputStream out, final Object value) throws IOException {
+                writeVarLong(out, zigZag((Integer) value));
+            }
+            @Override
+            Object read(final DataInputStream in) throws IOException {
+                return (int) unZigZag(readVarLong(in));
+            }
+        },
+        LONG(6) {
+            @Override
+            void write(final DataOutputStream out, final Object value) throws IOException {
+                writeVarLong(out, zigZag((Long) value));
+            }
+            @Override
+            Object read(final DataInputStream in) throws IOException {
+                return unZigZag(readVarLong(in));
+            }
+        },
+        FLOAT(7) {
+            @Override
+            void write(final DataOutputStream out, final Object value) throws IOException {
+                out.writeFloat((Float) value);
+            }
+            @Override
+            Object read(final DataInputStream in) throws IOException {
+                return in.readFloat();
+            }
+        },
+        DOUBLE(8) {
+            @Override
+            void write(final DataOutputStream out, final Object value) throws IOException {
+                out.writeDouble((Double) value);
+            }
+            @Override
+            Object read(final DataInputStream in) throws IOException {
+                return in.readDouble();
+            }
+        },
+        BIG_DECIMAL(9) {
+            @Override
+            void write(final DataOutputStream out, final Object value) throws IOException {
+                final BigDecimal bigDecimal = (BigDecimal) value;
+                writeBytes(out, bigDecimal.unscaledValue().toByteArray());
+                writeVarLong(out, zigZag(bigDecimal.scale()));
+            }
+            @Override
+            Object read(final DataInputStream in) throws IOException {
+                final BigInteger unscaledValue = new BigInteger(readBytes(in));
+                return new BigDecimal(unscaledValue, (int) unZigZag(readVarLong(in)));
+            }
+        },
+        BIG_INTEGER(10) {
+            @Override
+            void write(final DataOutputStream out, final Object value) throws IOException {
+                writeBytes(out, ((BigInteger) value).toByteArray());
+            }
+            @Override
+            Object read(final DataInputStream in) throws IOException {
+                return new BigInteger(readBytes(in));
+            }
+        },
+        LOCAL_DATE(11) {
+            @Override
+            void write(final DataOutputStream out, final Object value) throws IOException {
+                final LocalDate localDate = (LocalDate) value;
+                writeVarLong(out, zigZag(localDate.getYear()));
+                out.writeByte(localDate.getMonthOfYear());
+                out.writeByte(localDate.getDayOfMonth());
+            }
+            @Override
+            Object read(final DataInputStream in) throws IOException {
+                final int year = (int) unZigZag(readVarLong(in));
+                return new LocalDate(year, in.readByte(), in.readByte());
+            }
+        },
+        JAVA_UTIL_DATE(12) {
+            @Override
+            void write(final DataOutputStream out, final Object value) throws IOException {
+                writeVarLong(out, zigZag(((Date) value).getTime()));
+            }
+            @Override
+            Object read(final DataInputStream in) throws IOException {
+                return new Date(unZigZag(readVarLong(in)));
+            }
+        },
+        ENUM(13) {
+            @Override
+            void write(final DataOutputStream out, final Object value) throws IOException {
+                writeString(out, ((Enum<?>) value).name());
+            }
+            /**
+             * The enum's class is not known until {@link BinaryMementoUtil#get(Object, Class) read}, so held by name.
+             */
+            @Override
+            Object read(final DataInputStream in) throws IOException {
+                return readString(in);
+            }
+        },
+        BOOKMARK(14) {
+            @Override
+            void write(final DataOutputStream out, final Object value) throws IOException {
+                writeString(out, value.toString());
+            }
+            @Override
+            Object read(final DataInputStream in) throws IOException {
+                return new Bookmark(readString(in));
+            }
+        };
+
+        private static final Tag[] BY_CODE;
+        static {
+            BY_CODE = new Tag[values().length];
+            for (final Tag tag : values()) {
+                BY_CODE[tag.code] = tag;
+            }
+        }
+
+        private final int code;
+
+        Tag(final int code) {
+            this.code = code;
+        }
+
+        abstract void write(final DataOutputStream out, final Object value) throws IOException;
+        abstract Object read(final DataInputStream in) throws IOException;
+
+        static Tag of(final int code) {
+            if(code < 0 || code >= BY_CODE.length) {
+                throw new IsisException("Unrecognised memento value type: " + code);
+            }
+            return BY_CODE[code];
+        }
+
+        static Tag of(final Object value) {
+            if(value == null) { return NULL; }
+            if(value instanceof String) { return STRING; }
+            if(value instanceof Boolean) { return BOOLEAN; }
+            if(value instanceof Byte) { return BYTE; }
+            if(value instanceof Short) { return SHORT; }
+            if(value instanceof Integer) { return INTEGER; }
+            if(value instanceof Long) { return LONG; }
+            if(value instanceof Float) { return FLOAT; }
+            if(value instanceof Double) { return DOUBLE; }
+            if(value instanceof BigDecimal) { return BIG_DECIMAL; }
+            if(value instanceof BigInteger) { return BIG_INTEGER; }
+            if(value instanceof LocalDate) { return LOCAL_DATE; }
+            if(value instanceof Date) { return JAVA_UTIL_DATE; }
+            if(value instanceof Enum) { return ENUM; }
+            if(value instanceof Bookmark) { return BOOKMARK; }
+            return STRING;
+        }
+    }
+
+    // //////////////////////////////////////
+
+    private static void writeString(final DataOutputStream out, final String str) throws IOException {
+        writeBytes(out, str.getBytes(UTF_8));
+    }
+
+    private static String readString(final DataInputStream in) throws IOException {
+        return new String(readBytes(in), UTF_8);
+    }
+
+    private static void writeBytes(final DataOutputStream out, final byte[] bytes) throws IOException {
+        writeVarLong(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(final DataInputStream in) throws IOException {
+        final byte[] bytes = new byte[(int) readVarLong(in)];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    /**
+     * Unsigned, 7 bits per byte (least significant first), with the top bit set if more bytes follow.
+     */
+    private static void writeVarLong(final DataOutputStream out, long value) throws IOException {
+        while((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(final DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            final int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IsisException("Malformed memento; variable-length integer too long");
+    }
+
+    /**
+     * So that small negative numbers are also written in few bytes.
+     */
+    private static long zigZag(final long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(final long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+}
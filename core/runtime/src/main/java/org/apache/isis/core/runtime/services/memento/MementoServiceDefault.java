@@ -17,12 +17,15 @@
 package org.apache.isis.core.runtime.services.memento;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 
 import com.google.common.base.Function;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 
 import org.dom4j.Document;
@@ -43,6 +46,11 @@
  * This implementation has no UI and there are no other implementations of the service API, and so it annotated
  * with {@link org.apache.isis.applib.annotation.DomainService}.  Because this class is implemented in core, this means
  * that it is automatically registered and available for use; no further configuration is required.
+ *
+ * <p>
+ * Mementos are created either as (URL encoded) XML, or - if {@value #KEY_FORMAT} is set to <tt>binary</tt> - in a
+ * more compact binary format (see {@link BinaryMementoUtil}).  Either format can always be {@link #parse(String) parsed},
+ * irrespective of this setting.
  */
 @DomainService(
         nature = NatureOfService.DOMAIN
@@ -117,12 +125,78 @@ public String toString() {
 
     }
 
+    /**
+     * Holds the values themselves (rather than as XML), and is always base-64 URL encoded.
+     */
+    static class MementoBinary implements Memento {
+
+        private final Map<String, Object> values;
+
+        MementoBinary() {
+            this(Maps.<String, Object>newLinkedHashMap());
+        }
+
+        MementoBinary(final Map<String, Object> values) {
+            this.values = values;
+        }
+
+        @Override
+        public Memento set(final String name, final Object value) {
+            // as for the XML format, the first value set wins
+            if(!values.containsKey(name)) {
+                values.put(name, value);
+            }
+            return this;
+        }
+
+        @Override
+        public <T> T get(final String name, final Class<T> cls) {
+            return BinaryMementoUtil.get(values.get(name), cls);
+        }
+
+        @Override
+        public String asString() {
+            return BinaryMementoUtil.asString(values);
+        }
+
+        @Override
+        public Set<String> keySet() {
+            return Sets.newLinkedHashSet(values.keySet());
+        }
+
+        // //////////////////////////////////////
+
+        @Override
+        public String toString() {
+            return values.toString();
+        }
+
+    }
+
     // //////////////////////////////////////
 
+    public static final String KEY_FORMAT = "isis.services.memento.format";
+
+    enum Format {
+        XML,
+        BINARY
+    }
+
     private boolean noEncoding;
+    private Format format;
     
     public MementoServiceDefault() {
         this.noEncoding = false;
+        this.format = Format.XML;
+    }
+
+    @Programmatic
+    @PostConstruct
+    public void init(final Map<String, String> properties) {
+        final String formatStr = properties.get(KEY_FORMAT);
+        if(formatStr != null) {
+            this.format = Format.valueOf(formatStr.trim().toUpperCase());
+        }
     }
 
     /**
@@ -133,19 +207,33 @@ public MementoServiceDefault withNoEncoding() {
         this.noEncoding = true;
         return this;
     }
+
+    /**
+     * Not public API.
+     */
+    @Programmatic
+    public MementoServiceDefault withBinaryFormat() {
+        this.format = Format.BINARY;
+        return this;
+    }
     
     // //////////////////////////////////////
 
     @Programmatic
     @Override
     public Memento create() {
-        return new MementoDefault(noEncoding, urlEncodingService);
+        return format == Format.BINARY
+                ? new MementoBinary()
+                : new MementoDefault(noEncoding, urlEncodingService);
     }
 
 
     @Programmatic
     @Override
     public Memento parse(String str) {
+        if (BinaryMementoUtil.isBinary(str)) {
+            return new MementoBinary(BinaryMementoUtil.parse(str));
+        }
         String xmlStr;
         if (noEncoding) {
             xmlStr = str;
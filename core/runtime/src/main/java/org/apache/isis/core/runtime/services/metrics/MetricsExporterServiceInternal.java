@@ -0,0 +1,123 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.applib.services.metrics.MetricsService2;
+import org.apache.isis.core.metamodel.interactions.InteractionUtils;
+
+/**
+ * Optionally (using {@value #KEY_JMX_ENABLED}) accumulates the {@link MetricsService2 metrics} of every transaction
+ * into {@link MetricsTotals}, registered as an MBean (named {@value #KEY_JMX_OBJECT_NAME_DEFAULT} unless overridden
+ * using {@value #KEY_JMX_OBJECT_NAME}) with the platform MBean server.
+ *
+ * <p>
+ * Also enables (using {@value #KEY_FACET_CHECKS_TIMED}) the timing of {@link MetricsService2#facetCheckMillis() facet
+ * checks}, which are otherwise not timed.
+ */
+@DomainService(nature = NatureOfService.DOMAIN)
+public class MetricsExporterServiceInternal {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MetricsExporterServiceInternal.class);
+
+    public static final String KEY_FACET_CHECKS_TIMED = "isis.services.metrics.facetChecks.timed";
+    public static final String KEY_JMX_ENABLED = "isis.services.metrics.jmx.enabled";
+    public static final String KEY_JMX_OBJECT_NAME = "isis.services.metrics.jmx.objectName";
+    public static final String KEY_JMX_OBJECT_NAME_DEFAULT = "org.apache.isis:type=Metrics";
+
+    private MetricsTotals metricsTotals;
+    private ObjectName objectName;
+
+    @Programmatic
+    @PostConstruct
+    public void init(final Map<String, String> properties) {
+        InteractionUtils.setFacetChecksTimed(Boolean.parseBoolean(properties.get(KEY_FACET_CHECKS_TIMED)));
+
+        if(!Boolean.parseBoolean(properties.get(KEY_JMX_ENABLED))) {
+            return;
+        }
+        final String objectNameIfAny = properties.get(KEY_JMX_OBJECT_NAME);
+        final MetricsTotals metricsTotals = new MetricsTotals();
+        try {
+            final ObjectName objectName = new ObjectName(
+                    objectNameIfAny != null ? objectNameIfAny : KEY_JMX_OBJECT_NAME_DEFAULT);
+            ManagementFactory.getPlatformMBeanServer().registerMBean(metricsTotals, objectName);
+            this.objectName = objectName;
+        } catch (final JMException ex) {
+            LOG.warn("Unable to register metrics MBean; metrics will not be exported over JMX", ex);
+            return;
+        }
+        this.metricsTotals = metricsTotals;
+    }
+
+    @Programmatic
+    @PreDestroy
+    public void shutdown() {
+        InteractionUtils.setFacetChecksTimed(false);
+
+        if(objectName == null) {
+            return;
+        }
+        final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        try {
+            if(mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+        } catch (final JMException ex) {
+            LOG.warn("Unable to unregister metrics MBean", ex);
+        }
+        objectName = null;
+        metricsTotals = null;
+    }
+
+    /**
+     * Called by {@link MetricsServiceDefault} at the end of each transaction.
+     */
+    @Programmatic
+    public void accumulate(final MetricsServiceDefault metrics) {
+        final MetricsTotals metricsTotals = this.metricsTotals;
+        if(metricsTotals == null) {
+            return;
+        }
+        metricsTotals.add(metrics);
+    }
+
+    /**
+     * The totals, or <tt>null</tt> if not enabled.
+     */
+    @Programmatic
+    public MetricsTotalsMBean getMetricsTotals() {
+        return metricsTotals;
+    }
+
+}
@@ -18,10 +18,11 @@
  */
 package org.apache.isis.core.runtime.services.metrics;
 
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.enterprise.context.RequestScoped;
-import javax.inject.Inject;
 import javax.jdo.listener.InstanceLifecycleEvent;
 import javax.jdo.listener.InstanceLifecycleListener;
 import javax.jdo.listener.LoadLifecycleListener;
@@ -29,15 +30,35 @@
 import org.apache.isis.applib.annotation.DomainService;
 import org.apache.isis.applib.annotation.NatureOfService;
 import org.apache.isis.applib.annotation.Programmatic;
-import org.apache.isis.applib.services.metrics.MetricsService;
-import org.apache.isis.core.runtime.services.changes.ChangedObjectsServiceInternal;
 import org.apache.isis.applib.services.WithTransactionScope;
+import org.apache.isis.applib.services.metrics.MetricsService2;
+import org.apache.isis.core.metamodel.interactions.InteractionUtils;
+import org.apache.isis.core.metamodel.services.metrics.MetricsServiceInternal;
+import org.apache.isis.core.runtime.services.changes.ChangedObjectsServiceInternal;
 
 @RequestScoped
 @DomainService(nature = NatureOfService.DOMAIN)
-public class MetricsServiceDefault implements MetricsService, InstanceLifecycleListener, LoadLifecycleListener, WithTransactionScope {
+public class MetricsServiceDefault
+        implements MetricsService2, MetricsServiceInternal,
+                   InstanceLifecycleListener, LoadLifecycleListener, WithTransactionScope {
 
     private AtomicInteger numberLoaded = new AtomicInteger(0);
+    private AtomicInteger numberQueriesExecuted = new AtomicInteger(0);
+    private AtomicLong queryExecutionNanos = new AtomicLong(0);
+    private AtomicInteger numberFlushes = new AtomicInteger(0);
+    private AtomicLong flushNanos = new AtomicLong(0);
+    private AtomicInteger numberAdaptersCreated = new AtomicInteger(0);
+    private AtomicInteger numberDomainEventsPosted = new AtomicInteger(0);
+    private AtomicInteger numberLevel2CacheHits = new AtomicInteger(0);
+    private AtomicInteger numberLevel2CacheMisses = new AtomicInteger(0);
+
+    /**
+     * Facet checks are timed (per thread) by {@link InteractionUtils}; this is the value at the start of the
+     * transaction.
+     */
+    private long facetCheckNanosAtStart = InteractionUtils.getFacetCheckNanos();
+
+    //region > MetricsService2 impl
 
     @Override
     public int numberObjectsLoaded() {
@@ -49,12 +70,117 @@ public int numberObjectsDirtied() {
         return changedObjectsServiceInternal.numberObjectsDirtied();
     }
 
+    @Override
+    public int numberQueriesExecuted() {
+        return numberQueriesExecuted.get();
+    }
+
+    @Override
+    public long queryExecutionMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(queryExecutionNanos.get());
+    }
+
+    @Override
+    public int numberFlushes() {
+        return numberFlushes.get();
+    }
+
+    @Override
+    public long flushMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(flushNanos.get());
+    }
+
+    @Override
+    public int numberAdaptersCreated() {
+        return numberAdaptersCreated.get();
+    }
+
+    @Override
+    public int numberDomainEventsPosted() {
+        return numberDomainEventsPosted.get();
+    }
+
+    @Override
+    public long facetCheckMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(facetCheckNanos());
+    }
+
+    @Override
+    public int numberLevel2CacheHits() {
+        return numberLevel2CacheHits.get();
+    }
+
+    @Override
+    public int numberLevel2CacheMisses() {
+        return numberLevel2CacheMisses.get();
+    }
+
+    /*
+     * The durations, unconverted, so that they can be accumulated (by {@link MetricsTotals}) without truncation.
+     */
+
+    long queryExecutionNanos() {
+        return queryExecutionNanos.get();
+    }
+
+    long flushNanos() {
+        return flushNanos.get();
+    }
+
+    long facetCheckNanos() {
+        return InteractionUtils.getFacetCheckNanos() - facetCheckNanosAtStart;
+    }
+
+    //endregion
+
+    //region > MetricsServiceInternal impl, LoadLifecycleListener impl
+
+    @Programmatic
+    @Override
+    public void queryExecuted(final long nanos) {
+        numberQueriesExecuted.incrementAndGet();
+        queryExecutionNanos.addAndGet(nanos);
+    }
+
+    @Programmatic
+    @Override
+    public void flushed(final long nanos) {
+        numberFlushes.incrementAndGet();
+        flushNanos.addAndGet(nanos);
+    }
+
+    @Programmatic
+    @Override
+    public void adapterCreated() {
+        numberAdaptersCreated.incrementAndGet();
+    }
+
+    @Programmatic
+    @Override
+    public void domainEventPosted() {
+        numberDomainEventsPosted.incrementAndGet();
+    }
+
+    @Programmatic
+    @Override
+    public void level2CacheHit() {
+        numberLevel2CacheHits.incrementAndGet();
+    }
+
+    @Programmatic
+    @Override
+    public void level2CacheMiss() {
+        numberLevel2CacheMisses.incrementAndGet();
+    }
+
     @Programmatic
     @Override
     public void postLoad(final InstanceLifecycleEvent event) {
         numberLoaded.incrementAndGet();
     }
 
+    //endregion
+
     /**
      * Intended to be called at the end of a transaction.  (This service really ought to be considered
      * a transaction-scoped service; since that isn't yet supported by the framework, we have to manually reset).
@@ -62,10 +188,24 @@ public void postLoad(final InstanceLifecycleEvent event) {
     @Programmatic
     @Override
     public void resetForNextTransaction() {
+        metricsExporterServiceInternal.accumulate(this);
+
         numberLoaded.set(0);
+        numberQueriesExecuted.set(0);
+        queryExecutionNanos.set(0);
+        numberFlushes.set(0);
+        flushNanos.set(0);
+        numberAdaptersCreated.set(0);
+        numberDomainEventsPosted.set(0);
+        numberLevel2CacheHits.set(0);
+        numberLevel2CacheMisses.set(0);
+        facetCheckNanosAtStart = InteractionUtils.getFacetCheckNanos();
     }
 
     @javax.inject.Inject
     ChangedObjectsServiceInternal changedObjectsServiceInternal;
 
+    @javax.inject.Inject
+    MetricsExporterServiceInternal metricsExporterServiceInternal;
+
 }
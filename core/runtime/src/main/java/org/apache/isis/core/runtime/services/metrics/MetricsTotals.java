@@ -0,0 +1,132 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.isis.applib.services.metrics.MetricsService2;
+
+/**
+ * The {@link MetricsService2 metrics} of all transactions (since startup or the last {@link #reset()}), as exposed
+ * over JMX by {@link MetricsExporterServiceInternal}.
+ *
+ * <p>
+ * Durations are accumulated in nanos and only converted to millis when read, so that the many sub-millisecond
+ * durations of short transactions are not each truncated to zero.
+ */
+public class MetricsTotals implements MetricsTotalsMBean {
+
+    private final AtomicLong numberTransactions = new AtomicLong();
+    private final AtomicLong numberObjectsLoaded = new AtomicLong();
+    private final AtomicLong numberQueriesExecuted = new AtomicLong();
+    private final AtomicLong queryExecutionNanos = new AtomicLong();
+    private final AtomicLong numberFlushes = new AtomicLong();
+    private final AtomicLong flushNanos = new AtomicLong();
+    private final AtomicLong numberAdaptersCreated = new AtomicLong();
+    private final AtomicLong numberDomainEventsPosted = new AtomicLong();
+    private final AtomicLong facetCheckNanos = new AtomicLong();
+    private final AtomicLong numberLevel2CacheHits = new AtomicLong();
+    private final AtomicLong numberLevel2CacheMisses = new AtomicLong();
+
+    void add(final MetricsServiceDefault metrics) {
+        numberTransactions.incrementAndGet();
+        numberObjectsLoaded.addAndGet(metrics.numberObjectsLoaded());
+        numberQueriesExecuted.addAndGet(metrics.numberQueriesExecuted());
+        queryExecutionNanos.addAndGet(metrics.queryExecutionNanos());
+        numberFlushes.addAndGet(metrics.numberFlushes());
+        flushNanos.addAndGet(metrics.flushNanos());
+        numberAdaptersCreated.addAndGet(metrics.numberAdaptersCreated());
+        numberDomainEventsPosted.addAndGet(metrics.numberDomainEventsPosted());
+        facetCheckNanos.addAndGet(metrics.facetCheckNanos());
+        numberLevel2CacheHits.addAndGet(metrics.numberLevel2CacheHits());
+        numberLevel2CacheMisses.addAndGet(metrics.numberLevel2CacheMisses());
+    }
+
+    @Override
+    public long getNumberTransactions() {
+        return numberTransactions.get();
+    }
+
+    @Override
+    public long getNumberObjectsLoaded() {
+        return numberObjectsLoaded.get();
+    }
+
+    @Override
+    public long getNumberQueriesExecuted() {
+        return numberQueriesExecuted.get();
+    }
+
+    @Override
+    public long getQueryExecutionMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(queryExecutionNanos.get());
+    }
+
+    @Override
+    public long getNumberFlushes() {
+        return numberFlushes.get();
+    }
+
+    @Override
+    public long getFlushMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(flushNanos.get());
+    }
+
+    @Override
+    public long getNumberAdaptersCreated() {
+        return numberAdaptersCreated.get();
+    }
+
+    @Override
+    public long getNumberDomainEventsPosted() {
+        return numberDomainEventsPosted.get();
+    }
+
+    @Override
+    public long getFacetCheckMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(facetCheckNanos.get());
+    }
+
+    @Override
+    public long getNumberLevel2CacheHits() {
+        return numberLevel2CacheHits.get();
+    }
+
+    @Override
+    public long getNumberLevel2CacheMisses() {
+        return numberLevel2CacheMisses.get();
+    }
+
+    @Override
+    public void reset() {
+        numberTransactions.set(0L);
+        numberObjectsLoaded.set(0L);
+        numberQueriesExecuted.set(0L);
+        queryExecutionNanos.set(0L);
+        numberFlushes.set(0L);
+        flushNanos.set(0L);
+        numberAdaptersCreated.set(0L);
+        numberDomainEventsPosted.set(0L);
+        facetCheckNanos.set(0L);
+        numberLevel2CacheHits.set(0L);
+        numberLevel2CacheMisses.set(0L);
+    }
+
+}
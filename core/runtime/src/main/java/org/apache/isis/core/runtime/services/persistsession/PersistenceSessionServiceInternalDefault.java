@@ -19,6 +19,7 @@
 package org.apache.isis.core.runtime.services.persistsession;
 
 import java.util.List;
+import java.util.concurrent.Callable;
 
 import org.apache.isis.applib.annotation.DomainService;
 import org.apache.isis.applib.annotation.NatureOfService;
@@ -88,6 +89,16 @@ public void remove(final ObjectAdapter adapter) {
         getPersistenceSession().destroyObjectInTransaction(adapter);
     }
 
+    @Override
+    public <T> T withFetchGroups(final List<String> fetchGroups, final Callable<T> callable) {
+        return getPersistenceSession().withFetchGroups(fetchGroups, callable);
+    }
+
+    @Override
+    public Object loadCollectionWithFetchGroups(final List<String> fetchGroups, final Callable<?> collectionAccessor) {
+        return getPersistenceSession().loadCollectionWithFetchGroups(fetchGroups, collectionAccessor);
+    }
+
     @Override
     public ObjectAdapter createTransientInstance(final ObjectSpecification spec) {
         return getPersistenceSession().createTransientInstance(spec);
@@ -105,6 +116,13 @@ public Object lookup(
         return getPersistenceSession().lookup(bookmark, fieldResetPolicy);
     }
 
+    @Override
+    public List<Object> lookup(
+            final List<Bookmark> bookmarks,
+            final BookmarkService2.FieldResetPolicy fieldResetPolicy) {
+        return getPersistenceSession().lookup(bookmarks, fieldResetPolicy);
+    }
+
     @Override
     public Bookmark bookmarkFor(Object domainObject) {
         final ObjectAdapter adapter = getPersistenceSession().adapterFor(domainObject);
@@ -69,6 +69,7 @@
 import org.apache.isis.core.metamodel.services.publishing.PublishingServiceInternal;
 import org.apache.isis.core.metamodel.spec.feature.ObjectAction;
 import org.apache.isis.core.runtime.services.changes.ChangedObjectsServiceInternal;
+import org.apache.isis.core.runtime.services.delivery.DeliveryServiceInternal;
 import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
 import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
 
@@ -186,6 +187,12 @@ private void publishObjectsToPublisherServices(
         final PublishedObjects publishedObjects = newPublishedObjects(numberLoaded, numberObjectPropertiesModified,
                 changeKindByPublishedAdapter);
 
+        if(deliveryServiceInternal.isAsynchronous()) {
+            // delivered to the PublisherServices once the transaction has committed, so materialize it now
+            publishedObjects.getDto();
+            deliveryServiceInternal.enlistPublishedObjects(publishedObjects);
+            return;
+        }
         for (PublisherService publisherService : publisherServices) {
             publisherService.publish(publishedObjects);
         }
@@ -446,6 +453,9 @@ public <T> T withPublishingSuppressed(final Block<T> block) {
     @javax.inject.Inject
     private MetricsService metricsService;
 
+    @javax.inject.Inject
+    private DeliveryServiceInternal deliveryServiceInternal;
+
     @javax.inject.Inject
     private IsisSessionFactory isisSessionFactory;
 
@@ -16,10 +16,13 @@
  */
 package org.apache.isis.core.runtime.services.xmlsnapshot;
 
+import java.io.OutputStream;
+
 import org.apache.isis.applib.annotation.DomainService;
 import org.apache.isis.applib.annotation.NatureOfService;
 import org.apache.isis.applib.annotation.Programmatic;
 import org.apache.isis.applib.services.xmlsnapshot.XmlSnapshotService;
+import org.apache.isis.applib.services.xmlsnapshot.XmlSnapshotService2;
 import org.apache.isis.applib.services.xmlsnapshot.XmlSnapshotServiceAbstract;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.runtime.snapshot.XmlSnapshot;
@@ -39,9 +42,9 @@
 @DomainService(
         nature = NatureOfService.DOMAIN
 )
-public class XmlSnapshotServiceDefault extends XmlSnapshotServiceAbstract {
+public class XmlSnapshotServiceDefault extends XmlSnapshotServiceAbstract implements XmlSnapshotService2 {
 
-    static class XmlSnapshotServiceDefaultBuilder implements XmlSnapshotService.Builder{
+    static class XmlSnapshotServiceDefaultBuilder implements XmlSnapshotService2.Builder2 {
         
         private final XmlSnapshotBuilder builder;
         public XmlSnapshotServiceDefaultBuilder(final Object domainObject) {
@@ -62,6 +65,11 @@ public XmlSnapshotService.Snapshot build() {
             XmlSnapshot xmlSnapshot = builder.build();
             return xmlSnapshot;
         }
+
+        @Override
+        public void writeTo(final OutputStream xmlOut, final OutputStream xsdOutIfAny) {
+            builder.writeTo(xmlOut, xsdOutIfAny);
+        }
     }
 
     /**
@@ -81,7 +89,7 @@ public XmlSnapshotService.Snapshot snapshotFor(final Object domainObject) {
      */
     @Programmatic
     @Override
-    public Builder builderFor(final Object domainObject) {
+    public Builder2 builderFor(final Object domainObject) {
         return new XmlSnapshotServiceDefaultBuilder(domainObject);
     }
 
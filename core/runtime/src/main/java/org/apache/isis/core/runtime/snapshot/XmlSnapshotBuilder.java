@@ -18,6 +18,7 @@
  */
 package org.apache.isis.core.runtime.snapshot;
 
+import java.io.OutputStream;
 import java.util.List;
 
 import com.google.common.collect.Lists;
@@ -83,6 +84,19 @@ public XmlSnapshot build() {
         return snapshot;
     }
 
+    /**
+     * As {@link #build()}, but writing the snapshot (and optionally its XSD) as the graph is traversed, using an
+     * {@link XmlSnapshotWriter}.
+     */
+    public void writeTo(final OutputStream xmlOut, final OutputStream xsdOutIfAny) {
+        final ObjectAdapter adapter = getPersistenceSession().adapterFor(domainObject);
+        final XmlSnapshotWriter writer = (schema != null) ? new XmlSnapshotWriter(adapter, schema) : new XmlSnapshotWriter(adapter);
+        for (final XmlSnapshotBuilder.PathAndAnnotation paa : paths) {
+            writer.include(paa.path, paa.annotation);
+        }
+        writer.writeTo(xmlOut, xsdOutIfAny);
+    }
+
     // ///////////////////////////////////////////////////////
     // Dependencies (from context)
     // ///////////////////////////////////////////////////////
@@ -0,0 +1,143 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.system.persistence;
+
+import java.util.concurrent.ConcurrentMap;
+
+import javax.jdo.PersistenceManagerFactory;
+import javax.jdo.annotations.Cacheable;
+import javax.jdo.datastore.DataStoreCache;
+import javax.jdo.identity.SingleFieldIdentity;
+
+import com.google.common.collect.Maps;
+
+import org.datanucleus.api.jdo.JDODataStoreCache;
+import org.datanucleus.api.jdo.NucleusJDOHelper;
+import org.datanucleus.cache.Level2Cache;
+import org.datanucleus.cache.NullLevel2Cache;
+
+/**
+ * Wraps the DataNucleus second-level (cross-session) cache of a {@link PersistenceManagerFactory}.
+ *
+ * <p>
+ * Only entities annotated with {@link Cacheable @Cacheable} are held in the cache (the
+ * <tt>datanucleus.cache.level2.mode</tt> is <tt>ENABLE_SELECTIVE</tt>); see
+ * {@link PersistenceSessionFactory} for how the cache itself is enabled.
+ *
+ * <p>
+ * The object ids passed to (and used by) this class are JDO object ids, as per
+ * {@link javax.jdo.PersistenceManager#getObjectById(Class, Object)}.
+ */
+public class DataNucleusLevel2Cache {
+
+    private static final ConcurrentMap<Class<?>, Boolean> cacheableByClass = Maps.newConcurrentMap();
+
+    /**
+     * Whether the class is annotated (directly or inherited) with {@link Cacheable @Cacheable("true")}.
+     */
+    public static boolean isCacheable(final Class<?> cls) {
+        Boolean cacheable = cacheableByClass.get(cls);
+        if(cacheable == null) {
+            cacheable = determineCacheable(cls);
+            cacheableByClass.put(cls, cacheable);
+        }
+        return cacheable;
+    }
+
+    private static boolean determineCacheable(final Class<?> cls) {
+        for (Class<?> c = cls; c != null && c != Object.class; c = c.getSuperclass()) {
+            final Cacheable cacheable = c.getAnnotation(Cacheable.class);
+            if(cacheable != null) {
+                return "true".equalsIgnoreCase(cacheable.value());
+            }
+        }
+        return false;
+    }
+
+    private final PersistenceManagerFactory persistenceManagerFactory;
+
+    /**
+     * Looked up lazily, so that the {@link PersistenceManagerFactory} is only interrogated if required.
+     */
+    private Level2Cache level2Cache;
+
+    public DataNucleusLevel2Cache(final PersistenceManagerFactory persistenceManagerFactory) {
+        this.persistenceManagerFactory = persistenceManagerFactory;
+    }
+
+    /**
+     * Whether a (non-null) second-level cache has been configured.
+     */
+    public boolean isEnabled() {
+        return getLevel2Cache() != null;
+    }
+
+    /**
+     * Whether the cache currently holds the object with the specified (JDO) object id.
+     */
+    public boolean contains(final Object jdoObjectId) {
+        final Level2Cache level2Cache = getLevel2Cache();
+        return level2Cache != null && level2Cache.containsOid(toDataNucleusId(jdoObjectId));
+    }
+
+    public void evict(final Object jdoObjectId) {
+        final Level2Cache level2Cache = getLevel2Cache();
+        if(level2Cache != null) {
+            level2Cache.evict(toDataNucleusId(jdoObjectId));
+        }
+    }
+
+    /**
+     * Evicts all instances of the class (and its subclasses), provided that it is {@link #isCacheable(Class) cacheable}.
+     */
+    public void evictAll(final Class<?> cls) {
+        final Level2Cache level2Cache = getLevel2Cache();
+        if(level2Cache != null && isCacheable(cls)) {
+            level2Cache.evictAll(cls, true);
+        }
+    }
+
+    public void evictAll() {
+        final Level2Cache level2Cache = getLevel2Cache();
+        if(level2Cache != null) {
+            level2Cache.evictAll();
+        }
+    }
+
+    private Level2Cache getLevel2Cache() {
+        if(level2Cache == null) {
+            final DataStoreCache dataStoreCache = persistenceManagerFactory.getDataStoreCache();
+            if(!(dataStoreCache instanceof JDODataStoreCache)) {
+                return null;
+            }
+            level2Cache = ((JDODataStoreCache) dataStoreCache).getLevel2Cache();
+        }
+        return level2Cache instanceof NullLevel2Cache ? null : level2Cache;
+    }
+
+    /**
+     * The cache is keyed by DataNucleus' own identity classes rather than those defined by JDO.
+     */
+    private static Object toDataNucleusId(final Object jdoObjectId) {
+        return jdoObjectId instanceof SingleFieldIdentity
+                ? NucleusJDOHelper.getDataNucleusIdentityForSingleFieldIdentity((SingleFieldIdentity) jdoObjectId)
+                : jdoObjectId;
+    }
+
+}
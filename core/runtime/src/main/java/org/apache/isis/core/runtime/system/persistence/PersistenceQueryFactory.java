@@ -59,7 +59,7 @@ final PersistenceQuery createPersistenceQueryFor(final Query<?> query, final Que
         final ObjectSpecification noSpec = specFor(query);
         if (query instanceof QueryFindAllInstances) {
             final QueryFindAllInstances<?> queryFindAllInstances = (QueryFindAllInstances<?>) query;
-            return new PersistenceQueryFindAllInstances(noSpec, specificationLoader, queryFindAllInstances.getStart(), queryFindAllInstances.getCount());
+            return new PersistenceQueryFindAllInstances(noSpec, queryFindAllInstances.getOrdering(), specificationLoader, queryFindAllInstances.getStart(), queryFindAllInstances.getCount());
         }
         if (query instanceof QueryFindByTitle) {
             final QueryFindByTitle<?> queryByTitle = (QueryFindByTitle<?>) query;
@@ -77,7 +77,7 @@ final PersistenceQuery createPersistenceQueryFor(final Query<?> query, final Que
             final String queryName = queryDefault.getQueryName();
             final Map<String, ObjectAdapter> argumentsAdaptersByParameterName = wrap(queryDefault.getArgumentsByParameterName());
             return new PersistenceQueryFindUsingApplibQueryDefault(noSpec, queryName, argumentsAdaptersByParameterName, cardinality,
-                    specificationLoader, queryDefault.getStart(), queryDefault.getCount());
+                    queryDefault.getOrdering(), specificationLoader, queryDefault.getStart(), queryDefault.getCount());
         }
         // fallback; generic serializable applib query.
         return new PersistenceQueryFindUsingApplibQuerySerializable(noSpec, query, cardinality, specificationLoader);
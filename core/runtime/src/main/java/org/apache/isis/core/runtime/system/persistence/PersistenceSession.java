@@ -22,9 +22,12 @@
 import java.lang.reflect.Modifier;
 import java.sql.Timestamp;
 import java.text.MessageFormat;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Callable;
 
 import javax.jdo.FetchGroup;
 import javax.jdo.FetchPlan;
@@ -32,15 +35,19 @@
 import javax.jdo.PersistenceManagerFactory;
 import javax.jdo.listener.InstanceLifecycleListener;
 
+import com.google.common.base.Throwables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 
 import org.datanucleus.enhancement.Persistable;
+import org.datanucleus.store.types.SCOContainer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.apache.isis.applib.RecoverableException;
 import org.apache.isis.applib.annotation.Bulk;
+import org.apache.isis.applib.annotation.PublishedObject;
 import org.apache.isis.applib.query.Query;
 import org.apache.isis.applib.services.bookmark.Bookmark;
 import org.apache.isis.applib.services.bookmark.BookmarkService2;
@@ -100,6 +107,7 @@
 import org.apache.isis.core.metamodel.facets.propcoll.accessor.PropertyOrCollectionAccessorFacet;
 import org.apache.isis.core.metamodel.services.ServicesInjector;
 import org.apache.isis.core.metamodel.services.container.query.QueryCardinality;
+import org.apache.isis.core.metamodel.services.metrics.MetricsServiceInternal;
 import org.apache.isis.core.metamodel.services.msgbroker.MessageBrokerServiceInternal;
 import org.apache.isis.core.metamodel.spec.FreeStandingList;
 import org.apache.isis.core.metamodel.spec.ObjectSpecId;
@@ -124,8 +132,7 @@
 import org.apache.isis.core.runtime.runner.opts.OptionHandlerFixtureAbstract;
 import org.apache.isis.core.runtime.services.RequestScopedService;
 import org.apache.isis.core.runtime.services.changes.ChangedObjectsServiceInternal;
-import org.apache.isis.core.runtime.system.persistence.adaptermanager.OidAdapterHashMap;
-import org.apache.isis.core.runtime.system.persistence.adaptermanager.PojoAdapterHashMap;
+import org.apache.isis.core.runtime.system.persistence.adaptermanager.AdapterIndex;
 import org.apache.isis.core.runtime.system.persistence.adaptermanager.RootAndCollectionAdapters;
 import org.apache.isis.core.runtime.system.transaction.IsisTransaction;
 import org.apache.isis.core.runtime.system.transaction.IsisTransactionManager;
@@ -192,6 +199,7 @@ public class PersistenceSession implements
     private final ChangedObjectsServiceInternal changedObjectsServiceInternal;
     private final FactoryService factoryService;
     private final MetricsService metricsService;
+    private final MetricsServiceInternal metricsServiceInternal;
     private final ClockService clockService;
     private final UserService userService;
     private final Bulk.InteractionContext bulkInteractionContext;
@@ -202,6 +210,11 @@ public class PersistenceSession implements
      */
     private final PersistenceManagerFactory jdoPersistenceManagerFactory;
 
+    /**
+     * The second-level cache of the {@link #jdoPersistenceManagerFactory}.
+     */
+    private final DataNucleusLevel2Cache level2Cache;
+
     // not final only for testing purposes
     private IsisTransactionManager transactionManager;
 
@@ -209,7 +222,8 @@ public class PersistenceSession implements
     /**
      * populated only when {@link #open()}ed.
      */
-    private PersistenceManager persistenceManager;
+    // package-private only for testing purposes
+    PersistenceManager persistenceManager;
 
     /**
      * populated only when {@link #open()}ed.
@@ -236,6 +250,7 @@ public PersistenceSession(
 
         this.servicesInjector = servicesInjector;
         this.jdoPersistenceManagerFactory = jdoPersistenceManagerFactory;
+        this.level2Cache = new DataNucleusLevel2Cache(jdoPersistenceManagerFactory);
         this.fixturesInstalledFlag = fixturesInstalledFlag;
 
         // injected
@@ -249,6 +264,7 @@ public PersistenceSession(
         this.eventBusService = lookupService(EventBusService.class);
         this.changedObjectsServiceInternal = lookupService(ChangedObjectsServiceInternal.class);
         this.metricsService = lookupService(MetricsService.class);
+        this.metricsServiceInternal = lookupService(MetricsServiceInternal.class);
         this.factoryService = lookupService(FactoryService.class);
         this.clockService = lookupService(ClockService.class);
         this.userService = lookupService(UserService.class);
@@ -265,6 +281,9 @@ public PersistenceSession(
                 this.configuration.getBoolean("isis.persistor.disableConcurrencyChecking", false);
         this.concurrencyCheckingGloballyEnabled = !concurrencyCheckingGloballyDisabled;
 
+        final AdapterIndex.ReferenceType adapterReferenceType =
+                AdapterIndex.ReferenceType.parse(this.configuration.getString(KEY_ADAPTER_INDEX_REFERENCE_TYPE));
+        this.adapterIndex = new AdapterIndex(adapterReferenceType);
     }
 
     @Override
@@ -285,6 +304,10 @@ public PersistenceManager getPersistenceManager() {
         return persistenceManager;
     }
 
+    public DataNucleusLevel2Cache getLevel2Cache() {
+        return level2Cache;
+    }
+
     /**
      * Injects components, calls open on subcomponents, and then creates service
      * adapters.
@@ -296,8 +319,7 @@ public void open() {
             LOG.debug("opening " + this);
         }
 
-        oidAdapterMap.open();
-        pojoAdapterMap.open();
+        adapterIndex.open();
 
         persistenceManager = jdoPersistenceManagerFactory.getPersistenceManager();
 
@@ -446,17 +468,10 @@ public void close() {
         }
 
         try {
-            oidAdapterMap.close();
-        } catch(final Throwable ex) {
-            // ignore
-            LOG.error("close: oidAdapterMap#close() failed; continuing to avoid memory leakage");
-        }
-
-        try {
-            pojoAdapterMap.close();
+            adapterIndex.close();
         } catch(final Throwable ex) {
             // ignore
-            LOG.error("close: pojoAdapterMap#close() failed; continuing to avoid memory leakage");
+            LOG.error("close: adapterIndex#close() failed; continuing to avoid memory leakage");
         }
 
         this.state = State.CLOSED;
@@ -543,6 +558,26 @@ public <T> ObjectAdapter firstMatchingQuery(final Query<T> query) {
         return list.size() > 0 ? list.get(0) : null;
     }
 
+    /**
+     * Returns the number of instances that match the specified query, ignoring any range.
+     */
+    public <T> long countMatchingQuery(final Query<T> query) {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("countInstances using (applib) Query: " + query);
+        }
+
+        final PersistenceQuery persistenceQuery = createPersistenceQueryFor(query, QueryCardinality.MULTIPLE);
+        final PersistenceQueryProcessor<? extends PersistenceQuery> processor = lookupProcessorFor(persistenceQuery);
+
+        return transactionManager.executeWithinTransaction(
+                new TransactionalClosureWithReturn<Long>() {
+                    @Override
+                    public Long execute() {
+                        return countPersistenceQuery(processor, persistenceQuery);
+                    }
+                });
+    }
+
     /**
      * Finds and returns instances that match the specified query.
      *
@@ -606,10 +641,33 @@ private PersistenceQueryProcessor<? extends PersistenceQuery> lookupProcessorFor
         return processor;
     }
     @SuppressWarnings("unchecked")
-    private <Q extends PersistenceQuery> List<ObjectAdapter> processPersistenceQuery(
+    <Q extends PersistenceQuery> List<ObjectAdapter> processPersistenceQuery(
+            final PersistenceQueryProcessor<Q> persistenceQueryProcessor,
+            final PersistenceQuery persistenceQuery) {
+        final long startedAt = System.nanoTime();
+        try {
+            return persistenceQueryProcessor.process((Q) persistenceQuery);
+        } finally {
+            recordQueryExecuted(startedAt);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    <Q extends PersistenceQuery> long countPersistenceQuery(
             final PersistenceQueryProcessor<Q> persistenceQueryProcessor,
             final PersistenceQuery persistenceQuery) {
-        return persistenceQueryProcessor.process((Q) persistenceQuery);
+        final long startedAt = System.nanoTime();
+        try {
+            return persistenceQueryProcessor.count((Q) persistenceQuery);
+        } finally {
+            recordQueryExecuted(startedAt);
+        }
+    }
+
+    private void recordQueryExecuted(final long startedAt) {
+        if(metricsServiceInternal != null) {
+            metricsServiceInternal.queryExecuted(System.nanoTime() - startedAt);
+        }
     }
 
     public IsisConfiguration getConfiguration() {
@@ -621,11 +679,12 @@ public IsisConfiguration getConfiguration() {
 
     //region > State
 
-    private enum State {
+    enum State {
         NOT_INITIALIZED, OPEN, CLOSED
     }
 
-    private State state;
+    // package-private only for testing purposes
+    State state;
 
     protected void ensureNotOpened() {
         if (state != State.NOT_INITIALIZED) {
@@ -948,6 +1007,75 @@ public ObjectAdapter execute() {
     }
 
 
+    //endregion
+
+    //region > withFetchGroups
+
+    /**
+     * Adds the specified fetch groups (those not already present) to the fetch plan while the callable is called,
+     * removing them again afterwards.
+     *
+     * <p>
+     * Any objects loaded by the callable (whether by query, by {@link #loadPojo(RootOid) lookup} or by lazily loading a
+     * collection) are therefore loaded along with the members of these fetch groups, rather than with each such member
+     * subsequently loaded separately.
+     */
+    public <T> T withFetchGroups(final List<String> fetchGroups, final Callable<T> callable) {
+        return withFetchGroups(fetchGroups, callable, false);
+    }
+
+    /**
+     * As {@link #withFetchGroups(List, Callable)}, where the callable returns a collection.
+     *
+     * <p>
+     * If any of the fetch groups were not already in the fetch plan, and the collection is one lazily loaded by
+     * DataNucleus that has not yet been loaded, then its elements are loaded before the fetch groups are removed again.
+     * Otherwise the collection is returned as is, and is loaded (if at all) only when its elements are accessed.
+     */
+    public Object loadCollectionWithFetchGroups(final List<String> fetchGroups, final Callable<?> collectionAccessor) {
+        return withFetchGroups(fetchGroups, collectionAccessor, true);
+    }
+
+    private <T> T withFetchGroups(
+            final List<String> fetchGroups,
+            final Callable<T> callable,
+            final boolean loadCollection) {
+        final FetchPlan fetchPlan = persistenceManager.getFetchPlan();
+        final Set<?> existingGroups = fetchPlan.getGroups();
+        final List<String> addedGroups = Lists.newArrayList();
+        for (final String fetchGroup : fetchGroups) {
+            if(!existingGroups.contains(fetchGroup) && !addedGroups.contains(fetchGroup)) {
+                addedGroups.add(fetchGroup);
+            }
+        }
+        for (final String fetchGroup : addedGroups) {
+            fetchPlan.addGroup(fetchGroup);
+        }
+        try {
+            final T result = callable.call();
+            if(loadCollection && !addedGroups.isEmpty()) {
+                loadIfNotYetLoaded(result);
+            }
+            return result;
+        } catch (final Exception ex) {
+            throw Throwables.propagate(ex);
+        } finally {
+            for (final String fetchGroup : addedGroups) {
+                fetchPlan.removeGroup(fetchGroup);
+            }
+        }
+    }
+
+    private static void loadIfNotYetLoaded(final Object collection) {
+        if(!(collection instanceof SCOContainer)) {
+            return;
+        }
+        final SCOContainer<?> scoContainer = (SCOContainer<?>) collection;
+        if(!scoContainer.isLoaded()) {
+            scoContainer.load();
+        }
+    }
+
     //endregion
 
     //region > loadPojo
@@ -960,6 +1088,7 @@ public Object loadPojo(final RootOid rootOid) {
             final Object jdoObjectId = JdoObjectIdSerializer.toJdoObjectId(rootOid);
             FetchPlan fetchPlan = persistenceManager.getFetchPlan();
             fetchPlan.addGroup(FetchGroup.DEFAULT);
+            recordLevel2CacheHitOrMiss(cls, jdoObjectId);
             result = persistenceManager.getObjectById(cls, jdoObjectId);
         } catch (final RuntimeException e) {
 
@@ -986,11 +1115,93 @@ public Object loadPojo(final RootOid rootOid) {
         return result;
     }
 
+    private void recordLevel2CacheHitOrMiss(final Class<?> cls, final Object jdoObjectId) {
+        if(metricsServiceInternal == null || !DataNucleusLevel2Cache.isCacheable(cls) || !level2Cache.isEnabled()) {
+            return;
+        }
+        if(level2Cache.contains(jdoObjectId)) {
+            metricsServiceInternal.level2CacheHit();
+        } else {
+            metricsServiceInternal.level2CacheMiss();
+        }
+    }
+
     private Class<?> clsOf(final RootOid oid) {
         final ObjectSpecification objectSpec = getSpecificationLoader().lookupBySpecId(oid.getObjectSpecId());
         return objectSpec.getCorrespondingClass();
     }
 
+    /**
+     * Loads the pojos of those (persistent) oids that do not yet have an adapter, and maps them; the pojos of each
+     * class are loaded together (using a single {@link PersistenceManager#getObjectsById(Collection, boolean)})
+     * rather than one-by-one.
+     *
+     * <p>
+     * If a class's pojos cannot be loaded together (eg because one of them does not exist) then none of them are
+     * mapped; they will instead be loaded one-by-one (as per {@link #loadPojo(RootOid)}) if subsequently requested.
+     *
+     * @return the oids (by identity) of those pojos that were loaded and mapped.
+     */
+    private Set<RootOid> loadAndMapPojos(final List<RootOid> rootOids) {
+
+        final Map<Class<?>, List<RootOid>> rootOidsByClass = Maps.newLinkedHashMap();
+        for (final RootOid rootOid : rootOids) {
+            if(rootOid == null || rootOid.isTransient() || rootOid.isViewModel() || getAdapterFor(rootOid) != null) {
+                continue;
+            }
+            final ObjectSpecification objectSpec = getSpecificationLoader().lookupBySpecId(rootOid.getObjectSpecId());
+            if(objectSpec == null) {
+                continue;
+            }
+            final Class<?> cls = objectSpec.getCorrespondingClass();
+            List<RootOid> rootOidsForClass = rootOidsByClass.get(cls);
+            if(rootOidsForClass == null) {
+                rootOidsForClass = Lists.newArrayList();
+                rootOidsByClass.put(cls, rootOidsForClass);
+            }
+            rootOidsForClass.add(rootOid);
+        }
+
+        final Set<RootOid> mappedRootOids = Sets.newIdentityHashSet();
+        for (final List<RootOid> rootOidsForClass : rootOidsByClass.values()) {
+            if(rootOidsForClass.size() < 2) {
+                // nothing to be gained
+                continue;
+            }
+            final List<Object> jdoObjectIds = Lists.newArrayList();
+            for (final RootOid rootOid : rootOidsForClass) {
+                jdoObjectIds.add(JdoObjectIdSerializer.toJdoObjectId(rootOid));
+            }
+
+            final Collection<?> pojos;
+            final long startedAt = System.nanoTime();
+            try {
+                FetchPlan fetchPlan = persistenceManager.getFetchPlan();
+                fetchPlan.addGroup(FetchGroup.DEFAULT);
+                pojos = persistenceManager.getObjectsById(jdoObjectIds, true);
+            } catch (final RuntimeException e) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("unable to load " + rootOidsForClass.size() + " objects together; will load one-by-one", e);
+                }
+                continue;
+            } finally {
+                recordQueryExecuted(startedAt);
+            }
+
+            ensureCapacityFor(pojos.size());
+            int i = 0;
+            for (final Object pojo : pojos) {
+                final RootOid rootOid = rootOidsForClass.get(i++);
+                if(pojo == null) {
+                    continue;
+                }
+                mapRecreatedPojo(rootOid, pojo);
+                mappedRootOids.add(rootOid);
+            }
+        }
+        return mappedRootOids;
+    }
+
     //endregion
 
     //region > lazilyLoaded
@@ -1294,6 +1505,32 @@ public void endTransaction() {
         final javax.jdo.Transaction transaction = persistenceManager.currentTransaction();
         if (transaction.isActive()) {
             transaction.commit();
+            evictChangedObjectsFromLevel2Cache();
+        }
+    }
+
+    /**
+     * Evicts any {@link DataNucleusLevel2Cache#isCacheable(Class) cacheable} objects updated or deleted in the
+     * (just committed) transaction, as enlisted with {@link ChangedObjectsServiceInternal}, so that they are
+     * subsequently reloaded from the database rather than served stale by the second-level cache.
+     */
+    private void evictChangedObjectsFromLevel2Cache() {
+        if(changedObjectsServiceInternal == null || !level2Cache.isEnabled()) {
+            return;
+        }
+        final Map<ObjectAdapter, PublishedObject.ChangeKind> changeKindByEnlistedAdapter =
+                changedObjectsServiceInternal.getChangeKindByEnlistedAdapter();
+        for (final Map.Entry<ObjectAdapter, PublishedObject.ChangeKind> entry : changeKindByEnlistedAdapter.entrySet()) {
+            if(entry.getValue() == PublishedObject.ChangeKind.CREATE) {
+                continue;
+            }
+            final ObjectAdapter adapter = entry.getKey();
+            final Oid oid = adapter.getOid();
+            if(!(oid instanceof RootOid) || oid.isTransient()
+                    || !DataNucleusLevel2Cache.isCacheable(adapter.getSpecification().getCorrespondingClass())) {
+                continue;
+            }
+            level2Cache.evict(JdoObjectIdSerializer.toJdoObjectId((RootOid) oid));
         }
     }
 
@@ -1361,22 +1598,38 @@ public javax.jdo.Query newJdoQuery (Class<?> cls, String filter) {
 
     //region > AdapterManager implementation
 
-    private final PojoAdapterHashMap pojoAdapterMap = new PojoAdapterHashMap();
-    private final OidAdapterHashMap oidAdapterMap = new OidAdapterHashMap();
+    /**
+     * Whether adapters are held <tt>strong</tt>ly (the default), or by <tt>soft</tt> or <tt>weak</tt> reference;
+     * see {@link AdapterIndex}.
+     */
+    public static final String KEY_ADAPTER_INDEX_REFERENCE_TYPE = "isis.persistor.adapterIndex.referenceType";
+
+    private final AdapterIndex adapterIndex;
 
     @Override
     public ObjectAdapter getAdapterFor(final Object pojo) {
         ensureThatArg(pojo, is(notNullValue()));
 
-        return pojoAdapterMap.getAdapter(pojo);
+        return adapterIndex.getAdapterByPojo(pojo);
     }
 
+    /**
+     * The {@link AdapterIndex} keeps its oids and pojos in step, so (unlike when mapping or unmapping adapters) this
+     * does not check them for consistency.
+     */
     @Override
     public ObjectAdapter getAdapterFor(final Oid oid) {
         ensureThatArg(oid, is(notNullValue()));
-        ensureMapsConsistent(oid);
 
-        return oidAdapterMap.getAdapter(oid);
+        return adapterIndex.getAdapterByOid(oid);
+    }
+
+    /**
+     * Hint that (up to) the specified number of pojos are about to be mapped, eg the results of a query, so that
+     * the adapters can be indexed without repeated resizing.
+     */
+    public void ensureCapacityFor(final int numberOfPojos) {
+        adapterIndex.ensureCapacityFor(numberOfPojos);
     }
 
 
@@ -1430,40 +1683,26 @@ private void ensureMapsConsistent(final ObjectAdapter adapter) {
         ensureOidAdapterMapConsistent(adapter);
     }
 
-    /**
-     * Fail early if any problems.
-     */
-    private void ensureMapsConsistent(final Oid oid) {
-        ensureThatArg(oid, is(notNullValue()));
-
-        final ObjectAdapter adapter = oidAdapterMap.getAdapter(oid);
-        if (adapter == null) {
-            return;
-        }
-        ensureOidAdapterMapConsistent(adapter);
-        ensurePojoAdapterMapConsistent(adapter);
-    }
-
     private void ensurePojoAdapterMapConsistent(final ObjectAdapter adapter) {
         final Object adapterPojo = adapter.getObject();
-        final ObjectAdapter adapterAccordingToMap = pojoAdapterMap.getAdapter(adapterPojo);
+        final ObjectAdapter adapterAccordingToMap = adapterIndex.getAdapterByPojo(adapterPojo);
 
         if(adapterPojo == null) {
             // nothing to check
             return;
         }
-        ensureMapConsistent(adapter, adapterAccordingToMap, "PojoAdapterMap");
+        ensureMapConsistent(adapter, adapterAccordingToMap, "AdapterIndex (by pojo)");
     }
 
     private void ensureOidAdapterMapConsistent(final ObjectAdapter adapter) {
         final Oid adapterOid = adapter.getOid();
-        final ObjectAdapter adapterAccordingToMap = oidAdapterMap.getAdapter(adapterOid);
+        final ObjectAdapter adapterAccordingToMap = adapterIndex.getAdapterByOid(adapterOid);
 
         if(adapterOid == null) {
             // nothing to check
             return;
         }
-        ensureMapConsistent(adapter, adapterAccordingToMap, "OidAdapterMap");
+        ensureMapConsistent(adapter, adapterAccordingToMap, "AdapterIndex (by oid)");
     }
 
     private void ensureMapConsistent(
@@ -1536,6 +1775,32 @@ public ObjectAdapter adapterFor(final RootOid rootOid) {
         return adapterFor(rootOid, ConcurrencyChecking.NO_CHECK);
     }
 
+    /**
+     * As per {@link #adapterFor(RootOid, ConcurrencyChecking)} for each of the oids, in the same order, except that
+     * any persistent objects not already loaded are loaded in bulk (one query per class rather than per object).
+     *
+     * <p>
+     * Rather than throwing an {@link ObjectNotFoundException}, the returned list will contain <tt>null</tt> for any
+     * object that does not exist.
+     * </p>
+     */
+    public List<ObjectAdapter> adaptersFor(
+            final List<RootOid> rootOids,
+            final ConcurrencyChecking concurrencyChecking) {
+
+        loadAndMapPojos(rootOids);
+
+        final List<ObjectAdapter> adapters = Lists.newArrayList();
+        for (final RootOid rootOid : rootOids) {
+            try {
+                adapters.add(adapterFor(rootOid, concurrencyChecking));
+            } catch(final ObjectNotFoundException ex) {
+                adapters.add(null);
+            }
+        }
+        return adapters;
+    }
+
 
     /**
      * Either returns an existing {@link ObjectAdapter adapter} (as per
@@ -1757,7 +2022,7 @@ public void remapAsPersistent(final ObjectAdapter adapter, RootOid hintRootOid)
             LOG.debug("removing root adapter from oid map");
         }
 
-        boolean removed = oidAdapterMap.remove(transientRootOid);
+        boolean removed = adapterIndex.removeByOid(transientRootOid);
         if (!removed) {
             LOG.warn("could not remove oid: " + transientRootOid);
             // should we fail here with a more serious error?
@@ -1768,7 +2033,7 @@ public void remapAsPersistent(final ObjectAdapter adapter, RootOid hintRootOid)
         }
         for (final ObjectAdapter collectionAdapter : rootAndCollectionAdapters) {
             final Oid collectionOid = collectionAdapter.getOid();
-            removed = oidAdapterMap.remove(collectionOid);
+            removed = adapterIndex.removeByOid(collectionOid);
             if (!removed) {
                 LOG.warn("could not remove collectionOid: " + collectionOid);
                 // should we fail here with a more serious error?
@@ -1804,7 +2069,7 @@ public void remapAsPersistent(final ObjectAdapter adapter, RootOid hintRootOid)
             ) + " (was: " + transientRootOid.enString() + ")");
         }
         adapter.replaceOid(persistedRootOid);
-        oidAdapterMap.add(persistedRootOid, adapter);
+        adapterIndex.addByOid(persistedRootOid, adapter);
 
         // associate the collection adapters with new Oids, and re-map
         if (LOG.isDebugEnabled()) {
@@ -1813,7 +2078,7 @@ public void remapAsPersistent(final ObjectAdapter adapter, RootOid hintRootOid)
         for (final ObjectAdapter collectionAdapter : rootAndCollectionAdapters) {
             final ParentedCollectionOid previousCollectionOid = (ParentedCollectionOid) collectionAdapter.getOid();
             final ParentedCollectionOid persistedCollectionOid = previousCollectionOid.asPersistent(persistedRootOid);
-            oidAdapterMap.add(persistedCollectionOid, collectionAdapter);
+            adapterIndex.addByOid(persistedCollectionOid, collectionAdapter);
         }
 
 
@@ -1829,9 +2094,9 @@ public void remapAsPersistent(final ObjectAdapter adapter, RootOid hintRootOid)
             final Object collectionPojoActuallyOnPojo = getCollectionPojo(otma, adapter);
 
             if (collectionPojoActuallyOnPojo != collectionPojoWrappedByAdapter) {
-                pojoAdapterMap.remove(collectionAdapter);
+                adapterIndex.removeByPojo(collectionAdapter);
                 collectionAdapter.replacePojo(collectionPojoActuallyOnPojo);
-                pojoAdapterMap.add(collectionPojoActuallyOnPojo, collectionAdapter);
+                adapterIndex.addByPojo(collectionPojoActuallyOnPojo, collectionAdapter);
             }
         }
 
@@ -1914,9 +2179,9 @@ private void unmap(final ObjectAdapter adapter) {
 
         final Oid oid = adapter.getOid();
         if (oid != null) {
-            oidAdapterMap.remove(oid);
+            adapterIndex.removeByOid(oid);
         }
-        pojoAdapterMap.remove(adapter);
+        adapterIndex.removeByPojo(adapter);
     }
 
 
@@ -1983,9 +2248,13 @@ private ObjectAdapter createCollectionAdapter(
         return createAdapter(pojo, collectionOid);
     }
 
-    private PojoAdapter createAdapter(
+    PojoAdapter createAdapter(
             final Object pojo,
             final Oid oid) {
+        // request-scoped services (including metrics) are only available once open
+        if(metricsServiceInternal != null && state == State.OPEN) {
+            metricsServiceInternal.adapterCreated();
+        }
         return new PojoAdapter(
                 pojo, oid,
                 authenticationSession,
@@ -1999,7 +2268,7 @@ private ObjectAdapter mapAndInjectServices(final ObjectAdapter adapter) {
 
         Assert.assertNotNull(adapter);
         final Object pojo = adapter.getObject();
-        Assert.assertFalse("POJO Map already contains object", pojo, pojoAdapterMap.containsPojo(pojo));
+        Assert.assertFalse("POJO Map already contains object", pojo, adapterIndex.containsPojo(pojo));
 
         if (LOG.isDebugEnabled()) {
             // don't interact with the underlying object because may be a ghost
@@ -2021,11 +2290,11 @@ private ObjectAdapter mapAndInjectServices(final ObjectAdapter adapter) {
         // add all aggregated collections
         final ObjectSpecification objSpec = adapter.getSpecification();
         if (!adapter.isParentedCollection() || adapter.isParentedCollection() && !objSpec.isImmutable()) {
-            pojoAdapterMap.add(pojo, adapter);
+            adapterIndex.addByPojo(pojo, adapter);
         }
 
         // order is important - add to pojo map first, then identity map
-        oidAdapterMap.add(adapter.getOid(), adapter);
+        adapterIndex.addByOid(adapter.getOid(), adapter);
 
         // must inject after mapping, otherwise infinite loop
         servicesInjector.injectServicesInto(pojo);
@@ -2330,6 +2599,51 @@ public Object lookup(
         return adapter.getObject();
     }
 
+    /**
+     * As per {@link #lookup(Bookmark, BookmarkService2.FieldResetPolicy)} for each of the bookmarks, in the same order,
+     * except that any persistent objects not already loaded are loaded in bulk (one query per class rather than per
+     * object).  Objects that are loaded in bulk are not subsequently {@link #refreshRoot(ObjectAdapter) refreshed},
+     * even if {@link BookmarkService2.FieldResetPolicy#RESET requested}, because they are necessarily fresh.
+     *
+     * <p>
+     * Rather than throwing an {@link ObjectNotFoundException}, the returned list will contain <tt>null</tt> for any
+     * object that does not exist (and for any <tt>null</tt> bookmark).
+     * </p>
+     */
+    public List<Object> lookup(
+            final List<Bookmark> bookmarks,
+            final BookmarkService2.FieldResetPolicy fieldResetPolicy) {
+
+        final List<RootOid> oids = Lists.newArrayList();
+        for (final Bookmark bookmark : bookmarks) {
+            oids.add(bookmark != null ? RootOid.create(bookmark) : null);
+        }
+
+        final Set<RootOid> loadedOids = loadAndMapPojos(oids);
+
+        final List<Object> pojos = Lists.newArrayList();
+        for (final RootOid oid : oids) {
+            if(oid == null) {
+                pojos.add(null);
+                continue;
+            }
+            try {
+                final ObjectAdapter adapter = adapterFor(oid);
+                if(fieldResetPolicy == BookmarkService2.FieldResetPolicy.RESET && !adapter.getSpecification().isViewModel()) {
+                    if(!loadedOids.contains(oid)) {
+                        refreshRootInTransaction(adapter);
+                    }
+                } else {
+                    loadObjectInTransaction(oid);
+                }
+                pojos.add(adapter.getObject());
+            } catch(final ObjectNotFoundException ex) {
+                pojos.add(null);
+            }
+        }
+        return pojos;
+    }
+
     public boolean flush() {
         return getTransactionManager().flushTransaction();
     }
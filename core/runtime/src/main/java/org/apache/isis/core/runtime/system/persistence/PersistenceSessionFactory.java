@@ -68,6 +68,8 @@ public PersistenceSessionFactory(final IsisConfigurationDefault isisConfiguratio
     public static final String JDO_OBJECTSTORE_CONFIG_PREFIX = "isis.persistor.datanucleus";  // specific to the JDO objectstore
     public static final String DATANUCLEUS_CONFIG_PREFIX = "isis.persistor.datanucleus.impl"; // reserved for datanucleus' own config props
 
+    public static final String LEVEL2_CACHE_ENABLED_KEY = "isis.persistor.datanucleus.level2Cache.enabled";
+
 
     private DataNucleusApplicationComponents applicationComponents;
 
@@ -91,11 +93,14 @@ private DataNucleusApplicationComponents createDataNucleusApplicationComponents(
 
             final IsisConfiguration dataNucleusConfig = configuration.createSubset(DATANUCLEUS_CONFIG_PREFIX);
             final Map<String, String> datanucleusProps = dataNucleusConfig.asMap();
-            addDataNucleusPropertiesIfRequired(datanucleusProps);
 
             final RegisterEntities registerEntities = new RegisterEntities(configuration.asMap(), specificationLoader);
             final Set<String> classesToBePersisted = registerEntities.getEntityTypes();
 
+            final boolean level2CacheEnabled = configuration.getBoolean(LEVEL2_CACHE_ENABLED_KEY, false);
+            addDataNucleusPropertiesIfRequired(
+                    datanucleusProps, level2CacheEnabled, registerEntities.getCacheableEntityTypes());
+
             applicationComponents = new DataNucleusApplicationComponents(jdoObjectstoreConfig, specificationLoader,
                     datanucleusProps, classesToBePersisted);
         }
@@ -103,8 +108,39 @@ private DataNucleusApplicationComponents createDataNucleusApplicationComponents(
         return applicationComponents;
     }
 
+    /**
+     * The second-level cache is disabled unless enabled explicitly using {@link #LEVEL2_CACHE_ENABLED_KEY}, in which
+     * case it is enabled for just those entities that have opted into it (using
+     * <tt>@javax.jdo.annotations.Cacheable</tt>).  Either way, any explicit configuration of
+     * <tt>datanucleus.cache.level2.*</tt> is honoured.
+     */
+    private static void addLevel2CachePropertiesIfRequired(
+            final Map<String, String> props,
+            final boolean level2CacheEnabled,
+            final Set<String> cacheableEntityTypes) {
+
+        if(props.containsKey(PropertyNames.PROPERTY_CACHE_L2_TYPE)) {
+            LOG.info("second-level cache ('" + props.get(PropertyNames.PROPERTY_CACHE_L2_TYPE) + "') configured explicitly");
+            return;
+        }
+
+        if(!level2CacheEnabled || cacheableEntityTypes.isEmpty()) {
+            props.put(PropertyNames.PROPERTY_CACHE_L2_TYPE, "none");
+            if(!cacheableEntityTypes.isEmpty()) {
+                LOG.info("second-level cache is disabled (set '" + LEVEL2_CACHE_ENABLED_KEY + "' to enable), so @Cacheable entities will not be cached: " + cacheableEntityTypes);
+            }
+            return;
+        }
+
+        props.put(PropertyNames.PROPERTY_CACHE_L2_TYPE, "soft");
+        putIfNotPresent(props, PropertyNames.PROPERTY_CACHE_L2_MODE, "ENABLE_SELECTIVE");
+        LOG.info("second-level cache ('soft') enabled for: " + cacheableEntityTypes);
+    }
+
     private static void addDataNucleusPropertiesIfRequired(
-            final Map<String, String> props) {
+            final Map<String, String> props,
+            final boolean level2CacheEnabled,
+            final Set<String> cacheableEntityTypes) {
 
         // new feature in DN 3.2.3; enables dependency injection into entities
         putIfNotPresent(props, PropertyNames.PROPERTY_OBJECT_PROVIDER_CLASS_NAME, JDOStateManagerForIsis.class.getName());
@@ -115,7 +151,7 @@ private static void addDataNucleusPropertiesIfRequired(
         putIfNotPresent(props, PropertyNames.PROPERTY_SCHEMA_AUTOCREATE_SCHEMA, Boolean.FALSE.toString());
 
         putIfNotPresent(props, PropertyNames.PROPERTY_SCHEMA_VALIDATE_ALL, Boolean.TRUE.toString());
-        putIfNotPresent(props, PropertyNames.PROPERTY_CACHE_L2_TYPE, "none");
+        addLevel2CachePropertiesIfRequired(props, level2CacheEnabled, cacheableEntityTypes);
 
         putIfNotPresent(props, PropertyNames.PROPERTY_PERSISTENCE_UNIT_LOAD_CLASSES, Boolean.TRUE.toString());
 
@@ -0,0 +1,250 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.system.persistence.adaptermanager;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.isis.core.commons.components.SessionScopedComponent;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.adapter.oid.Oid;
+
+/**
+ * Indexes the {@link ObjectAdapter adapter}s of a persistence session both by their {@link Oid} and by the
+ * (identity of the) pojo that they adapt.
+ *
+ * <p>
+ * Pojos are looked up by identity (rather than {@link Object#equals(Object) equality}) without allocating a key
+ * per lookup; {@link Oid}s are looked up using their (precomputed) hash code.
+ *
+ * <p>
+ * By default adapters are {@link ReferenceType#STRONG strongly} held until they are removed or the index is
+ * {@link #close() closed}.  For long-running sessions that touch very many objects (eg fixture scripts or batch
+ * jobs), adapters can instead be held {@link ReferenceType#SOFT softly} or {@link ReferenceType#WEAK weakly}, so that
+ * those no longer referenced elsewhere can be reclaimed; they are simply recreated if their pojo is encountered again.
+ * The adapters of transient objects are always held strongly (their oids cannot be recreated), while those of objects
+ * modified within the current transaction are held strongly by the changed objects service until it completes.
+ */
+public class AdapterIndex implements SessionScopedComponent {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AdapterIndex.class);
+
+    public static final int DEFAULT_EXPECTED_SIZE = 100;
+
+    public enum ReferenceType {
+        STRONG,
+        SOFT,
+        WEAK;
+
+        public static ReferenceType parse(final String value) {
+            if(value == null) {
+                return STRONG;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase());
+            } catch(final IllegalArgumentException ex) {
+                LOG.warn("Unrecognized reference type '{}', defaulting to {}", value, STRONG);
+                return STRONG;
+            }
+        }
+    }
+
+    private final ReferenceType referenceType;
+
+    private Map<Oid, ObjectAdapter> adapterByOid;
+    private Map<Object, ObjectAdapter> adapterByPojo;
+
+    /**
+     * Adapters of transient objects, held strongly if the maps themselves do not.
+     */
+    private final Set<ObjectAdapter> pinned = Sets.newIdentityHashSet();
+
+    //region > constructor
+
+    public AdapterIndex() {
+        this(ReferenceType.STRONG);
+    }
+
+    public AdapterIndex(final ReferenceType referenceType) {
+        this.referenceType = referenceType;
+        createMaps(DEFAULT_EXPECTED_SIZE);
+    }
+
+    private void createMaps(final int expectedSize) {
+        switch (referenceType) {
+        case SOFT:
+            adapterByOid = CacheBuilder.newBuilder()
+                    .concurrencyLevel(1).initialCapacity(expectedSize).softValues()
+                    .<Oid, ObjectAdapter>build().asMap();
+            adapterByPojo = CacheBuilder.newBuilder()
+                    .concurrencyLevel(1).initialCapacity(expectedSize).weakKeys().softValues()
+                    .<Object, ObjectAdapter>build().asMap();
+            break;
+        case WEAK:
+            adapterByOid = CacheBuilder.newBuilder()
+                    .concurrencyLevel(1).initialCapacity(expectedSize).weakValues()
+                    .<Oid, ObjectAdapter>build().asMap();
+            adapterByPojo = CacheBuilder.newBuilder()
+                    .concurrencyLevel(1).initialCapacity(expectedSize).weakKeys().weakValues()
+                    .<Object, ObjectAdapter>build().asMap();
+            break;
+        default:
+            adapterByOid = Maps.newHashMapWithExpectedSize(expectedSize);
+            adapterByPojo = new IdentityHashMap<>(expectedSize);
+            break;
+        }
+    }
+
+    public ReferenceType getReferenceType() {
+        return referenceType;
+    }
+
+    //endregion
+
+    //region > open, close
+
+    public void open() {
+        // nothing to do
+    }
+
+    public void close() {
+        if(LOG.isDebugEnabled()) {
+            LOG.debug("close");
+        }
+        adapterByOid.clear();
+        adapterByPojo.clear();
+        pinned.clear();
+    }
+
+    //endregion
+
+    //region > ensureCapacityFor
+
+    /**
+     * Hint that (up to) the specified number of adapters are about to be added, eg the results of a query.
+     *
+     * <p>
+     * If this would take the index well beyond its current size then it is resized once up-front, rather than
+     * repeatedly as the adapters are added.
+     */
+    public void ensureCapacityFor(final int numberOfAdditionalAdapters) {
+        if(referenceType != ReferenceType.STRONG) {
+            // the underlying maps size themselves
+            return;
+        }
+        final int size = Math.max(adapterByOid.size(), adapterByPojo.size());
+        if(numberOfAdditionalAdapters < DEFAULT_EXPECTED_SIZE || numberOfAdditionalAdapters <= size) {
+            // any resizing will be cheap (relative to loading the adapters)
+            return;
+        }
+        final int expectedSize = size + numberOfAdditionalAdapters;
+
+        final Map<Oid, ObjectAdapter> resizedAdapterByOid = Maps.newHashMapWithExpectedSize(expectedSize);
+        resizedAdapterByOid.putAll(adapterByOid);
+        adapterByOid = resizedAdapterByOid;
+
+        final Map<Object, ObjectAdapter> resizedAdapterByPojo = new IdentityHashMap<>(expectedSize);
+        resizedAdapterByPojo.putAll(adapterByPojo);
+        adapterByPojo = resizedAdapterByPojo;
+    }
+
+    //endregion
+
+    //region > by oid
+
+    public ObjectAdapter getAdapterByOid(final Oid oid) {
+        return adapterByOid.get(oid);
+    }
+
+    public void addByOid(final Oid oid, final ObjectAdapter adapter) {
+        adapterByOid.put(oid, adapter);
+        if(referenceType != ReferenceType.STRONG && oid.isTransient()) {
+            pinned.add(adapter);
+        }
+        // log at end so that if toString needs adapters they're in maps.
+        if (LOG.isDebugEnabled()) {
+            // do not call toString() on adapter because would call hashCode on the pojo,
+            // which for Hibernate PersistentCollections would trigger a resolve.
+            LOG.debug("add oid: " + oid + " ; oid.hashCode: + #" + Long.toHexString(oid.hashCode()) + " ; adapter.hashCode(): #" + Long.toHexString(adapter.hashCode()));
+        }
+    }
+
+    /**
+     * @return <tt>true</tt> if an adapter was removed.
+     */
+    public boolean removeByOid(final Oid oid) {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("remove oid: " + oid);
+        }
+        final ObjectAdapter adapter = adapterByOid.remove(oid);
+        if(adapter == null) {
+            return false;
+        }
+        pinned.remove(adapter);
+        return true;
+    }
+
+    //endregion
+
+    //region > by pojo
+
+    public ObjectAdapter getAdapterByPojo(final Object pojo) {
+        return adapterByPojo.get(pojo);
+    }
+
+    public boolean containsPojo(final Object pojo) {
+        return adapterByPojo.containsKey(pojo);
+    }
+
+    public void addByPojo(final Object pojo, final ObjectAdapter adapter) {
+        adapterByPojo.put(pojo, adapter);
+        if(LOG.isDebugEnabled()) {
+            LOG.debug("add adapter: #" + Long.toHexString(System.identityHashCode(pojo)) + " -> #" + Long.toHexString(adapter.hashCode()));
+        }
+    }
+
+    public void removeByPojo(final ObjectAdapter adapter) {
+        if(LOG.isDebugEnabled()) {
+            LOG.debug("remove adapter: " + adapter);
+        }
+        adapterByPojo.remove(adapter.getObject());
+    }
+
+    //endregion
+
+    //region > size
+
+    /**
+     * The number of adapters indexed by oid (those reclaimed but not yet purged may be included).
+     */
+    public int size() {
+        return adapterByOid.size();
+    }
+
+    //endregion
+
+}
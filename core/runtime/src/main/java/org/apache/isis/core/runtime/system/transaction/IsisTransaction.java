@@ -38,12 +38,14 @@
 import org.apache.isis.core.commons.util.ToString;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.services.ServicesInjector;
+import org.apache.isis.core.metamodel.services.metrics.MetricsServiceInternal;
 import org.apache.isis.core.metamodel.services.publishing.PublishingServiceInternal;
 import org.apache.isis.core.metamodel.transactions.TransactionState;
 import org.apache.isis.core.runtime.persistence.objectstore.transaction.CreateObjectCommand;
 import org.apache.isis.core.runtime.persistence.objectstore.transaction.DestroyObjectCommand;
 import org.apache.isis.core.runtime.persistence.objectstore.transaction.PersistenceCommand;
 import org.apache.isis.core.runtime.services.auditing.AuditingServiceInternal;
+import org.apache.isis.core.runtime.services.delivery.DeliveryServiceInternal;
 import org.apache.isis.core.runtime.services.persistsession.PersistenceSessionServiceInternalDefault;
 
 /**
@@ -171,6 +173,8 @@ public TransactionState getRuntimeContextState() {
     private final MessageBroker messageBroker;
     private final PublishingServiceInternal publishingServiceInternal;
     private final AuditingServiceInternal auditingServiceInternal;
+    private final DeliveryServiceInternal deliveryServiceInternal;
+    private final MetricsServiceInternal metricsServiceInternal;
 
     private final List<WithTransactionScope> withTransactionScopes;
 
@@ -193,6 +197,8 @@ public IsisTransaction(
         this.messageBroker = authenticationSession.getMessageBroker();
         this.publishingServiceInternal = servicesInjector.lookupServiceElseFail(PublishingServiceInternal.class);
         this.auditingServiceInternal = servicesInjector.lookupServiceElseFail(AuditingServiceInternal.class);
+        this.deliveryServiceInternal = servicesInjector.lookupServiceElseFail(DeliveryServiceInternal.class);
+        this.metricsServiceInternal = servicesInjector.lookupService(MetricsServiceInternal.class);
 
         withTransactionScopes = servicesInjector.lookupServices(WithTransactionScope.class);
 
@@ -374,8 +380,16 @@ private void doFlush() {
             if(!persistenceCommandList.isEmpty()) {
                 // so won't be processed again if a flush is encountered subsequently
                 persistenceCommands.removeAll(persistenceCommandList);
+                final long startedAt = System.nanoTime();
                 try {
-                    this.transactionManager.getPersistenceSession().execute(persistenceCommandList);
+                    try {
+                        this.transactionManager.getPersistenceSession().execute(persistenceCommandList);
+                    } finally {
+                        // failed flushes are timed too
+                        if(metricsServiceInternal != null) {
+                            metricsServiceInternal.flushed(System.nanoTime() - startedAt);
+                        }
+                    }
                     for (PersistenceCommand persistenceCommand : persistenceCommandList) {
                         if (persistenceCommand instanceof DestroyObjectCommand) {
                             final ObjectAdapter adapter = persistenceCommand.onAdapter();
@@ -413,6 +427,9 @@ void preCommit() {
         }
 
         try {
+            // in case a previous transaction on this thread failed to either commit or abort
+            deliveryServiceInternal.discardEnlisted();
+
             auditingServiceInternal.audit();
 
             publishingServiceInternal.publishObjects();
@@ -445,6 +462,9 @@ void commit() {
         }
 
         setState(State.COMMITTED);
+
+        // only now that the changes are committed are they delivered (if asynchronous)
+        deliveryServiceInternal.enqueueEnlisted();
     }
 
 
@@ -462,6 +482,8 @@ final void markAsAborted() {
             LOG.info("abort transaction " + this);
         }
 
+        deliveryServiceInternal.discardEnlisted();
+
         setState(State.ABORTED);
     }
 
@@ -18,6 +18,7 @@
  */
 package org.apache.isis.objectstore.jdo.datanucleus.persistence.queries;
 
+import java.util.Collections;
 import java.util.List;
 
 import javax.jdo.Query;
@@ -47,7 +48,14 @@ public List<ObjectAdapter> process(final PersistenceQueryFindAllInstances persis
         
         // http://www.datanucleus.org/servlet/jira/browse/NUCCORE-1103
         jdoQuery.addExtension("datanucleus.multivaluedFetch", "none");
-        
+
+        if(persistenceQuery.getOrdering() != null) {
+            jdoQuery.setOrdering(persistenceQuery.getOrdering());
+        }
+        if(persistenceQuery.hasRange()) {
+            jdoQuery.setRange(persistenceQuery.getStart(), persistenceQuery.getEnd());
+        }
+
         if (LOG.isDebugEnabled()) {
             LOG.debug("allInstances(): class=" + specification.getFullIdentifier());
         }
@@ -59,4 +67,19 @@ public List<ObjectAdapter> process(final PersistenceQueryFindAllInstances persis
             jdoQuery.closeAll();
         }
     }
+
+    @Override
+    public long count(final PersistenceQueryFindAllInstances persistenceQuery) {
+
+        final ObjectSpecification specification = persistenceQuery.getSpecification();
+
+        final Class<?> cls = specification.getCorrespondingClass();
+        final Query jdoQuery = persistenceSession.newJdoQuery(cls);
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("count allInstances(): class=" + specification.getFullIdentifier());
+        }
+
+        return executeCount(jdoQuery, Collections.<String, Object>emptyMap());
+    }
 }
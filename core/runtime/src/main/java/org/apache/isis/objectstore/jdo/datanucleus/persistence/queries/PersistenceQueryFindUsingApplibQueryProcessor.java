@@ -105,6 +105,9 @@ private List<?> getResults(final PersistenceQueryFindUsingApplibQueryDefault per
         // http://www.datanucleus.org/servlet/jira/browse/NUCCORE-1103
         jdoQuery.addExtension("datanucleus.multivaluedFetch", "none");
         
+        if(persistenceQuery.getOrdering() != null) {
+            jdoQuery.setOrdering(persistenceQuery.getOrdering());
+        }
         if(persistenceQuery.hasRange()) {
             jdoQuery.setRange(persistenceQuery.getStart(), persistenceQuery.getEnd());
         }
@@ -127,6 +130,28 @@ private List<?> getResults(final PersistenceQueryFindUsingApplibQueryDefault per
         }
     }
 
+    @Override
+    public long count(final PersistenceQueryFindUsingApplibQueryDefault persistenceQuery) {
+        final String queryName = persistenceQuery.getQueryName();
+        final ObjectSpecification objectSpec = persistenceQuery.getSpecification();
+
+        if((objectSpec.getFullIdentifier() + "#pk").equals(queryName)) {
+            return getResultsPk(persistenceQuery).size();
+        }
+
+        final Map<String, Object> argumentsByParameterName = unwrap(
+                persistenceQuery.getArgumentsAdaptersByParameterName());
+
+        final Class<?> cls = objectSpec.getCorrespondingClass();
+        final Query jdoQuery = persistenceSession.newJdoNamedQuery(cls, queryName);
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("count " + cls.getName() + " # " + queryName + " ( " + argumentsByParameterName + " )");
+        }
+
+        return executeCount(jdoQuery, argumentsByParameterName);
+    }
+
     private static Map<String, Object> unwrap(final Map<String, ObjectAdapter> argumentAdaptersByParameterName) {
         final Map<String, Object> argumentsByParameterName = Maps.newHashMap();
         for (final String parameterName : argumentAdaptersByParameterName.keySet()) {
@@ -25,6 +25,12 @@
 
 public interface PersistenceQueryProcessor<T extends PersistenceQuery> {
 	List<ObjectAdapter> process(T query);
+
+	/**
+	 * The number of instances that would be returned by {@link #process(PersistenceQuery) processing} the query,
+	 * ignoring any range.
+	 */
+	long count(T query);
 }
 
 // Copyright (c) Naked Objects Group Ltd.
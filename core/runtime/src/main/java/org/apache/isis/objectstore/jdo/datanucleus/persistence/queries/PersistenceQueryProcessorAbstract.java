@@ -19,7 +19,9 @@
 package org.apache.isis.objectstore.jdo.datanucleus.persistence.queries;
 
 import java.util.List;
+import java.util.Map;
 
+import javax.jdo.Query;
 import javax.jdo.listener.InstanceLifecycleEvent;
 
 import com.google.common.collect.Lists;
@@ -49,7 +51,8 @@ protected PersistenceQueryProcessorAbstract(final PersistenceSession persistence
      * to be called.
      */
     protected List<ObjectAdapter> loadAdapters(final List<?> pojos) {
-        final List<ObjectAdapter> adapters = Lists.newArrayList();
+        final List<ObjectAdapter> adapters = Lists.newArrayListWithCapacity(pojos.size());
+        persistenceSession.ensureCapacityFor(pojos.size());
         for (final Object pojo : pojos) {
         	// ought not to be necessary, however for some queries it seems that the 
         	// lifecycle listener is not called
@@ -68,5 +71,20 @@ protected List<ObjectAdapter> loadAdapters(final List<?> pojos) {
         return adapters;
     }
 
+    /**
+     * Converts the provided {@link Query} into one that returns the number of matching instances, and executes it.
+     */
+    protected static long executeCount(final Query jdoQuery, final Map<String, Object> argumentsByParameterName) {
+        jdoQuery.setResult("count(this)");
+        jdoQuery.setOrdering(null);
+        jdoQuery.setUnique(true);
+        try {
+            final Number count = (Number) jdoQuery.executeWithMap(argumentsByParameterName);
+            return count != null ? count.longValue() : 0L;
+        } finally {
+            jdoQuery.closeAll();
+        }
+    }
+
 
 }
@@ -106,7 +106,12 @@ public Integer executeUpdate(final String sql) {
                 return null;
             } 
             final java.sql.Connection connection = (java.sql.Connection) connectionObj;
-            return executeUpdate(connection, sql);
+            final int numberUpdated = executeUpdate(connection, sql);
+
+            // the SQL could have updated any table, so no cached objects can be trusted
+            getPersistenceSession().getLevel2Cache().evictAll();
+
+            return numberUpdated;
         } finally {
             dataStoreConnection.close();
         }
@@ -166,6 +171,7 @@ public Void call() {
             } catch (final Exception ex) {
                 throw new FatalException(ex);
             }
+            getPersistenceSession().getLevel2Cache().evictAll(pcClass);
         }
     }
 
@@ -40,6 +40,7 @@
 
 import org.apache.isis.applib.AppManifest;
 import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
+import org.apache.isis.core.runtime.system.persistence.DataNucleusLevel2Cache;
 
 public class RegisterEntities {
 
@@ -60,6 +61,18 @@ public Set<String> getEntityTypes() {
     }
     //endregion
 
+    //region > cacheableEntityTypes
+    private final Set<String> cacheableEntityTypes = Sets.newLinkedHashSet();
+
+    /**
+     * Those {@link #getEntityTypes() entity types} that have opted into the second-level cache, see
+     * {@link DataNucleusLevel2Cache#isCacheable(Class)}.
+     */
+    public Set<String> getCacheableEntityTypes() {
+        return cacheableEntityTypes;
+    }
+    //endregion
+
     public RegisterEntities(final Map<String, String> configuration, final SpecificationLoader specificationLoader) {
         this.specificationLoader = specificationLoader;
 
@@ -78,6 +91,9 @@ public RegisterEntities(final Map<String, String> configuration, final Specifica
                 classNamesNotEnhanced.add(persistenceCapableType.getCanonicalName());
             }
             this.entityTypes.add(persistenceCapableType.getCanonicalName());
+            if(DataNucleusLevel2Cache.isCacheable(persistenceCapableType)) {
+                this.cacheableEntityTypes.add(persistenceCapableType.getCanonicalName());
+            }
         }
 
         if(!classNamesNotEnhanced.isEmpty()) {
@@ -0,0 +1,267 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.background;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import org.jmock.Expectations;
+import org.jmock.api.Invocation;
+import org.jmock.auto.Mock;
+import org.jmock.lib.action.CustomAction;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.services.bookmark.Bookmark;
+import org.apache.isis.applib.services.bookmark.BookmarkService2;
+import org.apache.isis.applib.services.command.Command;
+import org.apache.isis.applib.services.command.CommandDefault;
+import org.apache.isis.core.commons.authentication.AuthenticationSession;
+import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
+import org.apache.isis.core.runtime.system.session.IsisSession;
+import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
+import org.apache.isis.core.runtime.system.transaction.IsisTransactionManager;
+import org.apache.isis.core.runtime.system.transaction.TransactionalClosure;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class BackgroundCommandExecutionTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(JUnitRuleMockery2.Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private IsisSessionFactory mockIsisSessionFactory;
+    @Mock
+    private IsisSession mockIsisSession;
+    @Mock
+    private AuthenticationSession mockAuthenticationSession;
+    @Mock
+    private IsisTransactionManager mockTransactionManager;
+    @Mock
+    private BookmarkService2 mockBookmarkService;
+
+    private final List<Command> commands = Lists.newArrayList();
+    private final Map<String, Command> commandsByIdentifier = Maps.newHashMap();
+
+    /**
+     * The commands in the order that they were executed, along with the name of the thread that executed each.
+     */
+    private final List<Command> executed = Collections.synchronizedList(Lists.<Command>newArrayList());
+    private final Map<Command, String> executedBy = Collections.synchronizedMap(Maps.<Command, String>newHashMap());
+
+    private Command poisoned;
+
+    @Before
+    public void setUp() throws Exception {
+
+        // four commands against each of three targets, interleaved
+        for (int i = 0; i < 4; i++) {
+            for (final String target : new String[] { "A", "B", "C" }) {
+                final CommandDefault command = new CommandDefault();
+                command.setTransactionId(UUID.randomUUID());
+                command.setTarget(new Bookmark("CUS", target));
+                commands.add(command);
+                commandsByIdentifier.put(command.getTransactionId().toString(), command);
+            }
+        }
+
+        context.checking(new Expectations() {{
+            allowing(mockIsisSessionFactory).getCurrentSession();
+            will(returnValue(mockIsisSession));
+
+            allowing(mockIsisSession).getAuthenticationSession();
+            will(returnValue(mockAuthenticationSession));
+
+            allowing(mockIsisSessionFactory).doInSession(with(any(Runnable.class)), with(mockAuthenticationSession));
+            will(new CustomAction("run in session") {
+                @Override
+                public Object invoke(final Invocation invocation) throws Throwable {
+                    ((Runnable) invocation.getParameter(0)).run();
+                    return null;
+                }
+            });
+
+            allowing(mockTransactionManager).executeWithinTransaction(with(any(TransactionalClosure.class)));
+            will(new CustomAction("execute closure") {
+                @Override
+                public Object invoke(final Invocation invocation) throws Throwable {
+                    ((TransactionalClosure) invocation.getParameter(0)).execute();
+                    return null;
+                }
+            });
+
+            allowing(mockTransactionManager).executeWithinTransaction(
+                    with(any(Command.class)), with(any(TransactionalClosure.class)));
+            will(new CustomAction("execute command") {
+                @Override
+                public Object invoke(final Invocation invocation) throws Throwable {
+                    final Command command = (Command) invocation.getParameter(0);
+                    executed.add(command);
+                    executedBy.put(command, Thread.currentThread().getName());
+                    if(command == poisoned) {
+                        throw new RuntimeException("unable to commit");
+                    }
+                    return null;
+                }
+            });
+
+            allowing(mockBookmarkService).bookmarkFor(with(any(Object.class)));
+            will(new CustomAction("bookmark command") {
+                @Override
+                public Object invoke(final Invocation invocation) throws Throwable {
+                    final Command command = (Command) invocation.getParameter(0);
+                    return new Bookmark("isiscommand.Command", command.getTransactionId().toString());
+                }
+            });
+
+            allowing(mockBookmarkService).lookup(with(any(Bookmark.class)));
+            will(new CustomAction("lookup command") {
+                @Override
+                public Object invoke(final Invocation invocation) throws Throwable {
+                    final Bookmark bookmark = (Bookmark) invocation.getParameter(0);
+                    return commandsByIdentifier.get(bookmark.getIdentifier());
+                }
+            });
+        }});
+    }
+
+    @Test
+    public void executes_sequentially_on_calling_thread_with_one_worker() throws Exception {
+
+        newBackgroundCommandExecution(1).doExecute(null);
+
+        assertThat(executed, is(commands));
+        for (final Command command : commands) {
+            assertThat(executedBy.get(command), is(Thread.currentThread().getName()));
+        }
+    }
+
+    @Test
+    public void partitions_by_target_and_executes_in_order_within_each_target() throws Exception {
+
+        final BackgroundCommandExecution execution = newBackgroundCommandExecution(3);
+        execution.doExecute(null);
+
+        assertThat(executed.size(), is(commands.size()));
+        assertThat(execution.getNumberExecuted(), is(12L));
+        assertThat(execution.getNumberFailed(), is(0L));
+        for (final String target : new String[] { "A", "B", "C" }) {
+            assertThat(executedFor(target), is(commandsFor(target)));
+
+            final Command first = commandsFor(target).get(0);
+            final String thread = executedBy.get(first);
+            assertThat(thread.startsWith("isis-background-"), is(true));
+            for (final Command command : commandsFor(target)) {
+                assertThat(executedBy.get(command), is(thread));
+            }
+        }
+    }
+
+    @Test
+    public void failure_to_execute_one_command_does_not_prevent_the_remainder_from_executing() throws Exception {
+
+        poisoned = commandsFor("B").get(1);
+
+        final BackgroundCommandExecution execution = newBackgroundCommandExecution(3);
+        execution.doExecute(null);
+
+        assertThat(executed.size(), is(commands.size()));
+        assertThat(executedFor("B"), is(commandsFor("B")));
+        assertThat(execution.getNumberExecuted(), is(12L));
+        assertThat(execution.getNumberFailed(), is(1L));
+    }
+
+    @Test
+    public void failure_to_execute_one_command_does_not_prevent_the_remainder_from_executing_sequentially() throws Exception {
+
+        poisoned = commandsFor("B").get(1);
+
+        final BackgroundCommandExecution execution = newBackgroundCommandExecution(1);
+        execution.doExecute(null);
+
+        assertThat(executed, is(commands));
+        assertThat(execution.getNumberExecuted(), is(12L));
+        assertThat(execution.getNumberFailed(), is(1L));
+    }
+
+    private BackgroundCommandExecution newBackgroundCommandExecution(final int numberOfWorkers) {
+        final BackgroundCommandExecution execution = new BackgroundCommandExecution() {
+            @Override
+            protected List<? extends Command> findBackgroundCommandsToExecute() {
+                return commands;
+            }
+
+            @Override
+            protected int getNumberOfWorkers() {
+                return numberOfWorkers;
+            }
+
+            @Override
+            protected IsisSessionFactory getIsisSessionFactory() {
+                return mockIsisSessionFactory;
+            }
+
+            @Override
+            protected PersistenceSession getPersistenceSession() {
+                return null;
+            }
+
+            @Override
+            protected IsisTransactionManager getTransactionManager(final PersistenceSession persistenceSession) {
+                return mockTransactionManager;
+            }
+        };
+        execution.bookmarkService = mockBookmarkService;
+        return execution;
+    }
+
+    private List<Command> commandsFor(final String target) {
+        return filterByTarget(commands, target);
+    }
+
+    private List<Command> executedFor(final String target) {
+        synchronized (executed) {
+            return filterByTarget(executed, target);
+        }
+    }
+
+    private static List<Command> filterByTarget(final List<Command> commands, final String target) {
+        final List<Command> filtered = Lists.newArrayList();
+        for (final Command command : commands) {
+            if(command.getTarget().getIdentifier().equals(target)) {
+                filtered.add(command);
+            }
+        }
+        if(filtered.isEmpty()) {
+            fail("no commands for target " + target);
+        }
+        return filtered;
+    }
+
+}
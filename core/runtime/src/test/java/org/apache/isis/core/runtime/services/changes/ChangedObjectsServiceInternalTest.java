@@ -0,0 +1,238 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.changes;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.annotation.PublishedObject;
+import org.apache.isis.applib.services.publish.PublisherService;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.adapter.oid.RootOid;
+import org.apache.isis.core.metamodel.consent.InteractionInitiatedBy;
+import org.apache.isis.core.metamodel.facets.object.audit.AuditableFacet;
+import org.apache.isis.core.metamodel.spec.ObjectSpecId;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.Contributed;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.runtime.services.auditing.AuditingServiceInternal;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ChangedObjectsServiceInternalTest {
+
+    public static class Customer {
+    }
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(JUnitRuleMockery2.Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private AuditingServiceInternal mockAuditingServiceInternal;
+    @Mock
+    private PublisherService mockPublisherService;
+    @Mock
+    private AuditableFacet mockAuditableFacet;
+    @Mock
+    private ObjectSpecification mockSpec;
+    @Mock
+    private ObjectAssociation mockNameProperty;
+    @Mock
+    private ObjectAssociation mockDerivedProperty;
+    @Mock
+    private ObjectAdapter mockAdapter1;
+    @Mock
+    private ObjectAdapter mockAdapter2;
+
+    private ChangedObjectsServiceInternal service;
+
+    @Before
+    public void setUp() throws Exception {
+        service = new ChangedObjectsServiceInternal();
+        service.auditingServiceInternal = mockAuditingServiceInternal;
+        service.publisherServices = Collections.emptyList();
+
+        context.checking(new Expectations() {{
+            allowing(mockSpec).getCorrespondingClass();
+            will(returnValue(Customer.class));
+
+            allowing(mockNameProperty).getId();
+            will(returnValue("name"));
+            allowing(mockNameProperty).isNotPersisted();
+            will(returnValue(false));
+            allowing(mockDerivedProperty).isNotPersisted();
+            will(returnValue(true));
+
+            allowing(mockAdapter1).getSpecification();
+            will(returnValue(mockSpec));
+            allowing(mockAdapter1).getOid();
+            will(returnValue(RootOid.create(ObjectSpecId.of("CUS"), "1")));
+            allowing(mockAdapter1).isDestroyed();
+            will(returnValue(false));
+
+            allowing(mockAdapter2).getSpecification();
+            will(returnValue(mockSpec));
+            allowing(mockAdapter2).getOid();
+            will(returnValue(RootOid.create(ObjectSpecId.of("CUS"), "2")));
+            allowing(mockAdapter2).isDestroyed();
+            will(returnValue(false));
+        }});
+    }
+
+    @Test
+    public void when_nothing_to_audit_or_publish_then_pre_values_are_not_captured() throws Exception {
+
+        context.checking(new Expectations() {{
+            allowing(mockAuditingServiceInternal).canAudit();
+            will(returnValue(false));
+
+            never(mockSpec).getAssociations(with(any(Contributed.class)), with(any(org.apache.isis.applib.filter.Filter.class)));
+            never(mockNameProperty).get(with(any(ObjectAdapter.class)), with(any(InteractionInitiatedBy.class)));
+        }});
+
+        service.enlistUpdating(mockAdapter1);
+        service.enlistCreated(mockAdapter2);
+
+        // still enlisted for publishing, though
+        assertThat(service.isEnlisted(mockAdapter1), is(true));
+        assertThat(service.isEnlisted(mockAdapter2), is(true));
+        assertThat(service.getChangeKindByEnlistedAdapter().get(mockAdapter1), is(PublishedObject.ChangeKind.UPDATE));
+        assertThat(service.getChangeKindByEnlistedAdapter().get(mockAdapter2), is(PublishedObject.ChangeKind.CREATE));
+
+        assertThat(service.getChangedObjectProperties().isEmpty(), is(true));
+        assertThat(service.numberObjectPropertiesModified(), is(0));
+    }
+
+    @Test
+    public void when_can_audit_but_object_not_auditable_then_pre_values_are_not_captured() throws Exception {
+
+        context.checking(new Expectations() {{
+            allowing(mockAuditingServiceInternal).canAudit();
+            will(returnValue(true));
+            allowing(mockSpec).getFacet(AuditableFacet.class);
+            will(returnValue(null));
+
+            never(mockNameProperty).get(with(any(ObjectAdapter.class)), with(any(InteractionInitiatedBy.class)));
+        }});
+
+        service.enlistUpdating(mockAdapter1);
+
+        assertThat(service.getChangedObjectProperties().isEmpty(), is(true));
+    }
+
+    @Test
+    public void when_auditable_then_pre_values_of_persisted_properties_are_captured_when_enlisted() throws Exception {
+
+        context.checking(new Expectations() {{
+            allowing(mockAuditingServiceInternal).canAudit();
+            will(returnValue(true));
+            allowing(mockSpec).getFacet(AuditableFacet.class);
+            will(returnValue(mockAuditableFacet));
+            allowing(mockAuditableFacet).isDisabled();
+            will(returnValue(false));
+            allowing(mockSpec).getAssociations(Contributed.EXCLUDED, ObjectAssociation.Filters.PROPERTIES);
+            will(returnValue(Arrays.asList(mockNameProperty, mockDerivedProperty)));
+
+            never(mockDerivedProperty).get(with(any(ObjectAdapter.class)), with(any(InteractionInitiatedBy.class)));
+        }});
+
+        assertCapturedWhenEnlisted();
+    }
+
+    @Test
+    public void when_publishing_then_pre_values_are_captured_even_if_cannot_audit() throws Exception {
+
+        service.publisherServices = Collections.singletonList(mockPublisherService);
+        context.checking(new Expectations() {{
+            allowing(mockAuditingServiceInternal).canAudit();
+            will(returnValue(false));
+            allowing(mockSpec).getAssociations(Contributed.EXCLUDED, ObjectAssociation.Filters.PROPERTIES);
+            will(returnValue(Arrays.asList(mockNameProperty, mockDerivedProperty)));
+        }});
+
+        assertCapturedWhenEnlisted();
+    }
+
+    @Test
+    public void persisted_properties_are_looked_up_once_per_spec() throws Exception {
+
+        service.publisherServices = Collections.singletonList(mockPublisherService);
+        context.checking(new Expectations() {{
+            oneOf(mockSpec).getAssociations(Contributed.EXCLUDED, ObjectAssociation.Filters.PROPERTIES);
+            will(returnValue(Arrays.asList(mockNameProperty, mockDerivedProperty)));
+            allowing(mockNameProperty).get(with(any(ObjectAdapter.class)), with(any(InteractionInitiatedBy.class)));
+            will(returnValue(null));
+        }});
+
+        service.enlistUpdating(mockAdapter1);
+        service.enlistUpdating(mockAdapter2);
+    }
+
+    private void assertCapturedWhenEnlisted() {
+        context.checking(new Expectations() {{
+            oneOf(mockNameProperty).get(mockAdapter1, InteractionInitiatedBy.FRAMEWORK);
+            will(returnValue(valueAdapter("Fred")));
+        }});
+
+        service.enlistUpdating(mockAdapter1);
+        context.assertIsSatisfied();
+
+        // enlisting again does not recapture
+        service.enlistUpdating(mockAdapter1);
+
+        context.checking(new Expectations() {{
+            oneOf(mockNameProperty).get(mockAdapter1, InteractionInitiatedBy.FRAMEWORK);
+            will(returnValue(valueAdapter("Joe")));
+        }});
+
+        final Set<Map.Entry<AdapterAndProperty, PreAndPostValues>> changed = service.getChangedObjectProperties();
+
+        assertThat(changed.size(), is(1));
+        final Map.Entry<AdapterAndProperty, PreAndPostValues> entry = changed.iterator().next();
+        assertThat(entry.getKey(), is(AdapterAndProperty.of(mockAdapter1, mockNameProperty)));
+        assertThat(entry.getValue().getPre(), is((Object) "Fred"));
+        assertThat(entry.getValue().getPost(), is((Object) "Joe"));
+
+        // captured only once
+        assertThat(service.getChangedObjectProperties(), is(changed));
+        assertThat(service.numberObjectPropertiesModified(), is(1));
+    }
+
+    private int numberOfValueAdapters;
+
+    private ObjectAdapter valueAdapter(final Object value) {
+        final ObjectAdapter valueAdapter = context.mock(ObjectAdapter.class, "value#" + ++numberOfValueAdapters);
+        context.checking(new Expectations() {{
+            allowing(valueAdapter).getObject();
+            will(returnValue(value));
+        }});
+        return valueAdapter;
+    }
+
+}
@@ -0,0 +1,224 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.changes;
+
+import java.util.Map;
+
+import com.google.common.collect.Maps;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.adapter.oid.RootOid;
+import org.apache.isis.core.metamodel.consent.InteractionInitiatedBy;
+import org.apache.isis.core.metamodel.spec.ObjectSpecId;
+import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.runtime.system.transaction.IsisTransaction;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class EnlistedObjectTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(JUnitRuleMockery2.Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private ObjectAdapter mockAdapter;
+    @Mock
+    private ObjectAssociation mockNameProperty;
+    @Mock
+    private ObjectAssociation mockAgeProperty;
+
+    private ObjectAssociation[] properties;
+    private Map<AdapterAndProperty, PreAndPostValues> changed;
+
+    @Before
+    public void setUp() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockAdapter).getOid();
+            will(returnValue(RootOid.create(ObjectSpecId.of("CUS"), "1")));
+            allowing(mockNameProperty).getId();
+            will(returnValue("name"));
+            allowing(mockAgeProperty).getId();
+            will(returnValue("age"));
+        }});
+        properties = new ObjectAssociation[] { mockNameProperty, mockAgeProperty };
+        changed = Maps.newLinkedHashMap();
+    }
+
+    @Test
+    public void existing_captures_pre_values_when_enlisted_and_adds_only_those_that_differ() throws Exception {
+
+        context.checking(new Expectations() {{
+            oneOf(mockNameProperty).get(mockAdapter, InteractionInitiatedBy.FRAMEWORK);
+            will(returnValue(valueAdapter("Fred")));
+            oneOf(mockAgeProperty).get(mockAdapter, InteractionInitiatedBy.FRAMEWORK);
+            will(returnValue(valueAdapter(20)));
+        }});
+
+        final EnlistedObject enlistedObject = EnlistedObject.existing(mockAdapter, properties);
+        context.assertIsSatisfied();
+
+        context.checking(new Expectations() {{
+            allowing(mockAdapter).isDestroyed();
+            will(returnValue(false));
+            oneOf(mockNameProperty).get(mockAdapter, InteractionInitiatedBy.FRAMEWORK);
+            will(returnValue(valueAdapter("Joe")));
+            oneOf(mockAgeProperty).get(mockAdapter, InteractionInitiatedBy.FRAMEWORK);
+            will(returnValue(valueAdapter(20)));
+        }});
+
+        enlistedObject.capturePostValues();
+        enlistedObject.addChangedTo(changed);
+
+        assertThat(changed.size(), is(1));
+        final PreAndPostValues papv = changed.get(AdapterAndProperty.of(mockAdapter, mockNameProperty));
+        assertThat(papv.getPre(), is((Object) "Fred"));
+        assertThat(papv.getPreString(), is("Fred"));
+        assertThat(papv.getPost(), is((Object) "Joe"));
+        assertThat(papv.getPostString(), is("Joe"));
+    }
+
+    @Test
+    public void existing_keeps_the_pre_string_captured_when_enlisted() throws Exception {
+
+        final StringBuilder name = new StringBuilder("Fred");
+        context.checking(new Expectations() {{
+            allowing(mockAdapter).isDestroyed();
+            will(returnValue(false));
+            exactly(2).of(mockNameProperty).get(mockAdapter, InteractionInitiatedBy.FRAMEWORK);
+            will(onConsecutiveCalls(returnValue(valueAdapter(name)), returnValue(valueAdapter("Joe"))));
+            allowing(mockAgeProperty).get(mockAdapter, InteractionInitiatedBy.FRAMEWORK);
+            will(returnValue(null));
+        }});
+
+        final EnlistedObject enlistedObject = EnlistedObject.existing(mockAdapter, properties);
+
+        // eg the referenced object is itself modified (or deleted) later on in the transaction
+        name.replace(0, name.length(), "Mary");
+
+        enlistedObject.capturePostValues();
+        enlistedObject.addChangedTo(changed);
+
+        assertThat(changed.size(), is(1));
+        final PreAndPostValues papv = changed.get(AdapterAndProperty.of(mockAdapter, mockNameProperty));
+        assertThat(papv.getPre(), is((Object) name));
+        assertThat(papv.getPreString(), is("Fred"));
+        assertThat(papv.getPostString(), is("Joe"));
+    }
+
+    @Test
+    public void created_adds_every_property_with_a_new_pre_value() throws Exception {
+
+        final EnlistedObject enlistedObject = EnlistedObject.created(mockAdapter, properties);
+
+        context.checking(new Expectations() {{
+            allowing(mockAdapter).isDestroyed();
+            will(returnValue(false));
+            oneOf(mockNameProperty).get(mockAdapter, InteractionInitiatedBy.FRAMEWORK);
+            will(returnValue(valueAdapter("Fred")));
+            oneOf(mockAgeProperty).get(mockAdapter, InteractionInitiatedBy.FRAMEWORK);
+            will(returnValue(null));
+        }});
+
+        enlistedObject.capturePostValues();
+        enlistedObject.addChangedTo(changed);
+
+        assertThat(changed.size(), is(2));
+        final PreAndPostValues name = changed.get(AdapterAndProperty.of(mockAdapter, mockNameProperty));
+        assertThat(name.getPre(), is((Object) IsisTransaction.Placeholder.NEW));
+        assertThat(name.getPreString(), is(IsisTransaction.Placeholder.NEW.toString()));
+        assertThat(name.getPost(), is((Object) "Fred"));
+        final PreAndPostValues age = changed.get(AdapterAndProperty.of(mockAdapter, mockAgeProperty));
+        assertThat(age.getPre(), is((Object) IsisTransaction.Placeholder.NEW));
+        assertThat(age.getPost(), is(nullValue()));
+    }
+
+    @Test
+    public void destroyed_adds_every_property_as_deleted_without_reading_it_again() throws Exception {
+
+        context.checking(new Expectations() {{
+            oneOf(mockNameProperty).get(mockAdapter, InteractionInitiatedBy.FRAMEWORK);
+            will(returnValue(valueAdapter("Fred")));
+            oneOf(mockAgeProperty).get(mockAdapter, InteractionInitiatedBy.FRAMEWORK);
+            will(returnValue(null));
+        }});
+
+        final EnlistedObject enlistedObject = EnlistedObject.existing(mockAdapter, properties);
+
+        context.checking(new Expectations() {{
+            allowing(mockAdapter).isDestroyed();
+            will(returnValue(true));
+        }});
+
+        enlistedObject.capturePostValues();
+        enlistedObject.addChangedTo(changed);
+
+        assertThat(changed.size(), is(2));
+        final PreAndPostValues name = changed.get(AdapterAndProperty.of(mockAdapter, mockNameProperty));
+        assertThat(name.getPre(), is((Object) "Fred"));
+        assertThat(name.getPost(), is((Object) IsisTransaction.Placeholder.DELETED));
+        final PreAndPostValues age = changed.get(AdapterAndProperty.of(mockAdapter, mockAgeProperty));
+        assertThat(age.getPre(), is(nullValue()));
+        assertThat(age.getPost(), is((Object) IsisTransaction.Placeholder.DELETED));
+    }
+
+    @Test
+    public void overwrites_any_existing_entry_for_the_same_object_and_property() throws Exception {
+
+        final AdapterAndProperty nameOfAdapter = AdapterAndProperty.of(mockAdapter, mockNameProperty);
+        final PreAndPostValues stale = PreAndPostValues.pre("Stale");
+        stale.setPost("Staler");
+        changed.put(nameOfAdapter, stale);
+
+        final EnlistedObject enlistedObject = EnlistedObject.created(mockAdapter, properties);
+        context.checking(new Expectations() {{
+            allowing(mockAdapter).isDestroyed();
+            will(returnValue(false));
+            allowing(mockNameProperty).get(mockAdapter, InteractionInitiatedBy.FRAMEWORK);
+            will(returnValue(valueAdapter("Fred")));
+            allowing(mockAgeProperty).get(mockAdapter, InteractionInitiatedBy.FRAMEWORK);
+            will(returnValue(null));
+        }});
+        enlistedObject.capturePostValues();
+        enlistedObject.addChangedTo(changed);
+
+        assertThat(changed.size(), is(2));
+        assertThat(changed.get(nameOfAdapter).getPost(), is((Object) "Fred"));
+    }
+
+    private int numberOfValueAdapters;
+
+    private ObjectAdapter valueAdapter(final Object value) {
+        final ObjectAdapter valueAdapter = context.mock(ObjectAdapter.class, "value#" + ++numberOfValueAdapters);
+        context.checking(new Expectations() {{
+            allowing(valueAdapter).getObject();
+            will(returnValue(value));
+        }});
+        return valueAdapter;
+    }
+
+}
@@ -0,0 +1,315 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.delivery;
+
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.apache.isis.applib.services.audit.AuditerService2;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class DeliveryQueueTest {
+
+    private DeliveryQueue deliveryQueue;
+
+    @After
+    public void tearDown() throws Exception {
+        if(deliveryQueue != null) {
+            deliveryQueue.shutdown(1000L);
+        }
+    }
+
+    @Test
+    public void delivers_in_order_for_each_transaction() throws Exception {
+
+        final Map<UUID, List<Integer>> sequencesByTransactionId =
+                Collections.synchronizedMap(Maps.<UUID, List<Integer>>newHashMap());
+        deliveryQueue = new DeliveryQueue(4, 1000, 10, new DeliveryQueue.Deliverer() {
+            @Override
+            public void deliver(final List<Delivery> batch) {
+                for (final Delivery delivery : batch) {
+                    for (final AuditerService2.Entry entry : delivery.getAuditEntries()) {
+                        sequencesByTransactionId.get(entry.getTransactionId()).add(entry.getSequence());
+                    }
+                }
+            }
+        });
+        deliveryQueue.start();
+
+        final List<UUID> transactionIds = Lists.newArrayList();
+        for (int i = 0; i < 20; i++) {
+            final UUID transactionId = UUID.randomUUID();
+            transactionIds.add(transactionId);
+            sequencesByTransactionId.put(transactionId, Collections.synchronizedList(Lists.<Integer>newArrayList()));
+        }
+        for (int sequence = 0; sequence < 50; sequence++) {
+            for (final UUID transactionId : transactionIds) {
+                deliveryQueue.enqueue(newDelivery(transactionId, sequence));
+            }
+        }
+
+        assertThat(deliveryQueue.shutdown(5000L), is(true));
+
+        assertThat(deliveryQueue.getNumberDelivered(), is(1000L));
+        assertThat(deliveryQueue.getNumberFailed(), is(0L));
+        for (final UUID transactionId : transactionIds) {
+            final List<Integer> sequences = sequencesByTransactionId.get(transactionId);
+            assertThat(sequences.size(), is(50));
+            for (int sequence = 0; sequence < 50; sequence++) {
+                assertThat(sequences.get(sequence), is(sequence));
+            }
+        }
+        deliveryQueue = null;
+    }
+
+    @Test
+    public void delivers_in_batches() throws Exception {
+
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<Integer> batchSizes = Collections.synchronizedList(Lists.<Integer>newArrayList());
+        deliveryQueue = new DeliveryQueue(1, 100, 10, new DeliveryQueue.Deliverer() {
+            @Override
+            public void deliver(final List<Delivery> batch) {
+                batchSizes.add(batch.size());
+                started.countDown();
+                try {
+                    release.await();
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        deliveryQueue.start();
+
+        // the first is picked up on its own, and blocks the worker while the remainder are enqueued
+        final UUID transactionId = UUID.randomUUID();
+        deliveryQueue.enqueue(newDelivery(transactionId, 0));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        for (int sequence = 1; sequence <= 25; sequence++) {
+            deliveryQueue.enqueue(newDelivery(transactionId, sequence));
+        }
+        assertThat(deliveryQueue.getQueueDepth(), is(25));
+
+        release.countDown();
+        assertThat(deliveryQueue.shutdown(5000L), is(true));
+
+        assertThat(batchSizes, is((List<Integer>) Lists.newArrayList(1, 10, 10, 5)));
+        deliveryQueue = null;
+    }
+
+    @Test
+    public void failed_batches_are_counted_and_do_not_stop_delivery() throws Exception {
+
+        final List<Delivery> delivered = Collections.synchronizedList(Lists.<Delivery>newArrayList());
+        deliveryQueue = new DeliveryQueue(1, 100, 1, new DeliveryQueue.Deliverer() {
+            @Override
+            public void deliver(final List<Delivery> batch) {
+                if(batch.get(0).getAuditEntries().get(0).getSequence() == 1) {
+                    throw new RuntimeException("failed to deliver");
+                }
+                delivered.addAll(batch);
+            }
+        });
+        deliveryQueue.start();
+
+        final UUID transactionId = UUID.randomUUID();
+        for (int sequence = 0; sequence < 3; sequence++) {
+            deliveryQueue.enqueue(newDelivery(transactionId, sequence));
+        }
+        assertThat(deliveryQueue.shutdown(5000L), is(true));
+
+        assertThat(delivered.size(), is(2));
+        assertThat(deliveryQueue.getNumberDelivered(), is(2L));
+        assertThat(deliveryQueue.getNumberFailed(), is(1L));
+        deliveryQueue = null;
+    }
+
+    @Test
+    public void retries_failed_batches() throws Exception {
+
+        final AtomicInteger attempts = new AtomicInteger();
+        final List<Delivery> delivered = Collections.synchronizedList(Lists.<Delivery>newArrayList());
+        final List<Delivery> deadLetters = Collections.synchronizedList(Lists.<Delivery>newArrayList());
+        deliveryQueue = new DeliveryQueue(1, 100, 10, 3, 1L, new DeliveryQueue.Deliverer() {
+            @Override
+            public void deliver(final List<Delivery> batch) {
+                if(attempts.incrementAndGet() < 3) {
+                    throw new RuntimeException("transient failure");
+                }
+                delivered.addAll(batch);
+            }
+        }, recordingInto(deadLetters));
+        deliveryQueue.start();
+
+        deliveryQueue.enqueue(newDelivery(UUID.randomUUID(), 0));
+        assertThat(deliveryQueue.shutdown(5000L), is(true));
+
+        assertThat(attempts.get(), is(3));
+        assertThat(delivered.size(), is(1));
+        assertThat(deadLetters.size(), is(0));
+        assertThat(deliveryQueue.getNumberDelivered(), is(1L));
+        assertThat(deliveryQueue.getNumberFailed(), is(0L));
+        deliveryQueue = null;
+    }
+
+    @Test
+    public void delivers_individually_once_retries_exhausted_and_dead_letters_the_undeliverable() throws Exception {
+
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<Integer> delivered = Collections.synchronizedList(Lists.<Integer>newArrayList());
+        final List<Delivery> deadLetters = Collections.synchronizedList(Lists.<Delivery>newArrayList());
+        deliveryQueue = new DeliveryQueue(1, 100, 10, 2, 1L, new DeliveryQueue.Deliverer() {
+            @Override
+            public void deliver(final List<Delivery> batch) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                for (final Delivery delivery : batch) {
+                    if(sequenceOf(delivery) == 2) {
+                        throw new RuntimeException("poison");
+                    }
+                }
+                for (final Delivery delivery : batch) {
+                    delivered.add(sequenceOf(delivery));
+                }
+            }
+        }, recordingInto(deadLetters));
+        deliveryQueue.start();
+
+        // the first is picked up on its own, so that the remainder are delivered as a single batch
+        final UUID transactionId = UUID.randomUUID();
+        deliveryQueue.enqueue(newDelivery(transactionId, 0));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        for (int sequence = 1; sequence <= 4; sequence++) {
+            deliveryQueue.enqueue(newDelivery(transactionId, sequence));
+        }
+        release.countDown();
+        assertThat(deliveryQueue.shutdown(5000L), is(true));
+
+        assertThat(delivered, is((List<Integer>) Lists.newArrayList(0, 1, 3, 4)));
+        assertThat(deadLetters.size(), is(1));
+        assertThat(sequenceOf(deadLetters.get(0)), is(2));
+        assertThat(deliveryQueue.getNumberDelivered(), is(4L));
+        assertThat(deliveryQueue.getNumberFailed(), is(1L));
+        deliveryQueue = null;
+    }
+
+    @Test
+    public void delivers_synchronously_but_from_another_thread_once_shutdown() throws Exception {
+
+        final List<Thread> deliveredBy = Collections.synchronizedList(Lists.<Thread>newArrayList());
+        deliveryQueue = new DeliveryQueue(1, 10, 1, new DeliveryQueue.Deliverer() {
+            @Override
+            public void deliver(final List<Delivery> batch) {
+                deliveredBy.add(Thread.currentThread());
+            }
+        });
+        deliveryQueue.start();
+        deliveryQueue.shutdown(1000L);
+
+        deliveryQueue.enqueue(newDelivery(UUID.randomUUID(), 0));
+
+        // delivered before enqueue returned, but not by the enqueuing thread (which is committing its own transaction)
+        assertThat(deliveredBy.size(), is(1));
+        assertThat(deliveredBy.get(0) == Thread.currentThread(), is(false));
+        assertThat(deliveryQueue.getNumberDelivered(), is(1L));
+        assertThat(deliveryQueue.getQueueDepth(), is(0));
+        deliveryQueue = null;
+    }
+
+    @Test
+    public void dead_letters_those_still_enqueued_when_shutdown_times_out() throws Exception {
+
+        final CountDownLatch started = new CountDownLatch(1);
+        final List<Delivery> deadLetters = Collections.synchronizedList(Lists.<Delivery>newArrayList());
+        deliveryQueue = new DeliveryQueue(1, 10, 1, 1, 0L, new DeliveryQueue.Deliverer() {
+            @Override
+            public void deliver(final List<Delivery> batch) {
+                started.countDown();
+                try {
+                    new CountDownLatch(1).await();
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("interrupted");
+                }
+            }
+        }, recordingInto(deadLetters));
+        deliveryQueue.start();
+
+        final UUID transactionId = UUID.randomUUID();
+        deliveryQueue.enqueue(newDelivery(transactionId, 0));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        deliveryQueue.enqueue(newDelivery(transactionId, 1));
+
+        assertThat(deliveryQueue.shutdown(100L), is(false));
+
+        assertThat(deliveryQueue.getQueueDepth(), is(0));
+        final List<Integer> deadLetterSequences = Lists.newArrayList();
+        synchronized (deadLetters) {
+            for (final Delivery deadLetter : deadLetters) {
+                deadLetterSequences.add(sequenceOf(deadLetter));
+            }
+        }
+        assertTrue(deadLetterSequences.contains(1));
+        deliveryQueue = null;
+    }
+
+    private static DeliveryQueue.DeadLetterHandler recordingInto(final List<Delivery> deadLetters) {
+        return new DeliveryQueue.DeadLetterHandler() {
+            @Override
+            public void deadLetter(final Delivery delivery, final RuntimeException cause) {
+                deadLetters.add(delivery);
+            }
+        };
+    }
+
+    private static int sequenceOf(final Delivery delivery) {
+        return delivery.getAuditEntries().get(0).getSequence();
+    }
+
+    private static Delivery newDelivery(final UUID transactionId, final int sequence) {
+        final Delivery delivery = new Delivery(transactionId);
+        delivery.addAuditEntry(new AuditerService2.Entry(
+                transactionId, sequence, "com.mycompany.myapp.Customer", null,
+                "com.mycompany.myapp.Customer#name", "name", "Fred", "Freddy",
+                "sven", new Timestamp(0L)));
+        return delivery;
+    }
+
+}
@@ -0,0 +1,194 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.delivery;
+
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.isis.applib.services.audit.AuditerService;
+import org.apache.isis.applib.services.audit.AuditerService2;
+import org.apache.isis.applib.services.bookmark.Bookmark;
+import org.apache.isis.applib.services.delivery.DeadLetterService;
+import org.apache.isis.applib.services.publish.PublishedObjects;
+import org.apache.isis.applib.services.publish.PublisherService;
+import org.apache.isis.core.runtime.system.transaction.TransactionalClosure;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class DeliveryServiceInternalTest {
+
+    static class RecordingAuditerService implements AuditerService2 {
+
+        final List<List<AuditerService2.Entry>> received =
+                Collections.synchronizedList(Lists.<List<AuditerService2.Entry>>newArrayList());
+        int failuresRemaining;
+
+        RecordingAuditerService(final int failuresRemaining) {
+            this.failuresRemaining = failuresRemaining;
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return true;
+        }
+
+        @Override
+        public synchronized void audit(final List<AuditerService2.Entry> auditEntries) {
+            if(failuresRemaining > 0) {
+                failuresRemaining--;
+                throw new RuntimeException("failed to audit");
+            }
+            received.add(auditEntries);
+        }
+
+        @Override
+        public void audit(
+                final UUID transactionId, final int sequence,
+                final String targetClass, final Bookmark target,
+                final String memberIdentifier, final String propertyId,
+                final String preValue, final String postValue,
+                final String user, final Timestamp timestamp) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    static class DeliveryServiceInternalForTesting extends DeliveryServiceInternal {
+
+        int transactions;
+
+        @Override
+        void inSession(final Runnable runnable) {
+            runnable.run();
+        }
+
+        @Override
+        void inTransaction(final TransactionalClosure closure) {
+            transactions++;
+            closure.execute();
+        }
+    }
+
+    private DeliveryServiceInternalForTesting deliveryServiceInternal;
+
+    private final List<UUID> deadLetterTransactionIds = Collections.synchronizedList(Lists.<UUID>newArrayList());
+    private final List<List<Object>> deadLetterUndeliveredTo =
+            Collections.synchronizedList(Lists.<List<Object>>newArrayList());
+
+    @Before
+    public void setUp() throws Exception {
+        deliveryServiceInternal = new DeliveryServiceInternalForTesting();
+        deliveryServiceInternal.publisherServices = Collections.<PublisherService>emptyList();
+        deliveryServiceInternal.deadLetterServices = Collections.<DeadLetterService>singletonList(
+                new DeadLetterService() {
+                    @Override
+                    public void deadLetter(
+                            final UUID transactionId,
+                            final List<AuditerService2.Entry> auditEntries,
+                            final List<PublishedObjects> publishedObjectsList,
+                            final List<Object> undeliveredTo,
+                            final Exception cause) {
+                        deadLetterTransactionIds.add(transactionId);
+                        deadLetterUndeliveredTo.add(undeliveredTo);
+                    }
+                });
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        deliveryServiceInternal.shutdown();
+    }
+
+    @Test
+    public void retries_only_to_the_subscriber_that_failed() throws Exception {
+
+        final RecordingAuditerService succeeds = new RecordingAuditerService(0);
+        final RecordingAuditerService failsOnce = new RecordingAuditerService(1);
+        deliveryServiceInternal.auditerServices = Lists.<AuditerService>newArrayList(succeeds, failsOnce);
+        deliveryServiceInternal.init(asynchronous(3));
+
+        final UUID transactionId = UUID.randomUUID();
+        deliveryServiceInternal.enlistAuditEntry(newAuditEntry(transactionId));
+        deliveryServiceInternal.enqueueEnlisted();
+        deliveryServiceInternal.shutdown();
+
+        assertThat(succeeds.received.size(), is(1));
+        assertThat(failsOnce.received.size(), is(1));
+        assertThat(deadLetterTransactionIds.size(), is(0));
+    }
+
+    @Test
+    public void dead_letters_only_to_the_subscribers_that_failed() throws Exception {
+
+        final RecordingAuditerService succeeds = new RecordingAuditerService(0);
+        final RecordingAuditerService alwaysFails = new RecordingAuditerService(Integer.MAX_VALUE);
+        deliveryServiceInternal.auditerServices = Lists.<AuditerService>newArrayList(succeeds, alwaysFails);
+        deliveryServiceInternal.init(asynchronous(2));
+
+        final UUID transactionId = UUID.randomUUID();
+        deliveryServiceInternal.enlistAuditEntry(newAuditEntry(transactionId));
+        deliveryServiceInternal.enqueueEnlisted();
+        deliveryServiceInternal.shutdown();
+
+        assertThat(succeeds.received.size(), is(1));
+        assertThat(alwaysFails.received.size(), is(0));
+        assertThat(deadLetterTransactionIds, is((List<UUID>) Lists.newArrayList(transactionId)));
+        assertThat(deadLetterUndeliveredTo.get(0), is((List<Object>) Lists.<Object>newArrayList(alwaysFails)));
+    }
+
+    @Test
+    public void delivers_in_a_transaction_once_shutdown() throws Exception {
+
+        final RecordingAuditerService succeeds = new RecordingAuditerService(0);
+        deliveryServiceInternal.auditerServices = Lists.<AuditerService>newArrayList(succeeds);
+        deliveryServiceInternal.init(asynchronous(1));
+        deliveryServiceInternal.shutdown();
+
+        deliveryServiceInternal.enlistAuditEntry(newAuditEntry(UUID.randomUUID()));
+        deliveryServiceInternal.enqueueEnlisted();
+
+        assertThat(succeeds.received.size(), is(1));
+        assertThat(deliveryServiceInternal.transactions, is(1));
+    }
+
+    private static Map<String, String> asynchronous(final int maxAttempts) {
+        return ImmutableMap.of(
+                DeliveryServiceInternal.KEY_ASYNCHRONOUS, "true",
+                DeliveryServiceInternal.KEY_MAX_ATTEMPTS, "" + maxAttempts,
+                DeliveryServiceInternal.KEY_RETRY_BACKOFF_MILLIS, "1");
+    }
+
+    private static AuditerService2.Entry newAuditEntry(final UUID transactionId) {
+        return new AuditerService2.Entry(
+                transactionId, 0, "com.mycompany.myapp.Customer", null,
+                "com.mycompany.myapp.Customer#name", "name", "Fred", "Freddy",
+                "sven", new Timestamp(0L));
+    }
+
+}
@@ -0,0 +1,203 @@
+/**
+ *  Licensed to the Apache Software Foundation (ASF) under one or more
+ *  contributor license agreements.  See the NOTICE file distributed with
+ *  this work for additional information regarding copyright ownership.
+ *  The ASF licenses this file to You under the Apache License, Version 2.0
+ *  (the "License"); you may not use this file except in compliance with
+ *  the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.apache.isis.core.runtime.services.memento;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Date;
+
+import com.google.common.base.Strings;
+
+import org.joda.time.LocalDate;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.isis.applib.services.bookmark.Bookmark;
+import org.apache.isis.applib.services.memento.MementoService.Memento;
+import org.apache.isis.applib.services.urlencoding.UrlEncodingServiceUsingBaseEncoding;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+
+public class MementoServiceDefaultTest_binary {
+
+    private MementoServiceDefault xmlMementoService;
+    private MementoServiceDefault binaryMementoService;
+
+    @Before
+    public void setUp() throws Exception {
+        xmlMementoService = new MementoServiceDefault();
+        xmlMementoService.urlEncodingService = new UrlEncodingServiceUsingBaseEncoding();
+        binaryMementoService = new MementoServiceDefault().withBinaryFormat();
+        binaryMementoService.urlEncodingService = xmlMementoService.urlEncodingService;
+    }
+
+    static enum DOW {
+        Mon,Tue,Wed,Thu,Fri
+    }
+
+    @Test
+    public void roundtrip() {
+        final String str = populate(binaryMementoService.create()).asString();
+
+        assertThat(str.startsWith(BinaryMementoUtil.PREFIX), is(true));
+        assertRoundtripped(binaryMementoService.parse(str));
+        // irrespective of the format that the service creates
+        assertRoundtripped(xmlMementoService.parse(str));
+    }
+
+    @Test
+    public void parses_xml() {
+        final String str = populate(xmlMementoService.create()).asString();
+
+        assertRoundtripped(binaryMementoService.parse(str));
+    }
+
+    @Test
+    public void parses_xml_whenNoEncoding() {
+        final MementoServiceDefault mementoService = new MementoServiceDefault().withNoEncoding();
+        final String str = populate(mementoService.create()).asString();
+
+        assertRoundtripped(new MementoServiceDefault().withNoEncoding().withBinaryFormat().parse(str));
+    }
+
+    @Test
+    public void smaller_than_xml() {
+        final String xmlStr = populate(xmlMementoService.create()).asString();
+        final String binaryStr = populate(binaryMementoService.create()).asString();
+
+        assertThat(binaryStr.length(), is(lessThan(xmlStr.length() / 2)));
+    }
+
+    @Test
+    public void smaller_than_xml_forTypicalViewModel() {
+        final String xmlStr = populateTypicalViewModel(xmlMementoService.create(), 1).asString();
+        final String binaryStr = populateTypicalViewModel(binaryMementoService.create(), 1).asString();
+
+        assertThat(binaryStr.length(), is(lessThan(xmlStr.length() / 2)));
+    }
+
+    @Test
+    public void smaller_than_xml_forTypicalViewModel_whenRepeated() {
+        final String xmlStr = populateTypicalViewModel(xmlMementoService.create(), 10).asString();
+        final String binaryStr = populateTypicalViewModel(binaryMementoService.create(), 10).asString();
+
+        // repeated keys and values are deflated
+        assertThat(binaryStr.length(), is(lessThan(xmlStr.length() / 4)));
+    }
+
+    @Test
+    public void deflated_whenLarge() {
+        final String longString = Strings.repeat("a string that repeats; ", 100);
+        final String str = binaryMementoService.create().set("someLongString", longString).asString();
+
+        assertThat(str.length(), is(lessThan(longString.length() / 4)));
+        assertThat(binaryMementoService.parse(str).get("someLongString", String.class), is(longString));
+    }
+
+    @Test
+    public void converts_whenReadAsOtherType() {
+        final String str = binaryMementoService.create()
+                .set("someInt", 123)
+                .set("someNegativeLong", -1234567890123L)
+                .set("someNumericString", "456")
+                .asString();
+
+        final Memento memento = binaryMementoService.parse(str);
+        assertThat(memento.get("someInt", Long.class), is(123L));
+        assertThat(memento.get("someInt", int.class), is(123));
+        assertThat(memento.get("someInt", String.class), is("123"));
+        assertThat(memento.get("someNegativeLong", long.class), is(-1234567890123L));
+        assertThat(memento.get("someNumericString", Integer.class), is(456));
+        assertThat(memento.get("someMissingValue", Integer.class), is(nullValue()));
+    }
+
+    @Test
+    public void firstValueSetWins_andKeySetInOrder() {
+        final Memento memento = binaryMementoService.parse(binaryMementoService.create()
+                .set("b", "first")
+                .set("a", "second")
+                .set("b", "third")
+                .asString());
+
+        assertThat(memento.get("b", String.class), is("first"));
+        assertThat(Arrays.asList(memento.keySet().toArray()), is(Arrays.<Object>asList("b", "a")));
+    }
+
+    private static Memento populate(final Memento memento) {
+        memento.set("someString", "a string");
+        memento.set("someStringWithDoubleSpaces", "a  string");
+        memento.set("someByte", (byte)123);
+        memento.set("someShort", (short)-12345);
+        memento.set("someInt", 123456789);
+        memento.set("someLong", 1234567890123456789L);
+        memento.set("someFloat", 123.45F);
+        memento.set("someDouble", 1234567890.123456);
+        memento.set("someBooleanTrue", Boolean.TRUE);
+        memento.set("someBooleanFalse", Boolean.FALSE);
+        memento.set("someBigInteger", new BigInteger("123456789012345678901234567890"));
+        memento.set("someBigDecimal", new BigDecimal("-123456789012345678901234567890.123456789"));
+        memento.set("someLocalDate", new LocalDate(2013,9,3));
+        memento.set("someJavaUtilDate", new Date(300_000_000));
+        memento.set("someBookmark", new Bookmark("CUS", "12345"));
+        memento.set("someNullValue", null);
+        memento.set("someEnum", DOW.Wed);
+        return memento;
+    }
+
+    /**
+     * As per <tt>MementoServiceDefaultBenchmark</tt> (in <tt>core/perf</tt>).
+     */
+    private static Memento populateTypicalViewModel(final Memento memento, final int repeat) {
+        for (int i = 0; i < repeat; i++) {
+            memento.set("hostname" + i, "services.mycompany.com")
+                   .set("port" + i, 8080)
+                   .set("id" + i, 123456L + i)
+                   .set("customer" + i, new Bookmark("CUS", "" + i))
+                   .set("asOf" + i, new LocalDate(2016, 12, 31))
+                   .set("amount" + i, new BigDecimal("1234.56"))
+                   .set("active" + i, true);
+        }
+        return memento;
+    }
+
+    private static void assertRoundtripped(final Memento memento) {
+        assertThat(memento.get("someString", String.class), is("a string"));
+        assertThat(memento.get("someStringWithDoubleSpaces", String.class), is("a  string"));
+        assertThat(memento.get("someByte", Byte.class), is((byte)123));
+        assertThat(memento.get("someShort", Short.class), is((short)-12345));
+        assertThat(memento.get("someInt", Integer.class), is(123456789));
+        assertThat(memento.get("someLong", Long.class), is(1234567890123456789L));
+        assertThat(memento.get("someFloat", Float.class), is(123.45F));
+        assertThat(memento.get("someDouble", Double.class), is(1234567890.123456));
+        assertThat(memento.get("someBooleanTrue", Boolean.class), is(Boolean.TRUE));
+        assertThat(memento.get("someBooleanFalse", Boolean.class), is(Boolean.FALSE));
+        assertThat(memento.get("someBigInteger", BigInteger.class), is(new BigInteger("123456789012345678901234567890")));
+        assertThat(memento.get("someBigDecimal", BigDecimal.class), is(new BigDecimal("-123456789012345678901234567890.123456789")));
+        assertThat(memento.get("someLocalDate", LocalDate.class), is(new LocalDate(2013,9,3)));
+        assertThat(memento.get("someJavaUtilDate", Date.class), is(new Date(300_000_000)));
+        assertThat(memento.get("someBookmark", Bookmark.class), is(new Bookmark("CUS", "12345")));
+        assertThat(memento.get("someNullValue", Integer.class), is(nullValue()));
+        assertThat(memento.get("someNullValue", Bookmark.class), is(nullValue()));
+        assertThat(memento.get("someEnum", DOW.class), is(DOW.Wed));
+        assertThat(memento.keySet().size(), is(17));
+    }
+
+}
@@ -0,0 +1,139 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.services.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.ObjectName;
+
+import com.google.common.collect.ImmutableMap;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class MetricsServiceDefaultTest {
+
+    private static final String OBJECT_NAME = "org.apache.isis.test:type=Metrics";
+
+    MetricsServiceDefault metricsService;
+    MetricsExporterServiceInternal metricsExporterService;
+
+    @Before
+    public void setUp() throws Exception {
+        metricsExporterService = new MetricsExporterServiceInternal();
+
+        metricsService = new MetricsServiceDefault();
+        metricsService.metricsExporterServiceInternal = metricsExporterService;
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        metricsExporterService.shutdown();
+    }
+
+    @Test
+    public void records_and_resets() throws Exception {
+        metricsExporterService.init(Collections.<String, String>emptyMap());
+
+        metricsService.queryExecuted(TimeUnit.MILLISECONDS.toNanos(3));
+        metricsService.queryExecuted(TimeUnit.MILLISECONDS.toNanos(4));
+        metricsService.flushed(TimeUnit.MILLISECONDS.toNanos(5));
+        metricsService.adapterCreated();
+        metricsService.domainEventPosted();
+        metricsService.domainEventPosted();
+        metricsService.level2CacheHit();
+        metricsService.level2CacheHit();
+        metricsService.level2CacheMiss();
+
+        assertThat(metricsService.numberQueriesExecuted(), is(2));
+        assertThat(metricsService.queryExecutionMillis(), is(7L));
+        assertThat(metricsService.numberFlushes(), is(1));
+        assertThat(metricsService.flushMillis(), is(5L));
+        assertThat(metricsService.numberAdaptersCreated(), is(1));
+        assertThat(metricsService.numberDomainEventsPosted(), is(2));
+        assertThat(metricsService.numberLevel2CacheHits(), is(2));
+        assertThat(metricsService.numberLevel2CacheMisses(), is(1));
+
+        metricsService.resetForNextTransaction();
+
+        assertThat(metricsService.numberQueriesExecuted(), is(0));
+        assertThat(metricsService.queryExecutionMillis(), is(0L));
+        assertThat(metricsService.numberFlushes(), is(0));
+        assertThat(metricsService.numberAdaptersCreated(), is(0));
+        assertThat(metricsService.numberDomainEventsPosted(), is(0));
+        assertThat(metricsService.numberLevel2CacheHits(), is(0));
+        assertThat(metricsService.numberLevel2CacheMisses(), is(0));
+        assertThat(metricsExporterService.getMetricsTotals(), is(nullValue()));
+    }
+
+    @Test
+    public void accumulates_into_mbean_if_enabled() throws Exception {
+        metricsExporterService.init(ImmutableMap.of(
+                MetricsExporterServiceInternal.KEY_JMX_ENABLED, "true",
+                MetricsExporterServiceInternal.KEY_JMX_OBJECT_NAME, OBJECT_NAME));
+
+        metricsService.queryExecuted(TimeUnit.MILLISECONDS.toNanos(3));
+        metricsService.resetForNextTransaction();
+        metricsService.queryExecuted(TimeUnit.MILLISECONDS.toNanos(4));
+        metricsService.domainEventPosted();
+        metricsService.level2CacheHit();
+        metricsService.resetForNextTransaction();
+
+        final MetricsTotalsMBean metricsTotals = metricsExporterService.getMetricsTotals();
+        assertThat(metricsTotals.getNumberTransactions(), is(2L));
+        assertThat(metricsTotals.getNumberQueriesExecuted(), is(2L));
+        assertThat(metricsTotals.getQueryExecutionMillis(), is(7L));
+        assertThat(metricsTotals.getNumberDomainEventsPosted(), is(1L));
+        assertThat(metricsTotals.getNumberLevel2CacheHits(), is(1L));
+
+        final Object numberQueriesExecuted = ManagementFactory.getPlatformMBeanServer()
+                .getAttribute(new ObjectName(OBJECT_NAME), "NumberQueriesExecuted");
+        assertThat(numberQueriesExecuted, is((Object) 2L));
+
+        metricsExporterService.shutdown();
+        assertThat(ManagementFactory.getPlatformMBeanServer().isRegistered(new ObjectName(OBJECT_NAME)), is(false));
+    }
+
+    @Test
+    public void accumulates_durations_without_truncating_each_transaction() throws Exception {
+        metricsExporterService.init(ImmutableMap.of(
+                MetricsExporterServiceInternal.KEY_JMX_ENABLED, "true",
+                MetricsExporterServiceInternal.KEY_JMX_OBJECT_NAME, OBJECT_NAME));
+
+        // ten transactions, each with a query and flush of less than a millisecond
+        for (int i = 0; i < 10; i++) {
+            metricsService.queryExecuted(TimeUnit.MICROSECONDS.toNanos(500));
+            metricsService.flushed(TimeUnit.MICROSECONDS.toNanos(300));
+            assertThat(metricsService.queryExecutionMillis(), is(0L));
+            metricsService.resetForNextTransaction();
+        }
+
+        final MetricsTotalsMBean metricsTotals = metricsExporterService.getMetricsTotals();
+        assertThat(metricsTotals.getQueryExecutionMillis(), is(5L));
+        assertThat(metricsTotals.getFlushMillis(), is(3L));
+    }
+
+}
@@ -0,0 +1,104 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.system.persistence;
+
+import javax.jdo.PersistenceManagerFactory;
+import javax.jdo.annotations.Cacheable;
+import javax.jdo.identity.LongIdentity;
+
+import org.datanucleus.api.jdo.JDODataStoreCache;
+import org.datanucleus.cache.Level2Cache;
+import org.datanucleus.identity.LongId;
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class DataNucleusLevel2CacheTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(JUnitRuleMockery2.Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private PersistenceManagerFactory mockPersistenceManagerFactory;
+
+    @Mock
+    private Level2Cache mockLevel2Cache;
+
+    @Cacheable
+    public static class Country {}
+    public static class SubCountry extends Country {}
+    @Cacheable("false")
+    public static class NotCached {}
+    public static class Customer {}
+
+    @Test
+    public void isCacheable() throws Exception {
+        assertThat(DataNucleusLevel2Cache.isCacheable(Country.class), is(true));
+        assertThat(DataNucleusLevel2Cache.isCacheable(SubCountry.class), is(true));
+        assertThat(DataNucleusLevel2Cache.isCacheable(NotCached.class), is(false));
+        assertThat(DataNucleusLevel2Cache.isCacheable(Customer.class), is(false));
+    }
+
+    @Test
+    public void when_not_configured() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockPersistenceManagerFactory).getDataStoreCache();
+            will(returnValue(null));
+        }});
+
+        final DataNucleusLevel2Cache level2Cache = new DataNucleusLevel2Cache(mockPersistenceManagerFactory);
+
+        assertThat(level2Cache.isEnabled(), is(false));
+        assertThat(level2Cache.contains(new LongIdentity(Country.class, 1L)), is(false));
+        level2Cache.evictAll();
+    }
+
+    @Test
+    public void when_configured_translates_jdo_identity() throws Exception {
+        final LongIdentity jdoObjectId = new LongIdentity(Country.class, 1L);
+        final LongId dnObjectId = new LongId(Country.class, 1L);
+
+        context.checking(new Expectations() {{
+            allowing(mockPersistenceManagerFactory).getDataStoreCache();
+            will(returnValue(new JDODataStoreCache(mockLevel2Cache)));
+
+            oneOf(mockLevel2Cache).containsOid(dnObjectId);
+            will(returnValue(true));
+
+            oneOf(mockLevel2Cache).evict(dnObjectId);
+
+            oneOf(mockLevel2Cache).evictAll(Country.class, true);
+        }});
+
+        final DataNucleusLevel2Cache level2Cache = new DataNucleusLevel2Cache(mockPersistenceManagerFactory);
+
+        assertThat(level2Cache.isEnabled(), is(true));
+        assertThat(level2Cache.contains(jdoObjectId), is(true));
+        level2Cache.evict(jdoObjectId);
+        level2Cache.evictAll(Country.class);
+        level2Cache.evictAll(Customer.class); // ignored, not cacheable
+    }
+
+}
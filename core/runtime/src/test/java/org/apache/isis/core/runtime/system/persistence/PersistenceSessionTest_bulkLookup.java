@@ -0,0 +1,336 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.system.persistence;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.jdo.FetchPlan;
+import javax.jdo.JDOObjectNotFoundException;
+import javax.jdo.PersistenceManager;
+import javax.jdo.PersistenceManagerFactory;
+
+import com.google.common.collect.Lists;
+
+import org.jmock.Expectations;
+import org.jmock.api.Invocation;
+import org.jmock.auto.Mock;
+import org.jmock.lib.action.CustomAction;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.services.bookmark.Bookmark;
+import org.apache.isis.applib.services.bookmark.BookmarkService2;
+import org.apache.isis.applib.services.command.CommandContext;
+import org.apache.isis.applib.services.exceprecog.ExceptionRecognizer;
+import org.apache.isis.applib.services.exceprecog.ExceptionRecognizer2;
+import org.apache.isis.applib.services.iactn.InteractionContext;
+import org.apache.isis.core.commons.authentication.AuthenticationSession;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.adapter.oid.RootOid;
+import org.apache.isis.core.metamodel.adapter.mgr.AdapterManager.ConcurrencyChecking;
+import org.apache.isis.core.metamodel.services.ServicesInjector;
+import org.apache.isis.core.metamodel.services.configinternal.ConfigurationServiceInternal;
+import org.apache.isis.core.metamodel.services.metrics.MetricsServiceInternal;
+import org.apache.isis.core.metamodel.spec.ObjectSpecId;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
+import org.apache.isis.core.runtime.system.context.IsisContext;
+import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.objectstore.jdo.metamodel.facets.object.persistencecapable.JdoPersistenceCapableFacet;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class PersistenceSessionTest_bulkLookup {
+
+    public static class Customer {
+        private final String id;
+        public Customer(final String id) {
+            this.id = id;
+        }
+        @Override
+        public String toString() {
+            return "Customer#" + id;
+        }
+    }
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(JUnitRuleMockery2.Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private ServicesInjector mockServicesInjector;
+    @JUnitRuleMockery2.Ignoring
+    @Mock
+    private ConfigurationServiceInternal mockConfiguration;
+    @Mock
+    private SpecificationLoader mockSpecificationLoader;
+    @Mock
+    private IsisSessionFactory mockIsisSessionFactory;
+    @Mock
+    private AuthenticationSession mockAuthenticationSession;
+    @Mock
+    private PersistenceManagerFactory mockPersistenceManagerFactory;
+    @Mock
+    private PersistenceManager mockPersistenceManager;
+    @JUnitRuleMockery2.Ignoring
+    @Mock
+    private FetchPlan mockFetchPlan;
+    @JUnitRuleMockery2.Ignoring
+    @Mock
+    private MetricsServiceInternal mockMetricsServiceInternal;
+    @Mock
+    private ObjectSpecification mockCustomerSpec;
+    @Mock
+    private ExceptionRecognizer2 mockExceptionRecognizer;
+
+    private final Customer customer1 = new Customer("1");
+    private final Customer customer2 = new Customer("2");
+    private final Customer customer3 = new Customer("3");
+    private final Customer customer4 = new Customer("4");
+
+    private PersistenceSession persistenceSession;
+    private final List<Object> refreshed = Lists.newArrayList();
+    private int numberLookedUp;
+
+    @Before
+    public void setUp() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockServicesInjector).getConfigurationServiceInternal();
+            will(returnValue(mockConfiguration));
+            allowing(mockServicesInjector).getSpecificationLoader();
+            will(returnValue(mockSpecificationLoader));
+            allowing(mockServicesInjector).lookupServiceElseFail(CommandContext.class);
+            will(returnValue(new CommandContext()));
+            allowing(mockServicesInjector).lookupServiceElseFail(InteractionContext.class);
+            will(returnValue(new InteractionContext()));
+            allowing(mockServicesInjector).lookupService(MetricsServiceInternal.class);
+            will(returnValue(mockMetricsServiceInternal));
+            allowing(mockServicesInjector).lookupServices(ExceptionRecognizer.class);
+            will(returnValue(Collections.singletonList(mockExceptionRecognizer)));
+            allowing(mockServicesInjector).injectServicesInto(with(any(Object.class)));
+            // the remaining services are not used by these tests
+            allowing(mockServicesInjector).lookupService(with(any(Class.class)));
+            will(new CustomAction("mock service") {
+                @Override
+                public Object invoke(final Invocation invocation) throws Throwable {
+                    final Class<?> serviceType = (Class<?>) invocation.getParameter(0);
+                    return context.mock(serviceType, "mock" + serviceType.getSimpleName() + "#" + ++numberLookedUp);
+                }
+            });
+
+            allowing(mockPersistenceManagerFactory).getDataStoreCache();
+            will(returnValue(null));
+            allowing(mockPersistenceManager).getFetchPlan();
+            will(returnValue(mockFetchPlan));
+
+            // used by JdoObjectIdSerializer
+            allowing(mockIsisSessionFactory).getSpecificationLoader();
+            will(returnValue(mockSpecificationLoader));
+
+            allowing(mockSpecificationLoader).lookupBySpecId(ObjectSpecId.of("CUS"));
+            will(returnValue(mockCustomerSpec));
+            allowing(mockSpecificationLoader).loadSpecification(Customer.class);
+            will(returnValue(mockCustomerSpec));
+
+            allowing(mockCustomerSpec).getCorrespondingClass();
+            will(returnValue(Customer.class));
+            allowing(mockCustomerSpec).getFullIdentifier();
+            will(returnValue(Customer.class.getName()));
+            allowing(mockCustomerSpec).getFacet(JdoPersistenceCapableFacet.class);
+            will(returnValue(null));
+            allowing(mockCustomerSpec).isViewModel();
+            will(returnValue(false));
+
+            allowing(mockExceptionRecognizer).recognize2(with(any(JDOObjectNotFoundException.class)));
+            will(returnValue(new ExceptionRecognizer2.Recognition(ExceptionRecognizer2.Category.NOT_FOUND, "not found")));
+        }});
+
+        IsisContext.setSessionFactory(mockIsisSessionFactory);
+
+        persistenceSession = new PersistenceSession(
+                mockServicesInjector, mockAuthenticationSession, mockPersistenceManagerFactory, null) {
+            @Override
+            public void refreshRootInTransaction(final ObjectAdapter adapter) {
+                refreshed.add(adapter.getObject());
+            }
+        };
+        persistenceSession.persistenceManager = mockPersistenceManager;
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        IsisContext.testReset();
+    }
+
+    @Test
+    public void adaptersFor_loads_those_not_cached_together_in_the_same_order() throws Exception {
+
+        persistenceSession.mapRecreatedPojo(oid("1"), customer1);
+
+        context.checking(new Expectations() {{
+            oneOf(mockPersistenceManager).getObjectsById(Arrays.asList(jdoObjectId("4"), jdoObjectId("2"), jdoObjectId("3")), true);
+            will(returnValue(Arrays.asList(customer4, customer2, customer3)));
+
+            never(mockPersistenceManager).getObjectById(with(any(Class.class)), with(any(Object.class)));
+        }});
+
+        final List<ObjectAdapter> adapters = persistenceSession.adaptersFor(
+                Arrays.asList(oid("4"), oid("1"), oid("2"), oid("3")), ConcurrencyChecking.NO_CHECK);
+
+        assertPojos(adapters, customer4, customer1, customer2, customer3);
+
+        context.assertIsSatisfied();
+
+        // now all cached
+        assertPojos(
+                persistenceSession.adaptersFor(
+                        Arrays.asList(oid("3"), oid("2"), oid("1")), ConcurrencyChecking.NO_CHECK),
+                customer3, customer2, customer1);
+    }
+
+    @Test
+    public void adaptersFor_loads_a_single_object_not_cached_as_before() throws Exception {
+
+        persistenceSession.mapRecreatedPojo(oid("1"), customer1);
+
+        context.checking(new Expectations() {{
+            never(mockPersistenceManager).getObjectsById(with(any(List.class)), with(any(Boolean.class)));
+
+            oneOf(mockPersistenceManager).getObjectById(Customer.class, jdoObjectId("2"));
+            will(returnValue(customer2));
+        }});
+
+        final List<ObjectAdapter> adapters = persistenceSession.adaptersFor(
+                Arrays.asList(oid("1"), oid("2")), ConcurrencyChecking.NO_CHECK);
+
+        assertPojos(adapters, customer1, customer2);
+    }
+
+    @Test
+    public void adaptersFor_when_any_missing_then_loads_one_by_one_and_returns_null_for_missing() throws Exception {
+
+        context.checking(new Expectations() {{
+            oneOf(mockPersistenceManager).getObjectsById(Arrays.asList(jdoObjectId("2"), jdoObjectId("3"), jdoObjectId("4")), true);
+            will(throwException(new JDOObjectNotFoundException("3 has been deleted")));
+
+            oneOf(mockPersistenceManager).getObjectById(Customer.class, jdoObjectId("2"));
+            will(returnValue(customer2));
+            oneOf(mockPersistenceManager).getObjectById(Customer.class, jdoObjectId("3"));
+            will(throwException(new JDOObjectNotFoundException("3 has been deleted")));
+            oneOf(mockPersistenceManager).getObjectById(Customer.class, jdoObjectId("4"));
+            will(returnValue(customer4));
+        }});
+
+        final List<ObjectAdapter> adapters = persistenceSession.adaptersFor(
+                Arrays.asList(oid("2"), oid("3"), oid("4")), ConcurrencyChecking.NO_CHECK);
+
+        assertThat(adapters.size(), is(3));
+        assertThat(adapters.get(0).getObject(), is((Object) customer2));
+        assertThat(adapters.get(1), is(nullValue()));
+        assertThat(adapters.get(2).getObject(), is((Object) customer4));
+    }
+
+    @Test
+    public void lookup_bookmarks_in_the_same_order_refreshing_only_those_not_just_loaded() throws Exception {
+
+        persistenceSession.mapRecreatedPojo(oid("1"), customer1);
+
+        context.checking(new Expectations() {{
+            oneOf(mockPersistenceManager).getObjectsById(Arrays.asList(jdoObjectId("3"), jdoObjectId("2")), true);
+            will(returnValue(Arrays.asList(customer3, customer2)));
+        }});
+
+        final List<Object> pojos = persistenceSession.lookup(
+                Arrays.asList(bookmark("3"), null, bookmark("1"), bookmark("2")),
+                BookmarkService2.FieldResetPolicy.RESET);
+
+        assertThat(pojos, is(Arrays.<Object>asList(customer3, null, customer1, customer2)));
+        assertThat(refreshed, is(Collections.<Object>singletonList(customer1)));
+    }
+
+    @Test
+    public void lookup_bookmarks_without_reset_refreshes_none() throws Exception {
+
+        persistenceSession.mapRecreatedPojo(oid("1"), customer1);
+
+        context.checking(new Expectations() {{
+            oneOf(mockPersistenceManager).getObjectsById(Arrays.asList(jdoObjectId("2"), jdoObjectId("3")), true);
+            will(returnValue(Arrays.asList(customer2, customer3)));
+        }});
+
+        final List<Object> pojos = persistenceSession.lookup(
+                Arrays.asList(bookmark("1"), bookmark("2"), bookmark("3")),
+                BookmarkService2.FieldResetPolicy.DONT_RESET);
+
+        assertThat(pojos, is(Arrays.<Object>asList(customer1, customer2, customer3)));
+        assertThat(refreshed.isEmpty(), is(true));
+    }
+
+    @Test
+    public void lookup_bookmarks_returns_null_for_those_deleted() throws Exception {
+
+        context.checking(new Expectations() {{
+            oneOf(mockPersistenceManager).getObjectsById(Arrays.asList(jdoObjectId("2"), jdoObjectId("3")), true);
+            will(throwException(new JDOObjectNotFoundException("2 has been deleted")));
+
+            oneOf(mockPersistenceManager).getObjectById(Customer.class, jdoObjectId("2"));
+            will(throwException(new JDOObjectNotFoundException("2 has been deleted")));
+            oneOf(mockPersistenceManager).getObjectById(Customer.class, jdoObjectId("3"));
+            will(returnValue(customer3));
+        }});
+
+        final List<Object> pojos = persistenceSession.lookup(
+                Arrays.asList(bookmark("2"), bookmark("3")),
+                BookmarkService2.FieldResetPolicy.RESET);
+
+        assertThat(pojos, is(Arrays.<Object>asList(null, customer3)));
+        // the object loaded one-by-one is (as before) also refreshed
+        assertThat(refreshed, is(Collections.<Object>singletonList(customer3)));
+    }
+
+    private static RootOid oid(final String id) {
+        return RootOid.create(ObjectSpecId.of("CUS"), id);
+    }
+
+    private static Bookmark bookmark(final String id) {
+        return new Bookmark("CUS", id);
+    }
+
+    /**
+     * As per <tt>JdoObjectIdSerializer</tt>, for datastore identity.
+     */
+    private static Object jdoObjectId(final String id) {
+        return id + "[OID]" + Customer.class.getName();
+    }
+
+    private static void assertPojos(final List<ObjectAdapter> adapters, final Object... pojos) {
+        assertThat(adapters.size(), is(pojos.length));
+        for (int i = 0; i < pojos.length; i++) {
+            assertThat(adapters.get(i).getObject(), is(sameInstance(pojos[i])));
+        }
+    }
+
+}
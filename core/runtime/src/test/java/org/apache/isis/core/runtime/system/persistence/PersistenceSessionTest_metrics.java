@@ -0,0 +1,174 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.system.persistence;
+
+import java.util.Collections;
+import java.util.List;
+
+import javax.jdo.PersistenceManagerFactory;
+
+import org.jmock.Expectations;
+import org.jmock.api.Invocation;
+import org.jmock.auto.Mock;
+import org.jmock.lib.action.CustomAction;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.services.iactn.InteractionContext;
+import org.apache.isis.applib.services.command.CommandContext;
+import org.apache.isis.core.commons.authentication.AuthenticationSession;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.adapter.oid.Oid;
+import org.apache.isis.core.metamodel.services.ServicesInjector;
+import org.apache.isis.core.metamodel.services.configinternal.ConfigurationServiceInternal;
+import org.apache.isis.core.metamodel.services.metrics.MetricsServiceInternal;
+import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.objectstore.jdo.datanucleus.persistence.queries.PersistenceQueryProcessor;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class PersistenceSessionTest_metrics {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(JUnitRuleMockery2.Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private ServicesInjector mockServicesInjector;
+    @JUnitRuleMockery2.Ignoring
+    @Mock
+    private ConfigurationServiceInternal mockConfiguration;
+    @Mock
+    private SpecificationLoader mockSpecificationLoader;
+    @Mock
+    private AuthenticationSession mockAuthenticationSession;
+    @Mock
+    private PersistenceManagerFactory mockPersistenceManagerFactory;
+    @Mock
+    private MetricsServiceInternal mockMetricsServiceInternal;
+    @Mock
+    private PersistenceQueryProcessor<PersistenceQuery> mockPersistenceQueryProcessor;
+    @Mock
+    private PersistenceQuery mockPersistenceQuery;
+    @Mock
+    private Oid mockOid;
+
+    private PersistenceSession persistenceSession;
+    private int numberLookedUp;
+
+    @Before
+    public void setUp() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockServicesInjector).getConfigurationServiceInternal();
+            will(returnValue(mockConfiguration));
+            allowing(mockServicesInjector).getSpecificationLoader();
+            will(returnValue(mockSpecificationLoader));
+            allowing(mockServicesInjector).lookupServiceElseFail(CommandContext.class);
+            will(returnValue(new CommandContext()));
+            allowing(mockServicesInjector).lookupServiceElseFail(InteractionContext.class);
+            will(returnValue(new InteractionContext()));
+            allowing(mockServicesInjector).lookupService(MetricsServiceInternal.class);
+            will(returnValue(mockMetricsServiceInternal));
+            // the remaining services are not used by these tests
+            allowing(mockServicesInjector).lookupService(with(any(Class.class)));
+            will(new CustomAction("mock service") {
+                @Override
+                public Object invoke(final Invocation invocation) throws Throwable {
+                    final Class<?> serviceType = (Class<?>) invocation.getParameter(0);
+                    return context.mock(serviceType, "mock" + serviceType.getSimpleName() + "#" + ++numberLookedUp);
+                }
+            });
+        }});
+
+        persistenceSession = new PersistenceSession(
+                mockServicesInjector, mockAuthenticationSession, mockPersistenceManagerFactory, null);
+    }
+
+    @Test
+    public void times_each_query_processed() throws Exception {
+
+        final List<ObjectAdapter> results = Collections.emptyList();
+        context.checking(new Expectations() {{
+            oneOf(mockPersistenceQueryProcessor).process(mockPersistenceQuery);
+            will(returnValue(results));
+            oneOf(mockMetricsServiceInternal).queryExecuted(with(any(Long.class)));
+        }});
+
+        assertThat(persistenceSession.processPersistenceQuery(mockPersistenceQueryProcessor, mockPersistenceQuery),
+                is(results));
+    }
+
+    @Test
+    public void times_each_query_counted() throws Exception {
+
+        context.checking(new Expectations() {{
+            oneOf(mockPersistenceQueryProcessor).count(mockPersistenceQuery);
+            will(returnValue(3L));
+            oneOf(mockMetricsServiceInternal).queryExecuted(with(any(Long.class)));
+        }});
+
+        assertThat(persistenceSession.countPersistenceQuery(mockPersistenceQueryProcessor, mockPersistenceQuery),
+                is(3L));
+    }
+
+    @Test
+    public void times_queries_that_fail() throws Exception {
+
+        context.checking(new Expectations() {{
+            oneOf(mockPersistenceQueryProcessor).process(mockPersistenceQuery);
+            will(throwException(new RuntimeException("query failed")));
+            oneOf(mockMetricsServiceInternal).queryExecuted(with(any(Long.class)));
+        }});
+
+        try {
+            persistenceSession.processPersistenceQuery(mockPersistenceQueryProcessor, mockPersistenceQuery);
+            fail();
+        } catch(final RuntimeException ex) {
+            assertThat(ex.getMessage(), is("query failed"));
+        }
+    }
+
+    @Test
+    public void counts_adapters_created_once_open() throws Exception {
+
+        context.checking(new Expectations() {{
+            exactly(2).of(mockMetricsServiceInternal).adapterCreated();
+        }});
+
+        persistenceSession.state = PersistenceSession.State.OPEN;
+        persistenceSession.createAdapter(new Object(), mockOid);
+        persistenceSession.createAdapter(new Object(), mockOid);
+    }
+
+    @Test
+    public void does_not_count_adapters_created_before_open() throws Exception {
+
+        context.checking(new Expectations() {{
+            never(mockMetricsServiceInternal).adapterCreated();
+        }});
+
+        // eg the adapters for services, created before request-scoped services (such as metrics) are available
+        assertThat(persistenceSession.state, is(PersistenceSession.State.NOT_INITIALIZED));
+        persistenceSession.createAdapter(new Object(), mockOid);
+    }
+
+}
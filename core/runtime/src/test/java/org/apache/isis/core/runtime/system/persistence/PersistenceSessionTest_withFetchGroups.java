@@ -0,0 +1,250 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.system.persistence;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import javax.jdo.FetchPlan;
+import javax.jdo.PersistenceManager;
+import javax.jdo.PersistenceManagerFactory;
+
+import com.google.common.collect.Sets;
+
+import org.datanucleus.store.types.SCOContainer;
+import org.jmock.Expectations;
+import org.jmock.Sequence;
+import org.jmock.api.Invocation;
+import org.jmock.auto.Mock;
+import org.jmock.lib.action.CustomAction;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.services.command.CommandContext;
+import org.apache.isis.applib.services.exceprecog.ExceptionRecognizer;
+import org.apache.isis.applib.services.iactn.InteractionContext;
+import org.apache.isis.core.commons.authentication.AuthenticationSession;
+import org.apache.isis.core.metamodel.services.ServicesInjector;
+import org.apache.isis.core.metamodel.services.configinternal.ConfigurationServiceInternal;
+import org.apache.isis.core.metamodel.services.metrics.MetricsServiceInternal;
+import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class PersistenceSessionTest_withFetchGroups {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(JUnitRuleMockery2.Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private ServicesInjector mockServicesInjector;
+    @JUnitRuleMockery2.Ignoring
+    @Mock
+    private ConfigurationServiceInternal mockConfiguration;
+    @Mock
+    private SpecificationLoader mockSpecificationLoader;
+    @Mock
+    private AuthenticationSession mockAuthenticationSession;
+    @Mock
+    private PersistenceManagerFactory mockPersistenceManagerFactory;
+    @Mock
+    private PersistenceManager mockPersistenceManager;
+    @Mock
+    private FetchPlan mockFetchPlan;
+    @JUnitRuleMockery2.Ignoring
+    @Mock
+    private MetricsServiceInternal mockMetricsServiceInternal;
+    @Mock
+    private SCOContainer<?> mockCollection;
+
+    private Sequence sequence;
+
+    private PersistenceSession persistenceSession;
+    private int numberLookedUp;
+
+    @Before
+    public void setUp() throws Exception {
+        sequence = context.sequence("fetchGroups");
+
+        context.checking(new Expectations() {{
+            allowing(mockServicesInjector).getConfigurationServiceInternal();
+            will(returnValue(mockConfiguration));
+            allowing(mockServicesInjector).getSpecificationLoader();
+            will(returnValue(mockSpecificationLoader));
+            allowing(mockServicesInjector).lookupServiceElseFail(CommandContext.class);
+            will(returnValue(new CommandContext()));
+            allowing(mockServicesInjector).lookupServiceElseFail(InteractionContext.class);
+            will(returnValue(new InteractionContext()));
+            allowing(mockServicesInjector).lookupService(MetricsServiceInternal.class);
+            will(returnValue(mockMetricsServiceInternal));
+            allowing(mockServicesInjector).lookupServices(ExceptionRecognizer.class);
+            will(returnValue(Collections.emptyList()));
+            // the remaining services are not used by these tests
+            allowing(mockServicesInjector).lookupService(with(any(Class.class)));
+            will(new CustomAction("mock service") {
+                @Override
+                public Object invoke(final Invocation invocation) throws Throwable {
+                    final Class<?> serviceType = (Class<?>) invocation.getParameter(0);
+                    return context.mock(serviceType, "mock" + serviceType.getSimpleName() + "#" + ++numberLookedUp);
+                }
+            });
+
+            allowing(mockPersistenceManagerFactory).getDataStoreCache();
+            will(returnValue(null));
+            allowing(mockPersistenceManager).getFetchPlan();
+            will(returnValue(mockFetchPlan));
+
+            allowing(mockFetchPlan).getGroups();
+            will(returnValue(Sets.newHashSet("default", "withCustomer")));
+        }});
+
+        persistenceSession = new PersistenceSession(
+                mockServicesInjector, mockAuthenticationSession, mockPersistenceManagerFactory, null);
+        persistenceSession.persistenceManager = mockPersistenceManager;
+    }
+
+    @Test
+    public void adds_only_the_groups_not_already_in_the_fetch_plan_while_the_callable_is_called() throws Exception {
+
+        final Callable<String> mockCallable = context.mock(Callable.class);
+        context.checking(new Expectations() {{
+            oneOf(mockFetchPlan).addGroup("withProduct");
+            inSequence(sequence);
+            oneOf(mockCallable).call();
+            inSequence(sequence);
+            will(returnValue("result"));
+            oneOf(mockFetchPlan).removeGroup("withProduct");
+            inSequence(sequence);
+
+            never(mockFetchPlan).addGroup("withCustomer");
+            never(mockFetchPlan).removeGroup("withCustomer");
+        }});
+
+        final String result = persistenceSession.withFetchGroups(
+                Arrays.asList("withCustomer", "withProduct", "withProduct"), mockCallable);
+
+        assertThat(result, is("result"));
+    }
+
+    @Test
+    public void removes_the_added_groups_even_if_the_callable_throws() throws Exception {
+
+        final Callable<String> mockCallable = context.mock(Callable.class);
+        final IllegalStateException exception = new IllegalStateException();
+        context.checking(new Expectations() {{
+            oneOf(mockFetchPlan).addGroup("withProduct");
+            inSequence(sequence);
+            oneOf(mockCallable).call();
+            inSequence(sequence);
+            will(throwException(exception));
+            oneOf(mockFetchPlan).removeGroup("withProduct");
+            inSequence(sequence);
+        }});
+
+        try {
+            persistenceSession.withFetchGroups(Arrays.asList("withProduct"), mockCallable);
+            fail();
+        } catch (final IllegalStateException ex) {
+            assertThat(ex, is(sameInstance(exception)));
+        }
+    }
+
+    @Test
+    public void loads_a_collection_not_yet_loaded_while_the_added_groups_apply() throws Exception {
+
+        context.checking(new Expectations() {{
+            oneOf(mockFetchPlan).addGroup("withProduct");
+            inSequence(sequence);
+            oneOf(mockCollection).isLoaded();
+            inSequence(sequence);
+            will(returnValue(false));
+            oneOf(mockCollection).load();
+            inSequence(sequence);
+            oneOf(mockFetchPlan).removeGroup("withProduct");
+            inSequence(sequence);
+        }});
+
+        final Object collection = persistenceSession.loadCollectionWithFetchGroups(
+                Arrays.asList("withProduct"), returning(mockCollection));
+
+        assertThat(collection, is(sameInstance((Object) mockCollection)));
+    }
+
+    @Test
+    public void does_not_load_a_collection_already_loaded() throws Exception {
+
+        context.checking(new Expectations() {{
+            oneOf(mockFetchPlan).addGroup("withProduct");
+            allowing(mockCollection).isLoaded();
+            will(returnValue(true));
+            never(mockCollection).load();
+            oneOf(mockFetchPlan).removeGroup("withProduct");
+        }});
+
+        persistenceSession.loadCollectionWithFetchGroups(Arrays.asList("withProduct"), returning(mockCollection));
+    }
+
+    @Test
+    public void does_not_load_a_collection_if_the_groups_were_already_in_the_fetch_plan() throws Exception {
+
+        context.checking(new Expectations() {{
+            never(mockFetchPlan).addGroup(with(any(String.class)));
+            never(mockFetchPlan).removeGroup(with(any(String.class)));
+            never(mockCollection).isLoaded();
+            never(mockCollection).load();
+        }});
+
+        final Object collection = persistenceSession.loadCollectionWithFetchGroups(
+                Arrays.asList("default", "withCustomer"), returning(mockCollection));
+
+        assertThat(collection, is(sameInstance((Object) mockCollection)));
+    }
+
+    @Test
+    public void returns_a_collection_not_managed_by_the_object_store_as_is() throws Exception {
+
+        final List<String> list = Arrays.asList("a", "b");
+        context.checking(new Expectations() {{
+            oneOf(mockFetchPlan).addGroup("withProduct");
+            oneOf(mockFetchPlan).removeGroup("withProduct");
+        }});
+
+        final Object collection = persistenceSession.loadCollectionWithFetchGroups(
+                Arrays.asList("withProduct"), returning(list));
+
+        assertThat(collection, is(sameInstance((Object) list)));
+    }
+
+    private static Callable<Object> returning(final Object collection) {
+        return new Callable<Object>() {
+            @Override
+            public Object call() {
+                return collection;
+            }
+        };
+    }
+
+}
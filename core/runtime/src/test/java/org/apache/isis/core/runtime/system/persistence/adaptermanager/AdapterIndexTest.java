@@ -0,0 +1,162 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.system.persistence.adaptermanager;
+
+import org.jmock.auto.Mock;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.commons.authentication.AuthenticationSession;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.adapter.oid.Oid;
+import org.apache.isis.core.metamodel.adapter.oid.RootOid;
+import org.apache.isis.core.metamodel.spec.ObjectSpecId;
+import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
+import org.apache.isis.core.runtime.persistence.adapter.PojoAdapter;
+import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class AdapterIndexTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private SpecificationLoader mockSpecificationLoader;
+    @Mock
+    private AuthenticationSession mockAuthenticationSession;
+    @Mock
+    private PersistenceSession mockPersistenceSession;
+
+    private static final ObjectSpecId CUS = ObjectSpecId.of("CUS");
+
+    /**
+     * Equal (but not identical) instances.
+     */
+    private static class Customer {
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof Customer;
+        }
+
+        @Override
+        public int hashCode() {
+            return 1;
+        }
+    }
+
+    @Test
+    public void add_and_lookup() throws Exception {
+        final AdapterIndex index = new AdapterIndex();
+        final Customer pojo = new Customer();
+        final ObjectAdapter adapter = map(index, pojo, RootOid.create(CUS, "1"));
+
+        assertThat(index.getAdapterByOid(RootOid.create(CUS, "1")), is(sameInstance(adapter)));
+        assertThat(index.getAdapterByOid(RootOid.create(CUS, "2")), is(nullValue()));
+        assertThat(index.getAdapterByPojo(pojo), is(sameInstance(adapter)));
+        assertThat(index.containsPojo(pojo), is(true));
+        assertThat(index.size(), is(1));
+    }
+
+    @Test
+    public void pojos_are_looked_up_by_identity() throws Exception {
+        final AdapterIndex index = new AdapterIndex();
+        final Customer pojo = new Customer();
+        final Customer equalPojo = new Customer();
+        map(index, pojo, RootOid.create(CUS, "1"));
+
+        assertThat(index.getAdapterByPojo(equalPojo), is(nullValue()));
+        assertThat(index.containsPojo(equalPojo), is(false));
+    }
+
+    @Test
+    public void remove() throws Exception {
+        final AdapterIndex index = new AdapterIndex();
+        final Customer pojo = new Customer();
+        final RootOid oid = RootOid.create(CUS, "1");
+        final ObjectAdapter adapter = map(index, pojo, oid);
+
+        assertThat(index.removeByOid(oid), is(true));
+        assertThat(index.removeByOid(oid), is(false));
+        index.removeByPojo(adapter);
+
+        assertThat(index.getAdapterByOid(oid), is(nullValue()));
+        assertThat(index.getAdapterByPojo(pojo), is(nullValue()));
+    }
+
+    @Test
+    public void ensureCapacityFor_retains_existing_adapters() throws Exception {
+        final AdapterIndex index = new AdapterIndex();
+        final Customer pojo = new Customer();
+        final ObjectAdapter adapter = map(index, pojo, RootOid.create(CUS, "1"));
+
+        index.ensureCapacityFor(10000);
+
+        assertThat(index.getAdapterByOid(RootOid.create(CUS, "1")), is(sameInstance(adapter)));
+        assertThat(index.getAdapterByPojo(pojo), is(sameInstance(adapter)));
+    }
+
+    @Test
+    public void close_clears() throws Exception {
+        final AdapterIndex index = new AdapterIndex(AdapterIndex.ReferenceType.SOFT);
+        final Customer pojo = new Customer();
+        map(index, pojo, RootOid.create(CUS, "1"));
+
+        index.close();
+
+        assertThat(index.getAdapterByOid(RootOid.create(CUS, "1")), is(nullValue()));
+        assertThat(index.getAdapterByPojo(pojo), is(nullValue()));
+    }
+
+    @Test
+    public void weak_still_holds_transient_adapters_strongly() throws Exception {
+        final AdapterIndex index = new AdapterIndex(AdapterIndex.ReferenceType.WEAK);
+        final Customer pojo = new Customer();
+        map(index, pojo, RootOid.createTransient(CUS, "1"));
+
+        System.gc();
+
+        final ObjectAdapter adapter = index.getAdapterByOid(RootOid.createTransient(CUS, "1"));
+        assertThat(adapter.getObject(), is(sameInstance((Object) pojo)));
+        assertThat(index.getAdapterByPojo(pojo), is(sameInstance(adapter)));
+    }
+
+    @Test
+    public void parse_reference_type() throws Exception {
+        assertThat(AdapterIndex.ReferenceType.parse(null), is(AdapterIndex.ReferenceType.STRONG));
+        assertThat(AdapterIndex.ReferenceType.parse(" soft "), is(AdapterIndex.ReferenceType.SOFT));
+        assertThat(AdapterIndex.ReferenceType.parse("WEAK"), is(AdapterIndex.ReferenceType.WEAK));
+        assertThat(AdapterIndex.ReferenceType.parse("rubbish"), is(AdapterIndex.ReferenceType.STRONG));
+    }
+
+    private ObjectAdapter map(final AdapterIndex index, final Object pojo, final Oid oid) {
+        final ObjectAdapter adapter = new PojoAdapter(
+                pojo, oid, mockAuthenticationSession, mockSpecificationLoader, mockPersistenceSession);
+        index.addByPojo(pojo, adapter);
+        index.addByOid(oid, adapter);
+        return adapter;
+    }
+
+}
@@ -0,0 +1,157 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.system.transaction;
+
+import java.util.Collections;
+import java.util.UUID;
+
+import org.jmock.Expectations;
+import org.jmock.Sequence;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.services.WithTransactionScope;
+import org.apache.isis.core.commons.authentication.AuthenticationSession;
+import org.apache.isis.core.commons.authentication.MessageBroker;
+import org.apache.isis.core.metamodel.services.ServicesInjector;
+import org.apache.isis.core.metamodel.services.metrics.MetricsServiceInternal;
+import org.apache.isis.core.metamodel.services.publishing.PublishingServiceInternal;
+import org.apache.isis.core.runtime.services.auditing.AuditingServiceInternal;
+import org.apache.isis.core.runtime.services.delivery.DeliveryServiceInternal;
+import org.apache.isis.core.runtime.services.persistsession.PersistenceSessionServiceInternalDefault;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class IsisTransactionTest_delivery {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(JUnitRuleMockery2.Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private ServicesInjector mockServicesInjector;
+    @Mock
+    private PersistenceSessionServiceInternalDefault mockPersistenceSessionService;
+    @Mock
+    private IsisTransactionManager mockTransactionManager;
+    @Mock
+    private AuthenticationSession mockAuthenticationSession;
+    @Mock
+    private MessageBroker mockMessageBroker;
+    @Mock
+    private PublishingServiceInternal mockPublishingServiceInternal;
+    @Mock
+    private AuditingServiceInternal mockAuditingServiceInternal;
+    @Mock
+    private DeliveryServiceInternal mockDeliveryServiceInternal;
+
+    private IsisTransaction transaction;
+
+    @Before
+    public void setUp() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockServicesInjector).lookupServiceElseFail(PersistenceSessionServiceInternalDefault.class);
+            will(returnValue(mockPersistenceSessionService));
+            allowing(mockPersistenceSessionService).getTransactionManager();
+            will(returnValue(mockTransactionManager));
+            allowing(mockAuthenticationSession).getMessageBroker();
+            will(returnValue(mockMessageBroker));
+            allowing(mockServicesInjector).lookupServiceElseFail(PublishingServiceInternal.class);
+            will(returnValue(mockPublishingServiceInternal));
+            allowing(mockServicesInjector).lookupServiceElseFail(AuditingServiceInternal.class);
+            will(returnValue(mockAuditingServiceInternal));
+            allowing(mockServicesInjector).lookupServiceElseFail(DeliveryServiceInternal.class);
+            will(returnValue(mockDeliveryServiceInternal));
+            allowing(mockServicesInjector).lookupService(MetricsServiceInternal.class);
+            will(returnValue(null));
+            allowing(mockServicesInjector).lookupServices(WithTransactionScope.class);
+            will(returnValue(Collections.emptyList()));
+        }});
+
+        transaction = new IsisTransaction(UUID.randomUUID(), 0, mockAuthenticationSession, mockServicesInjector);
+    }
+
+    @Test
+    public void enlists_on_preCommit_and_enqueues_only_once_committed() throws Exception {
+
+        final Sequence sequence = context.sequence("commit");
+        context.checking(new Expectations() {{
+            // any stale enlistments from a transaction that neither committed nor aborted are discarded first
+            oneOf(mockDeliveryServiceInternal).discardEnlisted();
+            inSequence(sequence);
+            oneOf(mockAuditingServiceInternal).audit();
+            inSequence(sequence);
+            oneOf(mockPublishingServiceInternal).publishObjects();
+            inSequence(sequence);
+        }});
+
+        transaction.preCommit();
+        context.assertIsSatisfied();
+
+        context.checking(new Expectations() {{
+            oneOf(mockDeliveryServiceInternal).enqueueEnlisted();
+        }});
+
+        transaction.commit();
+        assertThat(transaction.getState(), is(IsisTransaction.State.COMMITTED));
+    }
+
+    @Test
+    public void discards_enlisted_if_aborted() throws Exception {
+
+        context.checking(new Expectations() {{
+            oneOf(mockDeliveryServiceInternal).discardEnlisted();
+            never(mockDeliveryServiceInternal).enqueueEnlisted();
+        }});
+
+        transaction.markAsAborted();
+        assertThat(transaction.getState(), is(IsisTransaction.State.ABORTED));
+    }
+
+    @Test
+    public void discards_enlisted_if_preCommit_fails() throws Exception {
+
+        context.checking(new Expectations() {{
+            oneOf(mockDeliveryServiceInternal).discardEnlisted();
+            oneOf(mockAuditingServiceInternal).audit();
+            will(throwException(new RuntimeException("audit failed")));
+            never(mockDeliveryServiceInternal).enqueueEnlisted();
+        }});
+
+        try {
+            transaction.preCommit();
+            fail();
+        } catch (final RuntimeException ex) {
+            assertThat(ex.getMessage(), is("audit failed"));
+        }
+        assertThat(transaction.getState(), is(IsisTransaction.State.MUST_ABORT));
+
+        context.checking(new Expectations() {{
+            oneOf(mockDeliveryServiceInternal).discardEnlisted();
+        }});
+
+        transaction.markAsAborted();
+        assertThat(transaction.getState(), is(IsisTransaction.State.ABORTED));
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.runtime.system.transaction;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.services.WithTransactionScope;
+import org.apache.isis.core.commons.authentication.AuthenticationSession;
+import org.apache.isis.core.commons.authentication.MessageBroker;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.services.ServicesInjector;
+import org.apache.isis.core.metamodel.services.metrics.MetricsServiceInternal;
+import org.apache.isis.core.metamodel.services.publishing.PublishingServiceInternal;
+import org.apache.isis.core.runtime.persistence.objectstore.transaction.PersistenceCommand;
+import org.apache.isis.core.runtime.services.auditing.AuditingServiceInternal;
+import org.apache.isis.core.runtime.services.delivery.DeliveryServiceInternal;
+import org.apache.isis.core.runtime.services.persistsession.PersistenceSessionServiceInternalDefault;
+import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class IsisTransactionTest_flushMetrics {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(JUnitRuleMockery2.Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private ServicesInjector mockServicesInjector;
+    @Mock
+    private PersistenceSessionServiceInternalDefault mockPersistenceSessionService;
+    @Mock
+    private IsisTransactionManager mockTransactionManager;
+    @Mock
+    private PersistenceSession mockPersistenceSession;
+    @Mock
+    private AuthenticationSession mockAuthenticationSession;
+    @Mock
+    private MessageBroker mockMessageBroker;
+    @Mock
+    private PublishingServiceInternal mockPublishingServiceInternal;
+    @Mock
+    private AuditingServiceInternal mockAuditingServiceInternal;
+    @Mock
+    private DeliveryServiceInternal mockDeliveryServiceInternal;
+    @Mock
+    private MetricsServiceInternal mockMetricsServiceInternal;
+    @Mock
+    private PersistenceCommand mockPersistenceCommand;
+    @Mock
+    private ObjectAdapter mockObjectAdapter;
+
+    private IsisTransaction transaction;
+
+    @Before
+    public void setUp() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockServicesInjector).lookupServiceElseFail(PersistenceSessionServiceInternalDefault.class);
+            will(returnValue(mockPersistenceSessionService));
+            allowing(mockPersistenceSessionService).getTransactionManager();
+            will(returnValue(mockTransactionManager));
+            allowing(mockTransactionManager).getPersistenceSession();
+            will(returnValue(mockPersistenceSession));
+            allowing(mockAuthenticationSession).getMessageBroker();
+            will(returnValue(mockMessageBroker));
+            allowing(mockServicesInjector).lookupServiceElseFail(PublishingServiceInternal.class);
+            will(returnValue(mockPublishingServiceInternal));
+            allowing(mockServicesInjector).lookupServiceElseFail(AuditingServiceInternal.class);
+            will(returnValue(mockAuditingServiceInternal));
+            allowing(mockServicesInjector).lookupServiceElseFail(DeliveryServiceInternal.class);
+            will(returnValue(mockDeliveryServiceInternal));
+            allowing(mockServicesInjector).lookupService(MetricsServiceInternal.class);
+            will(returnValue(mockMetricsServiceInternal));
+            allowing(mockServicesInjector).lookupServices(WithTransactionScope.class);
+            will(returnValue(Collections.emptyList()));
+
+            allowing(mockPersistenceCommand).onAdapter();
+            will(returnValue(mockObjectAdapter));
+        }});
+
+        transaction = new IsisTransaction(UUID.randomUUID(), 0, mockAuthenticationSession, mockServicesInjector);
+        transaction.addCommand(mockPersistenceCommand);
+    }
+
+    @Test
+    public void times_flush() throws Exception {
+        context.checking(new Expectations() {{
+            oneOf(mockPersistenceSession).execute(with(any(List.class)));
+            oneOf(mockMetricsServiceInternal).flushed(with(any(Long.class)));
+        }});
+
+        transaction.flush();
+    }
+
+    @Test
+    public void times_flush_that_fails() throws Exception {
+        context.checking(new Expectations() {{
+            oneOf(mockPersistenceSession).execute(with(any(List.class)));
+            will(throwException(new RuntimeException("flush failed")));
+            oneOf(mockMetricsServiceInternal).flushed(with(any(Long.class)));
+        }});
+
+        try {
+            transaction.flush();
+            fail();
+        } catch (final RuntimeException ex) {
+            assertThat(ex.getMessage(), is("flush failed"));
+        }
+    }
+
+}
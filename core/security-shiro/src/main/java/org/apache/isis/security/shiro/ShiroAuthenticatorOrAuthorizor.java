@@ -18,11 +18,19 @@
  */
 package org.apache.isis.security.shiro;
 
+import java.io.Serializable;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
+import com.google.common.base.Joiner;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 
 import org.apache.shiro.SecurityUtils;
@@ -37,9 +45,18 @@
 import org.apache.shiro.authc.UnknownAccountException;
 import org.apache.shiro.authc.UsernamePasswordToken;
 import org.apache.shiro.authz.AuthorizationInfo;
+import org.apache.shiro.authz.Authorizer;
+import org.apache.shiro.authz.ModularRealmAuthorizer;
+import org.apache.shiro.authz.Permission;
+import org.apache.shiro.authz.permission.PermissionResolver;
+import org.apache.shiro.authz.permission.WildcardPermissionResolver;
+import org.apache.shiro.mgt.AuthorizingSecurityManager;
 import org.apache.shiro.mgt.RealmSecurityManager;
 import org.apache.shiro.mgt.SecurityManager;
+import org.apache.shiro.realm.AuthorizingRealm;
 import org.apache.shiro.realm.Realm;
+import org.apache.shiro.session.InvalidSessionException;
+import org.apache.shiro.session.Session;
 import org.apache.shiro.subject.PrincipalCollection;
 import org.apache.shiro.subject.Subject;
 import org.slf4j.Logger;
@@ -57,6 +74,8 @@
 import org.apache.isis.core.runtime.authorization.AuthorizationManagerInstaller;
 import org.apache.isis.core.runtime.authorization.standard.Authorizor;
 import org.apache.isis.security.shiro.authorization.IsisPermission;
+import org.apache.isis.security.shiro.authorization.IsisPermissionResolver;
+import org.apache.isis.security.shiro.authorization.IsisPermissionTrie;
 
 /**
  * If Shiro is configured for both {@link AuthenticationManagerInstaller authentication} and
@@ -66,6 +85,12 @@
  * <p>
  * However, although there are two objects, they are set up to share the same {@link SecurityManager Shiro SecurityManager}
  * (bound to a thread-local).
+ *
+ * <p>
+ * In the role of {@link Authorizor}, the permissions of the current subject can (if
+ * {@value #ISIS_AUTHORIZATION_SHIRO_COMPILE_PERMISSIONS_KEY} is set to <tt>true</tt>) be compiled into an
+ * {@link IsisPermissionTrie} and held in the subject's Shiro {@link Session}, along with a bounded cache (sized by
+ * {@value #ISIS_AUTHORIZATION_SHIRO_DECISION_CACHE_SIZE_KEY}) of the decisions made for that session.
  */
 public class ShiroAuthenticatorOrAuthorizor implements Authenticator, Authorizor {
 
@@ -74,9 +99,19 @@ public class ShiroAuthenticatorOrAuthorizor implements Authenticator, Authorizor
     private static final String ISIS_AUTHENTICATION_SHIRO_AUTO_LOGOUT_KEY = "isis.authentication.shiro.autoLogoutIfAlreadyAuthenticated";
     private static final boolean ISIS_AUTHENTICATION_SHIRO_AUTO_LOGOUT_DEFAULT = false;
 
+    static final String ISIS_AUTHORIZATION_SHIRO_COMPILE_PERMISSIONS_KEY = "isis.authorization.shiro.compilePermissions";
+    private static final boolean ISIS_AUTHORIZATION_SHIRO_COMPILE_PERMISSIONS_DEFAULT = false;
+
+    static final String ISIS_AUTHORIZATION_SHIRO_DECISION_CACHE_SIZE_KEY = "isis.authorization.shiro.permissionDecisionCacheSize";
+    private static final int ISIS_AUTHORIZATION_SHIRO_DECISION_CACHE_SIZE_DEFAULT = 10000;
+
+    private static final String SESSION_PERMISSIONS_KEY = ShiroAuthenticatorOrAuthorizor.class.getName() + ".permissions";
+
     //region > constructor and fields
     private final IsisConfiguration configuration;
     private final boolean autoLogout;
+    private final boolean compilePermissions;
+    private final int decisionCacheSize;
 
     private DeploymentCategory deploymentCategory;
 
@@ -85,6 +120,12 @@ public ShiroAuthenticatorOrAuthorizor(final IsisConfiguration configuration) {
         autoLogout = configuration.getBoolean(
                 ISIS_AUTHENTICATION_SHIRO_AUTO_LOGOUT_KEY,
                 ISIS_AUTHENTICATION_SHIRO_AUTO_LOGOUT_DEFAULT);
+        compilePermissions = configuration.getBoolean(
+                ISIS_AUTHORIZATION_SHIRO_COMPILE_PERMISSIONS_KEY,
+                ISIS_AUTHORIZATION_SHIRO_COMPILE_PERMISSIONS_DEFAULT);
+        decisionCacheSize = configuration.getInteger(
+                ISIS_AUTHORIZATION_SHIRO_DECISION_CACHE_SIZE_KEY,
+                ISIS_AUTHORIZATION_SHIRO_DECISION_CACHE_SIZE_DEFAULT);
     }
 
     public IsisConfiguration getConfiguration() {
@@ -255,18 +296,30 @@ private boolean isPermitted(Identifier identifier, String qualifier) {
             return true;
         }
 
-        String permission = asPermissionsString(identifier) + ":" + qualifier;
+        final List<String> permissionParts = asPermissionParts(identifier, qualifier);
 
         Subject subject = SecurityUtils.getSubject();
-        
+
+        final SessionPermissions sessionPermissions = sessionPermissionsFor(subject, securityManager);
+        if(sessionPermissions == null) {
+            return isPermitted(subject, permissionParts);
+        }
+        return sessionPermissions.isPermitted(subject, permissionParts);
+    }
+
+    private static boolean isPermitted(final Subject subject, final List<String> permissionParts) {
         try {
-            return subject.isPermitted(permission);
+            return subject.isPermitted(asPermissionString(permissionParts));
         } finally {
             IsisPermission.resetVetoedPermissions();
         }
     }
 
-    private static String asPermissionsString(Identifier identifier) {
+    private static String asPermissionString(final List<String> permissionParts) {
+        return Joiner.on(':').join(permissionParts);
+    }
+
+    private static List<String> asPermissionParts(final Identifier identifier, final String qualifier) {
         String fullyQualifiedClassName = identifier.getClassName();
         int lastDot = fullyQualifiedClassName.lastIndexOf('.');
         String packageName;
@@ -278,7 +331,7 @@ private static String asPermissionsString(Identifier identifier) {
             packageName = "";
             className = fullyQualifiedClassName;
         }
-        return packageName + ":" + className + ":" + identifier.getMemberName();
+        return Lists.newArrayList(packageName, className, identifier.getMemberName(), qualifier);
     }
 
     /**
@@ -301,6 +354,196 @@ public boolean isUsableInRole(String role, Identifier identifier) {
 
     //endregion
 
+    //region > SessionPermissions
+
+    /**
+     * Returns the {@link SessionPermissions} held in the subject's {@link Session}, creating them if need be; or
+     * <tt>null</tt> if there is no session (in which case each permission is checked with Shiro directly).
+     */
+    private SessionPermissions sessionPermissionsFor(final Subject subject, final RealmSecurityManager securityManager) {
+        if(!compilePermissions) {
+            return null;
+        }
+        final PrincipalCollection principals = subject.getPrincipals();
+        final Session session = subject.getSession(false);
+        if(principals == null || session == null) {
+            return null;
+        }
+        try {
+            final Object attribute = session.getAttribute(SESSION_PERMISSIONS_KEY);
+            if(attribute instanceof SessionPermissions && ((SessionPermissions) attribute).isFor(principals)) {
+                return (SessionPermissions) attribute;
+            }
+            final SessionPermissions sessionPermissions =
+                    new SessionPermissions(principals, compile(principals, securityManager), decisionCacheSize);
+            session.setAttribute(SESSION_PERMISSIONS_KEY, sessionPermissions);
+            return sessionPermissions;
+        } catch(InvalidSessionException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Compiles the permissions that each of the realms holds for the principals, returning <tt>null</tt> if
+     * the permissions cannot be obtained or cannot be compiled (eg because of a custom {@link Authorizer} or
+     * {@link PermissionResolver}, or a realm that overrides how {@link AuthorizingRealm} checks permissions).
+     */
+    private static IsisPermissionTrie compile(final PrincipalCollection principals, final RealmSecurityManager securityManager) {
+        if(!(securityManager instanceof AuthorizingSecurityManager)) {
+            return null;
+        }
+        final Authorizer authorizer = ((AuthorizingSecurityManager) securityManager).getAuthorizer();
+        if(!(authorizer instanceof ModularRealmAuthorizer)) {
+            return null;
+        }
+        final Collection<Realm> realms = ((ModularRealmAuthorizer) authorizer).getRealms();
+        if(realms == null) {
+            return null;
+        }
+        final List<Permission> permissions = Lists.newArrayList();
+        for (final Realm realm : realms) {
+            if(!(realm instanceof Authorizer)) {
+                // ignored by ModularRealmAuthorizer also
+                continue;
+            }
+            if(!(realm instanceof AuthorizingRealm) || overridesPermissionChecks(realm.getClass())) {
+                return null;
+            }
+            final Collection<Permission> realmPermissions = permissionsOf((AuthorizingRealm) realm, principals);
+            if(realmPermissions == null) {
+                return null;
+            }
+            permissions.addAll(realmPermissions);
+        }
+        return IsisPermissionTrie.compileOrNull(permissions);
+    }
+
+    /**
+     * The methods of {@link AuthorizingRealm} that, if overridden by a realm, mean that its permissions cannot be
+     * compiled (because they would no longer be checked in the way that the compiled permissions are).
+     */
+    private static final Set<String> PERMISSION_CHECK_METHOD_NAMES = ImmutableSet.of(
+            "isPermitted", "isPermittedAll", "checkPermission", "checkPermissions",
+            "getAuthorizationInfo", "getPermissions");
+
+    private static boolean overridesPermissionChecks(final Class<?> realmClass) {
+        for (final Method method : AuthorizingRealm.class.getDeclaredMethods()) {
+            if(!PERMISSION_CHECK_METHOD_NAMES.contains(method.getName())) {
+                continue;
+            }
+            for (Class<?> cls = realmClass; cls != AuthorizingRealm.class; cls = cls.getSuperclass()) {
+                try {
+                    cls.getDeclaredMethod(method.getName(), method.getParameterTypes());
+                    return true;
+                } catch (NoSuchMethodException ex) {
+                    // not overridden at this level
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Only made accessible (on first use) if permissions are compiled.
+     */
+    private static class RealmMethods {
+
+        private static final Method GET_AUTHORIZATION_INFO =
+                accessibleMethodOrNull("getAuthorizationInfo", PrincipalCollection.class);
+        private static final Method GET_PERMISSIONS =
+                accessibleMethodOrNull("getPermissions", AuthorizationInfo.class);
+
+        private static Method accessibleMethodOrNull(final String methodName, final Class<?> parameterType) {
+            try {
+                final Method method = AuthorizingRealm.class.getDeclaredMethod(methodName, parameterType);
+                method.setAccessible(true);
+                return method;
+            } catch (NoSuchMethodException | SecurityException ex) {
+                LOG.warn("Unable to access AuthorizingRealm#{}, so permissions will not be compiled", methodName, ex);
+                return null;
+            }
+        }
+    }
+
+    /**
+     * The permissions that the {@link AuthorizingRealm} would check, obtained (reflectively) in the same way as
+     * {@link AuthorizingRealm#isPermitted(PrincipalCollection, Permission)} does.
+     */
+    @SuppressWarnings("unchecked")
+    private static Collection<Permission> permissionsOf(final AuthorizingRealm realm, final PrincipalCollection principals) {
+        if(RealmMethods.GET_AUTHORIZATION_INFO == null || RealmMethods.GET_PERMISSIONS == null) {
+            return null;
+        }
+        final PermissionResolver permissionResolver = realm.getPermissionResolver();
+        if(!(permissionResolver instanceof IsisPermissionResolver || permissionResolver instanceof WildcardPermissionResolver)) {
+            return null;
+        }
+        try {
+            final AuthorizationInfo authorizationInfo =
+                    (AuthorizationInfo) RealmMethods.GET_AUTHORIZATION_INFO.invoke(realm, principals);
+            if(authorizationInfo == null) {
+                return Collections.emptyList();
+            }
+            return (Collection<Permission>) RealmMethods.GET_PERMISSIONS.invoke(realm, authorizationInfo);
+        } catch (IllegalAccessException ex) {
+            return null;
+        } catch (InvocationTargetException ex) {
+            throw Throwables.propagate(ex.getCause());
+        }
+    }
+
+    /**
+     * The permissions of a subject, along with a bounded cache of decisions, held in that subject's {@link Session}.
+     */
+    static class SessionPermissions implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final PrincipalCollection principals;
+        /**
+         * If <tt>null</tt>, then could not be compiled; each (uncached) decision is made by Shiro directly.
+         */
+        private final IsisPermissionTrie permissionTrie;
+        private final int decisionCacheSize;
+
+        private transient Cache<String, Boolean> decisions;
+
+        SessionPermissions(
+                final PrincipalCollection principals,
+                final IsisPermissionTrie permissionTrie,
+                final int decisionCacheSize) {
+            this.principals = principals;
+            this.permissionTrie = permissionTrie;
+            this.decisionCacheSize = decisionCacheSize;
+        }
+
+        boolean isFor(final PrincipalCollection principals) {
+            return this.principals.equals(principals);
+        }
+
+        boolean isPermitted(final Subject subject, final List<String> permissionParts) {
+            final String permission = asPermissionString(permissionParts);
+            final Cache<String, Boolean> decisions = getDecisions();
+            Boolean permitted = decisions.getIfPresent(permission);
+            if(permitted == null) {
+                permitted = permissionTrie != null
+                        ? permissionTrie.isPermitted(permissionParts)
+                        : ShiroAuthenticatorOrAuthorizor.isPermitted(subject, permissionParts);
+                decisions.put(permission, permitted);
+            }
+            return permitted;
+        }
+
+        private synchronized Cache<String, Boolean> getDecisions() {
+            if(decisions == null) {
+                decisions = CacheBuilder.newBuilder().maximumSize(decisionCacheSize).build();
+            }
+            return decisions;
+        }
+    }
+
+    //endregion
+
     //region > Injected (via Shiro service locator)
 
     /**
@@ -20,6 +20,7 @@
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import com.google.common.collect.Lists;
@@ -110,6 +111,18 @@ String getPermissionGroup() {
         return permissionGroup;
     }
 
+    boolean isVeto() {
+        return veto;
+    }
+
+    /**
+     * Overridden only to make accessible to {@link IsisPermissionTrie}.
+     */
+    @Override
+    protected List<Set<String>> getParts() {
+        return super.getParts();
+    }
+
 
     @Override
     public boolean equals(Object other) {
@@ -0,0 +1,195 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.security.shiro.authorization;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+import org.apache.shiro.authz.Permission;
+import org.apache.shiro.authz.permission.WildcardPermission;
+
+/**
+ * A set of {@link IsisPermission}s (and plain {@link WildcardPermission}s) compiled into a trie, with one level per
+ * part of the permission (typically package, class, member and then <tt>r</tt>/<tt>w</tt>).
+ *
+ * <p>
+ * Checking a permission therefore only visits those permissions that could possibly imply it, rather than
+ * every permission held by the subject.
+ *
+ * <p>
+ * The outcome is the same as {@link IsisPermission#implies(Permission) implies}, except that vetoes do not depend
+ * on the order in which the permissions happen to be evaluated: a permission is permitted if it is implied by some
+ * permission that is either not in a permission group, or is in a permission group with no vetoing permission
+ * that also implies it.
+ */
+public class IsisPermissionTrie implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String WILDCARD_TOKEN = "*";
+
+    /**
+     * Compiles the provided permissions, returning <tt>null</tt> if any of them is not a {@link WildcardPermission}
+     * (in which case the permissions must instead be checked using {@link Permission#implies(Permission)}).
+     */
+    public static IsisPermissionTrie compileOrNull(final Collection<? extends Permission> permissions) {
+        final IsisPermissionTrie trie = new IsisPermissionTrie();
+        for (final Permission permission : permissions) {
+            final IsisPermission isisPermission = asIsisPermissionOrNull(permission);
+            if(isisPermission == null) {
+                return null;
+            }
+            trie.add(isisPermission);
+        }
+        return trie;
+    }
+
+    private static IsisPermission asIsisPermissionOrNull(final Permission permission) {
+        if(permission instanceof IsisPermission) {
+            return (IsisPermission) permission;
+        }
+        if(permission == null || permission.getClass() != WildcardPermission.class) {
+            return null;
+        }
+        // the parts of a plain WildcardPermission are not accessible, so re-parse its (normalized) string form
+        // (unless it would be misinterpreted as having a permission group)
+        final String parts = permission.toString().replace("[", "").replace("]", "").replace(", ", ",");
+        if(parts.contains("/")) {
+            return null;
+        }
+        return new IsisPermission(parts, true);
+    }
+
+    private final Node root = new Node();
+
+    private IsisPermissionTrie() {
+    }
+
+    private void add(final IsisPermission permission) {
+        final Grant grant = new Grant(permission.getPermissionGroup(), permission.isVeto());
+        add(root, permission.getParts(), 0, grant);
+    }
+
+    private static void add(final Node node, final List<Set<String>> parts, final int depth, final Grant grant) {
+        if(depth == parts.size()) {
+            node.grants.add(grant);
+            return;
+        }
+        final Set<String> part = parts.get(depth);
+        if(part.contains(WILDCARD_TOKEN)) {
+            add(node.childFor(WILDCARD_TOKEN), parts, depth + 1, grant);
+            return;
+        }
+        for (final String token : part) {
+            add(node.childFor(token), parts, depth + 1, grant);
+        }
+    }
+
+    /**
+     * Whether the permission with the specified parts, eg <tt>[com.mycompany.myapp, customer, changeaddress, r]</tt>,
+     * is permitted.
+     *
+     * <p>
+     * As for {@link WildcardPermission}, each part is compared case-insensitively (or rather, it is expected that the
+     * permission strings of any case-sensitive permissions that were compiled are in lower case).
+     */
+    public boolean isPermitted(final List<String> parts) {
+        final List<String> lowerCaseParts = Lists.newArrayListWithCapacity(parts.size());
+        for (final String part : parts) {
+            lowerCaseParts.add(part.toLowerCase());
+        }
+        final List<Grant> grants = Lists.newArrayList();
+        collect(root, lowerCaseParts, 0, grants);
+
+        final Set<String> vetoedGroups = Sets.newHashSet();
+        for (final Grant grant : grants) {
+            if(grant.veto) {
+                vetoedGroups.add(grant.permissionGroup);
+            }
+        }
+        for (final Grant grant : grants) {
+            if(grant.veto) {
+                continue;
+            }
+            if(grant.permissionGroup == null || !vetoedGroups.contains(grant.permissionGroup)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void collect(final Node node, final List<String> parts, final int depth, final List<Grant> grants) {
+        // any permission with fewer parts implies all the remaining parts
+        grants.addAll(node.grants);
+        final Node wildcardChild = node.children.get(WILDCARD_TOKEN);
+        if(wildcardChild != null) {
+            collect(wildcardChild, parts, depth + 1, grants);
+        }
+        if(depth >= parts.size()) {
+            // any permission with more parts only implies if those additional parts are wildcards
+            return;
+        }
+        final Node child = node.children.get(parts.get(depth));
+        if(child != null) {
+            collect(child, parts, depth + 1, grants);
+        }
+    }
+
+    //region > Node, Grant
+
+    private static class Node implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Map<String, Node> children = Maps.newHashMap();
+        private final List<Grant> grants = Lists.newArrayList();
+
+        Node childFor(final String token) {
+            Node child = children.get(token);
+            if(child == null) {
+                child = new Node();
+                children.put(token, child);
+            }
+            return child;
+        }
+    }
+
+    private static class Grant implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String permissionGroup;
+        private final boolean veto;
+
+        Grant(final String permissionGroup, final boolean veto) {
+            this.permissionGroup = permissionGroup;
+            this.veto = veto;
+        }
+    }
+
+    //endregion
+
+}
@@ -0,0 +1,180 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.security.shiro;
+
+import org.apache.shiro.SecurityUtils;
+import org.apache.shiro.config.Ini;
+import org.apache.shiro.mgt.DefaultSecurityManager;
+import org.apache.shiro.realm.text.IniRealm;
+import org.apache.shiro.subject.PrincipalCollection;
+import org.apache.shiro.subject.Subject;
+import org.apache.shiro.util.ThreadContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.isis.applib.Identifier;
+import org.apache.isis.core.commons.config.IsisConfigurationDefault;
+import org.apache.isis.core.metamodel.deployment.DeploymentCategory;
+import org.apache.isis.core.runtime.authentication.AuthenticationRequestPassword;
+import org.apache.isis.security.shiro.authorization.IsisPermissionResolver;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ShiroAuthenticatorOrAuthorizorTest_compilePermissions {
+
+    private static final Identifier CUSTOMER_CHANGE_ADDRESS =
+            Identifier.actionIdentifier("com.mycompany.myapp.Customer", "changeAddress", String.class);
+    private static final Identifier CUSTOMER_REMOVE =
+            Identifier.actionIdentifier("com.mycompany.myapp.Customer", "remove");
+    private static final Identifier ORDER_SUBMIT =
+            Identifier.actionIdentifier("com.mycompany.myapp.Order", "submit");
+    private static final Identifier ORDER_CANCEL =
+            Identifier.actionIdentifier("com.mycompany.myapp.Order", "cancel");
+    private static final Identifier TODO_ITEM_COMPLETE =
+            Identifier.actionIdentifier("todoapp.dom.ToDoItem", "complete");
+
+    private Ini ini;
+
+    @Before
+    public void setUp() throws Exception {
+        ini = new Ini();
+        ini.load(""
+                + "[users]\n"
+                + "root = secret, admin\n"
+                + "darkhelmet = ludicrousspeed, darklord, schwartz\n"
+                + "lonestarr = vespa, goodguy, schwartz\n"
+                + "guest = guest, user, read-only\n"
+                + "[roles]\n"
+                + "admin = *\n"
+                + "schwartz = !schwartz/com.mycompany.myapp:Customer:remove:*, "
+                        + "schwartz/com.mycompany.myapp:Customer:*, "
+                        + "schwartz/com.mycompany.myapp:Order:submit:*\n"
+                + "goodguy = goodguy/com.mycompany.myapp:Customer:remove:*\n"
+                + "user = todoPg/*:ToDoItem:*:*\n"
+                + "read-only = !todoPg/*:ToDoItem:*:w\n");
+
+        useRealm(new IniRealm());
+    }
+
+    private void useRealm(final IniRealm realm) {
+        realm.setPermissionResolver(new IsisPermissionResolver());
+        realm.setIni(ini);
+        realm.init();
+
+        SecurityUtils.setSecurityManager(new DefaultSecurityManager(realm));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        Subject subject = SecurityUtils.getSubject();
+        if(subject != null) {
+            subject.logout();
+        }
+        // else the next test would reuse this subject, and with it this security manager
+        ThreadContext.unbindSubject();
+        SecurityUtils.setSecurityManager(null);
+    }
+
+    @Test
+    public void compiled() throws Exception {
+        assertPermissions(newAuthorizor(true, 100), true);
+    }
+
+    @Test
+    public void compiled_withoutDecisionCache() throws Exception {
+        assertPermissions(newAuthorizor(true, 0), true);
+    }
+
+    @Test
+    public void notCompiled() throws Exception {
+        // vetoes are only honoured by Shiro if the vetoing permission happens to be evaluated first
+        assertPermissions(newAuthorizor(false, 100), false);
+    }
+
+    @Test
+    public void notCompiled_whenRealmOverridesPermissionChecks() throws Exception {
+        useRealm(new IniRealm() {
+            @Override
+            public boolean isPermitted(final PrincipalCollection principals, final String permission) {
+                return !permission.contains(":Order:") && super.isPermitted(principals, permission);
+            }
+        });
+        final ShiroAuthenticatorOrAuthorizor authOrAuth = newAuthorizor(true, 100);
+
+        authOrAuth.authenticate(new AuthenticationRequestPassword("darkhelmet", "ludicrousspeed"), null);
+
+        // the realm's own check is honoured, rather than the permissions it holds
+        assertThat(authOrAuth.isVisibleInAnyRole(CUSTOMER_CHANGE_ADDRESS), is(true));
+        assertThat(authOrAuth.isUsableInAnyRole(ORDER_SUBMIT), is(false));
+    }
+
+    private void assertPermissions(
+            final ShiroAuthenticatorOrAuthorizor authOrAuth,
+            final boolean vetoesIndependentOfOrder) {
+
+        authOrAuth.authenticate(new AuthenticationRequestPassword("darkhelmet", "ludicrousspeed"), null);
+
+        // check each twice, so that the second is from the decision cache (if any)
+        for (int i = 0; i < 2; i++) {
+            assertThat(authOrAuth.isVisibleInAnyRole(CUSTOMER_CHANGE_ADDRESS), is(true));
+            if(vetoesIndependentOfOrder) {
+                assertThat(authOrAuth.isVisibleInAnyRole(CUSTOMER_REMOVE), is(false));
+            }
+            assertThat(authOrAuth.isUsableInAnyRole(ORDER_SUBMIT), is(true));
+            assertThat(authOrAuth.isVisibleInAnyRole(ORDER_CANCEL), is(false));
+        }
+        SecurityUtils.getSubject().logout();
+
+        // vetoes only apply within the permission group
+        authOrAuth.authenticate(new AuthenticationRequestPassword("lonestarr", "vespa"), null);
+        assertThat(authOrAuth.isVisibleInAnyRole(CUSTOMER_REMOVE), is(true));
+        SecurityUtils.getSubject().logout();
+
+        authOrAuth.authenticate(new AuthenticationRequestPassword("guest", "guest"), null);
+        assertThat(authOrAuth.isVisibleInAnyRole(TODO_ITEM_COMPLETE), is(true));
+        if(vetoesIndependentOfOrder) {
+            assertThat(authOrAuth.isUsableInAnyRole(TODO_ITEM_COMPLETE), is(false));
+        }
+        assertThat(authOrAuth.isVisibleInAnyRole(CUSTOMER_CHANGE_ADDRESS), is(false));
+        SecurityUtils.getSubject().logout();
+
+        // decisions are not carried over to the next session
+        authOrAuth.authenticate(new AuthenticationRequestPassword("root", "secret"), null);
+        assertThat(authOrAuth.isVisibleInAnyRole(CUSTOMER_REMOVE), is(true));
+        assertThat(authOrAuth.isUsableInAnyRole(TODO_ITEM_COMPLETE), is(true));
+    }
+
+    private static ShiroAuthenticatorOrAuthorizor newAuthorizor(
+            final boolean compilePermissions,
+            final int decisionCacheSize) {
+        final IsisConfigurationDefault configuration = new IsisConfigurationDefault(null);
+        configuration.add(
+                ShiroAuthenticatorOrAuthorizor.ISIS_AUTHORIZATION_SHIRO_COMPILE_PERMISSIONS_KEY,
+                "" + compilePermissions);
+        configuration.add(
+                ShiroAuthenticatorOrAuthorizor.ISIS_AUTHORIZATION_SHIRO_DECISION_CACHE_SIZE_KEY,
+                "" + decisionCacheSize);
+        final ShiroAuthenticatorOrAuthorizor authOrAuth = new ShiroAuthenticatorOrAuthorizor(configuration);
+        authOrAuth.init(DeploymentCategory.PRODUCTION);
+        return authOrAuth;
+    }
+
+}
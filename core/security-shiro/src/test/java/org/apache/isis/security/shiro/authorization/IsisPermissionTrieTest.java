@@ -0,0 +1,146 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.security.shiro.authorization;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.google.common.collect.Lists;
+
+import org.apache.shiro.authz.Permission;
+import org.apache.shiro.authz.permission.AllPermission;
+import org.apache.shiro.authz.permission.WildcardPermission;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class IsisPermissionTrieTest {
+
+    private static final List<String> VIEW_CUSTOMER_CHANGE_ADDRESS =
+            Arrays.asList("com.mycompany.myapp", "Customer", "changeAddress", "r");
+    private static final List<String> USE_CUSTOMER_CHANGE_ADDRESS =
+            Arrays.asList("com.mycompany.myapp", "Customer", "changeAddress", "w");
+
+    @Test
+    public void typicalUsage() throws Exception {
+
+        assertThat(permittedBy(VIEW_CUSTOMER_CHANGE_ADDRESS, "com.mycompany.myapp:Customer:changeAddress:r"), is(true));
+        assertThat(permittedBy(VIEW_CUSTOMER_CHANGE_ADDRESS, "com.mycompany.myapp:Customer:changeAddress:*"), is(true));
+        assertThat(permittedBy(VIEW_CUSTOMER_CHANGE_ADDRESS, "com.mycompany.myapp:Customer:*:r"), is(true));
+        assertThat(permittedBy(VIEW_CUSTOMER_CHANGE_ADDRESS, "com.mycompany.myapp:*:*:r"), is(true));
+        assertThat(permittedBy(VIEW_CUSTOMER_CHANGE_ADDRESS, "com.mycompany.myapp:*"), is(true));
+        assertThat(permittedBy(VIEW_CUSTOMER_CHANGE_ADDRESS, "com.mycompany.myapp"), is(true));
+        assertThat(permittedBy(VIEW_CUSTOMER_CHANGE_ADDRESS, "*:*:*:r"), is(true));
+        assertThat(permittedBy(VIEW_CUSTOMER_CHANGE_ADDRESS, "*:*:*:*:*"), is(true));
+        assertThat(permittedBy(VIEW_CUSTOMER_CHANGE_ADDRESS, "*"), is(true));
+        assertThat(permittedBy(VIEW_CUSTOMER_CHANGE_ADDRESS, "*:Customer:*:r"), is(true));
+        assertThat(permittedBy(VIEW_CUSTOMER_CHANGE_ADDRESS, "com.mycompany.myapp:Customer,Order:*:r,w"), is(true));
+
+        assertThat(permittedBy(VIEW_CUSTOMER_CHANGE_ADDRESS, "com.mycompany"), is(false));
+        assertThat(permittedBy(VIEW_CUSTOMER_CHANGE_ADDRESS, "com.mycompany.*"), is(false));
+        assertThat(permittedBy(VIEW_CUSTOMER_CHANGE_ADDRESS, "com.mycompany.myapp:Customer:changeAddress:w"), is(false));
+        assertThat(permittedBy(USE_CUSTOMER_CHANGE_ADDRESS, "com.mycompany.myapp:Customer:changeAddress:r"), is(false));
+        assertThat(permittedBy(VIEW_CUSTOMER_CHANGE_ADDRESS, "com.mycompany.myapp:Customer:changePhoneNumber:r"), is(false));
+        assertThat(permittedBy(VIEW_CUSTOMER_CHANGE_ADDRESS, "*:*:*:r:x"), is(false));
+        assertThat(permittedBy(VIEW_CUSTOMER_CHANGE_ADDRESS, "*:xxx"), is(false));
+    }
+
+    @Test
+    public void defaultPackage() throws Exception {
+        final List<String> viewCustomerChangeAddress = Arrays.asList("", "Customer", "changeAddress", "r");
+
+        assertThat(permittedBy(viewCustomerChangeAddress, ":Customer:changeAddress:r"), is(true));
+        assertThat(permittedBy(viewCustomerChangeAddress, "*:Customer:changeAddress"), is(true));
+        assertThat(permittedBy(viewCustomerChangeAddress, "*:Customer"), is(true));
+    }
+
+    @Test
+    public void vetoes() throws Exception {
+
+        final IsisPermissionTrie trie = compile(
+                "!foo/com.mycompany.myapp:Customer:changeAddress:w",
+                "foo/com.mycompany.myapp:Customer:*");
+
+        assertThat(trie.isPermitted(VIEW_CUSTOMER_CHANGE_ADDRESS), is(true));
+        assertThat(trie.isPermitted(USE_CUSTOMER_CHANGE_ADDRESS), is(false));
+    }
+
+    @Test
+    public void vetoes_independent_of_order() throws Exception {
+
+        final IsisPermissionTrie trie = compile(
+                "foo/com.mycompany.myapp:Customer:*",
+                "!foo/com.mycompany.myapp:Customer:changeAddress:w");
+
+        assertThat(trie.isPermitted(USE_CUSTOMER_CHANGE_ADDRESS), is(false));
+    }
+
+    @Test
+    public void vetoes_only_within_permission_group() throws Exception {
+
+        assertThat(compile(
+                "!foo/com.mycompany.myapp:Customer:changeAddress:w",
+                "bar/com.mycompany.myapp:Customer:*").isPermitted(USE_CUSTOMER_CHANGE_ADDRESS), is(true));
+
+        assertThat(compile(
+                "!foo/com.mycompany.myapp:Customer:changeAddress:w",
+                "com.mycompany.myapp:Customer:*").isPermitted(USE_CUSTOMER_CHANGE_ADDRESS), is(true));
+
+        assertThat(compile(
+                "!foo/com.mycompany.myapp:Customer:changeAddress:w").isPermitted(USE_CUSTOMER_CHANGE_ADDRESS), is(false));
+    }
+
+    @Test
+    public void plain_wildcard_permissions() throws Exception {
+
+        final IsisPermissionTrie trie = IsisPermissionTrie.compileOrNull(Lists.<Permission>newArrayList(
+                new WildcardPermission("com.mycompany.myapp:Customer,Order:changeAddress")));
+
+        assertThat(trie, is(notNullValue()));
+        assertThat(trie.isPermitted(VIEW_CUSTOMER_CHANGE_ADDRESS), is(true));
+        assertThat(trie.isPermitted(Arrays.asList("com.mycompany.myapp", "Order", "changeAddress", "r")), is(true));
+        assertThat(trie.isPermitted(Arrays.asList("com.mycompany.myapp", "Product", "changeAddress", "r")), is(false));
+    }
+
+    @Test
+    public void other_permissions_cannot_be_compiled() throws Exception {
+
+        final IsisPermissionTrie trie = IsisPermissionTrie.compileOrNull(Lists.<Permission>newArrayList(
+                new IsisPermission("com.mycompany.myapp:Customer:*"),
+                new AllPermission()));
+
+        assertThat(trie, is(nullValue()));
+    }
+
+    private static boolean permittedBy(final List<String> parts, final String permissionString) {
+        return compile(permissionString).isPermitted(parts);
+    }
+
+    private static IsisPermissionTrie compile(final String... permissionStrings) {
+        final List<Permission> permissions = Lists.newArrayList();
+        for (final String permissionString : permissionStrings) {
+            permissions.add(new IsisPermission(permissionString));
+        }
+        return IsisPermissionTrie.compileOrNull(permissions);
+    }
+
+}
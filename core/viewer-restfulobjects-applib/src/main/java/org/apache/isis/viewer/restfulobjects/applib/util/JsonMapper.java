@@ -19,9 +19,11 @@
 package org.apache.isis.viewer.restfulobjects.applib.util;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import javax.ws.rs.core.Response;
+import com.fasterxml.jackson.core.JsonEncoding;
 import com.fasterxml.jackson.core.JsonGenerationException;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParseException;
@@ -127,4 +129,21 @@ public String write(final Object object) throws JsonGenerationException, JsonMap
         return objectMapper.writeValueAsString(object);
     }
 
+    /**
+     * As {@link #write(Object)}, but writing (UTF-8 encoded) directly to the provided stream through a
+     * {@link JsonGenerator}, rather than first building up a {@link String}.
+     *
+     * <p>
+     * The output is identical to that of {@link #write(Object)}.  The stream is flushed but not closed.
+     */
+    public void write(final Object object, final OutputStream outputStream) throws JsonGenerationException, JsonMappingException, IOException {
+        final JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        try {
+            objectMapper.writeValue(generator, object);
+        } finally {
+            generator.close();
+        }
+    }
+
 }
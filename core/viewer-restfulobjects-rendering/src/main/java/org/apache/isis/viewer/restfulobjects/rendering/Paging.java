@@ -0,0 +1,141 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.restfulobjects.rendering;
+
+import com.google.common.collect.Iterables;
+
+import org.apache.isis.viewer.restfulobjects.applib.JsonRepresentation;
+import org.apache.isis.viewer.restfulobjects.applib.Rel;
+import org.apache.isis.viewer.restfulobjects.applib.RepresentationType;
+
+/**
+ * A single page of a (potentially large) collection or list, as requested using the <tt>x-ro-page</tt> (1-based) and
+ * <tt>x-ro-page-size</tt> query parameters.
+ */
+public class Paging {
+
+    public interface PageHrefs {
+        /**
+         * The href (relative to the base URI) of the specified (1-based) page, or <tt>null</tt> if the page cannot be
+         * requested by following a link (eg because the current request was not a GET).
+         */
+        String hrefFor(int page);
+    }
+
+    private final int page;
+    private final int pageSize;
+    private final RepresentationType representationType;
+    private final PageHrefs pageHrefs;
+
+    public Paging(
+            final int page,
+            final int pageSize,
+            final RepresentationType representationType,
+            final PageHrefs pageHrefs) {
+        if (page < 1 || pageSize < 1) {
+            throw new IllegalArgumentException(String.format(
+                    "page and page size must both be at least 1 (page: %d, pageSize: %d)", page, pageSize));
+        }
+        this.page = page;
+        this.pageSize = pageSize;
+        this.representationType = representationType;
+        this.pageHrefs = pageHrefs;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * The (0-based) index of the first element of this page.
+     */
+    public long getStart() {
+        return (long) (page - 1) * pageSize;
+    }
+
+    public int numPages(final int totalCount) {
+        return (int) Math.max(1, (totalCount + (long) pageSize - 1) / pageSize);
+    }
+
+    /**
+     * The elements of this page.
+     *
+     * <p>
+     * If the iterable is a {@link java.util.List}, then the elements before the page are skipped without being
+     * iterated over, and those after it are never accessed.
+     */
+    public <T> Iterable<T> page(final Iterable<T> iterable) {
+        final long start = getStart();
+        if (start > Integer.MAX_VALUE) {
+            return Iterables.limit(iterable, 0);
+        }
+        return Iterables.limit(Iterables.skip(iterable, (int) start), pageSize);
+    }
+
+    /**
+     * Adds a <tt>pagination</tt> extension, along with <tt>previous</tt> and <tt>next</tt> links (if there are such
+     * pages, and they can be linked to).
+     */
+    public void addTo(
+            final RendererContext rendererContext,
+            final JsonRepresentation links,
+            final JsonRepresentation extensions,
+            final int totalCount) {
+
+        final int numPages = numPages(totalCount);
+
+        final JsonRepresentation pagination = JsonRepresentation.newMap();
+        pagination.mapPut("page", page);
+        pagination.mapPut("pageSize", pageSize);
+        pagination.mapPut("numPages", numPages);
+        pagination.mapPut("totalCount", totalCount);
+        extensions.mapPut("pagination", pagination);
+
+        if (pageHrefs == null) {
+            return;
+        }
+        if (page > 1) {
+            addLink(rendererContext, links, Rel.PREVIOUS, Math.min(page - 1, numPages));
+        }
+        if (page < numPages) {
+            addLink(rendererContext, links, Rel.NEXT, page + 1);
+        }
+    }
+
+    private void addLink(
+            final RendererContext rendererContext,
+            final JsonRepresentation links,
+            final Rel rel,
+            final int page) {
+        final String href = pageHrefs.hrefFor(page);
+        if (href == null) {
+            return;
+        }
+        links.arrayAdd(LinkBuilder.newBuilder(rendererContext, rel.getName(), representationType, "%s", href).build());
+    }
+
+    @Override
+    public String toString() {
+        return "page " + page + " (of size " + pageSize + ")";
+    }
+}
@@ -90,11 +90,24 @@ protected InteractionInitiatedBy getInteractionInitiatedBy() {
         return interactionInitiatedBy;
     }
 
+    /**
+     * The page requested, if any; see {@link RendererContext7#getPaging()}.
+     */
+    protected Paging getPaging() {
+        return rendererContext instanceof RendererContext7
+                ? ((RendererContext7) rendererContext).getPaging()
+                : null;
+    }
+
 
     public RendererContext getRendererContext() {
         return rendererContext;
     }
 
+    public RepresentationType getRepresentationType() {
+        return representationType;
+    }
+
     public LinkFollowSpecs getLinkFollowSpecs() {
         return linkFollower;
     }
@@ -17,18 +17,59 @@
 package org.apache.isis.viewer.restfulobjects.rendering;
 
 import java.util.Date;
+import java.util.Locale;
+import java.util.Set;
 import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.Hashing;
+
 import org.joda.time.DateTime;
-import org.joda.time.format.ISODateTimeFormat;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+import org.apache.isis.applib.services.i18n.LocaleProvider;
+import org.apache.isis.core.commons.authentication.AuthenticationSession;
 import org.apache.isis.core.metamodel.adapter.version.Version;
+import org.apache.isis.core.commons.config.IsisConfiguration;
+import org.apache.isis.core.metamodel.services.ServicesInjector;
 import org.apache.isis.viewer.restfulobjects.applib.JsonRepresentation;
+import org.apache.isis.viewer.restfulobjects.applib.RepresentationType;
 import org.apache.isis.viewer.restfulobjects.applib.client.RestfulResponse;
 import org.apache.isis.viewer.restfulobjects.rendering.util.JsonWriterUtil;
 
 public final class Responses {
 
+    /**
+     * Comma-separated list of the {@link RepresentationType#getName() names} of those representation types (eg
+     * <tt>list,objectCollection</tt>) whose JSON should be written directly to the response's stream rather than
+     * first being serialized to a {@link String}.  By default, no representation types are streamed.
+     *
+     * <p>
+     * The representation is still rendered in full (as a {@link JsonRepresentation} tree) before anything is
+     * written; streaming only avoids also holding its serialized {@link String} (and the bytes encoded from it).
+     */
+    public static final String KEY_STREAMING_REPRESENTATION_TYPES = "isis.viewer.restfulobjects.streamingRepresentationTypes";
+
+    /**
+     * The parsed value of {@link #KEY_STREAMING_REPRESENTATION_TYPES}, for the configuration it was read from.
+     */
+    private static volatile StreamedRepresentationTypes streamedRepresentationTypes;
+
+    private static final class StreamedRepresentationTypes {
+        private final IsisConfiguration configuration;
+        private final Set<String> names;
+
+        private StreamedRepresentationTypes(final IsisConfiguration configuration) {
+            this.configuration = configuration;
+            this.names = ImmutableSet.copyOf(configuration.getList(KEY_STREAMING_REPRESENTATION_TYPES));
+        }
+    }
+
+    private static final DateTimeFormatter STRONG_ETAG_FORMAT = DateTimeFormat.forPattern("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
+
     private Responses(){}
 
     public static Response.ResponseBuilder ofNoContent() {
@@ -78,10 +119,48 @@ public static Response.ResponseBuilder ofOk(
                 of(RestfulResponse.HttpStatusCode.OK)
                     .type(mediaType)
                     .cacheControl(caching.getCacheControl())
-                    .entity(JsonWriterUtil.jsonFor(entityRepresentation));
+                    .entity(isStreamed(renderer)
+                            ? JsonWriterUtil.streamingOutputFor(entityRepresentation)
+                            : JsonWriterUtil.jsonFor(entityRepresentation));
         return addLastModifiedAndETagIfAvailable(response, version);
     }
 
+    /**
+     * For a representation that has already been rendered to JSON (eg held in a cache).
+     */
+    public static Response.ResponseBuilder ofOk(
+            final String json,
+            final MediaType mediaType,
+            final Caching caching,
+            final EntityTag eTagIfAny) {
+        final Response.ResponseBuilder response =
+                of(RestfulResponse.HttpStatusCode.OK)
+                    .type(mediaType)
+                    .cacheControl(caching.getCacheControl())
+                    .entity(json);
+        if(eTagIfAny != null) {
+            response.tag(eTagIfAny);
+        }
+        return response;
+    }
+
+    private static boolean isStreamed(final ReprRenderer<?, ?> renderer) {
+        if(!(renderer instanceof ReprRendererAbstract)) {
+            return false;
+        }
+        final ReprRendererAbstract<?, ?> rendererAbstract = (ReprRendererAbstract<?, ?>) renderer;
+        final IsisConfiguration configuration = rendererAbstract.getRendererContext().getConfiguration();
+        if(configuration == null) {
+            return false;
+        }
+        StreamedRepresentationTypes streamedTypes = streamedRepresentationTypes;
+        if(streamedTypes == null || streamedTypes.configuration != configuration) {
+            streamedTypes = new StreamedRepresentationTypes(configuration);
+            streamedRepresentationTypes = streamedTypes;
+        }
+        return streamedTypes.names.contains(rendererAbstract.getRepresentationType().getName());
+    }
+
     protected static Response.ResponseBuilder of(final RestfulResponse.HttpStatusCode httpStatusCode) {
         return Response.status(httpStatusCode.getJaxrsStatusType()).type(MediaType.APPLICATION_JSON_TYPE);
     }
@@ -99,13 +178,106 @@ public static Response.ResponseBuilder addLastModifiedAndETagIfAvailable(
         if (version != null && version.getTime() != null) {
             final Date time = version.getTime();
             responseBuilder.lastModified(time);
-            responseBuilder.tag(asETag(time));
+            responseBuilder.tag(strongETagFor(time));
         }
         return responseBuilder;
     }
 
-    private static EntityTag asETag(final Date time) {
-        final String utcTime = ISODateTimeFormat.basicDateTime().print(new DateTime(time));
-        return new EntityTag(utcTime, true);
+    /**
+     * As {@link #addLastModifiedAndETagIfAvailable(Response.ResponseBuilder, Version)}, but for a domain object
+     * representation, so with the ETag {@link #strongETagFor(Date, RendererContext2) for} the current request.
+     */
+    public static Response.ResponseBuilder addLastModifiedAndETagIfAvailable(
+            final Response.ResponseBuilder responseBuilder,
+            final Version version,
+            final RendererContext2 rendererContext) {
+        if (version != null && version.getTime() != null) {
+            final Date time = version.getTime();
+            responseBuilder.lastModified(time);
+            responseBuilder.tag(strongETagFor(time, rendererContext));
+        }
+        return responseBuilder;
+    }
+
+    /**
+     * Evaluates any <tt>If-None-Match</tt> (or <tt>If-Match</tt>) header of the request against the
+     * {@link #strongETagFor(Date, RendererContext2) ETag} of the domain object representation with the provided
+     * {@link Version}.
+     *
+     * <p>
+     * Any <tt>If-Modified-Since</tt> header is ignored: the object's version time alone does not identify its
+     * representation, which also depends on the user, the media type and the locale.
+     *
+     * @return a builder for a <tt>304 Not Modified</tt> (or <tt>412 Precondition Failed</tt>) response if the
+     * preconditions are met, otherwise <tt>null</tt> (in which case the representation should be rendered as usual).
+     */
+    public static Response.ResponseBuilder evaluatePreconditions(
+            final Request request,
+            final Version version,
+            final RendererContext2 rendererContext) {
+        if (request == null || version == null || version.getTime() == null) {
+            return null;
+        }
+        final Date time = version.getTime();
+        final Response.ResponseBuilder responseBuilder = evaluatePreconditions(request, strongETagFor(time, rendererContext));
+        if (responseBuilder != null) {
+            responseBuilder.lastModified(time);
+        }
+        return responseBuilder;
+    }
+
+    /**
+     * As {@link #evaluatePreconditions(Request, Version, RendererContext2)}, for a representation with no last
+     * modified time.
+     */
+    public static Response.ResponseBuilder evaluatePreconditions(
+            final Request request,
+            final EntityTag eTag) {
+        if (request == null || eTag == null) {
+            return null;
+        }
+        final Response.ResponseBuilder responseBuilder = request.evaluatePreconditions(eTag);
+        if (responseBuilder != null) {
+            responseBuilder.tag(eTag);
+        }
+        return responseBuilder;
+    }
+
+    /**
+     * The (strong) ETag for a representation (eg of an action result) derived from a domain object with the
+     * specified version time.
+     */
+    public static EntityTag strongETagFor(final Date time) {
+        return new EntityTag(STRONG_ETAG_FORMAT.print(new DateTime(time)));
+    }
+
+    /**
+     * The (strong) ETag for a domain object representation with the specified version time, as rendered for the
+     * current user, in the acceptable media types and the current {@link #localeOf(RendererContext) locale}.
+     */
+    public static EntityTag strongETagFor(final Date time, final RendererContext2 rendererContext) {
+        final AuthenticationSession authenticationSession = rendererContext.getAuthenticationSession();
+        final String userName = authenticationSession != null ? authenticationSession.getUserName() : null;
+        final String hash = Hashing.murmur3_128().newHasher()
+                .putString(STRONG_ETAG_FORMAT.print(new DateTime(time)), Charsets.UTF_8)
+                .putString(String.valueOf(userName), Charsets.UTF_8)
+                .putString(String.valueOf(rendererContext.getAcceptableMediaTypes()), Charsets.UTF_8)
+                .putString(String.valueOf(localeOf(rendererContext)), Charsets.UTF_8)
+                .hash().toString();
+        return new EntityTag(hash);
+    }
+
+    /**
+     * The locale, as provided by the {@link LocaleProvider} (if any), in which any translated text of a
+     * representation is rendered; or <tt>null</tt> if not known.
+     */
+    public static Locale localeOf(final RendererContext rendererContext) {
+        if(!(rendererContext instanceof RendererContext5)) {
+            return null;
+        }
+        final ServicesInjector servicesInjector = ((RendererContext5) rendererContext).getServicesInjector();
+        final LocaleProvider localeProvider =
+                servicesInjector != null ? servicesInjector.lookupService(LocaleProvider.class) : null;
+        return localeProvider != null ? localeProvider.getLocale() : null;
     }
 }
@@ -140,6 +140,7 @@ private void addResultTo(
                 final ListReprRenderer listReprRenderer =
                         new ListReprRenderer(rendererContext, null, representation).withElementRel(Rel.ELEMENT);
                 listReprRenderer.with(collectionAdapters)
+                        .withPaging()
                         .withReturnType(action.getReturnType())
                         .withElementType(returnedAdapter.getElementSpecification());
 
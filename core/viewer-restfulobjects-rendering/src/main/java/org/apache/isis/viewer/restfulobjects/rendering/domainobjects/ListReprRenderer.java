@@ -17,6 +17,11 @@
 package org.apache.isis.viewer.restfulobjects.rendering.domainobjects;
 
 import java.util.Collection;
+import java.util.Map;
+
+import com.google.common.base.Predicate;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Maps;
 
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
 import org.apache.isis.core.metamodel.spec.ObjectSpecification;
@@ -24,6 +29,7 @@
 import org.apache.isis.viewer.restfulobjects.applib.Rel;
 import org.apache.isis.viewer.restfulobjects.applib.RepresentationType;
 import org.apache.isis.viewer.restfulobjects.rendering.LinkFollowSpecs;
+import org.apache.isis.viewer.restfulobjects.rendering.Paging;
 import org.apache.isis.viewer.restfulobjects.rendering.RendererContext;
 import org.apache.isis.viewer.restfulobjects.rendering.ReprRendererAbstract;
 
@@ -34,6 +40,7 @@ public class ListReprRenderer extends ReprRendererAbstract<ListReprRenderer, Col
     private ObjectSpecification elementType;
     private ObjectSpecification returnType;
     private Rel elementRel;
+    private boolean paged;
 
     public ListReprRenderer(final RendererContext resourceContext, final LinkFollowSpecs linkFollower, final JsonRepresentation representation) {
         super(resourceContext, linkFollower, RepresentationType.LIST, representation);
@@ -56,6 +63,14 @@ public ListReprRenderer withElementRel(Rel elementRel) {
         return this;
     }
 
+    /**
+     * Whether to honour any {@link #getPaging() paging} requested, rendering only the requested page of the list.
+     */
+    public ListReprRenderer withPaging() {
+        this.paged = true;
+        return this;
+    }
+
     public ListReprRenderer withReturnType(final ObjectSpecification returnType) {
         this.returnType = returnType;
         return this;
@@ -90,11 +105,13 @@ private void addValue() {
 
         final JsonRepresentation values = JsonRepresentation.newArray();
 
-        for (final ObjectAdapter adapter : objectAdapters) {
-            final ObjectSpecification specification = adapter.getSpecification();
-            if (specification.isHidden()) {
-                continue;
-            }
+        // hidden elements are filtered out (lazily) before paging, so that they don't count towards any page; only
+        // the elements up to the end of the page are iterated over to render it
+        final Iterable<ObjectAdapter> visibleAdapters = Iterables.filter(objectAdapters, new VisiblePredicate());
+
+        final Paging paging = paged ? getPaging() : null;
+        final Iterable<ObjectAdapter> adapters = paging != null ? paging.page(visibleAdapters) : visibleAdapters;
+        for (final ObjectAdapter adapter : adapters) {
             final JsonRepresentation linkToObject = linkTo.with(adapter).builder(elementRel).build();
             values.arrayAdd(linkToObject);
 
@@ -107,6 +124,30 @@ private void addValue() {
             }
         }
         representation.mapPut("value", values);
+
+        if (paging != null) {
+            // the total does require every element to be checked, though only once per (memoized) specification
+            paging.addTo(rendererContext, getLinks(), getExtensions(), Iterables.size(visibleAdapters));
+        }
+    }
+
+    /**
+     * Whether an element's specification is hidden, asked once per specification.
+     */
+    private static class VisiblePredicate implements Predicate<ObjectAdapter> {
+
+        private final Map<ObjectSpecification, Boolean> visibleBySpec = Maps.newIdentityHashMap();
+
+        @Override
+        public boolean apply(final ObjectAdapter adapter) {
+            final ObjectSpecification specification = adapter.getSpecification();
+            Boolean visible = visibleBySpec.get(specification);
+            if (visible == null) {
+                visible = !specification.isHidden();
+                visibleBySpec.put(specification, visible);
+            }
+            return visible;
+        }
     }
 
 
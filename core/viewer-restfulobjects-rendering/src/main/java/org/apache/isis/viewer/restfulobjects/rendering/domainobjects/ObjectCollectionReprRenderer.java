@@ -31,6 +31,7 @@
 import org.apache.isis.viewer.restfulobjects.applib.RepresentationType;
 import org.apache.isis.viewer.restfulobjects.rendering.LinkBuilder;
 import org.apache.isis.viewer.restfulobjects.rendering.LinkFollowSpecs;
+import org.apache.isis.viewer.restfulobjects.rendering.Paging;
 import org.apache.isis.viewer.restfulobjects.rendering.RendererContext;
 import org.apache.isis.viewer.restfulobjects.rendering.domaintypes.CollectionDescriptionReprRenderer;
 
@@ -90,8 +91,14 @@ private void addValue(final LinkFollowSpecs linkFollower) {
         boolean eagerlyRender = rendererContext.honorUiHints() && renderEagerly(valueAdapter) || !followHref.isTerminated();
 
         final CollectionFacet facet = CollectionFacetUtils.getCollectionFacetFromSpec(valueAdapter);
+
+        // only honour paging when the collection is the resource being requested
+        final Paging paging = mode.isStandalone() ? getPaging() : null;
+        final Iterable<ObjectAdapter> elementAdapters =
+                paging != null ? paging.page(facet.collection(valueAdapter)) : facet.iterable(valueAdapter);
+
         final List<JsonRepresentation> list = Lists.newArrayList();
-        for (final ObjectAdapter elementAdapter : facet.iterable(valueAdapter)) {
+        for (final ObjectAdapter elementAdapter : elementAdapters) {
 
             final LinkBuilder valueLinkBuilder = DomainObjectReprRenderer.newLinkToBuilder(rendererContext, Rel.VALUE, elementAdapter);
             if(eagerlyRender) {
@@ -109,6 +116,10 @@ private void addValue(final LinkFollowSpecs linkFollower) {
         }
 
         representation.mapPut("value", list);
+
+        if (paging != null) {
+            paging.addTo(rendererContext, getLinks(), getExtensions(), facet.size(valueAdapter));
+        }
     }
 
     private boolean renderEagerly(ObjectAdapter valueAdapter) {
@@ -26,6 +26,7 @@
 import org.apache.isis.viewer.restfulobjects.rendering.RendererContext4;
 import org.apache.isis.viewer.restfulobjects.rendering.RendererContext5;
 import org.apache.isis.viewer.restfulobjects.rendering.RendererContext6;
+import org.apache.isis.viewer.restfulobjects.rendering.RendererContext7;
 import org.apache.isis.viewer.restfulobjects.rendering.domainobjects.ActionResultReprRenderer;
 import org.apache.isis.viewer.restfulobjects.rendering.domainobjects.MemberReprMode;
 import org.apache.isis.viewer.restfulobjects.rendering.domainobjects.ObjectAdapterLinkTo;
@@ -114,4 +115,6 @@ interface Context5 extends Context4, RendererContext5 {
     }
     interface Context6 extends Context5, RendererContext6 {
     }
+    interface Context7 extends Context6, RendererContext7 {
+    }
 }
@@ -16,8 +16,6 @@
  */
 package org.apache.isis.viewer.restfulobjects.rendering.service.conneg;
 
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
 import java.util.List;
 import java.util.Map;
 
@@ -59,8 +57,6 @@
 )
 public class ContentNegotiationServiceForRestfulObjectsV1_0 implements ContentNegotiationService {
 
-    private static final DateFormat ETAG_FORMAT = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
-
     private boolean strictAcceptChecking;
 
     @PostConstruct
@@ -111,10 +107,7 @@ ResponseBuilder buildResponseTo(
             }
         }
 
-        final Version version = objectAdapter.getVersion();
-        if (version != null && version.getTime() != null) {
-            responseBuilder.tag(ETAG_FORMAT.format(version.getTime()));
-        }
+        Responses.addLastModifiedAndETagIfAvailable(responseBuilder, objectAdapter.getVersion(), rendererContext);
         return responseBuilder;
     }
 
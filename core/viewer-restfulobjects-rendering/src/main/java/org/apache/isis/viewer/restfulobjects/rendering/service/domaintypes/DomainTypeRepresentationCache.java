@@ -0,0 +1,238 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.restfulobjects.rendering.service.domaintypes;
+
+import java.util.Map;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.MediaType;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Objects;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+
+import org.apache.isis.applib.annotation.DomainService;
+import org.apache.isis.applib.annotation.NatureOfService;
+import org.apache.isis.applib.annotation.Programmatic;
+import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
+
+/**
+ * A bounded cache of the rendered (JSON) representations of domain types, and of their property, collection, action
+ * and action parameter descriptions.
+ *
+ * <p>
+ * These representations depend on the metamodel, on the request's URL and <tt>Accept</tt> header, and (because
+ * names and descriptions are translated) on the locale; all but the metamodel are part of the {@link Key}.  They
+ * therefore do not change for the lifetime of the deployment other than if a specification is
+ * {@link SpecificationLoader#invalidateCache(Class) invalidated} (eg by JRebel), at which point the cache is cleared.
+ */
+@DomainService(
+        nature = NatureOfService.DOMAIN
+)
+public class DomainTypeRepresentationCache {
+
+    /**
+     * The maximum number of representations to cache; 0 disables the cache.
+     */
+    public static final String KEY_MAX_SIZE = "isis.viewer.restfulobjects.domainTypeCache.maxSize";
+    static final int MAX_SIZE_DEFAULT = 1000;
+
+    public interface Renderer {
+        Representation render();
+    }
+
+    private Cache<Key, Representation> cache;
+    private volatile long generation;
+
+    //region > init
+
+    @Programmatic
+    @PostConstruct
+    public void init(final Map<String, String> properties) {
+        final int maxSize = parseInt(properties.get(KEY_MAX_SIZE), MAX_SIZE_DEFAULT);
+        this.cache = maxSize > 0
+                ? CacheBuilder.newBuilder().maximumSize(maxSize).<Key, Representation>build()
+                : null;
+        this.generation = specificationLoader.getCacheGeneration();
+    }
+
+    private static int parseInt(final String value, final int defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (final NumberFormatException ex) {
+            return defaultValue;
+        }
+    }
+
+    //endregion
+
+    //region > lookupElseRender
+
+    /**
+     * Returns the cached representation for the key, else renders (and caches) it.
+     */
+    @Programmatic
+    public Representation lookupElseRender(final Key key, final Renderer renderer) {
+        if (cache == null) {
+            return renderer.render();
+        }
+
+        final long generationAtStart = specificationLoader.getCacheGeneration();
+        clearIfStale(generationAtStart);
+
+        final Representation cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        final Representation representation = renderer.render();
+        putIfCurrent(key, representation, generationAtStart);
+        return representation;
+    }
+
+    private void clearIfStale(final long currentGeneration) {
+        if (generation == currentGeneration) {
+            return;
+        }
+        synchronized (this) {
+            if (generation != currentGeneration) {
+                cache.invalidateAll();
+                generation = currentGeneration;
+            }
+        }
+    }
+
+    /**
+     * Only caches the representation if no specification was invalidated while it was being rendered.
+     */
+    private synchronized void putIfCurrent(
+            final Key key,
+            final Representation representation,
+            final long generationAtStart) {
+        if (generation == generationAtStart && specificationLoader.getCacheGeneration() == generationAtStart) {
+            cache.put(key, representation);
+        }
+    }
+
+    //endregion
+
+    //region > Key
+
+    public static class Key {
+
+        private final String specId;
+        private final String url;
+        private final String acceptHeader;
+        private final String locale;
+
+        /**
+         * @param locale - the locale that names and descriptions are translated into, or (if not known) the
+         *               request's <tt>Accept-Language</tt> header.
+         */
+        public Key(final String specId, final String url, final String acceptHeader, final String locale) {
+            this.specId = specId;
+            this.url = url;
+            this.acceptHeader = acceptHeader;
+            this.locale = locale;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final Key other = (Key) o;
+            return Objects.equal(specId, other.specId) &&
+                    Objects.equal(url, other.url) &&
+                    Objects.equal(acceptHeader, other.acceptHeader) &&
+                    Objects.equal(locale, other.locale);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(specId, url, acceptHeader, locale);
+        }
+
+        @Override
+        public String toString() {
+            return specId + " " + url + " (" + acceptHeader + "; " + locale + ")";
+        }
+    }
+
+    //endregion
+
+    //region > Representation
+
+    public static class Representation {
+
+        private final String json;
+        private final MediaType mediaType;
+        private final EntityTag eTag;
+
+        public Representation(final String json, final MediaType mediaType) {
+            this.json = json;
+            this.mediaType = mediaType;
+            this.eTag = new EntityTag(Hashing.murmur3_128().hashString(json, Charsets.UTF_8).toString());
+        }
+
+        public String getJson() {
+            return json;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        /**
+         * Derived from the {@link #getJson() JSON}, so is the same for the same representation across restarts.
+         */
+        public EntityTag getETag() {
+            return eTag;
+        }
+    }
+
+    //endregion
+
+    //region > metrics
+
+    @Programmatic
+    public long size() {
+        return cache != null ? cache.size() : 0;
+    }
+
+    //endregion
+
+    //region > injected services
+
+    @Inject
+    SpecificationLoader specificationLoader;
+
+    //endregion
+
+}
@@ -19,6 +19,10 @@
 package org.apache.isis.viewer.restfulobjects.rendering.util;
 
 import java.io.IOException;
+import java.io.OutputStream;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.StreamingOutput;
 
 import org.apache.isis.core.metamodel.deployment.DeploymentCategory;
 import org.apache.isis.core.runtime.system.context.IsisContext;
@@ -39,6 +43,25 @@ public static String jsonFor(final Object object) {
         }
     }
 
+    /**
+     * As {@link #jsonFor(Object)}, but returns a {@link StreamingOutput} that serializes the (already built) object
+     * directly to the response's stream, rather than building up the JSON as a {@link String} first.
+     */
+    public static StreamingOutput streamingOutputFor(final Object object) {
+        final DeploymentCategory deploymentCategory = getIsisSessionFactory().getDeploymentCategory();
+        final JsonMapper.PrettyPrinting prettyPrinting = inferPrettyPrinting(deploymentCategory);
+        return streamingOutputFor(object, prettyPrinting);
+    }
+
+    static StreamingOutput streamingOutputFor(final Object object, final JsonMapper.PrettyPrinting prettyPrinting) {
+        return new StreamingOutput() {
+            @Override
+            public void write(final OutputStream output) throws IOException, WebApplicationException {
+                JsonMapper.instance(prettyPrinting).write(object, output);
+            }
+        };
+    }
+
     static IsisSessionFactory getIsisSessionFactory() {
         return IsisContext.getSessionFactory();
     }
@@ -0,0 +1,167 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.restfulobjects.rendering;
+
+import java.util.List;
+
+import com.google.common.collect.ContiguousSet;
+import com.google.common.collect.DiscreteDomain;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Range;
+
+import org.jmock.Expectations;
+import org.jmock.api.Invocation;
+import org.jmock.auto.Mock;
+import org.jmock.lib.action.CustomAction;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.viewer.restfulobjects.applib.JsonRepresentation;
+import org.apache.isis.viewer.restfulobjects.applib.RepresentationType;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class PagingTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(JUnitRuleMockery2.Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    RendererContext mockRendererContext;
+
+    private final Paging.PageHrefs pageHrefs = new Paging.PageHrefs() {
+        @Override
+        public String hrefFor(final int page) {
+            return "services/x.Customers/actions/findAll/invoke?x-ro-page=" + page;
+        }
+    };
+
+    private List<Integer> list;
+
+    @Before
+    public void setUp() throws Exception {
+        list = Lists.newArrayList(ContiguousSet.create(Range.closed(1, 53), DiscreteDomain.integers()));
+
+        context.checking(new Expectations() {{
+            allowing(mockRendererContext).urlFor(with(any(String.class)));
+            will(new CustomAction("prefix with base uri") {
+                @Override
+                public Object invoke(final Invocation invocation) throws Throwable {
+                    return "http://localhost/restful/" + invocation.getParameter(0);
+                }
+            });
+        }});
+    }
+
+    @Test
+    public void first_page() throws Exception {
+        final Paging paging = new Paging(1, 25, RepresentationType.ACTION_RESULT, pageHrefs);
+
+        assertThat(Lists.newArrayList(paging.page(list)), is(equalTo(list.subList(0, 25))));
+
+        final JsonRepresentation links = JsonRepresentation.newArray();
+        final JsonRepresentation extensions = JsonRepresentation.newMap();
+        paging.addTo(mockRendererContext, links, extensions, list.size());
+
+        assertThat(extensions.getInt("pagination.page"), is(1));
+        assertThat(extensions.getInt("pagination.pageSize"), is(25));
+        assertThat(extensions.getInt("pagination.numPages"), is(3));
+        assertThat(extensions.getInt("pagination.totalCount"), is(53));
+
+        assertThat(links.size(), is(1));
+        assertThat(links.arrayGet(0).getString("rel"), is("next"));
+        assertThat(links.arrayGet(0).getString("href"),
+                is("http://localhost/restful/services/x.Customers/actions/findAll/invoke?x-ro-page=2"));
+    }
+
+    @Test
+    public void middle_page() throws Exception {
+        final Paging paging = new Paging(2, 25, RepresentationType.ACTION_RESULT, pageHrefs);
+
+        assertThat(Lists.newArrayList(paging.page(list)), is(equalTo(list.subList(25, 50))));
+
+        final JsonRepresentation links = JsonRepresentation.newArray();
+        paging.addTo(mockRendererContext, links, JsonRepresentation.newMap(), list.size());
+
+        assertThat(links.size(), is(2));
+        assertThat(links.arrayGet(0).getString("rel"), is("previous"));
+        assertThat(links.arrayGet(1).getString("rel"), is("next"));
+    }
+
+    @Test
+    public void last_page() throws Exception {
+        final Paging paging = new Paging(3, 25, RepresentationType.ACTION_RESULT, pageHrefs);
+
+        assertThat(Lists.newArrayList(paging.page(list)), is(equalTo(list.subList(50, 53))));
+
+        final JsonRepresentation links = JsonRepresentation.newArray();
+        paging.addTo(mockRendererContext, links, JsonRepresentation.newMap(), list.size());
+
+        assertThat(links.size(), is(1));
+        assertThat(links.arrayGet(0).getString("rel"), is("previous"));
+    }
+
+    @Test
+    public void beyond_last_page() throws Exception {
+        final Paging paging = new Paging(10, 25, RepresentationType.ACTION_RESULT, pageHrefs);
+
+        assertThat(Lists.newArrayList(paging.page(list)).isEmpty(), is(true));
+
+        final JsonRepresentation links = JsonRepresentation.newArray();
+        paging.addTo(mockRendererContext, links, JsonRepresentation.newMap(), list.size());
+
+        assertThat(links.size(), is(1));
+        assertThat(links.arrayGet(0).getString("href"),
+                is("http://localhost/restful/services/x.Customers/actions/findAll/invoke?x-ro-page=3"));
+    }
+
+    @Test
+    public void no_links_if_cannot_link_to_pages() throws Exception {
+        final Paging paging = new Paging(2, 25, RepresentationType.ACTION_RESULT, null);
+
+        final JsonRepresentation links = JsonRepresentation.newArray();
+        final JsonRepresentation extensions = JsonRepresentation.newMap();
+        paging.addTo(mockRendererContext, links, extensions, list.size());
+
+        assertThat(links.size(), is(0));
+        assertThat(extensions.getInt("pagination.page"), is(2));
+    }
+
+    @Test
+    public void empty() throws Exception {
+        final Paging paging = new Paging(1, 25, RepresentationType.ACTION_RESULT, pageHrefs);
+
+        final JsonRepresentation links = JsonRepresentation.newArray();
+        final JsonRepresentation extensions = JsonRepresentation.newMap();
+        paging.addTo(mockRendererContext, links, extensions, 0);
+
+        assertThat(links.size(), is(0));
+        assertThat(extensions.getInt("pagination.numPages"), is(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalid_page() throws Exception {
+        new Paging(0, 25, RepresentationType.ACTION_RESULT, pageHrefs);
+    }
+
+}
@@ -0,0 +1,148 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.restfulobjects.rendering;
+
+import java.util.Collections;
+import java.util.Date;
+
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+
+import org.jboss.resteasy.mock.MockHttpRequest;
+import org.jboss.resteasy.mock.MockHttpResponse;
+import org.jboss.resteasy.specimpl.RequestImpl;
+import org.jboss.resteasy.util.DateUtil;
+import org.jmock.Expectations;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.commons.authentication.AuthenticationSession;
+import org.apache.isis.core.metamodel.adapter.version.Version;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class ResponsesTest_eTags {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    private final Version version = Version.create(1L, "sven", new Date(1476801234567L));
+
+    @Test
+    public void etag_of_response_is_the_one_evaluated_by_a_conditional_get() throws Exception {
+
+        final RendererContext2 sven = rendererContextFor("sven");
+
+        final Response response =
+                Responses.addLastModifiedAndETagIfAvailable(Response.ok(), version, sven).build();
+        final EntityTag eTag = response.getEntityTag();
+
+        assertThat(eTag, is(Responses.strongETagFor(version.getTime(), sven)));
+        assertThat(eTag.isWeak(), is(false));
+
+        // a client echoing back the ETag it was given ...
+        final Response.ResponseBuilder notModified =
+                Responses.evaluatePreconditions(requestWith(HttpHeaders.IF_NONE_MATCH, eTag.toString()), version, sven);
+
+        // ... is told that the representation has not been modified
+        assertThat(notModified, is(notNullValue()));
+        assertThat(notModified.build().getStatus(), is(Response.Status.NOT_MODIFIED.getStatusCode()));
+    }
+
+    @Test
+    public void conditional_get_once_modified() throws Exception {
+
+        final RendererContext2 sven = rendererContextFor("sven");
+        final EntityTag eTag =
+                Responses.addLastModifiedAndETagIfAvailable(Response.ok(), version, sven).build().getEntityTag();
+
+        final Version modified = Version.create(2L, "sven", new Date(version.getTime().getTime() + 1000L));
+
+        assertThat(Responses.evaluatePreconditions(
+                        requestWith(HttpHeaders.IF_NONE_MATCH, eTag.toString()), modified, sven),
+                is(nullValue()));
+    }
+
+    @Test
+    public void conditional_get_by_another_user() throws Exception {
+
+        final RendererContext2 sven = rendererContextFor("sven");
+        final RendererContext2 dick = rendererContextFor("dick");
+        final EntityTag eTag =
+                Responses.addLastModifiedAndETagIfAvailable(Response.ok(), version, sven).build().getEntityTag();
+
+        // the same version of the object may be rendered differently for another user
+        assertThat(Responses.strongETagFor(version.getTime(), dick), is(not(equalTo(eTag))));
+        assertThat(Responses.evaluatePreconditions(
+                        requestWith(HttpHeaders.IF_NONE_MATCH, eTag.toString()), version, dick),
+                is(nullValue()));
+    }
+
+    @Test
+    public void if_modified_since_alone_is_not_enough() throws Exception {
+
+        final Date lastModified =
+                Responses.addLastModifiedAndETagIfAvailable(Response.ok(), version, rendererContextFor("sven"))
+                        .build().getLastModified();
+
+        assertThat(Responses.evaluatePreconditions(
+                        requestWith(HttpHeaders.IF_MODIFIED_SINCE, DateUtil.formatDate(lastModified)),
+                        version, rendererContextFor("dick")),
+                is(nullValue()));
+    }
+
+    @Test
+    public void no_etag_if_no_version_time() throws Exception {
+
+        final Response response =
+                Responses.addLastModifiedAndETagIfAvailable(Response.ok(), Version.create(1L)).build();
+
+        assertThat(response.getEntityTag(), is(nullValue()));
+    }
+
+    private RendererContext2 rendererContextFor(final String userName) {
+        final RendererContext2 rendererContext = context.mock(RendererContext2.class, "rendererContext-" + userName);
+        final AuthenticationSession authenticationSession =
+                context.mock(AuthenticationSession.class, "authenticationSession-" + userName);
+        context.checking(new Expectations() {{
+            allowing(rendererContext).getAuthenticationSession();
+            will(returnValue(authenticationSession));
+            allowing(authenticationSession).getUserName();
+            will(returnValue(userName));
+            allowing(rendererContext).getAcceptableMediaTypes();
+            will(returnValue(Collections.singletonList(MediaType.APPLICATION_JSON_TYPE)));
+        }});
+        return rendererContext;
+    }
+
+    private static Request requestWith(final String header, final String value) throws Exception {
+        return new RequestImpl(MockHttpRequest.get("/objects/CUS/1").header(header, value), new MockHttpResponse());
+    }
+
+}
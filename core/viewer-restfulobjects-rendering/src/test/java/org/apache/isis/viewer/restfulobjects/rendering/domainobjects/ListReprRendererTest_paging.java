@@ -0,0 +1,229 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.restfulobjects.rendering.domainobjects;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.google.common.collect.Lists;
+
+import org.jmock.Expectations;
+import org.jmock.api.Invocation;
+import org.jmock.auto.Mock;
+import org.jmock.lib.action.CustomAction;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.consent.InteractionInitiatedBy;
+import org.apache.isis.core.metamodel.deployment.DeploymentCategory;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.spec.feature.ObjectMember;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.viewer.restfulobjects.applib.JsonRepresentation;
+import org.apache.isis.viewer.restfulobjects.applib.Rel;
+import org.apache.isis.viewer.restfulobjects.applib.RepresentationType;
+import org.apache.isis.viewer.restfulobjects.rendering.LinkBuilder;
+import org.apache.isis.viewer.restfulobjects.rendering.LinkFollowSpecs;
+import org.apache.isis.viewer.restfulobjects.rendering.Paging;
+import org.apache.isis.viewer.restfulobjects.rendering.RendererContext;
+import org.apache.isis.viewer.restfulobjects.rendering.RendererContext7;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ListReprRendererTest_paging {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(JUnitRuleMockery2.Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private RendererContext7 mockRendererContext;
+    @Mock
+    private ObjectSpecification mockVisibleSpec;
+    @Mock
+    private ObjectSpecification mockHiddenSpec;
+
+    private List<ObjectAdapter> adapters;
+
+    /**
+     * Links to each adapter by its (mock's) name, rather than by its oid.
+     */
+    private final ObjectAdapterLinkTo linkToByName = new ObjectAdapterLinkTo() {
+        private RendererContext rendererContext;
+        private ObjectAdapter objectAdapter;
+
+        @Override
+        public ObjectAdapterLinkTo usingUrlBase(final RendererContext rendererContext) {
+            this.rendererContext = rendererContext;
+            return this;
+        }
+
+        @Override
+        public ObjectAdapterLinkTo with(final ObjectAdapter objectAdapter) {
+            this.objectAdapter = objectAdapter;
+            return this;
+        }
+
+        @Override
+        public LinkBuilder builder() {
+            return builder(null);
+        }
+
+        @Override
+        public LinkBuilder builder(final Rel rel) {
+            return LinkBuilder.newBuilder(
+                    rendererContext, Rel.VALUE.getName(), RepresentationType.DOMAIN_OBJECT, "objects/%s", objectAdapter);
+        }
+
+        @Override
+        public LinkBuilder memberBuilder(
+                final Rel rel, final MemberType memberType, final ObjectMember objectMember, final String... parts) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public LinkBuilder memberBuilder(
+                final Rel rel, final MemberType memberType, final ObjectMember objectMember,
+                final RepresentationType representationType, final String... parts) {
+            throw new UnsupportedOperationException();
+        }
+    };
+
+    @Before
+    public void setUp() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockRendererContext).getDeploymentCategory();
+            will(returnValue(DeploymentCategory.PRODUCTION));
+            allowing(mockRendererContext).getInteractionInitiatedBy();
+            will(returnValue(InteractionInitiatedBy.USER));
+            allowing(mockRendererContext).urlFor(with(any(String.class)));
+            will(new CustomAction("prefix with base uri") {
+                @Override
+                public Object invoke(final Invocation invocation) throws Throwable {
+                    return "http://localhost/restful/" + invocation.getParameter(0);
+                }
+            });
+
+            allowing(mockVisibleSpec).isHidden();
+            will(returnValue(false));
+            allowing(mockHiddenSpec).isHidden();
+            will(returnValue(true));
+        }});
+
+        adapters = Arrays.asList(
+                adapter("a1", mockVisibleSpec),
+                adapter("hidden1", mockHiddenSpec),
+                adapter("a2", mockVisibleSpec),
+                adapter("a3", mockVisibleSpec),
+                adapter("hidden2", mockHiddenSpec),
+                adapter("a4", mockVisibleSpec),
+                adapter("a5", mockVisibleSpec));
+    }
+
+    @Test
+    public void hidden_elements_are_not_counted_towards_the_page_or_total() throws Exception {
+
+        context.checking(new Expectations() {{
+            allowing(mockRendererContext).getPaging();
+            will(returnValue(new Paging(2, 2, RepresentationType.LIST, null)));
+        }});
+
+        final JsonRepresentation representation = newRenderer().withPaging().render();
+
+        assertThat(hrefsOf(representation.getArray("value")), is(Arrays.asList(
+                "http://localhost/restful/objects/a3",
+                "http://localhost/restful/objects/a4")));
+        assertThat(representation.getInt("extensions.pagination.totalCount"), is(5));
+        assertThat(representation.getInt("extensions.pagination.numPages"), is(3));
+    }
+
+    @Test
+    public void last_page() throws Exception {
+
+        context.checking(new Expectations() {{
+            allowing(mockRendererContext).getPaging();
+            will(returnValue(new Paging(3, 2, RepresentationType.LIST, null)));
+        }});
+
+        final JsonRepresentation representation = newRenderer().withPaging().render();
+
+        assertThat(hrefsOf(representation.getArray("value")), is(Collections.singletonList(
+                "http://localhost/restful/objects/a5")));
+    }
+
+    @Test
+    public void each_specification_is_checked_for_being_hidden_just_once() throws Exception {
+
+        final ObjectSpecification mockOtherSpec = context.mock(ObjectSpecification.class, "otherSpec");
+        context.checking(new Expectations() {{
+            allowing(mockRendererContext).getPaging();
+            will(returnValue(new Paging(1, 2, RepresentationType.LIST, null)));
+            oneOf(mockOtherSpec).isHidden();
+            will(returnValue(false));
+        }});
+        adapters = Arrays.asList(
+                adapter("b1", mockOtherSpec),
+                adapter("b2", mockOtherSpec),
+                adapter("b3", mockOtherSpec),
+                adapter("b4", mockOtherSpec));
+
+        final JsonRepresentation representation = newRenderer().withPaging().render();
+
+        assertThat(hrefsOf(representation.getArray("value")).size(), is(2));
+        assertThat(representation.getInt("extensions.pagination.totalCount"), is(4));
+    }
+
+    @Test
+    public void when_not_paged_then_all_visible_elements() throws Exception {
+
+        final JsonRepresentation representation = newRenderer().render();
+
+        assertThat(hrefsOf(representation.getArray("value")).size(), is(5));
+        assertThat(representation.getRepresentation("extensions.pagination"), is((JsonRepresentation) null));
+    }
+
+    private ListReprRenderer newRenderer() {
+        return new ListReprRenderer(
+                mockRendererContext, LinkFollowSpecs.create(Collections.<List<String>>emptyList()),
+                JsonRepresentation.newMap())
+                .usingLinkToBuilder(linkToByName)
+                .with(adapters);
+    }
+
+    private ObjectAdapter adapter(final String name, final ObjectSpecification spec) {
+        final ObjectAdapter adapter = context.mock(ObjectAdapter.class, name);
+        context.checking(new Expectations() {{
+            allowing(adapter).getSpecification();
+            will(returnValue(spec));
+        }});
+        return adapter;
+    }
+
+    private static List<String> hrefsOf(final JsonRepresentation links) {
+        final List<String> hrefs = Lists.newArrayList();
+        for (int i = 0; i < links.size(); i++) {
+            hrefs.add(links.arrayGet(i).getString("href"));
+        }
+        return hrefs;
+    }
+
+}
@@ -0,0 +1,174 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.restfulobjects.rendering.service.domaintypes;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.core.MediaType;
+
+import com.google.common.collect.ImmutableMap;
+
+import org.jmock.Expectations;
+import org.jmock.api.Invocation;
+import org.jmock.auto.Mock;
+import org.jmock.lib.action.CustomAction;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class DomainTypeRepresentationCacheTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    SpecificationLoader mockSpecificationLoader;
+
+    private long generation;
+    private AtomicInteger numberRendered;
+    private DomainTypeRepresentationCache cache;
+
+    @Before
+    public void setUp() throws Exception {
+        generation = 0;
+        numberRendered = new AtomicInteger();
+        context.checking(new Expectations() {{
+            allowing(mockSpecificationLoader).getCacheGeneration();
+            will(new CustomAction("current generation") {
+                @Override
+                public Object invoke(final Invocation invocation) throws Throwable {
+                    return generation;
+                }
+            });
+        }});
+
+        cache = new DomainTypeRepresentationCache();
+        cache.specificationLoader = mockSpecificationLoader;
+    }
+
+    @Test
+    public void renders_only_once_per_key() throws Exception {
+        cache.init(Collections.<String, String>emptyMap());
+
+        final DomainTypeRepresentationCache.Representation first = cache.lookupElseRender(key("x.Customer"), renderer());
+        final DomainTypeRepresentationCache.Representation second = cache.lookupElseRender(key("x.Customer"), renderer());
+
+        assertThat(second, is(sameInstance(first)));
+        assertThat(numberRendered.get(), is(1));
+
+        cache.lookupElseRender(key("x.Order"), renderer());
+        assertThat(numberRendered.get(), is(2));
+        assertThat(cache.size(), is(2L));
+    }
+
+    @Test
+    public void rendered_separately_for_each_locale() throws Exception {
+        cache.init(Collections.<String, String>emptyMap());
+
+        final DomainTypeRepresentationCache.Representation english =
+                cache.lookupElseRender(key("x.Customer", "en_GB"), renderer());
+        final DomainTypeRepresentationCache.Representation french =
+                cache.lookupElseRender(key("x.Customer", "fr_FR"), renderer());
+
+        assertThat(numberRendered.get(), is(2));
+        assertThat(french.getETag(), is(not(equalTo(english.getETag()))));
+    }
+
+    @Test
+    public void cleared_when_specifications_invalidated() throws Exception {
+        cache.init(Collections.<String, String>emptyMap());
+        cache.lookupElseRender(key("x.Customer"), renderer());
+
+        generation++;
+
+        cache.lookupElseRender(key("x.Customer"), renderer());
+        assertThat(numberRendered.get(), is(2));
+        assertThat(cache.size(), is(1L));
+    }
+
+    @Test
+    public void not_cached_if_invalidated_while_rendering() throws Exception {
+        cache.init(Collections.<String, String>emptyMap());
+
+        cache.lookupElseRender(key("x.Customer"), new DomainTypeRepresentationCache.Renderer() {
+            @Override
+            public DomainTypeRepresentationCache.Representation render() {
+                generation++;
+                return renderer().render();
+            }
+        });
+
+        assertThat(cache.size(), is(0L));
+    }
+
+    @Test
+    public void disabled() throws Exception {
+        cache.init(ImmutableMap.of(DomainTypeRepresentationCache.KEY_MAX_SIZE, "0"));
+
+        cache.lookupElseRender(key("x.Customer"), renderer());
+        cache.lookupElseRender(key("x.Customer"), renderer());
+
+        assertThat(numberRendered.get(), is(2));
+        assertThat(cache.size(), is(0L));
+    }
+
+    @Test
+    public void eTag_derived_from_json() throws Exception {
+        final DomainTypeRepresentationCache.Representation representation1 =
+                new DomainTypeRepresentationCache.Representation("{}", MediaType.APPLICATION_JSON_TYPE);
+        final DomainTypeRepresentationCache.Representation representation2 =
+                new DomainTypeRepresentationCache.Representation("{}", MediaType.APPLICATION_JSON_TYPE);
+        final DomainTypeRepresentationCache.Representation representation3 =
+                new DomainTypeRepresentationCache.Representation("{ }", MediaType.APPLICATION_JSON_TYPE);
+
+        assertThat(representation1.getETag(), is(equalTo(representation2.getETag())));
+        assertThat(representation1.getETag(), is(not(equalTo(representation3.getETag()))));
+    }
+
+    private static DomainTypeRepresentationCache.Key key(final String specId) {
+        return key(specId, "en_GB");
+    }
+
+    private static DomainTypeRepresentationCache.Key key(final String specId, final String locale) {
+        return new DomainTypeRepresentationCache.Key(
+                specId, "http://localhost/restful/domain-types/" + specId, MediaType.APPLICATION_JSON, locale);
+    }
+
+    private DomainTypeRepresentationCache.Renderer renderer() {
+        return new DomainTypeRepresentationCache.Renderer() {
+            @Override
+            public DomainTypeRepresentationCache.Representation render() {
+                return new DomainTypeRepresentationCache.Representation(
+                        "{\"rendered\":" + numberRendered.incrementAndGet() + "}", MediaType.APPLICATION_JSON_TYPE);
+            }
+        };
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.restfulobjects.rendering.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.isis.viewer.restfulobjects.applib.JsonRepresentation;
+import org.apache.isis.viewer.restfulobjects.applib.util.JsonMapper;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+
+public class JsonWriterUtilTest_streamingOutputFor {
+
+    private JsonRepresentation representation;
+
+    @Before
+    public void setUp() throws Exception {
+        final JsonRepresentation links = JsonRepresentation.newArray();
+        links.arrayAdd(JsonRepresentation.newMap("rel", "self", "href", "http://localhost/objects/CUS/1"));
+        links.arrayAdd(JsonRepresentation.newMap("rel", "describedby", "href", "http://localhost/domain-types/CUS"));
+
+        final JsonRepresentation value = JsonRepresentation.newArray();
+        for (int i = 0; i < 100; i++) {
+            value.arrayAdd(JsonRepresentation.newMap("title", "Customer #" + i + " é中\"\\"));
+        }
+
+        representation = JsonRepresentation.newMap();
+        representation.mapPut("links", links);
+        representation.mapPut("value", value);
+        representation.mapPut("count", 100);
+        representation.mapPut("ratio", 0.25d);
+        representation.mapPut("active", true);
+        representation.mapPut("extensions", JsonRepresentation.newMap());
+    }
+
+    @Test
+    public void identical_to_string_when_pretty_printing() throws Exception {
+        assertStreamedIsIdenticalToString(JsonMapper.PrettyPrinting.ENABLE);
+    }
+
+    @Test
+    public void identical_to_string_when_not_pretty_printing() throws Exception {
+        assertStreamedIsIdenticalToString(JsonMapper.PrettyPrinting.DISABLE);
+    }
+
+    @Test
+    public void written_in_chunks_as_serialized_rather_than_all_at_once() throws Exception {
+        final JsonRepresentation value = JsonRepresentation.newArray();
+        for (int i = 0; i < 5000; i++) {
+            value.arrayAdd(JsonRepresentation.newMap("title", "Customer #" + i));
+        }
+        final JsonRepresentation large = JsonRepresentation.newMap();
+        large.mapPut("value", value);
+        final int expectedLength = JsonMapper.instance(JsonMapper.PrettyPrinting.DISABLE).write(large).getBytes("UTF-8").length;
+
+        final ChunkRecordingOutputStream out = new ChunkRecordingOutputStream();
+        JsonWriterUtil.streamingOutputFor(large, JsonMapper.PrettyPrinting.DISABLE).write(out);
+
+        assertThat(out.total, is(expectedLength));
+        assertThat(out.chunks, is(greaterThan(1)));
+        assertThat(out.largestChunk, is(lessThan(expectedLength / 4)));
+    }
+
+    private void assertStreamedIsIdenticalToString(final JsonMapper.PrettyPrinting prettyPrinting) throws Exception {
+        final String expected = JsonMapper.instance(prettyPrinting).write(representation);
+
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        JsonWriterUtil.streamingOutputFor(representation, prettyPrinting).write(baos);
+
+        assertThat(new String(baos.toByteArray(), "UTF-8"), is(expected));
+    }
+
+    private static class ChunkRecordingOutputStream extends OutputStream {
+        int chunks;
+        int total;
+        int largestChunk;
+
+        @Override
+        public void write(final int b) throws IOException {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            chunks++;
+            total += len;
+            largestChunk = Math.max(largestChunk, len);
+        }
+    }
+
+}
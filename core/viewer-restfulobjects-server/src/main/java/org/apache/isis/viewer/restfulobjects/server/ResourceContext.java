@@ -30,6 +30,7 @@
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Request;
 import javax.ws.rs.core.SecurityContext;
+import javax.ws.rs.core.UriBuilder;
 import javax.ws.rs.core.UriInfo;
 import javax.ws.rs.ext.Providers;
 
@@ -54,12 +55,14 @@
 import org.apache.isis.viewer.restfulobjects.applib.client.RestfulRequest.DomainModel;
 import org.apache.isis.viewer.restfulobjects.applib.client.RestfulRequest.RequestParameter;
 import org.apache.isis.viewer.restfulobjects.applib.client.RestfulResponse.HttpStatusCode;
-import org.apache.isis.viewer.restfulobjects.rendering.RendererContext6;
+import org.apache.isis.viewer.restfulobjects.applib.util.UrlEncodingUtils;
+import org.apache.isis.viewer.restfulobjects.rendering.Paging;
+import org.apache.isis.viewer.restfulobjects.rendering.RendererContext7;
 import org.apache.isis.viewer.restfulobjects.rendering.RestfulObjectsApplicationException;
 import org.apache.isis.viewer.restfulobjects.rendering.service.RepresentationService;
 import org.apache.isis.viewer.restfulobjects.rendering.util.Util;
 
-public class ResourceContext implements RendererContext6 {
+public class ResourceContext implements RendererContext7 {
 
     private final HttpHeaders httpHeaders;
     private final UriInfo uriInfo;
@@ -77,6 +80,7 @@ public class ResourceContext implements RendererContext6 {
     private final PersistenceSession persistenceSession;
 
     private List<List<String>> followLinks;
+    private Paging paging;
 
     private final Where where;
     private final RepresentationService.Intent intent;
@@ -138,6 +142,7 @@ void init(final RepresentationType representationType) {
         ensureDomainModelQueryParamSupported();
         
         this.followLinks = Collections.unmodifiableList(getArg(RequestParameter.FOLLOW_LINKS));
+        this.paging = pagingIfRequested(representationType);
     }
 
     private void ensureDomainModelQueryParamSupported() {
@@ -150,7 +155,63 @@ private void ensureDomainModelQueryParamSupported() {
 
     //endregion
 
-    
+    //region > paging
+
+    private Paging pagingIfRequested(final RepresentationType representationType) {
+        final JsonRepresentation queryStringJsonRepr = getQueryStringAsJsonRepr();
+        if (queryStringJsonRepr == null || !queryStringJsonRepr.isMap()) {
+            return null;
+        }
+        if (!queryStringJsonRepr.mapHas(RequestParameter.PAGE.getName()) &&
+            !queryStringJsonRepr.mapHas(RequestParameter.PAGE_SIZE.getName())) {
+            return null;
+        }
+        final int page = getArg(RequestParameter.PAGE);
+        final int pageSize = getArg(RequestParameter.PAGE_SIZE);
+        if (page < 1 || pageSize < 1) {
+            throw RestfulObjectsApplicationException.createWithMessage(HttpStatusCode.BAD_REQUEST,
+                    "%s and %s must both be at least 1 (%s: %d, %s: %d)",
+                    RequestParameter.PAGE, RequestParameter.PAGE_SIZE,
+                    RequestParameter.PAGE, page, RequestParameter.PAGE_SIZE, pageSize);
+        }
+        return new Paging(page, pageSize, representationType, new Paging.PageHrefs() {
+            @Override
+            public String hrefFor(final int page) {
+                return pageHrefFor(page, pageSize);
+            }
+        });
+    }
+
+    /**
+     * The same request, but for a different page; only GETs can be linked to.
+     */
+    private String pageHrefFor(final int page, final int pageSize) {
+        if (!"GET".equalsIgnoreCase(httpServletRequest.getMethod())) {
+            return null;
+        }
+        final UriBuilder uriBuilder = uriInfo.getRequestUriBuilder();
+        @SuppressWarnings("unchecked")
+        final Map<String,String[]> params = httpServletRequest.getParameterMap();
+        if (simpleQueryArgs(params)) {
+            uriBuilder
+                    .replaceQueryParam(RequestParameter.PAGE.getName(), page)
+                    .replaceQueryParam(RequestParameter.PAGE_SIZE.getName(), pageSize);
+        } else {
+            // query string is (URL encoded) JSON, so amend a copy of it
+            final JsonRepresentation args = new JsonRepresentation(getQueryStringAsJsonRepr().asJsonNode().deepCopy());
+            args.mapPut(RequestParameter.PAGE.getName(), page);
+            args.mapPut(RequestParameter.PAGE_SIZE.getName(), pageSize);
+            uriBuilder.replaceQuery(UrlEncodingUtils.urlEncode(args));
+        }
+        return uriInfo.getBaseUri().relativize(uriBuilder.build()).toString();
+    }
+
+    @Override
+    public Paging getPaging() {
+        return paging;
+    }
+
+    //endregion
 
     public HttpHeaders getHttpHeaders() {
         return httpHeaders;
@@ -46,6 +46,7 @@
 import org.apache.isis.viewer.restfulobjects.applib.client.RestfulResponse;
 import org.apache.isis.viewer.restfulobjects.applib.client.RestfulResponse.HttpStatusCode;
 import org.apache.isis.viewer.restfulobjects.applib.domainobjects.DomainObjectResource;
+import org.apache.isis.viewer.restfulobjects.rendering.Responses;
 import org.apache.isis.viewer.restfulobjects.rendering.RestfulObjectsApplicationException;
 import org.apache.isis.viewer.restfulobjects.rendering.domainobjects.MemberReprMode;
 import org.apache.isis.viewer.restfulobjects.rendering.service.RepresentationService;
@@ -123,6 +124,14 @@ public Response object(@PathParam("domainType") String domainType, @PathParam("i
 
         final ObjectAdapter objectAdapter = getObjectAdapterElseThrowNotFound(domainType, instanceId);
 
+        // conditional GET; no need to render if the client's copy is up-to-date
+        final Response.ResponseBuilder notModified =
+                Responses.evaluatePreconditions(
+                        getResourceContext().getRequest(), objectAdapter.getVersion(), getResourceContext());
+        if (notModified != null) {
+            return notModified.build();
+        }
+
         return newDomainResourceHelper(objectAdapter).objectRepresentation();
     }
 
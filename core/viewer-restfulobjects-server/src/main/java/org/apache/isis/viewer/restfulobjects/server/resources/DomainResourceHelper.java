@@ -38,7 +38,9 @@
 import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
 import org.apache.isis.viewer.restfulobjects.applib.JsonRepresentation;
 import org.apache.isis.viewer.restfulobjects.applib.client.RestfulResponse;
+import org.apache.isis.viewer.restfulobjects.rendering.Paging;
 import org.apache.isis.viewer.restfulobjects.rendering.RendererContext6;
+import org.apache.isis.viewer.restfulobjects.rendering.RendererContext7;
 import org.apache.isis.viewer.restfulobjects.rendering.RestfulObjectsApplicationException;
 import org.apache.isis.viewer.restfulobjects.rendering.domainobjects.ActionResultReprRenderer;
 import org.apache.isis.viewer.restfulobjects.rendering.domainobjects.DomainObjectLinkTo;
@@ -53,7 +55,7 @@
 
 public class DomainResourceHelper {
 
-    static class RepresentationServiceContextAdapter implements RepresentationService.Context6 {
+    static class RepresentationServiceContextAdapter implements RepresentationService.Context7 {
 
         private final RendererContext6 rendererContext;
         private final ObjectAdapterLinkTo adapterLinkTo;
@@ -181,6 +183,13 @@ public ServicesInjector getServicesInjector() {
         public RepresentationService.Intent getIntent() {
             return intent;
         }
+
+        @Override
+        public Paging getPaging() {
+            return rendererContext instanceof RendererContext7
+                    ? ((RendererContext7) rendererContext).getPaging()
+                    : null;
+        }
     }
 
     private final RepresentationServiceContextAdapter representationServiceContext;
@@ -19,12 +19,14 @@
 package org.apache.isis.viewer.restfulobjects.server.resources;
 
 import java.util.Collection;
+import java.util.Locale;
 
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 
@@ -47,6 +49,7 @@
 import org.apache.isis.viewer.restfulobjects.applib.util.UrlEncodingUtils;
 import org.apache.isis.viewer.restfulobjects.rendering.Caching;
 import org.apache.isis.viewer.restfulobjects.rendering.LinkBuilder;
+import org.apache.isis.viewer.restfulobjects.rendering.ReprRenderer;
 import org.apache.isis.viewer.restfulobjects.rendering.Responses;
 import org.apache.isis.viewer.restfulobjects.rendering.RestfulObjectsApplicationException;
 import org.apache.isis.viewer.restfulobjects.rendering.domaintypes.ActionDescriptionReprRenderer;
@@ -61,6 +64,8 @@
 import org.apache.isis.viewer.restfulobjects.rendering.domaintypes.TypeActionResultReprRenderer;
 import org.apache.isis.viewer.restfulobjects.rendering.domaintypes.TypeListReprRenderer;
 import org.apache.isis.viewer.restfulobjects.rendering.service.RepresentationService;
+import org.apache.isis.viewer.restfulobjects.rendering.service.domaintypes.DomainTypeRepresentationCache;
+import org.apache.isis.viewer.restfulobjects.rendering.util.JsonWriterUtil;
 import org.apache.isis.viewer.restfulobjects.rendering.util.Util;
 import org.apache.isis.viewer.restfulobjects.server.util.UrlParserUtils;
 
@@ -85,7 +90,7 @@ public Response domainTypes() {
         final TypeListReprRenderer renderer = new TypeListReprRenderer(getResourceContext(), null, JsonRepresentation.newMap());
         renderer.with(allSpecifications).includesSelf();
 
-        return Responses.ofOk(renderer, Caching.ONE_DAY).build();
+        return responseFor(null, renderer);
     }
 
     @Override
@@ -101,7 +106,7 @@ public Response domainType(@PathParam("domainType") final String domainType) {
         final DomainTypeReprRenderer renderer = new DomainTypeReprRenderer(getResourceContext(), null, JsonRepresentation.newMap());
         renderer.with(objectSpec).includesSelf();
 
-        return Responses.ofOk(renderer, Caching.ONE_DAY).build();
+        return responseFor(domainType, renderer);
     }
 
     @Override
@@ -126,7 +131,7 @@ public Response typeProperty(@PathParam("domainType") final String domainType, @
         final PropertyDescriptionReprRenderer renderer = new PropertyDescriptionReprRenderer(getResourceContext(), null, JsonRepresentation.newMap());
         renderer.with(new ParentSpecAndProperty(parentSpec, property)).includesSelf();
 
-        return Responses.ofOk(renderer, Caching.ONE_DAY).build();
+        return responseFor(domainType, renderer);
     }
 
     @Override
@@ -151,7 +156,7 @@ public Response typeCollection(@PathParam("domainType") final String domainType,
         final CollectionDescriptionReprRenderer renderer = new CollectionDescriptionReprRenderer(getResourceContext(), null, JsonRepresentation.newMap());
         renderer.with(new ParentSpecAndCollection(parentSpec, collection)).includesSelf();
 
-        return Responses.ofOk(renderer, Caching.ONE_DAY).build();
+        return responseFor(domainType, renderer);
     }
 
     @Override
@@ -176,7 +181,7 @@ public Response typeAction(@PathParam("domainType") final String domainType, @Pa
         final ActionDescriptionReprRenderer renderer = new ActionDescriptionReprRenderer(getResourceContext(), null, JsonRepresentation.newMap());
         renderer.with(new ParentSpecAndAction(parentSpec, action)).includesSelf();
 
-        return Responses.ofOk(renderer, Caching.ONE_DAY).build();
+        return responseFor(domainType, renderer);
     }
 
     @Override
@@ -203,7 +208,7 @@ public Response typeActionParam(@PathParam("domainType") final String domainType
         final ActionParameterDescriptionReprRenderer renderer = new ActionParameterDescriptionReprRenderer(getResourceContext(), null, JsonRepresentation.newMap());
         renderer.with(new ParentSpecAndActionParam(parentSpec, actionParam)).includesSelf();
 
-        return Responses.ofOk(renderer, Caching.ONE_DAY).build();
+        return responseFor(domainType, renderer);
     }
 
     // //////////////////////////////////////////////////////////
@@ -270,6 +275,49 @@ public Response domainTypeIsSupertypeOf(
         return Responses.ofOk(renderer, Caching.ONE_DAY).build();
     }
 
+    /**
+     * Domain type representations depend only on the metamodel and the locale (besides the request's URL and
+     * <tt>Accept</tt> header), so are served from the {@link DomainTypeRepresentationCache} (if available), with an
+     * ETag derived from their content.
+     */
+    private Response responseFor(final String domainType, final ReprRenderer<?, ?> renderer) {
+        final DomainTypeRepresentationCache.Renderer cacheRenderer = new DomainTypeRepresentationCache.Renderer() {
+            @Override
+            public DomainTypeRepresentationCache.Representation render() {
+                return new DomainTypeRepresentationCache.Representation(
+                        JsonWriterUtil.jsonFor(renderer.render()), renderer.getMediaType());
+            }
+        };
+        final DomainTypeRepresentationCache cache =
+                getServicesInjector().lookupService(DomainTypeRepresentationCache.class);
+        final DomainTypeRepresentationCache.Representation representation =
+                cache != null
+                        ? cache.lookupElseRender(keyFor(domainType), cacheRenderer)
+                        : cacheRenderer.render();
+
+        final Response.ResponseBuilder notModified =
+                Responses.evaluatePreconditions(getResourceContext().getRequest(), representation.getETag());
+        if (notModified != null) {
+            return notModified.cacheControl(Caching.ONE_DAY.getCacheControl()).header(HttpHeaders.VARY, VARY).build();
+        }
+        return Responses.ofOk(
+                representation.getJson(), representation.getMediaType(), Caching.ONE_DAY, representation.getETag())
+                .header(HttpHeaders.VARY, VARY)
+                .build();
+    }
+
+    private static final String VARY = HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_LANGUAGE;
+
+    private DomainTypeRepresentationCache.Key keyFor(final String domainType) {
+        final String url = getResourceContext().getUriInfo().getRequestUri().toString();
+        final HttpHeaders httpHeaders = getResourceContext().getHttpHeaders();
+        final String acceptHeader = httpHeaders.getHeaderString(HttpHeaders.ACCEPT);
+        final Locale locale = Responses.localeOf(getResourceContext());
+        return new DomainTypeRepresentationCache.Key(
+                domainType, url, acceptHeader,
+                locale != null ? locale.toString() : httpHeaders.getHeaderString(HttpHeaders.ACCEPT_LANGUAGE));
+    }
+
     private static String domainTypeFor(
             final String domainTypeStr,
             final String argsAsUrlEncodedQueryString,
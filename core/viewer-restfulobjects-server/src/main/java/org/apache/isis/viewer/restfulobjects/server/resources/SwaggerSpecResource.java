@@ -24,14 +24,20 @@
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
 
 import org.apache.isis.applib.services.swagger.SwaggerService;
 import org.apache.isis.core.metamodel.services.ServicesInjector;
+import org.apache.isis.core.metamodel.services.swagger.SwaggerServiceDefault;
 import org.apache.isis.core.runtime.system.context.IsisContext;
 import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
 import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
+import org.apache.isis.viewer.restfulobjects.rendering.Caching;
+import org.apache.isis.viewer.restfulobjects.rendering.Responses;
 
 @Path("/swagger")
 public class SwaggerSpecResource {
@@ -39,13 +45,16 @@ public class SwaggerSpecResource {
     @Context
     HttpHeaders httpHeaders;
 
+    @Context
+    Request request;
+
     @Path("/private")
     @GET
     @Consumes({ MediaType.WILDCARD, MediaType.APPLICATION_JSON, "text/yaml" })
     @Produces({
             MediaType.APPLICATION_JSON, "text/yaml"
     })
-    public String swaggerPrivate() {
+    public Response swaggerPrivate() {
         return swagger(SwaggerService.Visibility.PRIVATE);
     }
 
@@ -55,7 +64,7 @@ public String swaggerPrivate() {
     @Produces({
             MediaType.APPLICATION_JSON, "text/yaml"
     })
-    public String swaggerPrototyping() {
+    public Response swaggerPrototyping() {
         return swagger(SwaggerService.Visibility.PRIVATE_WITH_PROTOTYPING);
     }
 
@@ -65,14 +74,24 @@ public String swaggerPrototyping() {
     @Produces({
             MediaType.APPLICATION_JSON, "text/yaml"
     })
-    public String swaggerPublic() {
+    public Response swaggerPublic() {
         return swagger(SwaggerService.Visibility.PUBLIC);
     }
 
-    private String swagger(final SwaggerService.Visibility visibility) {
+    private Response swagger(final SwaggerService.Visibility visibility) {
         final SwaggerService.Format format = deriveFrom(httpHeaders);
-        String spec = getIsisSessionFactory().doInSession(new MyCallable(visibility, format));
-        return spec;
+        final SwaggerServiceDefault.CachedSwaggerSpec swaggerSpec =
+                getIsisSessionFactory().doInSession(new MyCallable(visibility, format));
+
+        final EntityTag eTag = new EntityTag(swaggerSpec.getETag());
+        final Response.ResponseBuilder notModified = Responses.evaluatePreconditions(request, eTag);
+        if (notModified != null) {
+            return notModified.cacheControl(Caching.NONE.getCacheControl()).build();
+        }
+        return Response.ok(swaggerSpec.getSpec())
+                .cacheControl(Caching.NONE.getCacheControl())
+                .tag(eTag)
+                .build();
     }
 
     private SwaggerService.Format deriveFrom(final HttpHeaders httpHeaders) {
@@ -94,7 +113,7 @@ private SwaggerService.Format deriveFrom(final HttpHeaders httpHeaders) {
     }
 
 
-    class MyCallable implements Callable<String> {
+    class MyCallable implements Callable<SwaggerServiceDefault.CachedSwaggerSpec> {
 
         private final SwaggerService.Visibility visibility;
         private final SwaggerService.Format format;
@@ -107,9 +126,12 @@ public MyCallable(
         }
 
         @Override
-        public String call() throws Exception {
+        public SwaggerServiceDefault.CachedSwaggerSpec call() throws Exception {
             getServicesInjector().injectServicesInto(this);
-            return swaggerService.generateSwaggerSpec(visibility, format);
+            if(swaggerService instanceof SwaggerServiceDefault) {
+                return ((SwaggerServiceDefault) swaggerService).lookupSwaggerSpec(visibility, format);
+            }
+            return new SwaggerServiceDefault.CachedSwaggerSpec(swaggerService.generateSwaggerSpec(visibility, format));
         }
 
         @javax.inject.Inject
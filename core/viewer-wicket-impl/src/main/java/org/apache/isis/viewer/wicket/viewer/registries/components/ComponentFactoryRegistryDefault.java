@@ -19,23 +19,41 @@
 
 package org.apache.isis.viewer.wicket.viewer.registries.components;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.inject.Inject;
 
 import com.google.common.base.Supplier;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import com.google.inject.Singleton;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import org.apache.wicket.Component;
 import org.apache.wicket.MarkupContainer;
 import org.apache.wicket.model.IModel;
 
+import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
+import org.apache.isis.core.runtime.system.context.IsisContext;
+import org.apache.isis.viewer.wicket.model.mementos.ActionMemento;
+import org.apache.isis.viewer.wicket.model.mementos.ActionParameterMemento;
+import org.apache.isis.viewer.wicket.model.mementos.PropertyMemento;
+import org.apache.isis.viewer.wicket.model.models.ActionModel;
+import org.apache.isis.viewer.wicket.model.models.EntityCollectionModel;
+import org.apache.isis.viewer.wicket.model.models.EntityModel;
+import org.apache.isis.viewer.wicket.model.models.ScalarModel;
 import org.apache.isis.viewer.wicket.ui.ComponentFactory;
 import org.apache.isis.viewer.wicket.ui.ComponentFactory.ApplicationAdvice;
 import org.apache.isis.viewer.wicket.ui.ComponentType;
@@ -46,12 +64,38 @@
 /**
  * Implementation of {@link ComponentFactoryRegistry} that delegates to a
  * provided {@link ComponentFactoryRegistrar}.
+ *
+ * <p>
+ * The advice of those {@link ComponentFactory.MetaModelDetermined factories whose advice depends only on the
+ * metamodel} is memoized, so that (for a given component type and metamodel) only the remaining factories need be
+ * asked whether they apply.  The memoized advice is discarded whenever the
+ * {@link SpecificationLoader#getCacheGeneration() cache generation} of the metamodel changes (eg a specification is
+ * reloaded by JRebel).
  */
 @Singleton
 public class ComponentFactoryRegistryDefault implements ComponentFactoryRegistry {
 
+    private static final Logger LOG = LoggerFactory.getLogger(ComponentFactoryRegistryDefault.class);
+
     private final Multimap<ComponentType, ComponentFactory> componentFactoriesByType;
 
+    /**
+     * For each component type and metamodel (see {@link #resolutionKeyFor(ComponentType, IModel)}), the factories
+     * that might apply, in order: those that are {@link ComponentFactory.MetaModelDetermined} with their (memoized)
+     * advice, along with those whose advice must be asked for each time.
+     */
+    private final ConcurrentMap<List<Object>, List<Candidate>> candidatesByResolutionKey = Maps.newConcurrentMap();
+    private volatile long generation = -1;
+
+    private final ConcurrentMap<ComponentType, List<Candidate>> dynamicCandidatesByType = Maps.newConcurrentMap();
+
+    private final Map<ComponentFactory, Counters> countersByFactory = Maps.newIdentityHashMap();
+
+    /**
+     * Whether the {@link Counters} are maintained; by default, only if logging at <tt>DEBUG</tt>.
+     */
+    private volatile boolean countersEnabled = LOG.isDebugEnabled();
+
     @javax.inject.Inject
     public ComponentFactoryRegistryDefault(final ComponentFactoryRegistrar componentFactoryList) {
         componentFactoriesByType = Multimaps.newListMultimap(new HashMap<ComponentType, Collection<ComponentFactory>>(), new Supplier<List<ComponentFactory>>() {
@@ -85,6 +129,7 @@ protected void registerComponentFactories(final ComponentFactoryRegistrar compon
 
     protected void registerComponentFactory(final ComponentFactory componentFactory) {
         componentFactoriesByType.put(componentFactory.getComponentType(), componentFactory);
+        countersByFactory.put(componentFactory, new Counters());
     }
 
     private void ensureAllComponentTypesRegistered() {
@@ -131,12 +176,14 @@ public Component createComponent(final ComponentType componentType, final String
 
     @Override
     public List<ComponentFactory> findComponentFactories(final ComponentType componentType, final IModel<?> model) {
-        final Collection<ComponentFactory> componentFactoryList = componentFactoriesByType.get(componentType);
         final List<ComponentFactory> matching = Lists.newArrayList();
-        for (final ComponentFactory componentFactory : componentFactoryList) {
-            final ApplicationAdvice appliesTo = componentFactory.appliesTo(componentType, model);
+        for (final Candidate candidate : candidatesFor(componentType, model)) {
+            final ApplicationAdvice appliesTo = candidate.appliesTo(componentType, model, countersEnabled);
             if (appliesTo.applies()) {
-                matching.add(componentFactory);
+                matching.add(candidate.componentFactory);
+                if (countersEnabled) {
+                    candidate.counters.numberApplied.incrementAndGet();
+                }
             }
             if (appliesTo.exclusively()) {
                 break;
@@ -149,6 +196,132 @@ public List<ComponentFactory> findComponentFactories(final ComponentType compone
         return matching;
     }
 
+    private List<Candidate> candidatesFor(final ComponentType componentType, final IModel<?> model) {
+        final List<Object> resolutionKey = resolutionKeyFor(componentType, model);
+        if(resolutionKey == null) {
+            return dynamicCandidatesFor(componentType);
+        }
+        final long generationAtStart = currentCacheGeneration();
+        clearIfStale(generationAtStart);
+
+        final List<Candidate> candidates = candidatesByResolutionKey.get(resolutionKey);
+        if(candidates != null) {
+            return candidates;
+        }
+        final List<Candidate> newCandidates = memoizeCandidatesFor(componentType, model);
+        return putIfCurrent(resolutionKey, newCandidates, generationAtStart);
+    }
+
+    private void clearIfStale(final long currentGeneration) {
+        if (generation == currentGeneration) {
+            return;
+        }
+        synchronized (this) {
+            if (generation != currentGeneration) {
+                candidatesByResolutionKey.clear();
+                generation = currentGeneration;
+            }
+        }
+    }
+
+    /**
+     * Only memoizes the candidates if no specification was invalidated while they were being determined.
+     */
+    private synchronized List<Candidate> putIfCurrent(
+            final List<Object> resolutionKey,
+            final List<Candidate> newCandidates,
+            final long generationAtStart) {
+        if (generation != generationAtStart || currentCacheGeneration() != generationAtStart) {
+            return newCandidates;
+        }
+        final List<Candidate> existing = candidatesByResolutionKey.putIfAbsent(resolutionKey, newCandidates);
+        return existing != null ? existing : newCandidates;
+    }
+
+    long currentCacheGeneration() {
+        return getSpecificationLoader().getCacheGeneration();
+    }
+
+    SpecificationLoader getSpecificationLoader() {
+        return IsisContext.getSessionFactory().getSpecificationLoader();
+    }
+
+    /**
+     * Asks those factories that are {@link ComponentFactory.MetaModelDetermined} for their advice just the once,
+     * discarding those that do not apply (and any factories after one that applies exclusively).
+     */
+    private List<Candidate> memoizeCandidatesFor(final ComponentType componentType, final IModel<?> model) {
+        final List<Candidate> candidates = Lists.newArrayList();
+        for (final ComponentFactory componentFactory : componentFactoriesByType.get(componentType)) {
+            final Candidate candidate = new Candidate(componentFactory, null, countersByFactory.get(componentFactory));
+            if (!(componentFactory instanceof ComponentFactory.MetaModelDetermined)) {
+                candidates.add(candidate);
+                continue;
+            }
+            final ApplicationAdvice appliesTo = candidate.appliesTo(componentType, model, countersEnabled);
+            if (appliesTo.applies()) {
+                candidates.add(new Candidate(componentFactory, appliesTo, candidate.counters));
+            }
+            if (appliesTo.exclusively()) {
+                break;
+            }
+        }
+        return Collections.unmodifiableList(candidates);
+    }
+
+    private List<Candidate> dynamicCandidatesFor(final ComponentType componentType) {
+        final List<Candidate> candidates = dynamicCandidatesByType.get(componentType);
+        if(candidates != null) {
+            return candidates;
+        }
+        final List<Candidate> newCandidates = Lists.newArrayList();
+        for (final ComponentFactory componentFactory : componentFactoriesByType.get(componentType)) {
+            newCandidates.add(new Candidate(componentFactory, null, countersByFactory.get(componentFactory)));
+        }
+        dynamicCandidatesByType.putIfAbsent(componentType, Collections.unmodifiableList(newCandidates));
+        return dynamicCandidatesByType.get(componentType);
+    }
+
+    /**
+     * Identifies the metamodel represented by the model (as described by {@link ComponentFactory.MetaModelDetermined}),
+     * or <tt>null</tt> if the model is of some other type (in which case nothing is memoized).
+     */
+    private static List<Object> resolutionKeyFor(final ComponentType componentType, final IModel<?> model) {
+        if (model instanceof ScalarModel) {
+            final ScalarModel scalarModel = (ScalarModel) model;
+            if (scalarModel.getKind() == ScalarModel.Kind.PROPERTY) {
+                final PropertyMemento propertyMemento = scalarModel.getPropertyMemento();
+                return Arrays.<Object>asList(
+                        componentType, model.getClass(),
+                        propertyMemento.getOwningType(), propertyMemento.getIdentifier());
+            } else {
+                final ActionParameterMemento parameterMemento = scalarModel.getParameterMemento();
+                final ActionMemento actionMemento = parameterMemento.getActionMemento();
+                return Arrays.<Object>asList(
+                        componentType, model.getClass(),
+                        actionMemento.getOwningType(), actionMemento.getActionType(), actionMemento.getNameParmsId(),
+                        parameterMemento.getNumber());
+            }
+        }
+        if (model instanceof EntityModel) {
+            final EntityModel entityModel = (EntityModel) model;
+            return Arrays.<Object>asList(componentType, model.getClass(), entityModel.getTypeOfSpecification());
+        }
+        if (model instanceof EntityCollectionModel) {
+            final EntityCollectionModel entityCollectionModel = (EntityCollectionModel) model;
+            return Arrays.<Object>asList(
+                    componentType, model.getClass(),
+                    entityCollectionModel.getTypeOfSpecification(), entityCollectionModel.isParented());
+        }
+        if (model instanceof ActionModel) {
+            final ActionMemento actionMemento = ((ActionModel) model).getActionMemento();
+            return Arrays.<Object>asList(
+                    componentType, model.getClass(),
+                    actionMemento.getOwningType(), actionMemento.getActionType(), actionMemento.getNameParmsId());
+        }
+        return null;
+    }
+
     @Override
     public ComponentFactory findComponentFactory(final ComponentType componentType, final IModel<?> model) {
         final Collection<ComponentFactory> componentFactories = findComponentFactories(componentType, model);
@@ -174,4 +347,95 @@ public Collection<ComponentFactory> listComponentFactories() {
         return componentFactoriesByType.values();
     }
 
+    // ///////////////////////////////////////////////////////
+    // Counters
+    // ///////////////////////////////////////////////////////
+
+    /**
+     * The (render-time) counters of each of the registered factories; only maintained if
+     * {@link #setCountersEnabled(boolean) enabled}.
+     */
+    public Map<ComponentFactory, Counters> getCountersByFactory() {
+        return Collections.unmodifiableMap(countersByFactory);
+    }
+
+    public boolean isCountersEnabled() {
+        return countersEnabled;
+    }
+
+    public void setCountersEnabled(final boolean countersEnabled) {
+        this.countersEnabled = countersEnabled;
+    }
+
+    /**
+     * How often a factory was asked for its advice (and how long that took in total), how often its memoized advice
+     * was used instead, and how often it applied.
+     */
+    public static class Counters {
+
+        private final AtomicLong numberEvaluated = new AtomicLong();
+        private final AtomicLong evaluationNanos = new AtomicLong();
+        private final AtomicLong numberMemoized = new AtomicLong();
+        private final AtomicLong numberApplied = new AtomicLong();
+
+        public long getNumberEvaluated() {
+            return numberEvaluated.get();
+        }
+
+        public long getEvaluationNanos() {
+            return evaluationNanos.get();
+        }
+
+        public long getNumberMemoized() {
+            return numberMemoized.get();
+        }
+
+        public long getNumberApplied() {
+            return numberApplied.get();
+        }
+
+        @Override
+        public String toString() {
+            return "evaluated: " + getNumberEvaluated() + " (" + getEvaluationNanos() / 1000 + "us)"
+                    + ", memoized: " + getNumberMemoized()
+                    + ", applied: " + getNumberApplied();
+        }
+    }
+
+    private static class Candidate {
+
+        private final ComponentFactory componentFactory;
+        /**
+         * <tt>null</tt> if the factory must be asked each time.
+         */
+        private final ApplicationAdvice memoizedAdvice;
+        private final Counters counters;
+
+        private Candidate(
+                final ComponentFactory componentFactory,
+                final ApplicationAdvice memoizedAdvice,
+                final Counters counters) {
+            this.componentFactory = componentFactory;
+            this.memoizedAdvice = memoizedAdvice;
+            this.counters = counters;
+        }
+
+        ApplicationAdvice appliesTo(final ComponentType componentType, final IModel<?> model, final boolean count) {
+            if (memoizedAdvice != null) {
+                if (count) {
+                    counters.numberMemoized.incrementAndGet();
+                }
+                return memoizedAdvice;
+            }
+            if (!count) {
+                return componentFactory.appliesTo(componentType, model);
+            }
+            final long start = System.nanoTime();
+            final ApplicationAdvice appliesTo = componentFactory.appliesTo(componentType, model);
+            counters.evaluationNanos.addAndGet(System.nanoTime() - start);
+            counters.numberEvaluated.incrementAndGet();
+            return appliesTo;
+        }
+    }
+
 }
@@ -0,0 +1,221 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.wicket.viewer.registries.components;
+
+import java.util.List;
+
+import org.apache.wicket.Component;
+import org.apache.wicket.model.IModel;
+import org.apache.wicket.model.Model;
+import org.jmock.Expectations;
+import org.jmock.auto.Mock;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+import org.apache.isis.viewer.wicket.model.models.EntityCollectionModel;
+import org.apache.isis.viewer.wicket.ui.ComponentFactory;
+import org.apache.isis.viewer.wicket.ui.ComponentFactoryAbstract;
+import org.apache.isis.viewer.wicket.ui.ComponentType;
+import org.apache.isis.viewer.wicket.ui.app.registry.ComponentFactoryRegistrar;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ComponentFactoryRegistryDefaultTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private ObjectSpecification mockCustomerSpec;
+    @Mock
+    private ObjectSpecification mockOrderSpec;
+
+    private CountingFactory customersOnly;
+    private CountingFactory dynamic;
+    private CountingFactory exclusive;
+    private CountingFactory neverReached;
+
+    private ComponentFactoryRegistryDefault registry;
+    private long cacheGeneration;
+
+    @Before
+    public void setUp() throws Exception {
+        customersOnly = new MetaModelDeterminedFactory(ComponentFactory.ApplicationAdvice.APPLIES, mockCustomerSpec);
+        dynamic = new CountingFactory(ComponentFactory.ApplicationAdvice.APPLIES, null);
+        exclusive = new MetaModelDeterminedFactory(ComponentFactory.ApplicationAdvice.APPLIES_EXCLUSIVELY, null);
+        neverReached = new MetaModelDeterminedFactory(ComponentFactory.ApplicationAdvice.APPLIES, null);
+
+        registry = new ComponentFactoryRegistryDefault(new ComponentFactoryRegistrar() {
+            @Override
+            public void addComponentFactories(final ComponentFactoryList componentFactories) {
+                componentFactories.add(customersOnly);
+                componentFactories.add(dynamic);
+                componentFactories.add(exclusive);
+                componentFactories.add(neverReached);
+                for (final ComponentType componentType : ComponentType.values()) {
+                    if(componentType != ComponentType.COLLECTION_CONTENTS) {
+                        componentFactories.add(new CountingFactory(componentType));
+                    }
+                }
+            }
+        }) {
+            @Override
+            long currentCacheGeneration() {
+                return cacheGeneration;
+            }
+        };
+        registry.setCountersEnabled(true);
+    }
+
+    @Test
+    public void advice_of_meta_model_determined_factories_is_memoized() throws Exception {
+
+        final EntityCollectionModel customers1 = collectionModel("customers1", mockCustomerSpec);
+        final EntityCollectionModel customers2 = collectionModel("customers2", mockCustomerSpec);
+        final EntityCollectionModel orders = collectionModel("orders", mockOrderSpec);
+
+        assertThat(find(customers1).size(), is(3));
+        assertThat(find(customers2).size(), is(3));
+        assertThat(find(customers1).size(), is(3));
+        assertThat(find(orders).size(), is(2));
+
+        // asked once per spec
+        assertThat(customersOnly.numberOfCalls, is(2));
+        assertThat(exclusive.numberOfCalls, is(2));
+        // asked every time
+        assertThat(dynamic.numberOfCalls, is(4));
+        // never asked, because there is a factory before it that applies exclusively
+        assertThat(neverReached.numberOfCalls, is(0));
+
+        final ComponentFactoryRegistryDefault.Counters counters = registry.getCountersByFactory().get(customersOnly);
+        assertThat(counters.getNumberEvaluated(), is(2L));
+        assertThat(counters.getNumberMemoized(), is(3L));
+        assertThat(counters.getNumberApplied(), is(3L));
+    }
+
+    @Test
+    public void memoized_advice_is_discarded_when_the_cache_generation_changes() throws Exception {
+
+        final EntityCollectionModel customers = collectionModel("customers", mockCustomerSpec);
+
+        find(customers);
+        find(customers);
+        assertThat(customersOnly.numberOfCalls, is(1));
+
+        // eg a specification reloaded
+        cacheGeneration++;
+
+        find(customers);
+        find(customers);
+        assertThat(customersOnly.numberOfCalls, is(2));
+    }
+
+    @Test
+    public void counters_are_not_maintained_unless_enabled() throws Exception {
+
+        registry.setCountersEnabled(false);
+
+        find(collectionModel("customers", mockCustomerSpec));
+        find(Model.of("foo"));
+
+        final ComponentFactoryRegistryDefault.Counters counters = registry.getCountersByFactory().get(customersOnly);
+        assertThat(counters.getNumberEvaluated(), is(0L));
+        assertThat(counters.getNumberMemoized(), is(0L));
+        assertThat(counters.getNumberApplied(), is(0L));
+        assertThat(counters.getEvaluationNanos(), is(0L));
+        // but the advice is still memoized
+        assertThat(customersOnly.numberOfCalls, is(2));
+    }
+
+    @Test
+    public void advice_is_not_memoized_for_other_models() throws Exception {
+
+        final IModel<String> model = Model.of("foo");
+
+        find(model);
+        find(model);
+
+        assertThat(customersOnly.numberOfCalls, is(2));
+        assertThat(dynamic.numberOfCalls, is(2));
+        assertThat(exclusive.numberOfCalls, is(2));
+        assertThat(registry.getCountersByFactory().get(customersOnly).getNumberMemoized(), is(0L));
+    }
+
+    private List<ComponentFactory> find(final IModel<?> model) {
+        return registry.findComponentFactories(ComponentType.COLLECTION_CONTENTS, model);
+    }
+
+    private EntityCollectionModel collectionModel(final String name, final ObjectSpecification typeOfSpec) {
+        final EntityCollectionModel model = context.mock(EntityCollectionModel.class, name);
+        context.checking(new Expectations() {{
+            allowing(model).getTypeOfSpecification();
+            will(returnValue(typeOfSpec));
+            allowing(model).isParented();
+            will(returnValue(false));
+        }});
+        return model;
+    }
+
+    static class CountingFactory extends ComponentFactoryAbstract {
+
+        private final ApplicationAdvice advice;
+        private final ObjectSpecification requiredSpec;
+        int numberOfCalls;
+
+        CountingFactory(final ComponentType componentType) {
+            super(componentType);
+            this.advice = ApplicationAdvice.APPLIES;
+            this.requiredSpec = null;
+        }
+
+        CountingFactory(final ApplicationAdvice advice, final ObjectSpecification requiredSpec) {
+            super(ComponentType.COLLECTION_CONTENTS);
+            this.advice = advice;
+            this.requiredSpec = requiredSpec;
+        }
+
+        @Override
+        protected ApplicationAdvice appliesTo(final IModel<?> model) {
+            numberOfCalls++;
+            if (requiredSpec == null) {
+                return advice;
+            }
+            final boolean matches = model instanceof EntityCollectionModel &&
+                    ((EntityCollectionModel) model).getTypeOfSpecification() == requiredSpec;
+            return matches ? advice : ApplicationAdvice.DOES_NOT_APPLY;
+        }
+
+        @Override
+        public Component createComponent(final String id, final IModel<?> model) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    static class MetaModelDeterminedFactory extends CountingFactory implements ComponentFactory.MetaModelDetermined {
+        MetaModelDeterminedFactory(final ApplicationAdvice advice, final ObjectSpecification requiredSpec) {
+            super(advice, requiredSpec);
+        }
+    }
+
+}
@@ -23,6 +23,7 @@
 import java.util.List;
 
 import com.google.common.base.Function;
+import com.google.common.collect.Lists;
 
 import org.apache.isis.applib.services.bookmark.Bookmark;
 import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
@@ -327,6 +328,53 @@ public ObjectAdapter getObjectAdapter(
         return type.getAdapter(this, concurrencyChecking, persistenceSession, specificationLoader);
     }
 
+    /**
+     * As {@link #getObjectAdapter(ConcurrencyChecking, PersistenceSession, SpecificationLoader)} for each of the
+     * mementos (in the same order), except that the objects of {@link Type#PERSISTENT persistent} mementos not
+     * already loaded are loaded in bulk (see {@link PersistenceSession#adaptersFor(List, ConcurrencyChecking)}).
+     *
+     * <p>
+     * As for {@link Functions#fromMemento(ConcurrencyChecking, PersistenceSession, SpecificationLoader)}, any object
+     * that cannot be found is returned as <tt>null</tt>.
+     */
+    public static List<ObjectAdapter> getObjectAdapters(
+            final List<ObjectAdapterMemento> mementos,
+            final ConcurrencyChecking concurrencyChecking,
+            final PersistenceSession persistenceSession,
+            final SpecificationLoader specificationLoader) {
+
+        final List<RootOid> persistentOids = Lists.newArrayList();
+        for (final ObjectAdapterMemento memento : mementos) {
+            if(memento.type == Type.PERSISTENT) {
+                persistentOids.add(OID_MARSHALLER.unmarshal(memento.persistentOidStr, RootOid.class));
+            }
+        }
+
+        final List<ObjectAdapter> persistentAdapters;
+        try {
+            persistentAdapters = persistenceSession.adaptersFor(persistentOids, concurrencyChecking);
+        } finally {
+            // as per Type.PERSISTENT#recreateAdapter(...), copy any updated versions back into the mementos
+            int i = 0;
+            for (final ObjectAdapterMemento memento : mementos) {
+                if(memento.type == Type.PERSISTENT) {
+                    memento.persistentOidStr = persistentOids.get(i++).enString();
+                }
+            }
+        }
+
+        final Function<ObjectAdapterMemento, ObjectAdapter> fromMemento =
+                Functions.fromMemento(concurrencyChecking, persistenceSession, specificationLoader);
+        final List<ObjectAdapter> adapters = Lists.newArrayList();
+        int i = 0;
+        for (final ObjectAdapterMemento memento : mementos) {
+            adapters.add(memento.type == Type.PERSISTENT
+                    ? persistentAdapters.get(i++)
+                    : fromMemento.apply(memento));
+        }
+        return adapters;
+    }
+
     /**
      * Updates the memento if the adapter's state has changed.
      * 
@@ -0,0 +1,150 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.apache.isis.viewer.wicket.model.mementos;
+
+import java.io.Serializable;
+import java.util.Map;
+
+import com.google.common.collect.Maps;
+
+import org.apache.isis.applib.query.Query;
+import org.apache.isis.applib.query.QueryDefault;
+import org.apache.isis.applib.query.QueryFindAllInstances;
+import org.apache.isis.core.commons.lang.ClassUtil;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.adapter.mgr.AdapterManager;
+import org.apache.isis.core.metamodel.adapter.mgr.AdapterManager.ConcurrencyChecking;
+import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
+import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
+
+/**
+ * {@link Serializable} representation of an (unranged) {@link QueryDefault} or {@link QueryFindAllInstances}, so that
+ * a standalone collection can re-submit the query that produced it in order to page and sort within the object store.
+ *
+ * <p>
+ * Any arguments of a {@link QueryDefault} are held as {@link ObjectAdapterMemento}s.
+ */
+public class QueryMemento implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Factory method
+     *
+     * <p>
+     * Returns <tt>null</tt> if the query cannot be re-submitted with a different range and ordering; this is the case
+     * if the query is of some other type, or if it already specifies a range (which is then part of its semantics),
+     * or if any of its arguments is a collection.
+     */
+    public static QueryMemento createOrNull(final Query<?> query, final AdapterManager adapterManager) {
+        if (query == null) {
+            return null;
+        }
+        if (query.getStart() != 0 || query.getCount() != 0) {
+            return null;
+        }
+        if (query instanceof QueryFindAllInstances) {
+            final QueryFindAllInstances<?> queryFindAllInstances = (QueryFindAllInstances<?>) query;
+            return new QueryMemento(
+                    queryFindAllInstances.getResultTypeName(), null, queryFindAllInstances.getOrdering(),
+                    Maps.<String, ObjectAdapterMemento>newHashMap());
+        }
+        if (query instanceof QueryDefault) {
+            final QueryDefault<?> queryDefault = (QueryDefault<?>) query;
+            final Map<String, ObjectAdapterMemento> argumentMementos = Maps.newHashMap();
+            for (final Map.Entry<String, Object> entry : queryDefault.getArgumentsByParameterName().entrySet()) {
+                final Object argument = entry.getValue();
+                final ObjectAdapter argumentAdapter = argument != null ? adapterManager.adapterFor(argument) : null;
+                if (argumentAdapter != null && argumentAdapter.getSpecification().isParentedOrFreeCollection()) {
+                    return null;
+                }
+                argumentMementos.put(entry.getKey(), ObjectAdapterMemento.createOrNull(argumentAdapter));
+            }
+            return new QueryMemento(
+                    queryDefault.getResultTypeName(), queryDefault.getQueryName(), queryDefault.getOrdering(),
+                    argumentMementos);
+        }
+        return null;
+    }
+
+    private final String resultTypeName;
+    /**
+     * Will be <tt>null</tt> if represents a {@link QueryFindAllInstances}.
+     */
+    private final String queryName;
+    private final String ordering;
+    private final Map<String, ObjectAdapterMemento> argumentMementosByParameterName;
+
+    private QueryMemento(
+            final String resultTypeName,
+            final String queryName,
+            final String ordering,
+            final Map<String, ObjectAdapterMemento> argumentMementosByParameterName) {
+        this.resultTypeName = resultTypeName;
+        this.queryName = queryName;
+        this.ordering = ordering;
+        this.argumentMementosByParameterName = argumentMementosByParameterName;
+    }
+
+    public String getResultTypeName() {
+        return resultTypeName;
+    }
+
+    /**
+     * Recreates the query, for the specified range.
+     *
+     * @param start - the index of the first instance to return
+     * @param count - the maximum number of instances to return; if 0 then all (remaining) instances are returned.
+     * @param orderingIfAny - overrides the ordering of the original query, if not <tt>null</tt>.
+     */
+    public Query<Object> asQuery(
+            final long start,
+            final long count,
+            final String orderingIfAny,
+            final PersistenceSession persistenceSession,
+            final SpecificationLoader specificationLoader) {
+
+        final String ordering = orderingIfAny != null ? orderingIfAny : this.ordering;
+
+        if (queryName == null) {
+            return new QueryFindAllInstances<Object>(resultTypeName, start, count).withOrdering(ordering);
+        }
+
+        final Map<String, Object> argumentsByParameterName = Maps.newHashMap();
+        for (final Map.Entry<String, ObjectAdapterMemento> entry : argumentMementosByParameterName.entrySet()) {
+            final ObjectAdapterMemento argumentMemento = entry.getValue();
+            final ObjectAdapter argumentAdapter = argumentMemento != null
+                    ? argumentMemento.getObjectAdapter(
+                            ConcurrencyChecking.NO_CHECK, persistenceSession, specificationLoader)
+                    : null;
+            argumentsByParameterName.put(entry.getKey(), ObjectAdapter.Util.unwrap(argumentAdapter));
+        }
+
+        @SuppressWarnings("unchecked")
+        final Class<Object> resultType = (Class<Object>) ClassUtil.forName(resultTypeName);
+        final QueryDefault<Object> queryDefault =
+                new QueryDefault<>(resultType, queryName, argumentsByParameterName).withStart(start);
+        if (count > 0) {
+            queryDefault.withCount(count);
+        }
+        return queryDefault.withOrdering(ordering);
+    }
+
+}
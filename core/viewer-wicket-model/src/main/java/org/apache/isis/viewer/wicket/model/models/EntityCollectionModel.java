@@ -24,6 +24,8 @@
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import org.apache.isis.applib.layout.component.CollectionLayoutData;
+import org.apache.isis.applib.query.Query;
+import org.apache.isis.applib.query.QueryResultsList;
 import org.apache.isis.core.commons.factory.InstanceUtil;
 import org.apache.isis.core.commons.lang.ClassUtil;
 import org.apache.isis.core.commons.lang.Closure;
@@ -38,12 +40,14 @@
 import org.apache.isis.core.metamodel.spec.ObjectSpecification;
 import org.apache.isis.core.metamodel.spec.feature.ObjectAction;
 import org.apache.isis.core.metamodel.spec.feature.OneToManyAssociation;
+import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
 import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
 import org.apache.isis.viewer.wicket.model.hints.UiHintContainer;
 import org.apache.isis.viewer.wicket.model.links.LinkAndLabel;
 import org.apache.isis.viewer.wicket.model.links.LinksProvider;
 import org.apache.isis.viewer.wicket.model.mementos.CollectionMemento;
 import org.apache.isis.viewer.wicket.model.mementos.ObjectAdapterMemento;
+import org.apache.isis.viewer.wicket.model.mementos.QueryMemento;
 import org.apache.wicket.Component;
 
 import java.io.Serializable;
@@ -79,16 +83,22 @@ public enum Type {
         STANDALONE {
             @Override
             List<ObjectAdapter> load(final EntityCollectionModel entityCollectionModel) {
+                if(entityCollectionModel.isQueryBacked()) {
+                    // only those pages that are accessed are loaded
+                    return new QueryResultsPagedList(
+                            entityCollectionModel, Math.max(1, entityCollectionModel.getPageSize()));
+                }
                 return Lists.newArrayList(
                         Iterables.filter(
-                                Iterables.transform(entityCollectionModel.mementoList,
-                                        ObjectAdapterMemento.Functions.fromMemento(ConcurrencyChecking.NO_CHECK,
-                                                entityCollectionModel.getPersistenceSession(), entityCollectionModel.getSpecificationLoader())),
+                                ObjectAdapterMemento.getObjectAdapters(entityCollectionModel.mementoList,
+                                        ConcurrencyChecking.NO_CHECK,
+                                        entityCollectionModel.getPersistenceSession(), entityCollectionModel.getSpecificationLoader()),
                                 Predicates.notNull()));
             }
 
             @Override
             void setObject(final EntityCollectionModel entityCollectionModel, final List<ObjectAdapter> list) {
+                entityCollectionModel.queryMemento = null;
                 entityCollectionModel.mementoList = Lists.newArrayList(
                         Iterables.filter(
                                 Iterables.transform(list, ObjectAdapterMemento.Functions.toMemento()),
@@ -103,6 +113,11 @@ public String getName(final EntityCollectionModel model) {
 
             @Override
             public int getCount(final EntityCollectionModel model) {
+                if(model.isQueryBacked()) {
+                    final Query<Object> query = model.queryMemento.asQuery(
+                            0, 0, null, model.getPersistenceSession(), model.getSpecificationLoader());
+                    return (int) model.getPersistenceSession().countMatchingQuery(query);
+                }
                 return model.mementoList.size();
             }
 
@@ -196,9 +211,13 @@ public static EntityCollectionModel createStandalone(
             final IsisSessionFactory sessionFactory) {
         final Iterable<Object> pojos = EntityCollectionModel.asIterable(collectionAsAdapter);
 
+        final PersistenceSession persistenceSession = sessionFactory.getCurrentSession().getPersistenceSession();
+        final QueryMemento queryMemento = queryMementoFor(pojos, persistenceSession);
         final List<ObjectAdapterMemento> mementoList =
-                Lists.newArrayList(Iterables.transform(pojos, ObjectAdapterMemento.Functions.fromPojo(
-                        sessionFactory.getCurrentSession().getPersistenceSession())));
+                queryMemento == null
+                        ? Lists.newArrayList(Iterables.transform(pojos, ObjectAdapterMemento.Functions.fromPojo(
+                                persistenceSession)))
+                        : null;
 
         final ObjectSpecification elementSpec;
         if(!Iterables.isEmpty(pojos)) {
@@ -227,7 +246,21 @@ public Class<?> apply(Object obj) {
             elementType = Object.class;
         }
         
-        return new EntityCollectionModel(elementType, mementoList, pageSize);
+        final EntityCollectionModel entityCollectionModel = new EntityCollectionModel(elementType, mementoList, pageSize);
+        entityCollectionModel.queryMemento = queryMemento;
+        return entityCollectionModel;
+    }
+
+    /**
+     * If the pojos were obtained by submitting a query (that can be re-submitted with a different range and ordering)
+     * then returns a memento of that query, else <tt>null</tt>.
+     */
+    private static QueryMemento queryMementoFor(final Iterable<Object> pojos, final PersistenceSession persistenceSession) {
+        if(!(pojos instanceof QueryResultsList)) {
+            return null;
+        }
+        final QueryResultsList<?> queryResultsList = (QueryResultsList<?>) pojos;
+        return QueryMemento.createOrNull(queryResultsList.getQuery(), persistenceSession);
     }
 
     /**
@@ -264,10 +297,15 @@ public static EntityCollectionModel createParented(final EntityModel modelWithCo
     private transient ObjectSpecification typeOfSpec;
 
     /**
-     * Populated only if {@link Type#STANDALONE}.
+     * Populated only if {@link Type#STANDALONE}, and only if not {@link #isQueryBacked() query-backed}.
      */
     private List<ObjectAdapterMemento> mementoList;
 
+    /**
+     * Populated only if {@link Type#STANDALONE}, and only if {@link #isQueryBacked() query-backed}.
+     */
+    private QueryMemento queryMemento;
+
     /**
      * Populated only if {@link Type#STANDALONE}.
      */
@@ -362,6 +400,34 @@ public boolean isStandalone() {
     public int getPageSize() {
         return pageSize;
     }
+
+    /**
+     * Whether this (necessarily {@link Type#STANDALONE standalone}) collection holds onto the query that produced
+     * its contents (rather than the contents themselves), meaning that it can be paged and sorted within the
+     * object store using {@link #loadPage(long, long, String)}.
+     */
+    public boolean isQueryBacked() {
+        return queryMemento != null;
+    }
+
+    /**
+     * Re-submits the query that produced this collection, returning only the requested range of instances.
+     *
+     * <p>
+     * Only supported if {@link #isQueryBacked() query-backed}.
+     *
+     * @param first - the index of the first instance to return
+     * @param count - the maximum number of instances to return; if 0 then all (remaining) instances are returned.
+     * @param orderingIfAny - the ordering to use (in the syntax of the object store), overriding that of the query.
+     */
+    public List<ObjectAdapter> loadPage(final long first, final long count, final String orderingIfAny) {
+        if(!isQueryBacked()) {
+            throw new IllegalStateException("Collection is not query-backed");
+        }
+        final Query<Object> query = queryMemento.asQuery(
+                first, count, orderingIfAny, getPersistenceSession(), getSpecificationLoader());
+        return getPersistenceSession().allMatchingQuery(query);
+    }
     
     /**
      * The name of the collection (if has an entity, ie, if
@@ -411,8 +477,11 @@ public void setObject(List<ObjectAdapter> list) {
      */
     public void setObjectList(ObjectAdapter resultAdapter) {
         final Iterable<Object> pojos = EntityCollectionModel.asIterable(resultAdapter);
-        this.mementoList = Lists.newArrayList(
-                Iterables.transform(pojos, ObjectAdapterMemento.Functions.fromPojo(getPersistenceSession())));
+        this.queryMemento = queryMementoFor(pojos, getPersistenceSession());
+        this.mementoList = queryMemento == null
+                ? Lists.newArrayList(
+                        Iterables.transform(pojos, ObjectAdapterMemento.Functions.fromPojo(getPersistenceSession())))
+                : null;
     }
 
     /**
@@ -0,0 +1,77 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.wicket.model.models;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Maps;
+
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+
+/**
+ * A read-only view of the contents of a {@link EntityCollectionModel#isQueryBacked() query-backed}
+ * {@link EntityCollectionModel}, that re-submits the query to load (and then holds onto) only those pages of
+ * instances that are actually accessed.
+ *
+ * <p>
+ * The {@link #size()} is obtained using a count query.
+ */
+class QueryResultsPagedList extends AbstractList<ObjectAdapter> {
+
+    private final EntityCollectionModel model;
+    private final int pageSize;
+    private final Map<Integer, List<ObjectAdapter>> pages = Maps.newHashMap();
+    private int size = -1;
+
+    QueryResultsPagedList(final EntityCollectionModel model, final int pageSize) {
+        Preconditions.checkArgument(pageSize > 0, "pageSize must be positive");
+        this.model = model;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public ObjectAdapter get(final int index) {
+        Preconditions.checkElementIndex(index, size());
+        final int pageNum = index / pageSize;
+        List<ObjectAdapter> page = pages.get(pageNum);
+        if(page == null) {
+            page = model.loadPage((long) pageNum * pageSize, pageSize, null);
+            pages.put(pageNum, page);
+        }
+        final int indexWithinPage = index % pageSize;
+        if(indexWithinPage >= page.size()) {
+            // fewer instances than counted, ie deleted since
+            throw new IndexOutOfBoundsException(
+                    "Index " + index + " no longer within the results of the query (size was " + size + ")");
+        }
+        return page.get(indexWithinPage);
+    }
+
+    @Override
+    public int size() {
+        if(size < 0) {
+            size = model.getCount();
+        }
+        return size;
+    }
+
+}
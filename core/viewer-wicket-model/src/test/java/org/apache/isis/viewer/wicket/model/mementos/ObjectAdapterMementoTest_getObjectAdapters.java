@@ -0,0 +1,158 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.wicket.model.mementos;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.jmock.Expectations;
+import org.jmock.api.Invocation;
+import org.jmock.auto.Mock;
+import org.jmock.lib.action.CustomAction;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.adapter.mgr.AdapterManager.ConcurrencyChecking;
+import org.apache.isis.core.metamodel.adapter.oid.RootOid;
+import org.apache.isis.core.metamodel.adapter.version.ConcurrencyException;
+import org.apache.isis.core.metamodel.adapter.version.Version;
+import org.apache.isis.core.metamodel.facets.object.encodeable.EncodableFacet;
+import org.apache.isis.core.metamodel.spec.ObjectSpecId;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
+import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class ObjectAdapterMementoTest_getObjectAdapters {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(JUnitRuleMockery2.Mode.INTERFACES_AND_CLASSES);
+
+    @Mock
+    private PersistenceSession mockPersistenceSession;
+    @Mock
+    private SpecificationLoader mockSpecificationLoader;
+    @Mock
+    private ObjectSpecification mockValueSpec;
+    @Mock
+    private EncodableFacet mockEncodableFacet;
+    @Mock
+    private ObjectAdapter mockValueAdapter;
+    @Mock
+    private ObjectAdapter mockAdapter1;
+    @Mock
+    private ObjectAdapter mockAdapter3;
+
+    private ObjectAdapterMemento memento1;
+    private ObjectAdapterMemento memento2;
+    private ObjectAdapterMemento memento3;
+    private ObjectAdapterMemento valueMemento;
+
+    @Before
+    public void setUp() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(mockValueAdapter).getSpecification();
+            will(returnValue(mockValueSpec));
+            allowing(mockValueSpec).getSpecId();
+            will(returnValue(ObjectSpecId.of("int")));
+            allowing(mockValueSpec).getFacet(EncodableFacet.class);
+            will(returnValue(mockEncodableFacet));
+            allowing(mockEncodableFacet).toEncodedString(mockValueAdapter);
+            will(returnValue("7"));
+
+            allowing(mockSpecificationLoader).lookupBySpecId(ObjectSpecId.of("int"));
+            will(returnValue(mockValueSpec));
+            allowing(mockEncodableFacet).fromEncodedString("7");
+            will(returnValue(mockValueAdapter));
+        }});
+
+        memento1 = ObjectAdapterMemento.createPersistent(oid("1"));
+        memento2 = ObjectAdapterMemento.createPersistent(oid("2"));
+        memento3 = ObjectAdapterMemento.createPersistent(oid("3"));
+        valueMemento = ObjectAdapterMemento.createOrNull(mockValueAdapter);
+    }
+
+    @Test
+    public void looks_up_persistent_together_in_the_same_order() throws Exception {
+
+        context.checking(new Expectations() {{
+            oneOf(mockPersistenceSession).adaptersFor(
+                    Arrays.asList(oid("3"), oid("1"), oid("2")), ConcurrencyChecking.NO_CHECK);
+            // as if memento2's object has been deleted
+            will(returnValue(Arrays.asList(mockAdapter3, mockAdapter1, null)));
+
+            never(mockPersistenceSession).adapterFor(with(any(RootOid.class)), with(any(ConcurrencyChecking.class)));
+        }});
+
+        final List<ObjectAdapter> adapters = ObjectAdapterMemento.getObjectAdapters(
+                Arrays.asList(memento3, valueMemento, memento1, memento2),
+                ConcurrencyChecking.NO_CHECK, mockPersistenceSession, mockSpecificationLoader);
+
+        assertThat(adapters.size(), is(4));
+        assertThat(adapters.get(0), is(sameInstance(mockAdapter3)));
+        assertThat(adapters.get(1), is(sameInstance(mockValueAdapter)));
+        assertThat(adapters.get(2), is(sameInstance(mockAdapter1)));
+        assertThat(adapters.get(3), is(nullValue()));
+    }
+
+    @Test
+    public void copies_updated_versions_back_into_the_mementos() throws Exception {
+
+        context.checking(new Expectations() {{
+            oneOf(mockPersistenceSession).adaptersFor(with(any(List.class)), with(ConcurrencyChecking.CHECK));
+            will(new CustomAction("update version of second oid, then fail concurrency check") {
+                @SuppressWarnings("unchecked")
+                @Override
+                public Object invoke(final Invocation invocation) throws Throwable {
+                    final List<RootOid> oids = (List<RootOid>) invocation.getParameter(0);
+                    oids.get(1).setVersion(Version.create(2L));
+                    throw new ConcurrencyException("sven", oids.get(1), Version.create(2L), Version.create(1L));
+                }
+            });
+        }});
+
+        try {
+            ObjectAdapterMemento.getObjectAdapters(
+                    Arrays.asList(memento1, memento2), ConcurrencyChecking.CHECK,
+                    mockPersistenceSession, mockSpecificationLoader);
+            fail();
+        } catch(final ConcurrencyException ex) {
+            // expected
+        }
+
+        // so that a retry will succeed
+        final RootOid oid2 = oid("2");
+        oid2.setVersion(Version.create(2L));
+        assertThat(memento1.toString(), is(oid("1").enString()));
+        assertThat(memento2.toString(), is(oid2.enString()));
+    }
+
+    private static RootOid oid(final String id) {
+        return RootOid.create(ObjectSpecId.of("CUS"), id);
+    }
+
+}
@@ -0,0 +1,120 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.wicket.model.models;
+
+import java.util.Arrays;
+
+import com.google.common.collect.Lists;
+
+import org.jmock.Expectations;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class QueryResultsPagedListTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    private EntityCollectionModel model;
+    private ObjectAdapter[] adapters;
+
+    private QueryResultsPagedList list;
+
+    @Before
+    public void setUp() throws Exception {
+        model = context.mock(EntityCollectionModel.class);
+        adapters = new ObjectAdapter[5];
+        for (int i = 0; i < adapters.length; i++) {
+            adapters[i] = context.mock(ObjectAdapter.class, "adapter" + i);
+        }
+        list = new QueryResultsPagedList(model, 2);
+    }
+
+    @Test
+    public void size_usesCountQuery_once() throws Exception {
+        context.checking(new Expectations() {{
+            oneOf(model).getCount();
+            will(returnValue(5));
+            never(model).loadPage(with(any(Long.class)), with(any(Long.class)), with(any(String.class)));
+        }});
+
+        assertThat(list.size(), is(5));
+        assertThat(list.size(), is(5));
+    }
+
+    @Test
+    public void get_loadsOnlyThePageAccessed_once() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(model).getCount();
+            will(returnValue(5));
+            oneOf(model).loadPage(2L, 2L, null);
+            will(returnValue(Arrays.asList(adapters[2], adapters[3])));
+        }});
+
+        assertThat(list.get(3), is(adapters[3]));
+        assertThat(list.get(2), is(adapters[2]));
+    }
+
+    @Test
+    public void iterate_loadsEachPageInTurn() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(model).getCount();
+            will(returnValue(5));
+            oneOf(model).loadPage(0L, 2L, null);
+            will(returnValue(Arrays.asList(adapters[0], adapters[1])));
+            oneOf(model).loadPage(2L, 2L, null);
+            will(returnValue(Arrays.asList(adapters[2], adapters[3])));
+            oneOf(model).loadPage(4L, 2L, null);
+            will(returnValue(Arrays.asList(adapters[4])));
+        }});
+
+        assertThat(Lists.newArrayList(list), is(Arrays.asList(adapters)));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void get_whenBeyondCount() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(model).getCount();
+            will(returnValue(5));
+        }});
+
+        list.get(5);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void get_whenFewerInstancesThanCounted() throws Exception {
+        context.checking(new Expectations() {{
+            allowing(model).getCount();
+            will(returnValue(5));
+            oneOf(model).loadPage(4L, 2L, null);
+            will(returnValue(Arrays.<ObjectAdapter>asList()));
+        }});
+
+        list.get(4);
+    }
+
+}
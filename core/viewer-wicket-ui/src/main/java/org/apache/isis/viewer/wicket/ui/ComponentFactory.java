@@ -83,6 +83,31 @@ public static final ApplicationAdvice appliesIf(final boolean b) {
      */
     ApplicationAdvice appliesTo(ComponentType componentType, IModel<?> model);
 
+    /**
+     * Optionally implemented by a {@link ComponentFactory} whose
+     * {@link #appliesTo(ComponentType, IModel) advice} depends only on the
+     * class of the model and the metamodel that it represents, not on the
+     * model's state (eg the object or value it holds).
+     *
+     * <p>
+     * The {@link ComponentFactoryRegistry} may then memoize the advice rather
+     * than ask again for every component rendered.  The metamodel represented
+     * by a model is:
+     * <ul>
+     * <li>for a scalar model, the property or action parameter (and therefore its type)</li>
+     * <li>for an entity model, the specification of the entity</li>
+     * <li>for an entity collection model, the specification of the elements, and whether the collection is parented</li>
+     * <li>for an action model, the action</li>
+     * </ul>
+     * For any other model, the advice is not memoized.
+     *
+     * <p>
+     * Because this is inherited, it is implemented only by concrete factories (not by abstract factories that
+     * applications might subclass with some other {@link #appliesTo(ComponentType, IModel) advice}).
+     */
+    public interface MetaModelDetermined {
+    }
+
     /**
      * Creates component, with id being derived from the
      * {@link #getComponentType() component type} for this factory.
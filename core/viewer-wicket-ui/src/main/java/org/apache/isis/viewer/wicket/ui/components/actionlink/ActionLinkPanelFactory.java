@@ -31,7 +31,7 @@
 /**
  * {@link ComponentFactory} for {@link ActionLinkPanel}.
  */
-public class ActionLinkPanelFactory extends ComponentFactoryAbstract {
+public class ActionLinkPanelFactory extends ComponentFactoryAbstract implements ComponentFactory.MetaModelDetermined {
 
     private static final long serialVersionUID = 1L;
 
@@ -30,7 +30,7 @@
 /**
  * {@link ComponentFactory} for {@link ActionInfoPanel}.
  */
-public class ActionInfoPanelFactory extends ComponentFactoryAbstract {
+public class ActionInfoPanelFactory extends ComponentFactoryAbstract implements ComponentFactory.MetaModelDetermined {
 
     private static final long serialVersionUID = 1L;
 
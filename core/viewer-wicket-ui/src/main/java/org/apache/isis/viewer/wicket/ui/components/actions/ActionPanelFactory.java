@@ -30,7 +30,7 @@
 /**
  * {@link ComponentFactory} for {@link ActionPanel}.
  */
-public class ActionPanelFactory extends ComponentFactoryAbstract {
+public class ActionPanelFactory extends ComponentFactoryAbstract implements ComponentFactory.MetaModelDetermined {
 
     private static final long serialVersionUID = 1L;
 
@@ -31,7 +31,7 @@
 /**
  * {@link ComponentFactory} for {@link ActionParametersFormPanel}.
  */
-public class ActionParametersFormPanelFactory extends ComponentFactoryAbstract {
+public class ActionParametersFormPanelFactory extends ComponentFactoryAbstract implements ComponentFactory.MetaModelDetermined {
 
     private static final long serialVersionUID = 1L;
 
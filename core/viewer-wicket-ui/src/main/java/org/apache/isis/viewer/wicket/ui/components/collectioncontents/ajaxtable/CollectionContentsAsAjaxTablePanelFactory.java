@@ -33,7 +33,7 @@
 /**
  * {@link ComponentFactory} for {@link CollectionContentsAsAjaxTablePanel}.
  */
-public class CollectionContentsAsAjaxTablePanelFactory extends ComponentFactoryAbstract implements CollectionContentsAsFactory {
+public class CollectionContentsAsAjaxTablePanelFactory extends ComponentFactoryAbstract implements CollectionContentsAsFactory, ComponentFactory.MetaModelDetermined {
 
     private static final long serialVersionUID = 1L;
 
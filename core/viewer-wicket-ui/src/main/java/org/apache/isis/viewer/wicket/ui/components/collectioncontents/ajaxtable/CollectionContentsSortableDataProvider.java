@@ -33,6 +33,8 @@
 import org.apache.isis.core.metamodel.spec.ObjectSpecification;
 import org.apache.isis.core.metamodel.spec.ObjectSpecificationException;
 import org.apache.isis.core.metamodel.spec.feature.ObjectAssociation;
+import org.apache.isis.core.metamodel.specloader.specimpl.ContributeeMember;
+import org.apache.isis.core.metamodel.specloader.specimpl.MixedInMember;
 import org.apache.isis.viewer.wicket.model.models.EntityCollectionModel;
 import org.apache.isis.viewer.wicket.model.models.EntityModel;
 import org.apache.wicket.extensions.ajax.markup.html.repeater.data.table.AjaxFallbackDefaultDataTable;
@@ -61,9 +63,15 @@ public IModel<ObjectAdapter> model(final ObjectAdapter adapter) {
         return new EntityModel(adapter);
     }
 
+    /**
+     * The number of visible instances, consistent with those returned by {@link #iterator(long, long)}.
+     */
     @Override
     public long size() {
-        return model.getObject().size();
+        if(canPageWithinObjectStore(lookupAssociationFor(getSort()))) {
+            return model.getCount();
+        }
+        return Iterables.size(Iterables.filter(model.getObject(), ignoreHidden()));
     }
 
     @Override
@@ -79,6 +87,14 @@ public EntityCollectionModel getEntityCollectionModel() {
     @Override
     public Iterator<ObjectAdapter> iterator(final long first, final long count) {
 
+        final SortParam<String> sort = getSort();
+        final ObjectAssociation sortProperty = lookupAssociationFor(sort);
+        if(canPageWithinObjectStore(sortProperty)) {
+            final String ordering = sortProperty != null ? orderingFor(sortProperty, sort.isAscending()) : null;
+            return model.loadPage(first, count, ordering).iterator();
+        }
+        // else filter, sort and page in-memory
+
         final List<ObjectAdapter> adapters = model.getObject();
 
         final Iterable<ObjectAdapter> visibleAdapters =
@@ -96,7 +112,7 @@ private static List<ObjectAdapter> subList(
             final long count,
             final List<ObjectAdapter> objectAdapters) {
 
-        final int fromIndex = (int) first;
+        final int fromIndex = Math.min((int) first, objectAdapters.size());
         // if adapters where filter out (as invisible), then make sure don't run off the end
         final int toIndex = Math.min((int) (first + count), objectAdapters.size());
 
@@ -117,6 +133,47 @@ private List<ObjectAdapter> sortedCopy(
         return ordering.sortedCopy(adapters);
     }
 
+    /**
+     * Whether the (query that produced the) collection can be paged and sorted by the object store, which requires
+     * that none of the instances could be hidden (otherwise pages would be short and disagree with {@link #size()}).
+     */
+    private boolean canPageWithinObjectStore(final ObjectAssociation sortPropertyIfAny) {
+        return model.isQueryBacked()
+                && (sortPropertyIfAny == null || canOrderWithinObjectStore(sortPropertyIfAny))
+                && !canHideInstances(model.getTypeOfSpecification());
+    }
+
+    private static boolean canHideInstances(final ObjectSpecification spec) {
+        if(spec.getHidingInteractionAdvisors().length > 0) {
+            return true;
+        }
+        for (final ObjectSpecification subSpec : spec.subclasses()) {
+            if(canHideInstances(subSpec)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Only persisted value properties (declared by the entity itself) can be ordered by the object store in the same
+     * way that they would be ordered in-memory.
+     */
+    private static boolean canOrderWithinObjectStore(final ObjectAssociation sortProperty) {
+        return sortProperty.isOneToOneAssociation()
+                && !sortProperty.isNotPersisted()
+                && sortProperty.getSpecification().isValue()
+                && !(sortProperty instanceof ContributeeMember)
+                && !(sortProperty instanceof MixedInMember);
+    }
+
+    /**
+     * As a JDOQL ordering clause.
+     */
+    private static String orderingFor(final ObjectAssociation sortProperty, final boolean ascending) {
+        return sortProperty.getId() + (ascending ? " ascending" : " descending");
+    }
+
     private ObjectAssociation lookupAssociationFor(final SortParam<String> sort) {
 
         if(sort == null) {
@@ -33,7 +33,7 @@
  * {@link ComponentFactory} for {@link CollectionContentsAsIconsPanel}.
  */
 // TODO mgrigorov: Is this still needed ? It seems it is not used.
-public class CollectionContentsAsIconsPanelFactory extends ComponentFactoryAbstract {
+public class CollectionContentsAsIconsPanelFactory extends ComponentFactoryAbstract implements ComponentFactory.MetaModelDetermined {
 
     private static final long serialVersionUID = 1L;
 
@@ -30,7 +30,7 @@
 /**
  * {@link ComponentFactory} for {@link CollectionContentsMultipleViewsPanel}.
  */
-public class CollectionContentsMultipleViewsPanelFactory extends ComponentFactoryAbstract {
+public class CollectionContentsMultipleViewsPanelFactory extends ComponentFactoryAbstract implements ComponentFactory.MetaModelDetermined {
 
     private static final long serialVersionUID = 1L;
 
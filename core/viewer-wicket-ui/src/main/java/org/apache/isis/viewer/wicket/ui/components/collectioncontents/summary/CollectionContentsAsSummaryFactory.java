@@ -41,7 +41,7 @@
 /**
  * {@link ComponentFactory} for {@link CollectionContentsAsSummary}.
  */
-public class CollectionContentsAsSummaryFactory extends ComponentFactoryAbstract implements CollectionContentsAsFactory {
+public class CollectionContentsAsSummaryFactory extends ComponentFactoryAbstract implements CollectionContentsAsFactory, ComponentFactory.MetaModelDetermined {
 
     private static final long serialVersionUID = 1L;
 
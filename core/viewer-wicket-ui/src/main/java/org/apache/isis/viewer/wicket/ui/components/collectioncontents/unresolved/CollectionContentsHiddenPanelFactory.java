@@ -33,7 +33,7 @@
 /**
  * {@link ComponentFactory} for {@link CollectionContentsHiddenPanel}.
  */
-public class CollectionContentsHiddenPanelFactory extends ComponentFactoryAbstract implements CollectionContentsAsFactory {
+public class CollectionContentsHiddenPanelFactory extends ComponentFactoryAbstract implements CollectionContentsAsFactory, ComponentFactory.MetaModelDetermined {
 
     private static final long serialVersionUID = 1L;
 
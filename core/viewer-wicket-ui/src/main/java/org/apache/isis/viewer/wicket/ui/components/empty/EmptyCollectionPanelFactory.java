@@ -27,7 +27,7 @@
 import org.apache.isis.viewer.wicket.ui.ComponentFactoryAbstract;
 import org.apache.isis.viewer.wicket.ui.ComponentType;
 
-public class EmptyCollectionPanelFactory extends ComponentFactoryAbstract implements ComponentFactory {
+public class EmptyCollectionPanelFactory extends ComponentFactoryAbstract implements ComponentFactory.MetaModelDetermined {
 
     private static final long serialVersionUID = 1L;
 
@@ -30,7 +30,7 @@
 /**
  * {@link ComponentFactory} for {@link PropertyEditFormPanel}.
  */
-public class PropertyEditFormPanelFactory extends ComponentFactoryAbstract {
+public class PropertyEditFormPanelFactory extends ComponentFactoryAbstract implements ComponentFactory.MetaModelDetermined {
 
     private static final long serialVersionUID = 1L;
 
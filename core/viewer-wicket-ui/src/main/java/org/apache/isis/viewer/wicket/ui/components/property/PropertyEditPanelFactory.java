@@ -30,7 +30,7 @@
 /**
  * {@link ComponentFactory} for {@link PropertyEditPanel}.
  */
-public class PropertyEditPanelFactory extends ComponentFactoryAbstract {
+public class PropertyEditPanelFactory extends ComponentFactoryAbstract implements ComponentFactory.MetaModelDetermined {
 
     private static final long serialVersionUID = 1L;
 
@@ -28,7 +28,7 @@
 /**
  * {@link ComponentFactory} for {@link IsisBlobPanel}.
  */
-public class IsisBlobPanelFactory extends ComponentFactoryScalarAbstract {
+public class IsisBlobPanelFactory extends ComponentFactoryScalarAbstract implements ComponentFactory.MetaModelDetermined {
 
     private static final long serialVersionUID = 1L;
 
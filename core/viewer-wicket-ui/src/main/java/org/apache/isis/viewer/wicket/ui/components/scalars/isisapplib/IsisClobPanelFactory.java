@@ -28,7 +28,7 @@
 /**
  * {@link ComponentFactory} for {@link IsisBlobPanel}.
  */
-public class IsisClobPanelFactory extends ComponentFactoryScalarAbstract {
+public class IsisClobPanelFactory extends ComponentFactoryScalarAbstract implements ComponentFactory.MetaModelDetermined {
 
     private static final long serialVersionUID = 1L;
 
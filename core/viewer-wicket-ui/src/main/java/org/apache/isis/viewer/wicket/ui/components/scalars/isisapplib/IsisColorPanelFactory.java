@@ -28,7 +28,7 @@
 /**
  * {@link ComponentFactory} for {@link IsisColorPanel}.
  */
-public class IsisColorPanelFactory extends ComponentFactoryScalarAbstract {
+public class IsisColorPanelFactory extends ComponentFactoryScalarAbstract implements ComponentFactory.MetaModelDetermined {
 
     private static final long serialVersionUID = 1L;
 
@@ -28,7 +28,7 @@
 /**
  * {@link ComponentFactory} for {@link IsisDatePanel}.
  */
-public class IsisDatePanelFactory extends ComponentFactoryScalarAbstract {
+public class IsisDatePanelFactory extends ComponentFactoryScalarAbstract implements ComponentFactory.MetaModelDetermined {
 
     private static final long serialVersionUID = 1L;
 
@@ -28,7 +28,7 @@
 /**
  * {@link ComponentFactory} for {@link IsisDateTimePanel}.
  */
-public class IsisDateTimePanelFactory extends ComponentFactoryScalarAbstract {
+public class IsisDateTimePanelFactory extends ComponentFactoryScalarAbstract implements ComponentFactory.MetaModelDetermined {
 
     private static final long serialVersionUID = 1L;
 
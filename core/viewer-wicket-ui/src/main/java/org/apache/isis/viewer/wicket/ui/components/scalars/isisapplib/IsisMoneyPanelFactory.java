@@ -28,7 +28,7 @@
 /**
  * {@link ComponentFactory} for {@link IsisMoneyPanel}.
  */
-public class IsisMoneyPanelFactory extends ComponentFactoryScalarAbstract {
+public class IsisMoneyPanelFactory extends ComponentFactoryScalarAbstract implements ComponentFactory.MetaModelDetermined {
 
     private static final long serialVersionUID = 1L;
 
@@ -28,7 +28,7 @@
 /**
  * {@link ComponentFactory} for {@link IsisPasswordPanel}.
  */
-public class IsisPasswordPanelFactory extends ComponentFactoryScalarAbstract {
+public class IsisPasswordPanelFactory extends ComponentFactoryScalarAbstract implements ComponentFactory.MetaModelDetermined {
 
     private static final long serialVersionUID = 1L;
 
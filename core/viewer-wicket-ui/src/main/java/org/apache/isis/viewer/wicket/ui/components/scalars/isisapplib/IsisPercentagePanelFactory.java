@@ -28,7 +28,7 @@
 /**
  * {@link ComponentFactory} for {@link IsisPercentagePanel}.
  */
-public class IsisPercentagePanelFactory extends ComponentFactoryScalarAbstract {
+public class IsisPercentagePanelFactory extends ComponentFactoryScalarAbstract implements ComponentFactory.MetaModelDetermined {
 
     private static final long serialVersionUID = 1L;
 
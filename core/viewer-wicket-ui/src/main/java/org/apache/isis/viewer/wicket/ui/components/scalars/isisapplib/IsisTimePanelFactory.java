@@ -28,7 +28,7 @@
 /**
  * {@link ComponentFactory} for {@link IsisTimePanel}.
  */
-public class IsisTimePanelFactory extends ComponentFactoryScalarAbstract {
+public class IsisTimePanelFactory extends ComponentFactoryScalarAbstract implements ComponentFactory.MetaModelDetermined {
 
     private static final long serialVersionUID = 1L;
 
@@ -28,7 +28,7 @@
 /**
  * {@link ComponentFactory} for {@link IsisTimeStampPanel}.
  */
-public class IsisTimeStampPanelFactory extends ComponentFactoryScalarAbstract {
+public class IsisTimeStampPanelFactory extends ComponentFactoryScalarAbstract implements ComponentFactory.MetaModelDetermined {
 
     private static final long serialVersionUID = 1L;
 
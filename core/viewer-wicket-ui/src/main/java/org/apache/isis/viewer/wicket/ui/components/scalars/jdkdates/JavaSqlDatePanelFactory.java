@@ -28,7 +28,7 @@
 /**
  * {@link ComponentFactory} for {@link JavaSqlDatePanel}.
  */
-public class JavaSqlDatePanelFactory extends ComponentFactoryScalarAbstract {
+public class JavaSqlDatePanelFactory extends ComponentFactoryScalarAbstract implements ComponentFactory.MetaModelDetermined {
 
     private static final long serialVersionUID = 1L;
 
@@ -28,7 +28,7 @@
 /**
  * {@link ComponentFactory} for {@link JavaSqlTimePanel}.
  */
-public class JavaSqlTimePanelFactory extends ComponentFactoryScalarAbstract {
+public class JavaSqlTimePanelFactory extends ComponentFactoryScalarAbstract implements ComponentFactory.MetaModelDetermined {
 
     private static final long serialVersionUID = 1L;
 
@@ -28,7 +28,7 @@
 /**
  * {@link ComponentFactory} for {@link JavaUtilDatePanel}.
  */
-public class JavaSqlTimestampPanelFactory extends ComponentFactoryScalarAbstract {
+public class JavaSqlTimestampPanelFactory extends ComponentFactoryScalarAbstract implements ComponentFactory.MetaModelDetermined {
 
     private static final long serialVersionUID = 1L;
 
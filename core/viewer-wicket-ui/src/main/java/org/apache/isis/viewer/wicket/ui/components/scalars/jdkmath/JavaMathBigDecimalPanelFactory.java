@@ -31,7 +31,7 @@
 /**
  * {@link ComponentFactory} for {@link JavaMathBigDecimalPanel}.
  */
-public class JavaMathBigDecimalPanelFactory extends ComponentFactoryScalarAbstract {
+public class JavaMathBigDecimalPanelFactory extends ComponentFactoryScalarAbstract implements ComponentFactory.MetaModelDetermined {
 
     private static final long serialVersionUID = 1L;
 
@@ -27,7 +27,7 @@
 /**
  * {@link ComponentFactory} for {@link JavaMathBigIntegerPanel}.
  */
-public class JavaMathBigIntegerPanelFactory extends ComponentFactoryScalarAbstract {
+public class JavaMathBigIntegerPanelFactory extends ComponentFactoryScalarAbstract implements ComponentFactory.MetaModelDetermined {
 
     private static final long serialVersionUID = 1L;
 
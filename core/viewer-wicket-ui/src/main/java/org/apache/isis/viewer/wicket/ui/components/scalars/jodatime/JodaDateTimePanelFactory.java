@@ -29,7 +29,7 @@
 /**
  * {@link ComponentFactory} for {@link JodaLocalDatePanel}.
  */
-public class JodaDateTimePanelFactory extends ComponentFactoryScalarAbstract {
+public class JodaDateTimePanelFactory extends ComponentFactoryScalarAbstract implements ComponentFactory.MetaModelDetermined {
 
     private static final long serialVersionUID = 1L;
 
@@ -28,7 +28,7 @@
 /**
  * {@link ComponentFactory} for {@link BooleanPanel}.
  */
-public class BooleanPanelFactory extends ComponentFactoryScalarAbstract {
+public class BooleanPanelFactory extends ComponentFactoryScalarAbstract implements ComponentFactory.MetaModelDetermined {
 
     private static final long serialVersionUID = 1L;
 
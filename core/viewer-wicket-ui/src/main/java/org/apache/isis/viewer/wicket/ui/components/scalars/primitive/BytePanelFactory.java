@@ -28,7 +28,7 @@
 /**
  * {@link ComponentFactory} for {@link BytePanel}.
  */
-public class BytePanelFactory extends ComponentFactoryScalarAbstract {
+public class BytePanelFactory extends ComponentFactoryScalarAbstract implements ComponentFactory.MetaModelDetermined {
 
     private static final long serialVersionUID = 1L;
 
@@ -28,7 +28,7 @@
 /**
  * {@link ComponentFactory} for {@link CharacterPanel}.
  */
-public class CharacterPanelFactory extends ComponentFactoryScalarAbstract {
+public class CharacterPanelFactory extends ComponentFactoryScalarAbstract implements ComponentFactory.MetaModelDetermined {
 
     private static final long serialVersionUID = 1L;
 
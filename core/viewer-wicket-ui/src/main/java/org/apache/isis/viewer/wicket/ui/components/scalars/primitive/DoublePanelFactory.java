@@ -28,7 +28,7 @@
 /**
  * {@link ComponentFactory} for {@link DoublePanel}.
  */
-public class DoublePanelFactory extends ComponentFactoryScalarAbstract {
+public class DoublePanelFactory extends ComponentFactoryScalarAbstract implements ComponentFactory.MetaModelDetermined {
 
     private static final long serialVersionUID = 1L;
 
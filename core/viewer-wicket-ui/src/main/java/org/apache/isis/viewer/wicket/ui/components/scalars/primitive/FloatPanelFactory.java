@@ -28,7 +28,7 @@
 /**
  * {@link ComponentFactory} for {@link FloatPanel}.
  */
-public class FloatPanelFactory extends ComponentFactoryScalarAbstract {
+public class FloatPanelFactory extends ComponentFactoryScalarAbstract implements ComponentFactory.MetaModelDetermined {
 
     private static final long serialVersionUID = 1L;
 
@@ -28,7 +28,7 @@
 /**
  * {@link ComponentFactory} for {@link IntegerPanel}.
  */
-public class IntegerPanelFactory extends ComponentFactoryScalarAbstract {
+public class IntegerPanelFactory extends ComponentFactoryScalarAbstract implements ComponentFactory.MetaModelDetermined {
 
     private static final long serialVersionUID = 1L;
 
@@ -28,7 +28,7 @@
 /**
  * {@link ComponentFactory} for {@link LongPanel}.
  */
-public class LongPanelFactory extends ComponentFactoryScalarAbstract {
+public class LongPanelFactory extends ComponentFactoryScalarAbstract implements ComponentFactory.MetaModelDetermined {
 
     private static final long serialVersionUID = 1L;
 
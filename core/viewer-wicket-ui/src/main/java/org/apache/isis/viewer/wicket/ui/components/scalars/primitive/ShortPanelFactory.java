@@ -28,7 +28,7 @@
 /**
  * {@link ComponentFactory} for {@link ShortPanel}.
  */
-public class ShortPanelFactory extends ComponentFactoryScalarAbstract {
+public class ShortPanelFactory extends ComponentFactoryScalarAbstract implements ComponentFactory.MetaModelDetermined {
 
     private static final long serialVersionUID = 1L;
 
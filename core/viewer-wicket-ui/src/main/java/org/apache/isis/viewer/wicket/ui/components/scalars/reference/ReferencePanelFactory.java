@@ -32,7 +32,7 @@
 /**
  * {@link ComponentFactory} for {@link ReferencePanel}.
  */
-public class ReferencePanelFactory extends ComponentFactoryAbstract {
+public class ReferencePanelFactory extends ComponentFactoryAbstract implements ComponentFactory.MetaModelDetermined {
 
     private static final long serialVersionUID = 1L;
 
@@ -30,7 +30,7 @@
 /**
  * {@link ComponentFactory} for the {@link ValuePanel}.
  */
-public class ValuePanelFactory extends ComponentFactoryScalarAbstract {
+public class ValuePanelFactory extends ComponentFactoryScalarAbstract implements ComponentFactory.MetaModelDetermined {
 
     private static final long serialVersionUID = 1L;
 
@@ -31,7 +31,7 @@
 /**
  * {@link ComponentFactory} for {@link StandaloneCollectionPanel}.
  */
-public class StandaloneCollectionPanelFactory extends ComponentFactoryAbstract {
+public class StandaloneCollectionPanelFactory extends ComponentFactoryAbstract implements ComponentFactory.MetaModelDetermined {
 
     private static final long serialVersionUID = 1L;
 
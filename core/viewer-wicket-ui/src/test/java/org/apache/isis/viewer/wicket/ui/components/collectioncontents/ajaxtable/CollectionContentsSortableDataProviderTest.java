@@ -0,0 +1,221 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.viewer.wicket.ui.components.collectioncontents.ajaxtable;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.google.common.collect.Lists;
+
+import org.jmock.Expectations;
+import org.jmock.api.Invocation;
+import org.jmock.lib.action.CustomAction;
+import org.apache.wicket.model.LoadableDetachableModel;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.apache.isis.applib.Identifier;
+import org.apache.isis.core.metamodel.adapter.ObjectAdapter;
+import org.apache.isis.core.metamodel.interactions.HidingInteractionAdvisor;
+import org.apache.isis.core.metamodel.interactions.VisibilityContext;
+import org.apache.isis.core.metamodel.spec.ObjectSpecification;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2;
+import org.apache.isis.core.unittestsupport.jmocking.JUnitRuleMockery2.Mode;
+import org.apache.isis.viewer.wicket.model.models.EntityCollectionModel;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class CollectionContentsSortableDataProviderTest {
+
+    @Rule
+    public JUnitRuleMockery2 context = JUnitRuleMockery2.createFor(Mode.INTERFACES_AND_CLASSES);
+
+    private EntityCollectionModel model;
+    private ObjectSpecification elementSpec;
+    private ObjectSpecification subSpec;
+
+    private ObjectAdapter visible1;
+    private ObjectAdapter hidden;
+    private ObjectAdapter visible2;
+    private ObjectAdapter visible3;
+
+    private CollectionContentsSortableDataProvider provider;
+
+    @Before
+    public void setUp() throws Exception {
+        model = context.mock(EntityCollectionModel.class);
+        elementSpec = context.mock(ObjectSpecification.class, "elementSpec");
+        subSpec = context.mock(ObjectSpecification.class, "subSpec");
+
+        visible1 = adapter("visible1");
+        hidden = adapter("hidden");
+        visible2 = adapter("visible2");
+        visible3 = adapter("visible3");
+
+        context.checking(new Expectations() {{
+            allowing(model).getTypeOfSpecification();
+            will(returnValue(elementSpec));
+            allowing(elementSpec).getIdentifier();
+            will(returnValue(Identifier.classIdentifier("com.mycompany.Customer")));
+            allowing(elementSpec).subclasses();
+            will(returnValue(Collections.singletonList(subSpec)));
+            allowing(subSpec).getIdentifier();
+            will(returnValue(Identifier.classIdentifier("com.mycompany.PreferredCustomer")));
+            allowing(subSpec).subclasses();
+            will(returnValue(Collections.emptyList()));
+        }});
+
+        provider = new CollectionContentsSortableDataProvider(model);
+    }
+
+    @Test
+    public void queryBacked_whenNoInstanceCanBeHidden_pagesWithinObjectStore() throws Exception {
+        givenQueryBacked(true);
+        givenHidingAdvisors(elementSpec);
+        givenHidingAdvisors(subSpec);
+
+        context.checking(new Expectations() {{
+            allowing(model).getCount();
+            will(returnValue(3));
+            oneOf(model).loadPage(2L, 2L, null);
+            will(returnValue(Arrays.asList(visible3)));
+        }});
+
+        assertThat(provider.size(), is(3L));
+        assertThat(Lists.newArrayList(provider.iterator(2, 2)), is(Arrays.asList(visible3)));
+    }
+
+    @Test
+    public void queryBacked_whenInstancesCanBeHidden_filtersBeforePaging() throws Exception {
+        givenQueryBacked(true);
+        givenHidingAdvisors(elementSpec, hiding(hidden));
+        givenContents(visible1, hidden, visible2, visible3);
+
+        context.checking(new Expectations() {{
+            never(model).loadPage(with(any(Long.class)), with(any(Long.class)), with(any(String.class)));
+            never(model).getCount();
+        }});
+
+        assertSizeConsistentWithPages();
+    }
+
+    @Test
+    public void queryBacked_whenInstancesOfSubtypeCanBeHidden_filtersBeforePaging() throws Exception {
+        givenQueryBacked(true);
+        givenHidingAdvisors(elementSpec);
+        final ObjectAdapter hiddenOfSubtype = adapter("hiddenOfSubtype", subSpec);
+        givenHidingAdvisors(subSpec, hiding(hiddenOfSubtype));
+        givenContents(visible1, hiddenOfSubtype, visible2, visible3);
+
+        context.checking(new Expectations() {{
+            never(model).loadPage(with(any(Long.class)), with(any(Long.class)), with(any(String.class)));
+        }});
+
+        assertSizeConsistentWithPages();
+    }
+
+    @Test
+    public void notQueryBacked_filtersBeforePaging() throws Exception {
+        givenQueryBacked(false);
+        givenHidingAdvisors(elementSpec, hiding(hidden));
+        givenContents(visible1, hidden, visible2, visible3);
+
+        assertSizeConsistentWithPages();
+    }
+
+    private void assertSizeConsistentWithPages() {
+        assertThat(provider.size(), is(3L));
+        assertThat(Lists.newArrayList(provider.iterator(0, 2)), is(Arrays.asList(visible1, visible2)));
+        assertThat(Lists.newArrayList(provider.iterator(2, 2)), is(Arrays.asList(visible3)));
+        assertThat(Lists.newArrayList(provider.iterator(4, 2)), is(Collections.<ObjectAdapter>emptyList()));
+    }
+
+    //region > helpers
+
+    private void givenQueryBacked(final boolean queryBacked) {
+        context.checking(new Expectations() {{
+            allowing(model).isQueryBacked();
+            will(returnValue(queryBacked));
+        }});
+    }
+
+    private void givenHidingAdvisors(final ObjectSpecification spec, final HidingInteractionAdvisor... advisors) {
+        context.checking(new Expectations() {{
+            allowing(spec).getHidingInteractionAdvisors();
+            will(returnValue(advisors));
+        }});
+    }
+
+    /**
+     * {@link LoadableDetachableModel#getObject()} is final (so cannot be mocked), so instead attach the contents
+     * directly.
+     */
+    private void givenContents(final ObjectAdapter... adapters) throws Exception {
+        final List<ObjectAdapter> contents = Arrays.asList(adapters);
+        final Field transientModelObjectField = LoadableDetachableModel.class.getDeclaredField("transientModelObject");
+        transientModelObjectField.setAccessible(true);
+        transientModelObjectField.set(model, contents);
+
+        final Field stateField = LoadableDetachableModel.class.getDeclaredField("state");
+        stateField.setAccessible(true);
+        stateField.set(model, enumValueOf(stateField.getType(), "ATTACHED"));
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Object enumValueOf(final Class<?> enumType, final String name) {
+        return Enum.valueOf((Class) enumType, name);
+    }
+
+    private ObjectAdapter adapter(final String name) {
+        return adapter(name, elementSpec);
+    }
+
+    private ObjectAdapter adapter(final String name, final ObjectSpecification spec) {
+        final ObjectAdapter adapter = context.mock(ObjectAdapter.class, name);
+        context.checking(new Expectations() {{
+            allowing(adapter).getSpecification();
+            will(returnValue(spec));
+            allowing(adapter).getObject();
+            will(returnValue(name));
+        }});
+        return adapter;
+    }
+
+    private HidingInteractionAdvisor hiding(final ObjectAdapter hiddenAdapter) {
+        final HidingInteractionAdvisor advisor = context.mock(HidingInteractionAdvisor.class);
+        context.checking(new Expectations() {{
+            allowing(advisor).hides(with(any(VisibilityContext.class)));
+            will(new CustomAction("hides if target is " + hiddenAdapter) {
+                @Override
+                public Object invoke(final Invocation invocation) {
+                    final VisibilityContext<?> ic = (VisibilityContext<?>) invocation.getParameter(0);
+                    return ic.getTarget() == hiddenAdapter ? "hidden" : null;
+                }
+            });
+        }});
+        return advisor;
+    }
+
+    //endregion
+
+}
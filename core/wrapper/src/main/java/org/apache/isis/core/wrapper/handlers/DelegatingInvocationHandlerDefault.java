@@ -29,7 +29,9 @@
 import org.apache.isis.core.runtime.system.persistence.PersistenceSession;
 import org.apache.isis.core.runtime.system.session.IsisSessionFactory;
 
-public class DelegatingInvocationHandlerDefault<T> implements DelegatingInvocationHandler<T> {
+import javassist.util.proxy.MethodHandler;
+
+public class DelegatingInvocationHandlerDefault<T> implements DelegatingInvocationHandler<T>, MethodHandler {
 
     private final T delegate;
     protected final WrapperFactory wrapperFactory;
@@ -112,6 +114,15 @@ public Object invoke(final Object object, final Method method, final Object[] ar
         return method.invoke(object, args);
     }
 
+    /**
+     * Allows this handler to be used directly as the handler of a javassist proxy (see
+     * {@link org.apache.isis.core.wrapper.proxy.ProxyCreator}), rather than allocating an adapter for each.
+     */
+    @Override
+    public Object invoke(final Object self, final Method thisMethod, final Method proceed, final Object[] args) throws Throwable {
+        return invoke(self, thisMethod, args);
+    }
+
     protected InteractionEvent notifyListeners(final InteractionEvent interactionEvent) {
         wrapperFactory.notifyListeners(interactionEvent);
         return interactionEvent;
@@ -28,9 +28,9 @@
 import java.util.Set;
 
 import com.google.common.base.Function;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Sets;
 
 import org.datanucleus.enhancement.Persistable;
 
@@ -55,7 +55,6 @@
 import org.apache.isis.core.metamodel.consent.Consent;
 import org.apache.isis.core.metamodel.consent.InteractionInitiatedBy;
 import org.apache.isis.core.metamodel.consent.InteractionResult;
-import org.apache.isis.core.metamodel.facets.ImperativeFacet;
 import org.apache.isis.core.metamodel.facets.ImperativeFacet.Intent;
 import org.apache.isis.core.metamodel.facets.object.mixin.MixinFacet;
 import org.apache.isis.core.metamodel.interactions.ObjectTitleContext;
@@ -117,7 +116,21 @@
      */
     protected Method __isis_executionMode;
 
-    protected final Set<String> dnPersistableMethods = Sets.newHashSet();
+    /**
+     * The names of the methods of DataNucleus' {@link Persistable}; computed once since every wrapped object needs them.
+     */
+    private static final Set<String> DN_PERSISTABLE_METHOD_NAMES =
+            ImmutableSet.copyOf(
+                    Iterables.transform(
+                            Arrays.asList(Persistable.class.getDeclaredMethods()),
+                            new Function<Method, String>() {
+                                @Override
+                                public String apply(final Method input) {
+                                    return input.getName();
+                                }
+                            }));
+
+    protected final Set<String> dnPersistableMethods = DN_PERSISTABLE_METHOD_NAMES;
 
     public DomainObjectInvocationHandler(
             final T delegate,
@@ -148,18 +161,6 @@ public DomainObjectInvocationHandler(
             __isis_executionMode = WrapperObject.class.getMethod("__isis_executionMode", new Class[]{});
             saveMethod = WrapperObject.class.getMethod("save", new Class[] {});
             wrappedMethod = WrapperObject.class.getMethod("wrapped", new Class[] {});
-
-            dnPersistableMethods.addAll(
-                    Lists.newArrayList(
-                            Iterables.transform(
-                                    Arrays.asList(Persistable.class.getDeclaredMethods()),
-                                    new Function<Method, String>() {
-                                        @Override
-                                        public String apply(final Method input) {
-                                            return input.getName();
-                                        }
-                                    })));
-
         } catch (final NoSuchMethodException nsme) {
             throw new IllegalStateException(
                     "Could not locate reserved declared methods in the WrappingObject and WrappedObject interfaces",
@@ -170,46 +171,32 @@ public String apply(final Method input) {
     @Override
     public Object invoke(final Object proxyObject, final Method method, final Object[] args) throws Throwable {
 
-        if (isObjectMethod(method)) {
-            return delegate(method, args);
-        }
-
-        if(isJdoMethod(method)) {
-            return delegate(method, args);
-        }
+        final MethodDispatchTable.Dispatch dispatch = dispatchFor(method);
 
-        if(isInjectMethod(method)) {
+        if (dispatch.getKind() == MethodDispatchTable.Kind.DELEGATE) {
             return delegate(method, args);
         }
 
         final ObjectAdapter targetAdapter = adapterFor(getDelegate());
 
-        if (isTitleMethod(method)) {
+        switch (dispatch.getKind()) {
+        case TITLE:
             return handleTitleMethod(targetAdapter);
-        }
-
-
-        final ObjectSpecification targetNoSpec = targetAdapter.getSpecification();
-
-        // save method, through the proxy
-        if (isSaveMethod(method)) {
-            return handleSaveMethod(targetAdapter, targetNoSpec);
-        }
-
-        if (isWrappedMethod(method)) {
+        case SAVE:
+            // save method, through the proxy
+            return handleSaveMethod(targetAdapter, targetAdapter.getSpecification());
+        case WRAPPED:
             return getDelegate();
-        }
-
-        if (isExecutionModeMethod(method)) {
+        case EXECUTION_MODE:
             return executionMode;
         }
 
-        final ObjectMember objectMember = locateAndCheckMember(method);
+        final ObjectMember objectMember = dispatch.getMember();
         final ContributeeMember contributeeMember = determineIfContributed(args, objectMember);
 
         final String memberName = objectMember.getName();
 
-        final Intent intent = ImperativeFacet.Util.getIntent(objectMember, method);
+        final Intent intent = dispatch.getIntent();
         if(intent == Intent.CHECK_IF_HIDDEN || intent == Intent.CHECK_IF_DISABLED) {
             throw new UnsupportedOperationException(String.format("Cannot invoke supporting method '%s'", memberName));
         }
@@ -287,6 +274,39 @@ public Object invoke(final Object proxyObject, final Method method, final Object
         throw new UnsupportedOperationException(String.format("Unknown member type '%s'", objectMember));
     }
 
+    /**
+     * Looks up how to handle the method from the (shared) {@link MethodDispatchTable}, working it out (and
+     * registering it) the first time that the method is invoked, or once the metamodel has since been invalidated.
+     */
+    private MethodDispatchTable.Dispatch dispatchFor(final Method method) {
+        final MethodDispatchTable methodDispatchTable = proxy.getMethodDispatchTable();
+        final long cacheGeneration = specificationLoader.getCacheGeneration();
+        final MethodDispatchTable.Dispatch dispatch = methodDispatchTable.lookup(method, cacheGeneration);
+        if(dispatch != null) {
+            return dispatch;
+        }
+        return methodDispatchTable.register(method, determineDispatch(method), cacheGeneration);
+    }
+
+    private MethodDispatchTable.Dispatch determineDispatch(final Method method) {
+        if (isObjectMethod(method) || isJdoMethod(method) || isInjectMethod(method)) {
+            return MethodDispatchTable.Dispatch.of(MethodDispatchTable.Kind.DELEGATE);
+        }
+        if (isTitleMethod(method)) {
+            return MethodDispatchTable.Dispatch.of(MethodDispatchTable.Kind.TITLE);
+        }
+        if (isSaveMethod(method)) {
+            return MethodDispatchTable.Dispatch.of(MethodDispatchTable.Kind.SAVE);
+        }
+        if (isWrappedMethod(method)) {
+            return MethodDispatchTable.Dispatch.of(MethodDispatchTable.Kind.WRAPPED);
+        }
+        if (isExecutionModeMethod(method)) {
+            return MethodDispatchTable.Dispatch.of(MethodDispatchTable.Kind.EXECUTION_MODE);
+        }
+        return MethodDispatchTable.Dispatch.forMember(locateAndCheckMember(method), method);
+    }
+
     private static ObjectAction determineMixinAction(
             final ObjectAdapter domainObjectAdapter,
             final ObjectAction objectAction) {
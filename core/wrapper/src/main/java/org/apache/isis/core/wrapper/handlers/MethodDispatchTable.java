@@ -0,0 +1,164 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.wrapper.handlers;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.collect.Maps;
+
+import org.apache.isis.core.metamodel.facets.ImperativeFacet;
+import org.apache.isis.core.metamodel.facets.ImperativeFacet.Intent;
+import org.apache.isis.core.metamodel.spec.feature.ObjectMember;
+import org.apache.isis.core.metamodel.specloader.SpecificationLoader;
+
+/**
+ * Records, for each {@link Method} invoked on a wrapped domain object, how the {@link DomainObjectInvocationHandler}
+ * should handle it, so that the corresponding {@link ObjectMember} and its {@link Intent} are only looked up the first
+ * time that the method is invoked (rather than on every invocation).
+ *
+ * <p>
+ * How a method should be handled depends only on the method (and therefore on the specification of its declaring
+ * class), not on the object being wrapped, so a single table is shared by all objects wrapped by a
+ * {@link ProxyContextHandler}.
+ *
+ * <p>
+ * The table is discarded whenever the {@link SpecificationLoader#getCacheGeneration() cache generation} of the
+ * {@link SpecificationLoader} changes, that is, once any specification has been invalidated (eg by JRebel), because
+ * the members held may then be stale.
+ */
+public class MethodDispatchTable {
+
+    public enum Kind {
+        /**
+         * Delegate directly to the underlying domain object (<tt>Object</tt>, JDO/DataNucleus and injection methods).
+         */
+        DELEGATE,
+        TITLE,
+        SAVE,
+        WRAPPED,
+        EXECUTION_MODE,
+        /**
+         * Invoke (or check the supporting method of) a property, collection or action.
+         */
+        MEMBER
+    }
+
+    public static class Dispatch {
+
+        private static final Dispatch DELEGATE = new Dispatch(Kind.DELEGATE, null, null);
+        private static final Dispatch TITLE = new Dispatch(Kind.TITLE, null, null);
+        private static final Dispatch SAVE = new Dispatch(Kind.SAVE, null, null);
+        private static final Dispatch WRAPPED = new Dispatch(Kind.WRAPPED, null, null);
+        private static final Dispatch EXECUTION_MODE = new Dispatch(Kind.EXECUTION_MODE, null, null);
+
+        public static Dispatch of(final Kind kind) {
+            switch (kind) {
+            case DELEGATE:
+                return DELEGATE;
+            case TITLE:
+                return TITLE;
+            case SAVE:
+                return SAVE;
+            case WRAPPED:
+                return WRAPPED;
+            case EXECUTION_MODE:
+                return EXECUTION_MODE;
+            default:
+                throw new IllegalArgumentException("Use forMember(...) for " + kind);
+            }
+        }
+
+        /**
+         * @throws IllegalArgumentException if the intent of the method cannot be determined.
+         */
+        public static Dispatch forMember(final ObjectMember member, final Method method) {
+            return new Dispatch(Kind.MEMBER, member, ImperativeFacet.Util.getIntent(member, method));
+        }
+
+        private final Kind kind;
+        private final ObjectMember member;
+        private final Intent intent;
+
+        private Dispatch(final Kind kind, final ObjectMember member, final Intent intent) {
+            this.kind = kind;
+            this.member = member;
+            this.intent = intent;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        /**
+         * Populated only if the {@link #getKind() kind} is {@link Kind#MEMBER}.
+         */
+        public ObjectMember getMember() {
+            return member;
+        }
+
+        /**
+         * Populated only if the {@link #getKind() kind} is {@link Kind#MEMBER}.
+         */
+        public Intent getIntent() {
+            return intent;
+        }
+    }
+
+    private final ConcurrentMap<Method, Dispatch> dispatchByMethod = Maps.newConcurrentMap();
+    private volatile long generation;
+
+    /**
+     * @param cacheGeneration - the current {@link SpecificationLoader#getCacheGeneration() cache generation}; if
+     *                        different from that of the table, then the table is first cleared.
+     * @return the dispatch previously {@link #register(Method, Dispatch, long) registered} for the method, else
+     * <tt>null</tt>.
+     */
+    public Dispatch lookup(final Method method, final long cacheGeneration) {
+        clearIfStale(cacheGeneration);
+        return dispatchByMethod.get(method);
+    }
+
+    /**
+     * @param cacheGeneration - the {@link SpecificationLoader#getCacheGeneration() cache generation} as it was when
+     *                        the dispatch was determined; if the table has since moved on to a later generation then
+     *                        the dispatch is not registered (it may be stale).
+     * @return the dispatch now registered for the method (which will be some other if another thread won the race).
+     */
+    public Dispatch register(final Method method, final Dispatch dispatch, final long cacheGeneration) {
+        if(generation != cacheGeneration) {
+            return dispatch;
+        }
+        final Dispatch existing = dispatchByMethod.putIfAbsent(method, dispatch);
+        return existing != null ? existing : dispatch;
+    }
+
+    private void clearIfStale(final long currentGeneration) {
+        if (generation == currentGeneration) {
+            return;
+        }
+        synchronized (this) {
+            if (generation != currentGeneration) {
+                dispatchByMethod.clear();
+                generation = currentGeneration;
+            }
+        }
+    }
+
+}
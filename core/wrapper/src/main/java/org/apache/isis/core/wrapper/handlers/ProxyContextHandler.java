@@ -30,11 +30,19 @@
 public class ProxyContextHandler {
 
     private final ProxyCreator proxyCreator;
-    
+    private final MethodDispatchTable methodDispatchTable = new MethodDispatchTable();
+
     public ProxyContextHandler(final ProxyCreator proxyCreator) {
         this.proxyCreator = proxyCreator;
     }
 
+    /**
+     * Shared by all of the {@link DomainObjectInvocationHandler}s created by this handler.
+     */
+    public MethodDispatchTable getMethodDispatchTable() {
+        return methodDispatchTable;
+    }
+
     public <T> T proxy(
             final T domainObject,
             final ExecutionMode mode,
@@ -39,16 +39,21 @@
 public class ProxyCreator {
 
     /**
-     * Lazily constructed cache.
+     * Lazily constructed cache of the (javassist) proxy class for each domain class.
+     *
+     * <p>
+     * Although javassist's {@link ProxyFactory} caches the classes it creates, it can only determine whether it has
+     * already created a class by evaluating its {@link MethodFilter filter} against every method of the superclass,
+     * so {@link ProxyFactory#createClass()} is nevertheless expensive to call for every object wrapped.
      */
-    private final Map<Class, ProxyFactory> proxyFactoryByClass;
+    private final Map<Class, Class> proxyClassByClass;
 
     public ProxyCreator() {
-        this(new MapMaker().weakKeys().concurrencyLevel(10).<Class, ProxyFactory>makeMap());
+        this(new MapMaker().weakKeys().concurrencyLevel(10).<Class, Class>makeMap());
     }
 
-    public ProxyCreator(Map<Class, ProxyFactory> proxyFactoryByClass) {
-        this.proxyFactoryByClass = proxyFactoryByClass;
+    public ProxyCreator(Map<Class, Class> proxyClassByClass) {
+        this.proxyClassByClass = proxyClassByClass;
     }
 
     @SuppressWarnings("unchecked")
@@ -61,29 +66,35 @@ public <T> T instantiateProxy(final DelegatingInvocationHandler<T> handler) {
         if (clazz.isInterface()) {
             return Util.createInstance(clazz, handler, WrapperObject.class);
         } else {
-            final ProxyFactory proxyFactory = proxyFactoryFor(clazz);
-
-            final Class<T> enhancedClass = proxyFactory.createClass();
+            final Class<T> enhancedClass = proxyClassFor(clazz);
             final Proxy proxy = (Proxy) Util.createInstance(enhancedClass);
 
-            proxy.setHandler(new MethodHandler() {
-                @Override
-                public Object invoke(Object self, Method thisMethod, Method proceed, Object[] args) throws Throwable {
-                    return handler.invoke(self, thisMethod, args);
-                }
-            });
+            proxy.setHandler(methodHandlerFor(handler));
 
             return (T) proxy;
         }
     }
 
-    private <T> ProxyFactory proxyFactoryFor(final Class<T> toProxyClass) {
-        ProxyFactory proxyFactory = proxyFactoryByClass.get(toProxyClass);
-        if(proxyFactory == null) {
-            proxyFactory = createProxyFactoryFor(toProxyClass);
-            proxyFactoryByClass.put(toProxyClass, proxyFactory);
+    private static MethodHandler methodHandlerFor(final DelegatingInvocationHandler<?> handler) {
+        if(handler instanceof MethodHandler) {
+            return (MethodHandler) handler;
         }
-        return proxyFactory;
+        return new MethodHandler() {
+            @Override
+            public Object invoke(Object self, Method thisMethod, Method proceed, Object[] args) throws Throwable {
+                return handler.invoke(self, thisMethod, args);
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Class<T> proxyClassFor(final Class<T> toProxyClass) {
+        Class<T> proxyClass = proxyClassByClass.get(toProxyClass);
+        if(proxyClass == null) {
+            proxyClass = createProxyFactoryFor(toProxyClass).createClass();
+            proxyClassByClass.put(toProxyClass, proxyClass);
+        }
+        return proxyClass;
     }
 
     private <T> ProxyFactory createProxyFactoryFor(final Class<T> toProxyClass) {
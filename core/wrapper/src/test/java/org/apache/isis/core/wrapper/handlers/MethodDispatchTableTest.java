@@ -0,0 +1,81 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.wrapper.handlers;
+
+import java.lang.reflect.Method;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class MethodDispatchTableTest {
+
+    private MethodDispatchTable methodDispatchTable;
+    private Method toStringMethod;
+    private MethodDispatchTable.Dispatch delegate;
+    private MethodDispatchTable.Dispatch title;
+
+    @Before
+    public void setUp() throws Exception {
+        methodDispatchTable = new MethodDispatchTable();
+        toStringMethod = Object.class.getMethod("toString");
+        delegate = MethodDispatchTable.Dispatch.of(MethodDispatchTable.Kind.DELEGATE);
+        title = MethodDispatchTable.Dispatch.of(MethodDispatchTable.Kind.TITLE);
+    }
+
+    @Test
+    public void registered_dispatch_is_looked_up_while_the_generation_is_unchanged() throws Exception {
+        assertThat(methodDispatchTable.lookup(toStringMethod, 0L), is(nullValue()));
+
+        assertThat(methodDispatchTable.register(toStringMethod, delegate, 0L), is(sameInstance(delegate)));
+
+        assertThat(methodDispatchTable.lookup(toStringMethod, 0L), is(sameInstance(delegate)));
+    }
+
+    @Test
+    public void first_registered_dispatch_wins() throws Exception {
+        methodDispatchTable.register(toStringMethod, delegate, 0L);
+
+        assertThat(methodDispatchTable.register(toStringMethod, title, 0L), is(sameInstance(delegate)));
+    }
+
+    @Test
+    public void table_is_cleared_once_the_generation_changes() throws Exception {
+        methodDispatchTable.register(toStringMethod, delegate, 0L);
+
+        assertThat(methodDispatchTable.lookup(toStringMethod, 1L), is(nullValue()));
+
+        methodDispatchTable.register(toStringMethod, title, 1L);
+        assertThat(methodDispatchTable.lookup(toStringMethod, 1L), is(sameInstance(title)));
+    }
+
+    @Test
+    public void dispatch_determined_in_an_earlier_generation_is_not_registered() throws Exception {
+        assertThat(methodDispatchTable.lookup(toStringMethod, 1L), is(nullValue()));
+
+        assertThat(methodDispatchTable.register(toStringMethod, delegate, 0L), is(sameInstance(delegate)));
+
+        assertThat(methodDispatchTable.lookup(toStringMethod, 1L), is(nullValue()));
+    }
+
+}
@@ -0,0 +1,98 @@
+/*
+ *  Licensed to the Apache Software Foundation (ASF) under one
+ *  or more contributor license agreements.  See the NOTICE file
+ *  distributed with this work for additional information
+ *  regarding copyright ownership.  The ASF licenses this file
+ *  to you under the Apache License, Version 2.0 (the
+ *  "License"); you may not use this file except in compliance
+ *  with the License.  You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.apache.isis.core.wrapper.proxy;
+
+import java.lang.reflect.Method;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.isis.core.wrapper.handlers.DelegatingInvocationHandler;
+import org.apache.isis.progmodel.wrapper.dom.employees.Employee;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class ProxyCreatorTest {
+
+    private ProxyCreator proxyCreator;
+
+    @Before
+    public void setUp() throws Exception {
+        proxyCreator = new ProxyCreator();
+    }
+
+    @Test
+    public void proxy_class_is_reused_for_same_domain_class() throws Exception {
+        final Employee smith = employee("Smith");
+        final Employee jones = employee("Jones");
+
+        final Employee smithProxy = proxyCreator.instantiateProxy(new UppercasingHandler(smith));
+        final Employee jonesProxy = proxyCreator.instantiateProxy(new UppercasingHandler(jones));
+
+        assertThat(smithProxy.getClass(), is(not(sameInstance((Object) Employee.class))));
+        assertThat(jonesProxy.getClass(), is(sameInstance((Object) smithProxy.getClass())));
+    }
+
+    @Test
+    public void each_proxy_invokes_its_own_handler() throws Exception {
+        final Employee smithProxy = proxyCreator.instantiateProxy(new UppercasingHandler(employee("Smith")));
+        final Employee jonesProxy = proxyCreator.instantiateProxy(new UppercasingHandler(employee("Jones")));
+
+        assertThat(smithProxy.getName(), is("SMITH"));
+        assertThat(jonesProxy.getName(), is("JONES"));
+    }
+
+    private static Employee employee(final String name) {
+        final Employee employee = new Employee();
+        employee.setName(name);
+        return employee;
+    }
+
+    static class UppercasingHandler implements DelegatingInvocationHandler<Employee> {
+        private final Employee delegate;
+
+        UppercasingHandler(final Employee delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Employee getDelegate() {
+            return delegate;
+        }
+
+        @Override
+        public boolean isResolveObjectChangedEnabled() {
+            return false;
+        }
+
+        @Override
+        public void setResolveObjectChangedEnabled(final boolean resolveObjectChangedEnabled) {
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            final Object result = method.invoke(delegate, args);
+            return result instanceof String ? ((String) result).toUpperCase() : result;
+        }
+    }
+
+}